@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketService;
 import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogBloomCachingService;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceIndexingService;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolEvictionService;
@@ -88,6 +89,7 @@ public class Runner implements AutoCloseable {
   private final Path dataDir;
   private final Optional<AutoTransactionLogBloomCachingService>
       autoTransactionLogBloomCachingService;
+  private final Optional<TraceIndexingService> traceIndexingService;
   private ScheduledExecutorService ephemeryService;
   private final long ephemeryCycle = TimeUnit.DAYS.toSeconds(28);
 
@@ -110,6 +112,7 @@ public class Runner implements AutoCloseable {
    * @param pidPath the pid path
    * @param transactionLogBloomCacher the transaction log bloom cacher
    * @param blockchain the blockchain
+   * @param traceIndexingService the trace indexing service
    */
   Runner(
       final Vertx vertx,
@@ -127,7 +130,8 @@ public class Runner implements AutoCloseable {
       final Path dataDir,
       final Optional<Path> pidPath,
       final Optional<TransactionLogBloomCacher> transactionLogBloomCacher,
-      final Blockchain blockchain) {
+      final Blockchain blockchain,
+      final Optional<TraceIndexingService> traceIndexingService) {
     this.vertx = vertx;
     this.networkRunner = networkRunner;
     this.natService = natService;
@@ -145,6 +149,7 @@ public class Runner implements AutoCloseable {
     this.autoTransactionLogBloomCachingService =
         transactionLogBloomCacher.map(
             cacher -> new AutoTransactionLogBloomCachingService(blockchain, cacher));
+    this.traceIndexingService = traceIndexingService;
     this.transactionPoolEvictionService =
         new TransactionPoolEvictionService(vertx, besuController.getTransactionPool());
   }
@@ -163,6 +168,7 @@ public class Runner implements AutoCloseable {
             waitForServiceToStart(
                 "ipcJsonRpc", service.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    traceIndexingService.ifPresent(TraceIndexingService::start);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -318,6 +324,7 @@ public class Runner implements AutoCloseable {
     networkRunner.stop();
     waitForServiceToStop("Network", networkRunner::awaitStop);
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::stop);
+    traceIndexingService.ifPresent(TraceIndexingService::stop);
     natService.stop();
     besuController.close();
   }
@@ -31,6 +31,7 @@ import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataFetchers;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLHttpService;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLProvider;
+import org.hyperledger.besu.ethereum.api.handlers.VirtualThreadRequestExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.EngineJsonRpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.InProcessRpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
@@ -40,6 +41,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthentic
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.EngineAuthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.FinalizedResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -48,6 +50,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.health.ReadinessCheck;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter.FilterManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter.FilterManagerBuilder;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.TraceBlock;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.methods.JsonRpcMethodsFactory;
@@ -64,12 +67,15 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.transactionreceipts.TransactionReceiptsSubscriptionService;
 import org.hyperledger.besu.ethereum.api.pluginadapter.RpcEndpointServiceImpl;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceIndex;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceIndexingService;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
@@ -108,6 +114,7 @@ import org.hyperledger.besu.ethereum.permissioning.node.NodePermissioningControl
 import org.hyperledger.besu.ethereum.permissioning.node.PeerPermissionsAdapter;
 import org.hyperledger.besu.ethereum.permissioning.pluginadapter.PermissioningServiceImpl;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.EthStatsConnectOptions;
@@ -873,6 +880,13 @@ public class RunnerBuilder {
     final MiningCoordinator miningCoordinator = besuController.getMiningCoordinator();
     final MiningConfiguration miningConfiguration = besuController.getMiningParameters();
 
+    final Optional<TraceIndex> traceIndex =
+        apiConfiguration.isTraceIndexEnabled()
+            ? Optional.of(
+                new TraceIndex(
+                    storageProvider.getStorageBySegmentIdentifier(
+                        KeyValueSegmentIdentifier.TRACE_INDEX)))
+            : Optional.empty();
     final BlockchainQueries blockchainQueries =
         new BlockchainQueries(
             protocolSchedule,
@@ -881,7 +895,22 @@ public class RunnerBuilder {
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
             apiConfiguration,
-            miningConfiguration);
+            miningConfiguration,
+            traceIndex);
+    final Optional<TraceIndexingService> traceIndexingService =
+        traceIndex.map(
+            index ->
+                new TraceIndexingService(
+                    context.getBlockchain(),
+                    index,
+                    new TraceBlock(
+                            protocolSchedule,
+                            blockchainQueries,
+                            metricsSystem,
+                            besuController.getProtocolManager().ethContext().getScheduler())
+                        ::tryTraceBlock,
+                    MonitoredExecutors.newFixedThreadPool("TraceIndexer", 1, metricsSystem),
+                    metricsSystem));
 
     final FilterManager filterManager =
         new FilterManagerBuilder()
@@ -912,6 +941,9 @@ public class RunnerBuilder {
             accountPermissioningController.flatMap(
                 AccountPermissioningController::getAccountLocalConfigPermissioningController);
 
+    final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor =
+        createVirtualThreadExecutor();
+
     Optional<JsonRpcHttpService> jsonRpcHttpService = Optional.empty();
 
     if (jsonRpcConfiguration.isEnabled()) {
@@ -954,8 +986,11 @@ public class RunnerBuilder {
                   metricsSystem,
                   natService,
                   nonEngineMethods,
+                  DefaultAuthenticationService.create(vertx, jsonRpcConfiguration),
                   createLivenessHealthService(besuPluginContext),
-                  createReadinessHealthService(besuPluginContext, peerNetwork, synchronizer)));
+                  createReadinessHealthService(besuPluginContext, peerNetwork, synchronizer),
+                  createResponseCache(context.getBlockchain()),
+                  virtualThreadExecutor));
     }
 
     final SubscriptionManager subscriptionManager =
@@ -1066,7 +1101,8 @@ public class RunnerBuilder {
                   graphQLConfiguration,
                   graphQL,
                   graphQlContextMap,
-                  besuController.getProtocolManager().ethContext().getScheduler()));
+                  besuController.getProtocolManager().ethContext().getScheduler(),
+                  virtualThreadExecutor));
     }
 
     Optional<WebSocketService> webSocketService = Optional.empty();
@@ -1109,7 +1145,8 @@ public class RunnerBuilder {
                   subscriptionManager,
                   nonEngineMethods,
                   DefaultAuthenticationService.create(vertx, webSocketConfiguration),
-                  metricsSystem));
+                  metricsSystem,
+                  virtualThreadExecutor));
     }
 
     final Optional<MetricsService> metricsService = createMetricsService(metricsConfiguration);
@@ -1232,7 +1269,8 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
-        context.getBlockchain());
+        context.getBlockchain(),
+        traceIndexingService);
   }
 
   private boolean isEthStatsEnabled() {
@@ -1491,7 +1529,8 @@ public class RunnerBuilder {
       final SubscriptionManager subscriptionManager,
       final Map<String, JsonRpcMethod> jsonRpcMethods,
       final Optional<AuthenticationService> authenticationService,
-      final ObservableMetricsSystem metricsSystem) {
+      final ObservableMetricsSystem metricsSystem,
+      final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor) {
 
     final WebSocketMethodsFactory websocketMethodsFactory =
         new WebSocketMethodsFactory(subscriptionManager, jsonRpcMethods);
@@ -1518,7 +1557,8 @@ public class RunnerBuilder {
             vertx,
             jsonRpcExecutor,
             besuController.getProtocolManager().ethContext().getScheduler(),
-            webSocketConfiguration.getTimeoutSec());
+            webSocketConfiguration.getTimeoutSec(),
+            virtualThreadExecutor);
 
     return new WebSocketService(
         vertx, configuration, websocketMessageHandler, authenticationService, metricsSystem);
@@ -1528,6 +1568,22 @@ public class RunnerBuilder {
     return MetricsService.create(configuration, metricsSystem);
   }
 
+  private Optional<VirtualThreadRequestExecutor> createVirtualThreadExecutor() {
+    final int maxConcurrencyPerMethod = apiConfiguration.getVirtualThreadsMaxConcurrencyPerMethod();
+    if (maxConcurrencyPerMethod <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new VirtualThreadRequestExecutor(maxConcurrencyPerMethod, metricsSystem));
+  }
+
+  private Optional<FinalizedResponseCache> createResponseCache(final Blockchain blockchain) {
+    final long maxBytes = jsonRpcConfiguration.getResponseCacheMaxBytes();
+    if (maxBytes <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new FinalizedResponseCache(blockchain, maxBytes, metricsSystem));
+  }
+
   private HealthService createLivenessHealthService(final BesuPluginContextImpl pluginContext) {
     return pluginContext
         .getService(HealthCheckService.class)
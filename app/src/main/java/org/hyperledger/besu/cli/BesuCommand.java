@@ -667,6 +667,13 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       description = "Specifies the number of last blocks to cache  (default: ${DEFAULT-VALUE})")
   private final Integer numberOfBlocksToCache = 0;
 
+  @CommandLine.Option(
+      names = {"--cache-last-blocks-max-size"},
+      paramLabel = "<LONG>",
+      description =
+          "Specifies the max amount of memory in bytes used to cache the last blocks, it overrides the size derived from --cache-last-blocks (default: ${DEFAULT-VALUE})")
+  private final Long blockCacheMaxBytes = 0L;
+
   @CommandLine.Option(
       names = {"--cache-last-block-headers"},
       description =
@@ -2190,6 +2197,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .randomPeerPriority(p2PDiscoveryOptions.randomPeerPriority)
             .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject())
             .cacheLastBlocks(numberOfBlocksToCache)
+            .cacheLastBlocksMaxSize(blockCacheMaxBytes)
             .cacheLastBlockHeaders(numberOfBlockHeadersToCache)
             .isCacheLastBlockHeadersPreloadEnabled(isCacheLastBlockHeadersPreloadEnabled)
             .senderNonceIndexingEnabled(txSenderNonceIndexEnabled)
@@ -2965,6 +2973,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         && !dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!apiConfigurationSupplier.get().isTraceIndexEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.TRACE_INDEX);
+    }
   }
 
   private void resolveAndValidateCheckpoint() {
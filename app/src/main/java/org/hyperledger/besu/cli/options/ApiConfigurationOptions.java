@@ -86,18 +86,44 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks to retrieve logs from via RPC. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long rpcMaxLogsRange = 5000L;
 
+  @CommandLine.Option(
+      names = {"--rpc-log-index-enabled"},
+      description =
+          "Set to build an index of the logs, alongside the log bloom cache, used to serve eth_getLogs over large block ranges (default: ${DEFAULT-VALUE})")
+  private final Boolean rpcLogIndexEnabled = false;
+
   @CommandLine.Option(
       names = {"--rpc-gas-cap"},
       description =
           "Specifies the gasLimit cap for transaction simulation RPC methods. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long rpcGasCap = ApiConfiguration.DEFAULT_GAS_CAP;
 
+  @CommandLine.Option(
+      names = {"--Xrpc-eth-call-cache-max-size"},
+      hidden = true,
+      description =
+          "Specifies the max amount of memory in bytes used to cache the results of eth_call by block, call parameters and state overrides, 0 to disable the cache (default: ${DEFAULT-VALUE})")
+  private final Long rpcEthCallCacheMaxBytes = 0L;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-virtual-threads-max-concurrency-per-method"},
+      hidden = true,
+      description =
+          "Specifies the maximum number of requests of the same method executed at the same time, executing each JSON-RPC, GraphQL and WebSocket request on a virtual thread instead of the worker pool, 0 to use the worker pool (default: ${DEFAULT-VALUE})")
+  private final Integer rpcVirtualThreadsMaxConcurrencyPerMethod = 0;
+
   @CommandLine.Option(
       names = {"--rpc-max-trace-filter-range"},
       description =
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--rpc-trace-index-enabled"},
+      description =
+          "Set to index the traces of the finalized blocks in the background, used to serve trace_filter, trace_block and trace_transaction without re-executing the blocks (default: ${DEFAULT-VALUE})")
+  private final Boolean rpcTraceIndexEnabled = false;
+
   @CommandLine.Option(
       names = {"--rpc-max-active-filters"},
       description =
@@ -135,6 +161,11 @@ public class ApiConfigurationOptions {
       throw new CommandLine.ParameterException(
           commandLine, "--rpc-filter-timeout-seconds must be > 0");
     }
+    if (rpcVirtualThreadsMaxConcurrencyPerMethod < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "--Xrpc-virtual-threads-max-concurrency-per-method must be >= 0 (0 specifies the worker pool)");
+    }
     checkApiOptionsDependencies(commandLine, logger);
   }
 
@@ -162,9 +193,13 @@ public class ApiConfigurationOptions {
             .gasPriceMax(Wei.of(apiGasPriceMax))
             .estimateGasToleranceRatio(estimateGasToleranceRatio)
             .maxLogsRange(rpcMaxLogsRange)
+            .isLogIndexEnabled(rpcLogIndexEnabled)
             .gasCap(rpcGasCap)
+            .ethCallCacheMaxBytes(rpcEthCallCacheMaxBytes)
+            .virtualThreadsMaxConcurrencyPerMethod(rpcVirtualThreadsMaxConcurrencyPerMethod)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
             .maxTraceFilterRange(maxTraceFilterRange)
+            .isTraceIndexEnabled(rpcTraceIndexEnabled)
             .maxFilterCount(rpcMaxActiveFilters)
             .filterTimeout(Duration.ofSeconds(rpcFilterTimeoutSeconds));
     if (apiGasAndPriorityFeeLimitingEnabled) {
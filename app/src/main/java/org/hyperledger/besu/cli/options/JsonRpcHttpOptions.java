@@ -17,7 +17,9 @@ package org.hyperledger.besu.cli.options;
 import static java.util.Arrays.asList;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_HOST;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_PORT;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_BATCH_CONCURRENCY;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_PRETTY_JSON_ENABLED;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_MAX_BYTES;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.DEFAULT_RPC_APIS;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.VALID_APIS;
 
@@ -204,6 +206,22 @@ public class JsonRpcHttpOptions {
           "Specifies the maximum number of requests in a single RPC batch request via RPC. -1 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Integer rpcHttpMaxBatchSize = DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_SIZE;
 
+  @CommandLine.Option(
+      names = {"--Xrpc-http-max-batch-concurrency"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      hidden = true,
+      description =
+          "Specifies the maximum number of requests of a single RPC batch request that are executed concurrently, 1 to execute them one after the other (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchConcurrency = DEFAULT_MAX_BATCH_CONCURRENCY;
+
+  @CommandLine.Option(
+      names = {"--Xrpc-http-response-cache-max-size"},
+      paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
+      hidden = true,
+      description =
+          "Specifies the max amount of memory in bytes used to cache the responses for finalized blocks, transactions and receipts, 0 to disable the cache (default: ${DEFAULT-VALUE})")
+  private final Long rpcHttpResponseCacheMaxBytes = DEFAULT_RESPONSE_CACHE_MAX_BYTES;
+
   @CommandLine.Option(
       names = {"--rpc-http-max-request-content-length"},
       paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
@@ -291,6 +309,8 @@ public class JsonRpcHttpOptions {
     jsonRpcConfiguration.setAuthenticationAlgorithm(rpcHttpAuthenticationAlgorithm);
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setMaxBatchSize(rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setMaxBatchConcurrency(rpcHttpMaxBatchConcurrency);
+    jsonRpcConfiguration.setResponseCacheMaxBytes(rpcHttpResponseCacheMaxBytes);
     jsonRpcConfiguration.setMaxRequestContentLength(rpcHttpMaxRequestContentLength);
     jsonRpcConfiguration.setPrettyJsonEnabled(prettyJsonEnabled);
     return jsonRpcConfiguration;
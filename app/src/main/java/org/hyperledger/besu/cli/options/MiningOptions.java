@@ -22,6 +22,8 @@ import static org.hyperledger.besu.ethereum.core.MiningConfiguration.DEFAULT_POS
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_EXTRA_DATA;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_PRIORITY_FEE_PER_GAS;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInitValues.DEFAULT_MIN_TRANSACTION_GAS_PRICE;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_BLOCK_CREATION_EXECUTION_CACHE_SIZE;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_BLOCK_CREATION_SPECULATIVE_TRANSACTIONS;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
@@ -154,6 +156,21 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         description =
             "Specifies the maximum time, in milliseconds, to wait for block building to complete when only an empty block is available (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockFinalizationTimeoutMs = DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-creation-execution-cache-size"},
+        description =
+            "Max number of transaction execution results kept by a block creator, to reuse them when the same block is built again, 0 disables the cache (default: ${DEFAULT-VALUE})")
+    private Integer blockCreationExecutionCacheSize = DEFAULT_BLOCK_CREATION_EXECUTION_CACHE_SIZE;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-creation-speculative-transactions"},
+        description =
+            "Max number of candidate transactions executed speculatively in parallel while building a PoS block, 0 disables the parallel block building (default: ${DEFAULT-VALUE})")
+    private Integer blockCreationSpeculativeTransactions =
+        DEFAULT_BLOCK_CREATION_SPECULATIVE_TRANSACTIONS;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -211,6 +228,16 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
           commandLine, "--Xpos-block-creation-repetition-min-duration must be positive and ≤ 2000");
     }
 
+    if (unstableOptions.blockCreationExecutionCacheSize < 0) {
+      throw new ParameterException(
+          commandLine, "--Xblock-creation-execution-cache-size must not be negative");
+    }
+
+    if (unstableOptions.blockCreationSpeculativeTransactions < 0) {
+      throw new ParameterException(
+          commandLine, "--Xblock-creation-speculative-transactions must not be negative");
+    }
+
     if (unstableOptions.posBlockFinalizationTimeoutMs <= 0
         || unstableOptions.posBlockFinalizationTimeoutMs > 12000) {
       throw new ParameterException(
@@ -289,6 +316,10 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         miningConfiguration.getUnstable().getPosSlotDuration();
     miningOptions.unstableOptions.posBlockFinalizationTimeoutMs =
         miningConfiguration.getUnstable().getPosBlockFinalizationTimeoutMs();
+    miningOptions.unstableOptions.blockCreationExecutionCacheSize =
+        miningConfiguration.getUnstable().getBlockCreationExecutionCacheSize();
+    miningOptions.unstableOptions.blockCreationSpeculativeTransactions =
+        miningConfiguration.getUnstable().getBlockCreationSpeculativeTransactions();
 
     miningConfiguration.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
     return miningOptions;
@@ -329,6 +360,9 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                     unstableOptions.posBlockCreationRepetitionMinDuration)
                 .posSlotDuration(unstableOptions.posSlotDuration)
                 .posBlockFinalizationTimeoutMs(unstableOptions.posBlockFinalizationTimeoutMs)
+                .blockCreationExecutionCacheSize(unstableOptions.blockCreationExecutionCacheSize)
+                .blockCreationSpeculativeTransactions(
+                    unstableOptions.blockCreationSpeculativeTransactions)
                 .build())
         .build();
   }
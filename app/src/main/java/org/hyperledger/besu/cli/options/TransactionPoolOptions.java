@@ -22,6 +22,7 @@ import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConf
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration.Implementation.SEQUENCED;
 
 import org.hyperledger.besu.cli.converter.DurationMillisConverter;
+import org.hyperledger.besu.cli.converter.DurationSecondsConverter;
 import org.hyperledger.besu.cli.converter.FractionConverter;
 import org.hyperledger.besu.cli.converter.PercentageConverter;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -259,8 +260,16 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     private static final String MAX_SEND_QUEUE_SIZE_PER_PEER = "--Xmax-send-queue-size-per-peer";
     private static final String PEER_TRACKER_FORGET_EVICTED_TXS_FLAG =
         "--Xpeer-tracker-forget-evicted-txs";
+    private static final String PEER_TRACKER_KNOWN_HASHES_PER_PEER_FLAG =
+        "--Xpeer-tracker-known-hashes-per-peer";
+    private static final String TX_BROADCAST_BATCH_WINDOW_FLAG =
+        "--Xtx-broadcast-batch-window-milliseconds";
     private static final String TX_POOL_SAVE_RESTORE_TIMEOUT_FLAG =
         "--Xtx-pool-save-restore-timeout";
+    private static final String TX_POOL_OFF_HEAP_CAPACITY_FLAG = "--Xtx-pool-off-heap-capacity";
+    private static final String TX_POOL_SAVE_BINARY_FORMAT_FLAG = "--Xtx-pool-save-binary-format";
+    private static final String TX_POOL_SAVE_INTERVAL_FLAG = "--Xtx-pool-save-interval-seconds";
+    private static final String BLOB_CACHE_SPILL_CAPACITY_FLAG = "--Xblob-cache-spill-capacity";
 
     @CommandLine.Option(
         names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
@@ -309,6 +318,25 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         fallbackValue = "true")
     private Boolean peerTrackerForgetEvictedTxs;
 
+    @CommandLine.Option(
+        names = {PEER_TRACKER_KNOWN_HASHES_PER_PEER_FLAG},
+        paramLabel = "<INTEGER>",
+        hidden = true,
+        description =
+            "The min number of most recent tx hashes remembered as known by each peer, to avoid sending them to the peer again (default: ${DEFAULT-VALUE})")
+    private int peerTrackerKnownHashesPerPeer =
+        TransactionPoolConfiguration.Unstable.DEFAULT_PEER_TRACKER_KNOWN_HASHES_PER_PEER;
+
+    @CommandLine.Option(
+        names = {TX_BROADCAST_BATCH_WINDOW_FLAG},
+        paramLabel = "<LONG>",
+        converter = DurationMillisConverter.class,
+        hidden = true,
+        description =
+            "The time window in milliseconds during which the txs to broadcast to a peer are collected, before sending them together, 0 to send them as soon as possible (default: ${DEFAULT-VALUE})")
+    private Duration txBroadcastBatchWindow =
+        TransactionPoolConfiguration.Unstable.DEFAULT_TX_BROADCAST_BATCH_WINDOW;
+
     @CommandLine.Option(
         names = {TX_POOL_SAVE_RESTORE_TIMEOUT_FLAG},
         paramLabel = "<LONG>",
@@ -318,6 +346,45 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
             "Timeout in milliseconds for acquiring the disk access lock during txpool save/restore operations (default: ${DEFAULT-VALUE})")
     private Duration saveRestoreTimeout =
         TransactionPoolConfiguration.Unstable.DEFAULT_SAVE_RESTORE_TIMEOUT;
+
+    @CommandLine.Option(
+        names = {TX_POOL_OFF_HEAP_CAPACITY_FLAG},
+        paramLabel = "<LONG>",
+        hidden = true,
+        description =
+            "Max number of bytes of direct memory used to store the encoded transactions of the layered txpool off-heap, 0 to keep them on-heap (default: ${DEFAULT-VALUE})")
+    private long pooledTransactionsOffHeapCapacity =
+        TransactionPoolConfiguration.Unstable.DEFAULT_POOLED_TRANSACTIONS_OFF_HEAP_CAPACITY;
+
+    @CommandLine.Option(
+        names = {TX_POOL_SAVE_BINARY_FORMAT_FLAG},
+        paramLabel = "<BOOLEAN>",
+        hidden = true,
+        description =
+            "Save the txpool content in a binary snapshot, that is faster to restore, instead of the text format. Both formats can be restored (default: ${DEFAULT-VALUE})",
+        arity = "0..1",
+        fallbackValue = "true")
+    private Boolean saveRestoreBinaryFormat =
+        TransactionPoolConfiguration.Unstable.DEFAULT_SAVE_RESTORE_BINARY_FORMAT;
+
+    @CommandLine.Option(
+        names = {TX_POOL_SAVE_INTERVAL_FLAG},
+        paramLabel = "<INTEGER>",
+        converter = DurationSecondsConverter.class,
+        hidden = true,
+        description =
+            "Interval in seconds to periodically save the txpool content, when save and restore is enabled, 0 to only save it on shutdown (default: ${DEFAULT-VALUE})")
+    private Duration saveRestoreInterval =
+        TransactionPoolConfiguration.Unstable.DEFAULT_SAVE_RESTORE_INTERVAL;
+
+    @CommandLine.Option(
+        names = {BLOB_CACHE_SPILL_CAPACITY_FLAG},
+        paramLabel = "<LONG>",
+        hidden = true,
+        description =
+            "Max number of bytes used on disk for the blobs of the recently included txs, that are evicted from memory, 0 to keep them only in memory (default: ${DEFAULT-VALUE})")
+    private long blobCacheSpillCapacity =
+        TransactionPoolConfiguration.Unstable.DEFAULT_BLOB_CACHE_SPILL_CAPACITY;
   }
 
   private TransactionPoolOptions() {}
@@ -385,7 +452,18 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         config.getUnstable().getMaxSendQueueSizePerPeer();
     options.unstableOptions.peerTrackerForgetEvictedTxs =
         config.getUnstable().getPeerTrackerForgetEvictedTxs();
+    options.unstableOptions.peerTrackerKnownHashesPerPeer =
+        config.getUnstable().getPeerTrackerKnownHashesPerPeer();
+    options.unstableOptions.txBroadcastBatchWindow =
+        config.getUnstable().getTxBroadcastBatchWindow();
     options.unstableOptions.saveRestoreTimeout = config.getUnstable().getSaveRestoreTimeout();
+    options.unstableOptions.pooledTransactionsOffHeapCapacity =
+        config.getUnstable().getPooledTransactionsOffHeapCapacity();
+    options.unstableOptions.saveRestoreBinaryFormat =
+        config.getUnstable().getSaveRestoreBinaryFormat();
+    options.unstableOptions.saveRestoreInterval = config.getUnstable().getSaveRestoreInterval();
+    options.unstableOptions.blobCacheSpillCapacity =
+        config.getUnstable().getBlobCacheSpillCapacity();
     return options;
   }
 
@@ -450,7 +528,14 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
                 .peerTrackerForgetEvictedTxs(
                     Optional.ofNullable(unstableOptions.peerTrackerForgetEvictedTxs)
                         .orElse(deriveDefaultPeersTrackerForgetEvictedTxs(txPoolImplementation)))
+                .peerTrackerKnownHashesPerPeer(unstableOptions.peerTrackerKnownHashesPerPeer)
+                .txBroadcastBatchWindow(unstableOptions.txBroadcastBatchWindow)
                 .saveRestoreTimeout(unstableOptions.saveRestoreTimeout)
+                .pooledTransactionsOffHeapCapacity(
+                    unstableOptions.pooledTransactionsOffHeapCapacity)
+                .saveRestoreBinaryFormat(unstableOptions.saveRestoreBinaryFormat)
+                .saveRestoreInterval(unstableOptions.saveRestoreInterval)
+                .blobCacheSpillCapacity(unstableOptions.blobCacheSpillCapacity)
                 .build())
         .build();
   }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.cli.options.storage;
 
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_REVERT_REASON_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_TRANSACTION_INDEX_COMPACTION_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -49,6 +50,14 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       fallbackValue = "true")
   private Boolean receiptCompactionEnabled = DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
+  @Option(
+      hidden = true,
+      names = "--Xtransaction-index-compaction-enabled",
+      description =
+          "Stores transaction locations referencing the block by number instead of by hash (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true")
+  private Boolean transactionIndexCompactionEnabled = DEFAULT_TRANSACTION_INDEX_COMPACTION_ENABLED;
+
   @Option(
       names = {"--revert-reason-enabled"},
       description =
@@ -100,6 +109,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     final DataStorageOptions dataStorageOptions = DataStorageOptions.create();
     dataStorageOptions.dataStorageFormat = domainObject.getDataStorageFormat();
     dataStorageOptions.receiptCompactionEnabled = domainObject.getReceiptCompactionEnabled();
+    dataStorageOptions.transactionIndexCompactionEnabled =
+        domainObject.getTransactionIndexCompactionEnabled();
     dataStorageOptions.revertReasonEnabled = domainObject.getRevertReasonEnabled();
     dataStorageOptions.pathBasedExtraStorageOptions =
         PathBasedExtraStorageOptions.fromConfig(
@@ -114,6 +125,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         ImmutableDataStorageConfiguration.builder()
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
+            .transactionIndexCompactionEnabled(transactionIndexCompactionEnabled)
             .revertReasonEnabled(revertReasonEnabled)
             .historyExpiryPruneEnabled(historyExpiryPrune)
             .pathBasedExtraStorageConfiguration(pathBasedExtraStorageOptions.toDomainObject());
@@ -0,0 +1,72 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.subcommands.storage;
+
+import org.hyperledger.besu.cli.util.VersionProvider;
+import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+/** The compact transaction index sub command */
+@CommandLine.Command(
+    name = "x-compact-transaction-index",
+    description =
+        "Rewrites the stored transaction locations to reference their block by number instead of by hash. Run it once after enabling --Xtransaction-index-compaction-enabled",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class)
+public class CompactTransactionIndexSubCommand implements Runnable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(CompactTransactionIndexSubCommand.class);
+
+  private static final int DEFAULT_BATCH_SIZE = 100_000;
+
+  @SuppressWarnings("unused")
+  @CommandLine.ParentCommand
+  private StorageSubCommand storageSubCommand;
+
+  @CommandLine.Option(
+      names = {"--batch-size"},
+      description =
+          "Number of transaction locations rewritten in each storage transaction (default: ${DEFAULT-VALUE})")
+  private final Integer batchSize = DEFAULT_BATCH_SIZE;
+
+  /** Default constructor */
+  public CompactTransactionIndexSubCommand() {}
+
+  @Override
+  public void run() {
+    try (BesuController besuController = storageSubCommand.besuCommand.buildController()) {
+      final BlockchainStorage blockchainStorage =
+          besuController
+              .getStorageProvider()
+              .createBlockchainStorage(
+                  besuController.getProtocolSchedule(),
+                  besuController.getStorageProvider().createVariablesStorage(),
+                  besuController.getDataStorageConfiguration());
+      if (!(blockchainStorage
+          instanceof KeyValueStoragePrefixedKeyBlockchainStorage prefixedKeyStorage)) {
+        LOG.error("Unsupported blockchain storage {}", blockchainStorage.getClass().getName());
+        return;
+      }
+      LOG.info("Compacting transaction locations, batch size={}", batchSize);
+      final long compacted = prefixedKeyStorage.compactTransactionLocations(batchSize);
+      LOG.info("Compacted {} transaction locations", compacted);
+    }
+  }
+}
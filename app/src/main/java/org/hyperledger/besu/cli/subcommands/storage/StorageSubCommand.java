@@ -51,7 +51,8 @@ import picocli.CommandLine.Spec;
       RocksDbSubCommand.class,
       TrieLogSubCommand.class,
       RevertMetadataSubCommand.class,
-      PrunePreMergeBlockDataSubCommand.class
+      PrunePreMergeBlockDataSubCommand.class,
+      CompactTransactionIndexSubCommand.class
     })
 public class StorageSubCommand implements Runnable {
 
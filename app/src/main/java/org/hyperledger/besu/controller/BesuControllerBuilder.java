@@ -214,6 +214,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
 
   private int numberOfBlocksToCache = 0;
   private int numberOfBlockHeadersToCache = 0;
+  private long blockCacheMaxBytes = 0;
   private boolean isCacheLastBlockHeadersPreloadEnabled;
   private boolean senderNonceIndexingEnabled = false;
 
@@ -523,6 +524,18 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
     return this;
   }
 
+  /**
+   * Sets the max memory, in bytes, used to cache the last blocks. When not zero it takes precedence
+   * over the size derived from the number of blocks to cache.
+   *
+   * @param blockCacheMaxBytes the max memory in bytes used by the blocks cache
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder cacheLastBlocksMaxSize(final Long blockCacheMaxBytes) {
+    this.blockCacheMaxBytes = blockCacheMaxBytes;
+    return this;
+  }
+
   /**
    * Sets the number of block headers to cache.
    *
@@ -706,6 +719,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
             dataDirectory.toString(),
             numberOfBlocksToCache,
             numberOfBlockHeadersToCache,
+            blockCacheMaxBytes,
             senderNonceIndexingEnabled);
 
     if (isCacheLastBlockHeadersPreloadEnabled && numberOfBlockHeadersToCache > 0) {
@@ -875,7 +889,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
             syncState,
             transactionPoolConfiguration,
             ethereumWireProtocolConfiguration,
-            besuComponent.map(BesuComponent::getBlobCache).orElse(new BlobCache()),
+            createBlobCache(),
             miningConfiguration);
 
     final List<PeerValidator> peerValidators =
@@ -1085,7 +1099,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
         new TrieLogPruner(
             (BonsaiWorldStateKeyValueStorage) worldStateStorage,
             blockchain,
-            scheduler::executeServiceTask,
+            scheduler::executeBackgroundTask,
             subStorageConfiguration.getMaxLayersToLoad(),
             subStorageConfiguration.getTrieLogPruningWindowSize(),
             isProofOfStake,
@@ -1533,6 +1547,22 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
     return validators;
   }
 
+  /**
+   * Create the cache of the blobs of the included txs, spilling them to disk if enabled.
+   *
+   * @return the blob cache
+   */
+  private BlobCache createBlobCache() {
+    final long spillCapacity =
+        transactionPoolConfiguration.getUnstable().getBlobCacheSpillCapacity();
+    if (spillCapacity > 0) {
+      return new BlobCache(
+          dataDirectory.resolve(BesuController.CACHE_PATH).resolve(BlobCache.SPILL_DIRECTORY_NAME),
+          spillCapacity);
+    }
+    return besuComponent.map(BesuComponent::getBlobCache).orElse(new BlobCache());
+  }
+
   /**
    * Create additional plugin services plugin service factory.
    *
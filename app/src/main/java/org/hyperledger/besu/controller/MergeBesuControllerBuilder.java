@@ -23,6 +23,7 @@ import org.hyperledger.besu.consensus.merge.blockcreation.MergeCoordinator;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.ParallelTransactionSelection;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.GenesisState;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -168,13 +169,19 @@ public class MergeBesuControllerBuilder extends BesuControllerBuilder {
 
     this.syncState.set(syncState);
 
+    final int speculativeTransactions =
+        miningConfiguration.getUnstable().getBlockCreationSpeculativeTransactions();
+
     return new MergeCoordinator(
         protocolContext,
         protocolSchedule,
         ethScheduler,
         transactionPool,
         miningConfiguration,
-        backwardSyncContext);
+        backwardSyncContext,
+        speculativeTransactions > 0
+            ? Optional.of(new ParallelTransactionSelection(metricsSystem, speculativeTransactions))
+            : Optional.empty());
   }
 
   @Override
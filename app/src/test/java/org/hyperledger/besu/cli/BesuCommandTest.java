@@ -2786,6 +2786,18 @@ public class BesuCommandTest extends CommandTestAbstract {
         .isTrue();
   }
 
+  @Test
+  public void cacheLastBlocksMaxSizeOptionShouldWork() {
+    final long blockCacheMaxBytes = 256L * 1024 * 1024;
+    parseCommand("--cache-last-blocks-max-size", String.valueOf(blockCacheMaxBytes));
+    verify(mockControllerBuilder).cacheLastBlocksMaxSize(longArgumentCaptor.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(longArgumentCaptor.getValue()).isEqualTo(blockCacheMaxBytes);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void cacheLastBlocksOptionShouldWork() {
     int numberOfBlocksToCache = 512;
@@ -120,6 +120,34 @@ public class ApiConfigurationOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcLogIndexEnabledOptionMustBeUsed() {
+    parseCommand("--rpc-log-index-enabled");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().isLogIndexEnabled(true).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcTraceIndexEnabledOptionMustBeUsed() {
+    parseCommand("--rpc-trace-index-enabled");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().isTraceIndexEnabled(true).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void rpcGasCapOptionMustBeUsed() {
     final long rpcGasCap = 150L;
@@ -135,6 +163,44 @@ public class ApiConfigurationOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcEthCallCacheMaxSizeOptionMustBeUsed() {
+    final long maxBytes = 1_048_576L;
+    parseCommand("--Xrpc-eth-call-cache-max-size", Long.toString(maxBytes));
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().ethCallCacheMaxBytes(maxBytes).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcVirtualThreadsMaxConcurrencyPerMethodOptionMustBeUsed() {
+    parseCommand("--Xrpc-virtual-threads-max-concurrency-per-method", "16");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(
+            ImmutableApiConfiguration.builder().virtualThreadsMaxConcurrencyPerMethod(16).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcVirtualThreadsMaxConcurrencyPerMethodMustNotBeNegative() {
+    parseCommand("--Xrpc-virtual-threads-max-concurrency-per-method", "-1");
+
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--Xrpc-virtual-threads-max-concurrency-per-method must be >= 0");
+  }
+
   @Test
   public void rpcGasCapDefault() {
     parseCommand();
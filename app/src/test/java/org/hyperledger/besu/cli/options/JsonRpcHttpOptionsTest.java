@@ -943,6 +943,38 @@ public class JsonRpcHttpOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcHttpMaxBatchConcurrencyOptionMustBeUsed() {
+    final int rpcHttpMaxBatchConcurrency = 8;
+    parseCommand(
+        "--Xrpc-http-max-batch-concurrency", Integer.toString(rpcHttpMaxBatchConcurrency));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchConcurrency())
+        .isEqualTo(rpcHttpMaxBatchConcurrency);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpResponseCacheMaxSizeOptionMustBeUsed() {
+    final long rpcHttpResponseCacheMaxBytes = 64 * 1024 * 1024;
+    parseCommand(
+        "--Xrpc-http-response-cache-max-size", Long.toString(rpcHttpResponseCacheMaxBytes));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheMaxBytes())
+        .isEqualTo(rpcHttpResponseCacheMaxBytes);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
@@ -185,6 +185,42 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningConfiguratio
         "17000");
   }
 
+  @Test
+  public void blockCreationExecutionCacheSizeOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockCreationExecutionCacheSize())
+                .isEqualTo(0),
+        "--Xblock-creation-execution-cache-size",
+        "0");
+  }
+
+  @Test
+  public void blockCreationExecutionCacheSizeMustNotBeNegative() {
+    internalTestFailure(
+        "--Xblock-creation-execution-cache-size must not be negative",
+        "--Xblock-creation-execution-cache-size",
+        "-1");
+  }
+
+  @Test
+  public void blockCreationSpeculativeTransactionsOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockCreationSpeculativeTransactions())
+                .isEqualTo(64),
+        "--Xblock-creation-speculative-transactions",
+        "64");
+  }
+
+  @Test
+  public void blockCreationSpeculativeTransactionsMustNotBeNegative() {
+    internalTestFailure(
+        "--Xblock-creation-speculative-transactions must not be negative",
+        "--Xblock-creation-speculative-transactions",
+        "-1");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -396,6 +396,64 @@ public class TransactionPoolOptionsTest
         "-1");
   }
 
+  @Test
+  public void pooledTransactionsOffHeapCapacity() {
+    final long capacity = 64L * 1024 * 1024;
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getPooledTransactionsOffHeapCapacity())
+                .isEqualTo(capacity),
+        "--Xtx-pool-off-heap-capacity",
+        String.valueOf(capacity));
+  }
+
+  @Test
+  public void saveRestoreBinaryFormat() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getSaveRestoreBinaryFormat()).isTrue(),
+        "--Xtx-pool-save-binary-format");
+  }
+
+  @Test
+  public void saveRestoreInterval() {
+    final Duration saveRestoreInterval = Duration.ofSeconds(30);
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getSaveRestoreInterval())
+                .isEqualTo(saveRestoreInterval),
+        "--Xtx-pool-save-interval-seconds",
+        "30");
+  }
+
+  @Test
+  public void blobCacheSpillCapacity() {
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getBlobCacheSpillCapacity()).isEqualTo(1_000_000L),
+        "--Xblob-cache-spill-capacity",
+        "1000000");
+  }
+
+  @Test
+  public void peerTrackerKnownHashesPerPeer() {
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getPeerTrackerKnownHashesPerPeer()).isEqualTo(1000),
+        "--Xpeer-tracker-known-hashes-per-peer",
+        "1000");
+  }
+
+  @Test
+  public void txBroadcastBatchWindow() {
+    final Duration txBroadcastBatchWindow = Duration.ofMillis(100);
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getTxBroadcastBatchWindow())
+                .isEqualTo(txBroadcastBatchWindow),
+        "--Xtx-broadcast-batch-window-milliseconds",
+        "100");
+  }
+
   @Test
   public void maxPrioritizedTxsPerType() {
     final int maxBlobs = 2;
@@ -232,6 +232,21 @@ public class DataStorageOptionsTest
         "--receipt-compaction-enabled=false");
   }
 
+  @Test
+  public void transactionIndexCompactionIsDisabledByDefault() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getTransactionIndexCompactionEnabled()).isFalse());
+  }
+
+  @Test
+  public void transactionIndexCompactionCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getTransactionIndexCompactionEnabled()).isTrue(),
+        "--Xtransaction-index-compaction-enabled");
+  }
+
   @Test
   public void revertReasonCanBeEnabled() {
     internalTestSuccess(
@@ -266,6 +281,7 @@ public class DataStorageOptionsTest
                 .parallelStateRootComputationEnabled(true)
                 .build())
         .revertReasonEnabled(true)
+        .transactionIndexCompactionEnabled(true)
         .build();
   }
 
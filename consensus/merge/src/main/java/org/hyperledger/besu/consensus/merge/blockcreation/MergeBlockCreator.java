@@ -16,6 +16,7 @@ package org.hyperledger.besu.consensus.merge.blockcreation;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractBlockCreator;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.ParallelTransactionSelection;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.Difficulty;
@@ -54,6 +55,37 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final ProtocolSchedule protocolSchedule,
       final BlockHeader parentHeader,
       final EthScheduler ethScheduler) {
+    this(
+        miningConfiguration,
+        extraDataCalculator,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        parentHeader,
+        ethScheduler,
+        Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Merge block creator.
+   *
+   * @param miningConfiguration the mining parameters
+   * @param extraDataCalculator the extra data calculator
+   * @param transactionPool the pending transactions
+   * @param protocolContext the protocol context
+   * @param protocolSchedule the protocol schedule
+   * @param parentHeader the parent header
+   * @param maybeParallelTransactionSelection the optional parallel block building support
+   */
+  public MergeBlockCreator(
+      final MiningConfiguration miningConfiguration,
+      final ExtraDataCalculator extraDataCalculator,
+      final TransactionPool transactionPool,
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final BlockHeader parentHeader,
+      final EthScheduler ethScheduler,
+      final Optional<ParallelTransactionSelection> maybeParallelTransactionSelection) {
     super(
         miningConfiguration,
         (__, ___) -> miningConfiguration.getCoinbase().orElseThrow(),
@@ -61,7 +93,8 @@ class MergeBlockCreator extends AbstractBlockCreator {
         transactionPool,
         protocolContext,
         protocolSchedule,
-        ethScheduler);
+        ethScheduler,
+        maybeParallelTransactionSelection);
   }
 
   /**
@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreationTiming;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationResult;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.ParallelTransactionSelection;
 import org.hyperledger.besu.ethereum.chain.BadBlockCause;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -118,6 +119,35 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final TransactionPool transactionPool,
       final MiningConfiguration miningParams,
       final BackwardSyncContext backwardSyncContext) {
+    this(
+        protocolContext,
+        protocolSchedule,
+        ethScheduler,
+        transactionPool,
+        miningParams,
+        backwardSyncContext,
+        Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Merge coordinator.
+   *
+   * @param protocolContext the protocol context
+   * @param protocolSchedule the protocol schedule
+   * @param ethScheduler the block builder executor
+   * @param transactionPool the pending transactions
+   * @param miningParams the mining params
+   * @param backwardSyncContext the backward sync context
+   * @param maybeParallelTransactionSelection the optional parallel block building support
+   */
+  public MergeCoordinator(
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final EthScheduler ethScheduler,
+      final TransactionPool transactionPool,
+      final MiningConfiguration miningParams,
+      final BackwardSyncContext backwardSyncContext,
+      final Optional<ParallelTransactionSelection> maybeParallelTransactionSelection) {
     this(
         protocolContext,
         protocolSchedule,
@@ -133,7 +163,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
               protocolContext,
               protocolSchedule,
               parentHeader,
-              ethScheduler);
+              ethScheduler,
+              maybeParallelTransactionSelection);
         });
   }
 
@@ -237,12 +237,13 @@ public class StateOverride {
         && nonce.equals(stateOverride.nonce)
         && code.equals(stateOverride.code)
         && state.equals(stateOverride.state)
-        && stateDiff.equals(stateOverride.stateDiff);
+        && stateDiff.equals(stateOverride.stateDiff)
+        && movePrecompileToAddress.equals(stateOverride.movePrecompileToAddress);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(balance, nonce, code, state, stateDiff);
+    return Objects.hash(balance, nonce, code, state, stateDiff, movePrecompileToAddress);
   }
 
   @Override
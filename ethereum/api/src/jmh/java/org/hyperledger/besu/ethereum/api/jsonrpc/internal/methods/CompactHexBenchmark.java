@@ -14,9 +14,16 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.HexJson;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.tuweni.bytes.Bytes;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -28,12 +35,14 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Benchmarks {@link HexWriter#encodeTo}. Each invocation encodes {@link #N} values to simulate a
- * realistic per-opcode workload (stack entries).
+ * realistic per-opcode workload (stack entries). The generator benchmarks compare writing the same
+ * values to a JSON response as a hex {@code String}, and straight with {@link HexJson}.
  *
  * <p>Run with: {@code ./gradlew :ethereum:api:jmh -Pincludes=CompactHexBenchmark}
  */
@@ -66,9 +75,11 @@ public class CompactHexBenchmark {
 
   private byte[][] values;
   private byte[] writeBuf;
+  private Bytes[] wrapped;
+  private JsonGenerator generator;
 
   @Setup
-  public void setup() {
+  public void setup() throws IOException {
     final Random rng = new Random(42);
     values = new byte[N][];
     for (int i = 0; i < N; i++) {
@@ -80,6 +91,16 @@ public class CompactHexBenchmark {
       }
     }
     writeBuf = new byte[BUF_SIZE];
+    wrapped = new Bytes[N];
+    for (int i = 0; i < N; i++) {
+      wrapped[i] = Bytes.wrap(values[i]);
+    }
+    generator = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    generator.close();
   }
 
   @Benchmark
@@ -91,4 +112,20 @@ public class CompactHexBenchmark {
     }
     bh.consume(pos);
   }
+
+  @Benchmark
+  @OperationsPerInvocation(N)
+  public void stringToGenerator() throws IOException {
+    for (final Bytes bytes : wrapped) {
+      generator.writeString(bytes.toHexString());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(N)
+  public void hexJsonToGenerator() throws IOException {
+    for (final Bytes bytes : wrapped) {
+      HexJson.writeBytes(generator, bytes);
+    }
+  }
 }
@@ -14,9 +14,13 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.apache.tuweni.units.bigints.UInt256Value;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -26,7 +30,9 @@ import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -43,6 +49,18 @@ public class QuantityLongToHexBenchmark {
   @Param({"0", "255", "65535", "1000000", "9007199254740991", "9223372036854775807"})
   public long value;
 
+  private JsonGenerator generator;
+
+  @Setup
+  public void setUp() throws IOException {
+    generator = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    generator.close();
+  }
+
   @Benchmark
   public void current(final Blackhole blackhole) {
     blackhole.consume(uint256ToHex(UInt256.fromHexString(Long.toHexString(value))));
@@ -63,6 +81,16 @@ public class QuantityLongToHexBenchmark {
     blackhole.consume(unrolled(value));
   }
 
+  @Benchmark
+  public void stringToGenerator() throws IOException {
+    generator.writeString(Quantity.create(value));
+  }
+
+  @Benchmark
+  public void hexJsonToGenerator() throws IOException {
+    HexJson.writeQuantity(generator, value);
+  }
+
   private static String simpleHexString(final long value) {
     return HEX_PREFIX + Long.toHexString(value);
   }
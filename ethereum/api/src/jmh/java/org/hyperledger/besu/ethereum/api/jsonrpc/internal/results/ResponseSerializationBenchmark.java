@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the serialization of whole responses, an {@code eth_getLogs} result and an {@code
+ * eth_getBlockByNumber} result with full transactions, with the response mapper to a UTF-8
+ * generator, like the HTTP service writes them. Run with {@code -PgcProfiler=true} to compare the
+ * allocation rate too.
+ *
+ * <p>Run with: {@code ./gradlew :ethereum:api:jmh -Pincludes=ResponseSerializationBenchmark}
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ResponseSerializationBenchmark {
+
+  @Param({"10", "1000"})
+  public int logCount;
+
+  @Param({"10", "200"})
+  public int transactionCount;
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+
+  private JsonGenerator generator;
+  private JsonRpcSuccessResponse logsResponse;
+  private JsonRpcSuccessResponse blockResponse;
+
+  @Setup
+  public void setUp() throws IOException {
+    generator = mapper.getFactory().createGenerator(OutputStream.nullOutputStream());
+    final BlockDataGenerator gen = new BlockDataGenerator(42);
+
+    final List<Log> logs = gen.logs(logCount, 3);
+    final List<LogWithMetadata> logsWithMetadata = new ArrayList<>(logCount);
+    for (int i = 0; i < logCount; i++) {
+      final Log log = logs.get(i);
+      logsWithMetadata.add(
+          new LogWithMetadata(
+              i,
+              20_000_000L + i / 100,
+              Hash.hash(log.getData()),
+              1_700_000_000L,
+              gen.hash(),
+              i % 100,
+              log.getLogger(),
+              log.getData(),
+              log.getTopics(),
+              false));
+    }
+    logsResponse = new JsonRpcSuccessResponse(1, new LogsResult(logsWithMetadata));
+
+    final List<Transaction> transactions = new ArrayList<>(transactionCount);
+    for (int i = 0; i < transactionCount; i++) {
+      transactions.add(gen.transaction(TransactionType.EIP1559));
+    }
+    blockResponse =
+        new JsonRpcSuccessResponse(
+            1,
+            new BlockResultFactory()
+                .transactionComplete(
+                    gen.block(
+                        BlockDataGenerator.BlockOptions.create().addTransaction(transactions))));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    generator.close();
+  }
+
+  @Benchmark
+  public void logs() throws IOException {
+    mapper.writeValue(generator, logsResponse);
+  }
+
+  @Benchmark
+  public void blockWithTransactions() throws IOException {
+    mapper.writeValue(generator, blockResponse);
+  }
+}
@@ -126,6 +126,29 @@ public abstract class ApiConfiguration {
     return DEFAULT_GAS_CAP;
   }
 
+  /**
+   * Returns the max amount of memory in bytes used to cache the results of eth_call, by block,
+   * call parameters and state overrides. Default value is 0, the results are not cached.
+   *
+   * @return the byte budget of the eth_call result cache
+   */
+  @Value.Default
+  public long getEthCallCacheMaxBytes() {
+    return 0L;
+  }
+
+  /**
+   * Returns the max number of requests of the same method that are executed at the same time when
+   * the JSON-RPC, GraphQL and WebSocket requests are executed on virtual threads. Default value is
+   * 0, the requests are executed on the Vert.x worker pool.
+   *
+   * @return the max concurrency per method of the requests executed on virtual threads
+   */
+  @Value.Default
+  public int getVirtualThreadsMaxConcurrencyPerMethod() {
+    return 0;
+  }
+
   /**
    * Returns whether gas and priority fee limiting is enabled. Default value is false.
    *
@@ -156,6 +179,29 @@ public abstract class ApiConfiguration {
     return DEFAULT_UPPER_BOUND_GAS_AND_PRIORITY_FEE_COEFFICIENT;
   }
 
+  /**
+   * Returns whether the log index, used to serve eth_getLogs without scanning the log blooms of the
+   * blocks, is built alongside the log bloom cache. Default value is false.
+   *
+   * @return true if the log index is enabled, false otherwise
+   */
+  @Value.Default
+  public boolean isLogIndexEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns whether the flat traces of the finalized blocks are indexed in the background, to
+   * serve trace_filter, trace_block and trace_transaction without re-executing the blocks. Default
+   * value is false.
+   *
+   * @return true if the trace index is enabled, false otherwise
+   */
+  @Value.Default
+  public boolean isTraceIndexEnabled() {
+    return false;
+  }
+
   /**
    * Returns the maximum range for trace filter. Default value is 1000.
    *
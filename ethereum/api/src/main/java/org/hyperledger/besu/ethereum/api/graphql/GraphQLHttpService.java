@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static io.vertx.core.http.HttpMethod.GET;
 import static io.vertx.core.http.HttpMethod.POST;
 
+import org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter.BlockchainDataLoaders;
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLErrorResponse;
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLJsonRequest;
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLResponse;
@@ -25,7 +26,10 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLRespon
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLSuccessResponse;
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.handlers.VirtualThreadRequestExecutor;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.NetworkUtility;
 
 import java.net.InetSocketAddress;
@@ -37,6 +41,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -49,6 +54,7 @@ import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphQLError;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.ClientAuth;
@@ -88,6 +94,7 @@ public class GraphQLHttpService {
   private static final String GRAPH_QL_ROUTE = "/graphql";
   private static final MediaType MEDIA_TYPE_JUST_JSON = MediaType.JSON_UTF_8.withoutParameters();
   private static final String EMPTY_RESPONSE = "";
+  private static final String GRAPH_QL_METHOD = "graphql";
 
   private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
@@ -103,6 +110,8 @@ public class GraphQLHttpService {
 
   private final EthScheduler scheduler;
 
+  private final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor;
+
   /**
    * Construct a GraphQLHttpService handler
    *
@@ -120,6 +129,29 @@ public class GraphQLHttpService {
       final GraphQL graphQL,
       final Map<GraphQLContextType, Object> graphQlContextMap,
       final EthScheduler scheduler) {
+    this(vertx, dataDir, config, graphQL, graphQlContextMap, scheduler, Optional.empty());
+  }
+
+  /**
+   * Construct a GraphQLHttpService handler that can execute the queries on virtual threads
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param graphQL GraphQL engine
+   * @param graphQlContextMap GraphQlContext Map
+   * @param scheduler {@link EthScheduler} used to trigger timeout on backend queries
+   * @param virtualThreadExecutor The executor of the queries on virtual threads, if enabled,
+   *     otherwise the queries are executed on the Vert.x worker pool
+   */
+  public GraphQLHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final GraphQLConfiguration config,
+      final GraphQL graphQL,
+      final Map<GraphQLContextType, Object> graphQlContextMap,
+      final EthScheduler scheduler,
+      final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor) {
     this.dataDir = dataDir;
 
     validateConfig(config);
@@ -128,6 +160,7 @@ public class GraphQLHttpService {
     this.graphQL = graphQL;
     this.graphQlContextMap = graphQlContextMap;
     this.scheduler = scheduler;
+    this.virtualThreadExecutor = virtualThreadExecutor;
   }
 
   private void validateConfig(final GraphQLConfiguration config) {
@@ -398,43 +431,41 @@ public class GraphQLHttpService {
       }
 
       final HttpServerResponse response = routingContext.response();
-      vertx.executeBlocking(
-          future -> {
-            try {
-              final GraphQLResponse graphQLResponse = process(query, operationName, variables);
-              future.complete(graphQLResponse);
-            } catch (final Exception e) {
-              future.fail(e);
-            }
-          },
-          false,
-          (res) -> {
-            if (response.closed()) {
-              return;
-            }
-            response.putHeader("Content-Type", MediaType.JSON_UTF_8.toString());
-            if (res.failed()) {
-              response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
-              response.end(
-                  serialise(
-                      new GraphQLErrorResponse(
-                          Collections.singletonMap(
-                              "errors",
-                              Collections.singletonList(
-                                  Collections.singletonMap(
-                                      "message", res.cause().getMessage()))))));
-            } else {
-              final GraphQLResponse graphQLResponse = (GraphQLResponse) res.result();
-              response.setStatusCode(status(graphQLResponse).code());
-              response.end(serialise(graphQLResponse));
-            }
-          });
+      executeBlocking(() -> process(query, operationName, variables))
+          .onComplete(
+              (res) -> {
+                if (response.closed()) {
+                  return;
+                }
+                response.putHeader("Content-Type", MediaType.JSON_UTF_8.toString());
+                if (res.failed()) {
+                  response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+                  response.end(
+                      serialise(
+                          new GraphQLErrorResponse(
+                              Collections.singletonMap(
+                                  "errors",
+                                  Collections.singletonList(
+                                      Collections.singletonMap(
+                                          "message", res.cause().getMessage()))))));
+                } else {
+                  final GraphQLResponse graphQLResponse = res.result();
+                  response.setStatusCode(status(graphQLResponse).code());
+                  response.end(serialise(graphQLResponse));
+                }
+              });
 
     } catch (final DecodeException ex) {
       handleGraphQLError(routingContext, ex);
     }
   }
 
+  private <T> Future<T> executeBlocking(final Callable<T> blockingCode) {
+    return virtualThreadExecutor
+        .map(executor -> executor.executeBlocking(vertx, GRAPH_QL_METHOD, blockingCode))
+        .orElseGet(() -> vertx.executeBlocking(blockingCode, false));
+  }
+
   private HttpResponseStatus status(final GraphQLResponse response) {
 
     switch (response.getType()) {
@@ -471,6 +502,10 @@ public class GraphQLHttpService {
             .operationName(operationName)
             .variables(variables)
             .graphQLContext(contextMap)
+            .dataLoaderRegistry(
+                BlockchainDataLoaders.createRegistry(
+                    (BlockchainQueries) contextMap.get(GraphQLContextType.BLOCKCHAIN_QUERIES),
+                    (ProtocolSchedule) contextMap.get(GraphQLContextType.PROTOCOL_SCHEDULE)))
             .build();
     final ExecutionResult result = graphQL.execute(executionInput);
     final Map<String, Object> toSpecificationResult = result.toSpecification();
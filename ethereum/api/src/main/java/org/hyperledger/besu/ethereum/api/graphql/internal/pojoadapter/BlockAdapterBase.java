@@ -20,10 +20,8 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.LogTopic;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
-import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.LogsQuery;
-import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
@@ -41,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.primitives.Longs;
 import graphql.schema.DataFetchingEnvironment;
@@ -69,14 +68,14 @@ public class BlockAdapterBase extends AdapterBase {
    * Returns the parent block of the current block.
    *
    * @param environment the DataFetchingEnvironment
-   * @return an Optional containing the parent block if it exists, otherwise an empty Optional
+   * @return the future Optional containing the parent block if it exists, otherwise an empty
+   *     Optional
    */
-  public Optional<NormalBlockAdapter> getParent(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<Optional<NormalBlockAdapter>> getParent(
+      final DataFetchingEnvironment environment) {
     final Hash parentHash = header.getParentHash();
-    final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-        query.blockByHash(parentHash);
-    return block.map(NormalBlockAdapter::new);
+    return BlockchainDataLoaders.block(environment, parentHash)
+        .thenApply(block -> block.map(NormalBlockAdapter::new));
   }
 
   /**
@@ -0,0 +1,198 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * The data loaders of a GraphQL request, that memoise the blockchain lookups of the adapters for
+ * the duration of the request and batch them per level of the query: GraphQL collects the keys
+ * requested by all the objects of a level before loading them at once. So the receipts of a block
+ * are read once for all its transactions, and the accounts read at a block are read from a single
+ * world state, instead of opening one per transaction or log.
+ *
+ * <p>When the request has no data loaders, the lookups are executed one at a time.
+ */
+public class BlockchainDataLoaders {
+  private static final String BLOCKS = "blocks";
+  private static final String TRANSACTIONS = "transactions";
+  private static final String RECEIPTS = "receipts";
+  private static final String ACCOUNTS = "accounts";
+
+  /**
+   * The key of an account read from the world state of a block
+   *
+   * @param blockNumber the number of the block
+   * @param address the address of the account
+   */
+  record AccountKey(long blockNumber, Address address) {}
+
+  private BlockchainDataLoaders() {}
+
+  /**
+   * Create the data loaders of a request. A new registry must be created for each request, so that
+   * the memoised values do not outlive it.
+   *
+   * @param query the blockchain queries
+   * @param protocolSchedule the protocol schedule
+   * @return the registry of the data loaders
+   */
+  public static DataLoaderRegistry createRegistry(
+      final BlockchainQueries query, final ProtocolSchedule protocolSchedule) {
+    final DataLoaderRegistry registry = new DataLoaderRegistry();
+    registry.register(
+        BLOCKS,
+        DataLoaderFactory.newDataLoader(
+            (List<Hash> blockHashes) -> loadAll(blockHashes, query::blockByHash)));
+    registry.register(
+        TRANSACTIONS,
+        DataLoaderFactory.newDataLoader(
+            (List<Hash> transactionHashes) ->
+                loadAll(transactionHashes, query::transactionByHash)));
+    registry.register(
+        RECEIPTS,
+        DataLoaderFactory.newDataLoader(
+            (List<Hash> blockHashes) ->
+                loadAll(
+                    blockHashes,
+                    blockHash ->
+                        query.transactionReceiptsByBlockHash(blockHash, protocolSchedule))));
+    registry.register(
+        ACCOUNTS,
+        DataLoaderFactory.newDataLoader(
+            (List<AccountKey> keys) ->
+                CompletableFuture.completedFuture(loadAccounts(query, keys))));
+    return registry;
+  }
+
+  static CompletableFuture<Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>> block(
+      final DataFetchingEnvironment environment, final Hash blockHash) {
+    return load(
+        environment,
+        BLOCKS,
+        blockHash,
+        () -> blockchainQueries(environment).blockByHash(blockHash));
+  }
+
+  static CompletableFuture<Optional<TransactionWithMetadata>> transaction(
+      final DataFetchingEnvironment environment, final Hash transactionHash) {
+    return load(
+        environment,
+        TRANSACTIONS,
+        transactionHash,
+        () -> blockchainQueries(environment).transactionByHash(transactionHash));
+  }
+
+  static CompletableFuture<Optional<List<TransactionReceiptWithMetadata>>> receipts(
+      final DataFetchingEnvironment environment, final Hash blockHash) {
+    return load(
+        environment,
+        RECEIPTS,
+        blockHash,
+        () ->
+            blockchainQueries(environment)
+                .transactionReceiptsByBlockHash(
+                    blockHash,
+                    environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE)));
+  }
+
+  // empty if the world state of the block is not available
+  static CompletableFuture<Optional<AccountAdapter>> account(
+      final DataFetchingEnvironment environment, final long blockNumber, final Address address) {
+    final AccountKey key = new AccountKey(blockNumber, address);
+    return load(
+        environment,
+        ACCOUNTS,
+        key,
+        () -> loadAccounts(blockchainQueries(environment), List.of(key)).getFirst());
+  }
+
+  private static <K, V> CompletableFuture<V> load(
+      final DataFetchingEnvironment environment,
+      final String loaderName,
+      final K key,
+      final Supplier<V> loadOne) {
+    final DataLoader<K, V> loader = environment.getDataLoader(loaderName);
+    if (loader == null) {
+      return CompletableFuture.completedFuture(loadOne.get());
+    }
+    return loader.load(key);
+  }
+
+  private static <K, V> CompletableFuture<List<V>> loadAll(
+      final List<K> keys, final Function<K, V> loadOne) {
+    final List<V> values = new ArrayList<>(keys.size());
+    for (final K key : keys) {
+      values.add(loadOne.apply(key));
+    }
+    return CompletableFuture.completedFuture(values);
+  }
+
+  // the accounts of a block are read from a single world state
+  private static List<Optional<AccountAdapter>> loadAccounts(
+      final BlockchainQueries query, final List<AccountKey> keys) {
+    final Map<Long, List<Address>> addressesByBlock = new LinkedHashMap<>();
+    for (final AccountKey key : keys) {
+      addressesByBlock
+          .computeIfAbsent(key.blockNumber(), __ -> new ArrayList<>())
+          .add(key.address());
+    }
+    final Map<AccountKey, AccountAdapter> accounts = new HashMap<>();
+    addressesByBlock.forEach(
+        (blockNumber, addresses) ->
+            query.getAndMapWorldState(
+                blockNumber,
+                ws -> {
+                  for (final Address address : addresses) {
+                    final Account account = ws.get(address);
+                    accounts.put(
+                        new AccountKey(blockNumber, address), new AccountAdapter(address, account));
+                  }
+                  return Optional.of(accounts);
+                }));
+    final List<Optional<AccountAdapter>> values = new ArrayList<>(keys.size());
+    for (final AccountKey key : keys) {
+      values.add(Optional.ofNullable(accounts.get(key)));
+    }
+    return values;
+  }
+
+  private static BlockchainQueries blockchainQueries(final DataFetchingEnvironment environment) {
+    return environment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
+  }
+}
@@ -17,13 +17,11 @@ package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.LogTopic;
-import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
-import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetchingEnvironment;
 import org.apache.tuweni.bytes.Bytes;
@@ -80,24 +78,23 @@ public class LogAdapter extends AdapterBase {
    * Returns the transaction associated with the log.
    *
    * @param environment the data fetching environment.
-   * @return a TransactionAdapter for the transaction associated with the log.
+   * @return the future TransactionAdapter for the transaction associated with the log.
    * @throws java.util.NoSuchElementException if the transaction is not found.
    */
-  public TransactionAdapter getTransaction(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<TransactionAdapter> getTransaction(
+      final DataFetchingEnvironment environment) {
     final Hash hash = logWithMetadata.getTransactionHash();
-    final Optional<TransactionWithMetadata> tran = query.transactionByHash(hash);
-    return tran.map(TransactionAdapter::new).orElseThrow();
+    return BlockchainDataLoaders.transaction(environment, hash)
+        .thenApply(tran -> tran.map(TransactionAdapter::new).orElseThrow());
   }
 
   /**
    * Returns the account associated with the log.
    *
    * @param environment the data fetching environment.
-   * @return an AccountAdapter for the account associated with the log.
+   * @return the future AccountAdapter for the account associated with the log.
    */
-  public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+  public CompletableFuture<AccountAdapter> getAccount(final DataFetchingEnvironment environment) {
     long blockNumber = logWithMetadata.getBlockNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
@@ -105,8 +102,7 @@ public class LogAdapter extends AdapterBase {
     }
 
     final Address logger = logWithMetadata.getLogger();
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(logger))))
-        .orElse(new EmptyAccountAdapter(logger));
+    return BlockchainDataLoaders.account(environment, blockNumber, logger)
+        .thenApply(account -> account.orElseGet(() -> new EmptyAccountAdapter(logger)));
   }
 }
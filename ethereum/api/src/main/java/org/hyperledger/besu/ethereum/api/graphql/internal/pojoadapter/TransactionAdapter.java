@@ -36,6 +36,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetchingEnvironment;
 import jakarta.validation.constraints.NotNull;
@@ -84,25 +85,36 @@ public class TransactionAdapter extends AdapterBase {
   /**
    * Reurns the receipt of the transaction.
    *
+   * <p>The receipts are loaded for the whole block of the transaction, once per request, so that
+   * the transactions of a block share them.
+   *
    * @param environment the data fetching environment.
-   * @return the receipt of the transaction.
+   * @return the future receipt of the transaction.
    */
-  private Optional<TransactionReceiptWithMetadata> getReceipt(
+  private CompletableFuture<Optional<TransactionReceiptWithMetadata>> getReceipt(
       final DataFetchingEnvironment environment) {
-    if (transactionReceiptWithMetadata == null) {
-      final BlockchainQueries query = getBlockchainQueries(environment);
+    if (transactionReceiptWithMetadata != null) {
+      return CompletableFuture.completedFuture(transactionReceiptWithMetadata);
+    }
+    final Transaction transaction = transactionWithMetadata.getTransaction();
+    if (transaction == null) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final Optional<Hash> blockHash = transactionWithMetadata.getBlockHash();
+    final Optional<Integer> index = transactionWithMetadata.getTransactionIndex();
+    if (blockHash.isEmpty() || index.isEmpty()) {
       final ProtocolSchedule protocolSchedule =
           environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
-
-      final Transaction transaction = transactionWithMetadata.getTransaction();
-      if (transaction == null) {
-        transactionReceiptWithMetadata = Optional.empty();
-      } else {
-        transactionReceiptWithMetadata =
-            query.transactionReceiptByTransactionHash(transaction.getHash(), protocolSchedule);
-      }
+      return CompletableFuture.completedFuture(
+          getBlockchainQueries(environment)
+              .transactionReceiptByTransactionHash(transaction.getHash(), protocolSchedule));
     }
-    return transactionReceiptWithMetadata;
+    return BlockchainDataLoaders.receipts(environment, blockHash.get())
+        .thenApply(
+            receipts ->
+                receipts
+                    .filter(blockReceipts -> index.get() < blockReceipts.size())
+                    .map(blockReceipts -> blockReceipts.get(index.get())));
   }
 
   /**
@@ -149,10 +161,10 @@ public class TransactionAdapter extends AdapterBase {
    * sender's account at the given block number.
    *
    * @param environment the data fetching environment.
-   * @return an AccountAdapter object representing the sender's account state at the given block
-   *     number.
+   * @return the future AccountAdapter object representing the sender's account state at the given
+   *     block number.
    */
-  public AccountAdapter getFrom(final DataFetchingEnvironment environment) {
+  public CompletableFuture<AccountAdapter> getFrom(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
     final Long blockNumber =
         Optional.<Long>ofNullable(environment.getArgument("block"))
@@ -160,11 +172,8 @@ public class TransactionAdapter extends AdapterBase {
             .orElseGet(query::headBlockNumber);
 
     final Address addr = transactionWithMetadata.getTransaction().getSender();
-    return query
-        .getAndMapWorldState(
-            blockNumber,
-            mutableWorldState -> Optional.of(new AccountAdapter(mutableWorldState.get(addr))))
-        .orElse(new EmptyAccountAdapter(addr));
+    return BlockchainDataLoaders.account(environment, blockNumber, addr)
+        .thenApply(account -> account.orElseGet(() -> new EmptyAccountAdapter(addr)));
   }
 
   /**
@@ -175,27 +184,25 @@ public class TransactionAdapter extends AdapterBase {
    * the recipient's account at the given block number.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing an AccountAdapter object representing the recipient's account
-   *     state at the given block number, or an empty Optional if the transaction does not have a
-   *     recipient (i.e., it is a contract creation transaction).
+   * @return the future Optional containing an AccountAdapter object representing the recipient's
+   *     account state at the given block number, or an empty Optional if the transaction does not
+   *     have a recipient (i.e., it is a contract creation transaction).
    */
-  public Optional<AccountAdapter> getTo(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<AccountAdapter>> getTo(
+      final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
     final Long blockNumber =
         Optional.<Long>ofNullable(environment.getArgument("block"))
             .or(transactionWithMetadata::getBlockNumber)
             .orElseGet(query::headBlockNumber);
 
-    return transactionWithMetadata
-        .getTransaction()
-        .getTo()
-        .flatMap(
-            address ->
-                query
-                    .getAndMapWorldState(
-                        blockNumber,
-                        ws -> Optional.of(new AccountAdapter(address, ws.get(address))))
-                    .or(() -> Optional.of(new EmptyAccountAdapter(address))));
+    final Optional<Address> maybeTo = transactionWithMetadata.getTransaction().getTo();
+    if (maybeTo.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final Address address = maybeTo.get();
+    return BlockchainDataLoaders.account(environment, blockNumber, address)
+        .thenApply(account -> account.or(() -> Optional.of(new EmptyAccountAdapter(address))));
   }
 
   /**
@@ -254,12 +261,16 @@ public class TransactionAdapter extends AdapterBase {
    * Retrieves the effective tip of the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Wei object representing the effective tip of the transaction,
-   *     or an empty Optional if the transaction does not specify an effective tip.
+   * @return the future Optional containing a Wei object representing the effective tip of the
+   *     transaction, or an empty Optional if the transaction does not specify an effective tip.
    */
-  public Optional<Wei> getEffectiveTip(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Wei>> getEffectiveTip(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(rwm -> rwm.getTransaction().getEffectivePriorityFeePerGas(rwm.getBaseFee()));
+        .thenApply(
+            receipt ->
+                receipt.map(
+                    rwm -> rwm.getTransaction().getEffectivePriorityFeePerGas(rwm.getBaseFee())));
   }
 
   /**
@@ -284,14 +295,18 @@ public class TransactionAdapter extends AdapterBase {
    * Retrieves the block of the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a NormalBlockAdapter object representing the block of the
-   *     transaction, or an empty Optional if the transaction does not specify a block.
+   * @return the future Optional containing a NormalBlockAdapter object representing the block of
+   *     the transaction, or an empty Optional if the transaction does not specify a block.
    */
-  public Optional<NormalBlockAdapter> getBlock(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<NormalBlockAdapter>> getBlock(
+      final DataFetchingEnvironment environment) {
     return transactionWithMetadata
         .getBlockHash()
-        .flatMap(blockHash -> getBlockchainQueries(environment).blockByHash(blockHash))
-        .map(NormalBlockAdapter::new);
+        .map(
+            blockHash ->
+                BlockchainDataLoaders.block(environment, blockHash)
+                    .thenApply(block -> block.map(NormalBlockAdapter::new)))
+        .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
   }
 
   /**
@@ -302,17 +317,19 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the status of the receipt.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Long object representing the status of the transaction, or an
-   *     empty Optional if the status of the receipt is -1.
+   * @return the future Optional containing a Long object representing the status of the
+   *     transaction, or an empty Optional if the status of the receipt is -1.
    */
-  public Optional<Long> getStatus(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Long>> getStatus(final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(TransactionReceiptWithMetadata::getReceipt)
-        .flatMap(
-            receipt ->
-                receipt.getStatus() == -1
-                    ? Optional.empty()
-                    : Optional.of((long) receipt.getStatus()));
+        .thenApply(
+            rwm ->
+                rwm.map(TransactionReceiptWithMetadata::getReceipt)
+                    .flatMap(
+                        receipt ->
+                            receipt.getStatus() == -1
+                                ? Optional.empty()
+                                : Optional.of((long) receipt.getStatus())));
   }
 
   /**
@@ -323,13 +340,16 @@ public class TransactionAdapter extends AdapterBase {
    * Otherwise, it returns an Optional containing the revert reason.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Bytes object representing the revert reason of the
+   * @return the future Optional containing a Bytes object representing the revert reason of the
    *     transaction, or an empty Optional .
    */
-  public Optional<Bytes> getRevertReason(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Bytes>> getRevertReason(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(TransactionReceiptWithMetadata::getReceipt)
-        .flatMap(TransactionReceipt::getRevertReason);
+        .thenApply(
+            rwm ->
+                rwm.map(TransactionReceiptWithMetadata::getReceipt)
+                    .flatMap(TransactionReceipt::getRevertReason));
   }
 
   /**
@@ -339,10 +359,12 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the gas used by the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Long object representing the gas used by the transaction.
+   * @return the future Optional containing a Long object representing the gas used by the
+   *     transaction.
    */
-  public Optional<Long> getGasUsed(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).map(TransactionReceiptWithMetadata::getGasUsed);
+  public CompletableFuture<Optional<Long>> getGasUsed(final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(rwm -> rwm.map(TransactionReceiptWithMetadata::getGasUsed));
   }
 
   /**
@@ -352,11 +374,13 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the cumulative gas used by the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Long object representing the cumulative gas used by the
-   *     transaction.
+   * @return the future Optional containing a Long object representing the cumulative gas used by
+   *     the transaction.
    */
-  public Optional<Long> getCumulativeGasUsed(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).map(rpt -> rpt.getReceipt().getCumulativeGasUsed());
+  public CompletableFuture<Optional<Long>> getCumulativeGasUsed(
+      final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(rwm -> rwm.map(rpt -> rpt.getReceipt().getCumulativeGasUsed()));
   }
 
   /**
@@ -366,12 +390,15 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the effective gas price of the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Wei object representing the effective gas price of the
+   * @return the future Optional containing a Wei object representing the effective gas price of the
    *     transaction.
    */
-  public Optional<Wei> getEffectiveGasPrice(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Wei>> getEffectiveGasPrice(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(rwm -> rwm.getTransaction().getEffectiveGasPrice(rwm.getBaseFee()));
+        .thenApply(
+            receipt ->
+                receipt.map(rwm -> rwm.getTransaction().getEffectiveGasPrice(rwm.getBaseFee())));
   }
 
   /**
@@ -381,10 +408,13 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the blob gas used by the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Long object representing the blob gas used by the transaction.
+   * @return the future Optional containing a Long object representing the blob gas used by the
+   *     transaction.
    */
-  public Optional<Long> getBlobGasUsed(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).flatMap(TransactionReceiptWithMetadata::getBlobGasUsed);
+  public CompletableFuture<Optional<Long>> getBlobGasUsed(
+      final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(rwm -> rwm.flatMap(TransactionReceiptWithMetadata::getBlobGasUsed));
   }
 
   /**
@@ -394,10 +424,13 @@ public class TransactionAdapter extends AdapterBase {
    * returns an Optional containing the blob gas price of the transaction.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Wei object representing the blob gas price of the transaction.
+   * @return the future Optional containing a Wei object representing the blob gas price of the
+   *     transaction.
    */
-  public Optional<Wei> getBlobGasPrice(final DataFetchingEnvironment environment) {
-    return getReceipt(environment).flatMap(TransactionReceiptWithMetadata::getBlobGasPrice);
+  public CompletableFuture<Optional<Wei>> getBlobGasPrice(
+      final DataFetchingEnvironment environment) {
+    return getReceipt(environment)
+        .thenApply(rwm -> rwm.flatMap(TransactionReceiptWithMetadata::getBlobGasPrice));
   }
 
   /**
@@ -409,30 +442,29 @@ public class TransactionAdapter extends AdapterBase {
    * number.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing an AccountAdapter object representing the created contract's
-   *     account state at the given block number, or an empty Optional if the transaction is not a
-   *     contract creation transaction or if the block number is not specified.
+   * @return the future Optional containing an AccountAdapter object representing the created
+   *     contract's account state at the given block number, or an empty Optional if the transaction
+   *     is not a contract creation transaction or if the block number is not specified.
    */
-  public Optional<AccountAdapter> getCreatedContract(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<AccountAdapter>> getCreatedContract(
+      final DataFetchingEnvironment environment) {
     final boolean contractCreated = transactionWithMetadata.getTransaction().isContractCreation();
     if (contractCreated) {
       final Optional<Address> addr = transactionWithMetadata.getTransaction().contractAddress();
 
       if (addr.isPresent()) {
-        final BlockchainQueries query = getBlockchainQueries(environment);
         final Optional<Long> txBlockNumber = transactionWithMetadata.getBlockNumber();
         final Optional<Long> bn = Optional.ofNullable(environment.getArgument("block"));
         if (txBlockNumber.isEmpty() && bn.isEmpty()) {
-          return Optional.empty();
+          return CompletableFuture.completedFuture(Optional.empty());
         }
         final long blockNumber = bn.orElseGet(txBlockNumber::get);
-        return query
-            .getAndMapWorldState(
-                blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(addr.get()))))
-            .or(() -> Optional.of(new EmptyAccountAdapter(addr.get())));
+        return BlockchainDataLoaders.account(environment, blockNumber, addr.get())
+            .thenApply(
+                account -> account.or(() -> Optional.of(new EmptyAccountAdapter(addr.get()))));
       }
     }
-    return Optional.empty();
+    return CompletableFuture.completedFuture(Optional.empty());
   }
 
   /**
@@ -443,15 +475,11 @@ public class TransactionAdapter extends AdapterBase {
    * can be used by GraphQL.
    *
    * @param environment the data fetching environment.
-   * @return a List of LogAdapter objects representing the logs of the transaction. If the
+   * @return the future List of LogAdapter objects representing the logs of the transaction. If the
    *     transaction does not have a receipt, this method returns an empty list.
    */
-  public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
+  public CompletableFuture<List<LogAdapter>> getLogs(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
-    final ProtocolSchedule protocolSchedule =
-        environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
-
-    final Hash hash = transactionWithMetadata.getTransaction().getHash();
 
     final Optional<BlockHeader> maybeBlockHeader =
         transactionWithMetadata.getBlockNumber().flatMap(query::getBlockHeaderByNumber);
@@ -464,18 +492,20 @@ public class TransactionAdapter extends AdapterBase {
               + transactionWithMetadata.getTransaction().getHash());
     }
 
-    final Optional<TransactionReceiptWithMetadata> maybeTransactionReceiptWithMetadata =
-        query.transactionReceiptByTransactionHash(hash, protocolSchedule);
-    final List<LogAdapter> results = new ArrayList<>();
-    if (maybeTransactionReceiptWithMetadata.isPresent()) {
-      final List<LogWithMetadata> logs =
-          query.matchingLogs(
-              maybeBlockHeader.get().getBlockHash(), transactionWithMetadata, () -> true);
-      for (final LogWithMetadata log : logs) {
-        results.add(new LogAdapter(log));
-      }
-    }
-    return results;
+    return getReceipt(environment)
+        .thenApply(
+            maybeTransactionReceiptWithMetadata -> {
+              final List<LogAdapter> results = new ArrayList<>();
+              if (maybeTransactionReceiptWithMetadata.isPresent()) {
+                final List<LogWithMetadata> logs =
+                    query.matchingLogs(
+                        maybeBlockHeader.get().getBlockHash(), transactionWithMetadata, () -> true);
+                for (final LogWithMetadata log : logs) {
+                  results.add(new LogAdapter(log));
+                }
+              }
+              return results;
+            });
   }
 
   /**
@@ -562,17 +592,23 @@ public class TransactionAdapter extends AdapterBase {
    * receipt. It then encodes the BytesValueRLPOutput object and returns it.
    *
    * @param environment the data fetching environment.
-   * @return an Optional containing a Bytes object representing the raw receipt of the transaction.
+   * @return the future Optional containing a Bytes object representing the raw receipt of the
+   *     transaction.
    */
-  public Optional<Bytes> getRawReceipt(final DataFetchingEnvironment environment) {
+  public CompletableFuture<Optional<Bytes>> getRawReceipt(
+      final DataFetchingEnvironment environment) {
     return getReceipt(environment)
-        .map(
-            receipt -> {
-              final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
-              TransactionReceiptEncoder.writeTo(
-                  receipt.getReceipt(), rlpOutput, TransactionReceiptEncodingConfiguration.DEFAULT);
-              return rlpOutput.encoded();
-            });
+        .thenApply(
+            rwm ->
+                rwm.map(
+                    receipt -> {
+                      final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
+                      TransactionReceiptEncoder.writeTo(
+                          receipt.getReceipt(),
+                          rlpOutput,
+                          TransactionReceiptEncodingConfiguration.DEFAULT);
+                      return rlpOutput.encoded();
+                    }));
   }
 
   /**
@@ -59,4 +59,13 @@ public class HandlerFactory {
       final JsonRpcConfiguration jsonRpcConfiguration) {
     return JsonRpcExecutorHandler.handler(jsonRpcExecutor, tracer, jsonRpcConfiguration);
   }
+
+  public static Handler<RoutingContext> jsonRpcExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<VirtualThreadRequestExecutor> requestExecutor) {
+    return JsonRpcExecutorHandler.handler(
+        jsonRpcExecutor, tracer, jsonRpcConfiguration, requestExecutor);
+  }
 }
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.api.handlers;
 
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INTERNAL_ERROR;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_REQUEST;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonResponseStreamer;
@@ -26,6 +27,13 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import io.opentelemetry.api.trace.Tracer;
@@ -35,12 +43,38 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  // the concurrency is bounded per batch, so a virtual thread is used for each running request
+  private static final ExecutorService BATCH_REQUESTS_EXECUTOR =
+      Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Optional<VirtualThreadRequestExecutor> requestExecutor;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, Optional.empty());
+  }
+
+  /**
+   * Create the executor of a batch
+   *
+   * @param jsonRpcExecutor the executor of the requests
+   * @param tracer the tracer
+   * @param ctx the routing context of the batch
+   * @param jsonRpcConfiguration the JSON-RPC configuration
+   * @param requestExecutor the executor limiting the concurrency per method, if enabled, whose
+   *     permit of its method each request of the batch takes before running
+   */
+  public JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<VirtualThreadRequestExecutor> requestExecutor) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.requestExecutor = requestExecutor;
   }
 
   /**
@@ -63,26 +97,85 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   }
 
   /**
-   * Executes a batch of RPC requests.
+   * Executes a batch of RPC requests. If the max batch concurrency is greater than 1, up to that
+   * number of requests are executed concurrently, and the responses are written in the order of
+   * the requests, as soon as they are available.
    *
    * @param rpcRequestBatch the batch of RPC requests.
    * @param streamer the JsonResponseStreamer to use.
    */
   public void executeRpcRequestBatch(
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
+    final int concurrency =
+        Math.min(jsonRpcConfiguration.getMaxBatchConcurrency(), rpcRequestBatch.size());
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
-      for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != RpcResponseType.NONE) {
-          generator.writeObject(response);
+      if (concurrency > 1) {
+        executeConcurrently(rpcRequestBatch, concurrency, generator);
+      } else {
+        for (int i = 0; i < rpcRequestBatch.size(); i++) {
+          writeResponse(generator, processMaybeRequest(rpcRequestBatch.getValue(i)));
         }
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
       }
       generator.writeEndArray();
     }
   }
 
+  /**
+   * Executes the requests keeping up to the specified number of them running. The next request is
+   * started as soon as the response of the oldest running one is taken to be written, so writing a
+   * response, that could wait for the client to read the previous ones, does not stop the others
+   * from running, while no more than the specified number of responses are kept waiting.
+   */
+  private void executeConcurrently(
+      final JsonArray rpcRequestBatch, final int concurrency, final JsonGenerator generator)
+      throws IOException {
+    final Deque<Future<JsonRpcResponse>> running = new ArrayDeque<>(concurrency);
+    int next = 0;
+    try {
+      while (next < concurrency) {
+        running.add(submit(rpcRequestBatch.getValue(next++)));
+      }
+      while (!running.isEmpty()) {
+        final JsonRpcResponse response = awaitResponse(running.poll());
+        if (next < rpcRequestBatch.size()) {
+          running.add(submit(rpcRequestBatch.getValue(next++)));
+        }
+        writeResponse(generator, response);
+      }
+    } finally {
+      // in case of failure, there is no need to complete the remaining requests
+      running.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private Future<JsonRpcResponse> submit(final Object maybeRequest) {
+    return BATCH_REQUESTS_EXECUTOR.submit(() -> processMaybeRequest(maybeRequest));
+  }
+
+  private static JsonRpcResponse awaitResponse(final Future<JsonRpcResponse> future)
+      throws IOException {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting for a response of the batch", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static void writeResponse(final JsonGenerator generator, final JsonRpcResponse response)
+      throws IOException {
+    if (response.getType() != RpcResponseType.NONE) {
+      generator.writeObject(response);
+    }
+    lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
+  }
+
   /**
    * Processes a single RPC request.
    *
@@ -105,7 +198,20 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
    * @return the response from executing the request.
    */
   private JsonRpcResponse executeRequest(final JsonObject request) {
-    return executeRequest(jsonRpcExecutor, tracer, request, ctx);
+    if (requestExecutor.isEmpty()) {
+      return executeRequest(jsonRpcExecutor, tracer, request, ctx);
+    }
+    // the batch only holds a permit of the batches, so each request takes one of its method
+    final String method =
+        VirtualThreadRequestExecutor.methodOf(request, jsonRpcExecutor::hasMethod);
+    try {
+      return requestExecutor
+          .get()
+          .callWithPermit(method, () -> executeRequest(jsonRpcExecutor, tracer, request, ctx));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new JsonRpcErrorResponse(request.getValue("id"), INTERNAL_ERROR);
+    }
   }
 
   /**
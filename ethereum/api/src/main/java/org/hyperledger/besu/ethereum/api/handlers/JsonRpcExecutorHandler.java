@@ -41,6 +41,14 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    return handler(jsonRpcExecutor, tracer, jsonRpcConfiguration, Optional.empty());
+  }
+
+  public static Handler<RoutingContext> handler(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<VirtualThreadRequestExecutor> requestExecutor) {
     return ctx -> {
       final long timeoutMillis = resolveTimeoutMillis(ctx, jsonRpcExecutor, jsonRpcConfiguration);
       final long timerId =
@@ -64,7 +72,7 @@ public class JsonRpcExecutorHandler {
       ctx.put("timerId", timerId);
 
       try {
-        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration)
+        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, requestExecutor)
             .ifPresentOrElse(
                 executor -> {
                   try {
@@ -141,14 +149,16 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
-      final JsonRpcConfiguration jsonRpcConfiguration) {
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<VirtualThreadRequestExecutor> requestExecutor) {
     if (isJsonObjectRequest(ctx)) {
       return Optional.of(
           new JsonRpcObjectExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
     }
     if (isJsonArrayRequest(ctx)) {
       return Optional.of(
-          new JsonRpcArrayExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
+          new JsonRpcArrayExecutor(
+              jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, requestExecutor));
     }
     return Optional.empty();
   }
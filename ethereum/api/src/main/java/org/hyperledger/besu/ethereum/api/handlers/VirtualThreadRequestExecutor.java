@@ -0,0 +1,187 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Executes the blocking part of the RPC requests on a virtual thread per request, instead of on
+ * the Vert.x worker pool, so that requests blocked on storage reads do not hold the threads that
+ * the other requests need. Since virtual threads are not a limited resource, the concurrency is
+ * instead limited per method, so that a flood of expensive calls cannot starve the others: a
+ * request waits for a permit of its method before running, and the time it waits is recorded.
+ *
+ * <p>The executor is shared by the JSON-RPC, GraphQL and WebSocket services, so the limits apply
+ * to the requests of all of them.
+ */
+public class VirtualThreadRequestExecutor {
+  /** The method of the requests that do not name a known method. */
+  public static final String UNKNOWN_METHOD = "unknown";
+
+  private static final ExecutorService REQUESTS_EXECUTOR =
+      Executors.newVirtualThreadPerTaskExecutor();
+
+  private final int maxConcurrencyPerMethod;
+  private final Map<String, Semaphore> permitsByMethod = new ConcurrentHashMap<>();
+  private final LabelledMetric<OperationTimer> queueTimer;
+
+  /**
+   * Create a new executor
+   *
+   * @param maxConcurrencyPerMethod the max number of requests of the same method running at the
+   *     same time
+   * @param metricsSystem the metrics system
+   */
+  public VirtualThreadRequestExecutor(
+      final int maxConcurrencyPerMethod, final MetricsSystem metricsSystem) {
+    if (maxConcurrencyPerMethod < 1) {
+      throw new IllegalArgumentException(
+          "The max concurrency per method must be at least 1, got " + maxConcurrencyPerMethod);
+    }
+    this.maxConcurrencyPerMethod = maxConcurrencyPerMethod;
+    this.queueTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.RPC,
+            "request_queue_time",
+            "Time the requests wait for the concurrency limit of their method before running",
+            "methodName");
+  }
+
+  /**
+   * Execute the blocking code on a virtual thread, once a permit of the method is available. As
+   * with {@link Vertx#executeBlocking(Callable)}, the returned future is completed on the context
+   * of the caller.
+   *
+   * @param vertx the Vert.x instance
+   * @param method the method of the request, that must be a known one to bound the number of
+   *     limits and metrics
+   * @param blockingCode the blocking code
+   * @param <T> the type of the result
+   * @return the future result of the blocking code
+   */
+  public <T> Future<T> executeBlocking(
+      final Vertx vertx, final String method, final Callable<T> blockingCode) {
+    final Context context = vertx.getOrCreateContext();
+    final Promise<T> promise = Promise.promise();
+    final OperationTimer.TimingContext queueTimingContext = queueTimer.labels(method).startTimer();
+    REQUESTS_EXECUTOR.execute(
+        () -> {
+          final Semaphore permits = permitsOf(method);
+          try {
+            permits.acquire();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            context.runOnContext(__ -> promise.fail(e));
+            return;
+          }
+          queueTimingContext.stopTimer();
+          try {
+            final T result = blockingCode.call();
+            context.runOnContext(__ -> promise.complete(result));
+          } catch (final Throwable t) {
+            context.runOnContext(__ -> promise.fail(t));
+          } finally {
+            permits.release();
+          }
+        });
+    return promise.future();
+  }
+
+  /**
+   * Run the blocking code on the current thread, once a permit of the method is available. Used
+   * for the requests of a batch, that already run on a virtual thread under the limit of the batch,
+   * so that each of them is also subject to the limit of its own method.
+   *
+   * @param method the method of the request, that must be a known one to bound the number of
+   *     limits and metrics
+   * @param blockingCode the blocking code
+   * @param <T> the type of the result
+   * @return the result of the blocking code
+   * @throws InterruptedException if interrupted while waiting for a permit
+   */
+  public <T> T callWithPermit(final String method, final Supplier<T> blockingCode)
+      throws InterruptedException {
+    final OperationTimer.TimingContext queueTimingContext = queueTimer.labels(method).startTimer();
+    final Semaphore permits = permitsOf(method);
+    permits.acquire();
+    queueTimingContext.stopTimer();
+    try {
+      return blockingCode.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private Semaphore permitsOf(final String method) {
+    return permitsByMethod.computeIfAbsent(
+        method, __ -> new Semaphore(maxConcurrencyPerMethod, true));
+  }
+
+  /**
+   * Create a route handler that runs the handler on a virtual thread, in place of a blocking
+   * handler of the route.
+   *
+   * @param handler the blocking handler
+   * @param methodOf the method of the request of the routing context
+   * @return the route handler
+   */
+  public Handler<RoutingContext> blockingHandler(
+      final Handler<RoutingContext> handler, final Function<RoutingContext, String> methodOf) {
+    return ctx ->
+        executeBlocking(
+                ctx.vertx(),
+                methodOf.apply(ctx),
+                () -> {
+                  handler.handle(ctx);
+                  return null;
+                })
+            .onFailure(ctx::fail);
+  }
+
+  /**
+   * The method of a JSON-RPC request, or {@link #UNKNOWN_METHOD} if it does not name a known
+   * method, so that the methods sent by the clients do not create limits and metrics.
+   *
+   * @param request the JSON-RPC request
+   * @param isKnownMethod whether a method is known
+   * @return the method of the request
+   */
+  public static String methodOf(final JsonObject request, final Predicate<String> isKnownMethod) {
+    return request.getValue("method") instanceof String method && isKnownMethod.test(method)
+        ? method
+        : UNKNOWN_METHOD;
+  }
+}
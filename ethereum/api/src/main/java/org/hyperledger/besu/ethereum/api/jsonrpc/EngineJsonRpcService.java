@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcP
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.PriorityJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -76,6 +77,7 @@ import io.opentelemetry.extension.trace.propagation.JaegerPropagator;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ClientAuth;
 import io.vertx.core.http.HttpConnection;
@@ -106,6 +108,10 @@ public class EngineJsonRpcService {
   private static final String SPAN_CONTEXT = "span_context";
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
+  // the Engine API calls are executed one at a time, a few threads are enough to not queue the
+  // requests behind a slow one
+  private static final String ENGINE_WORKER_POOL_NAME = "engine-api-worker";
+  private static final int ENGINE_WORKER_POOL_SIZE = 4;
 
   private static final TextMapPropagator traceFormats =
       TextMapPropagator.composite(
@@ -151,6 +157,8 @@ public class EngineJsonRpcService {
   private final HealthService readinessService;
 
   private final MetricsSystem metricsSystem;
+  private final EthScheduler scheduler;
+  private WorkerExecutor engineWorkerExecutor;
 
   /**
    * Construct a EngineJsonRpcService to handle either http or websocket clients
@@ -186,7 +194,8 @@ public class EngineJsonRpcService {
             "request_time",
             "Time taken to process a JSON-RPC request",
             "methodName");
-    JsonRpcProcessor jsonRpcProcessor = new BaseJsonRpcProcessor();
+    JsonRpcProcessor jsonRpcProcessor =
+        new PriorityJsonRpcProcessor(new BaseJsonRpcProcessor(), scheduler);
     if (metricsSystem instanceof OpenTelemetrySystem openTelemetrySystem) {
       this.tracerProvider = openTelemetrySystem.getTracerProvider();
     }
@@ -218,6 +227,7 @@ public class EngineJsonRpcService {
     this.readinessService = readinessService;
     this.maxActiveConnections = config.getMaxActiveConnections();
     this.metricsSystem = metricsSystem;
+    this.scheduler = scheduler;
   }
 
   public CompletableFuture<Void> start() {
@@ -230,6 +240,9 @@ public class EngineJsonRpcService {
     }
     final CompletableFuture<Void> resultFuture = new CompletableFuture<>();
     try {
+      // Reserve worker threads, so the Engine API requests do not wait for the other RPC services
+      engineWorkerExecutor =
+          vertx.createSharedWorkerExecutor(ENGINE_WORKER_POOL_NAME, ENGINE_WORKER_POOL_SIZE);
       // Create the HTTP server and a router object.
       httpServer = vertx.createHttpServer(getHttpServerOptions());
       httpServer.webSocketHandler(webSocketHandler());
@@ -278,6 +291,10 @@ public class EngineJsonRpcService {
 
   public CompletableFuture<Void> stop() {
     stopEngineCallListener();
+    if (engineWorkerExecutor != null) {
+      engineWorkerExecutor.close();
+      engineWorkerExecutor = null;
+    }
 
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
@@ -463,30 +480,35 @@ public class EngineJsonRpcService {
         .handler(
             HandlerFactory.timeout(new TimeoutOptions(config.getHttpTimeoutSec()), rpcMethods));
     if (authenticationService.isPresent()) {
-      mainRoute.blockingHandler(
-          HandlerFactory.jsonRpcExecutor(
-              new JsonRpcExecutor(
-                  new AuthenticatedJsonRpcProcessor(
-                      new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                          requestTimer),
-                      authenticationService.get(),
-                      config.getNoAuthRpcApis()),
-                  rpcMethods),
-              tracer,
-              config),
-          false);
+      mainRoute.handler(
+          engineBlockingHandler(
+              HandlerFactory.jsonRpcExecutor(
+                  new JsonRpcExecutor(
+                      new AuthenticatedJsonRpcProcessor(
+                          new PriorityJsonRpcProcessor(
+                              new TimedJsonRpcProcessor(
+                                  new TracedJsonRpcProcessor(
+                                      new BaseJsonRpcProcessor(), metricsSystem),
+                                  requestTimer),
+                              scheduler),
+                          authenticationService.get(),
+                          config.getNoAuthRpcApis()),
+                      rpcMethods),
+                  tracer,
+                  config)));
     } else {
-      mainRoute.blockingHandler(
-          HandlerFactory.jsonRpcExecutor(
-              new JsonRpcExecutor(
-                  new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                      requestTimer),
-                  rpcMethods),
-              tracer,
-              config),
-          false);
+      mainRoute.handler(
+          engineBlockingHandler(
+              HandlerFactory.jsonRpcExecutor(
+                  new JsonRpcExecutor(
+                      new PriorityJsonRpcProcessor(
+                          new TimedJsonRpcProcessor(
+                              new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
+                              requestTimer),
+                          scheduler),
+                      rpcMethods),
+                  tracer,
+                  config)));
     }
 
     if (authenticationService.isPresent()) {
@@ -505,6 +527,19 @@ public class EngineJsonRpcService {
     return router;
   }
 
+  // runs the handler on the reserved worker threads, as a blocking handler of the route
+  private Handler<RoutingContext> engineBlockingHandler(final Handler<RoutingContext> handler) {
+    return ctx ->
+        engineWorkerExecutor
+            .executeBlocking(
+                () -> {
+                  handler.handle(ctx);
+                  return null;
+                },
+                false)
+            .onFailure(ctx::fail);
+  }
+
   private void createSpan(final RoutingContext routingContext) {
     final SocketAddress address = routingContext.request().connection().remoteAddress();
 
@@ -37,6 +37,8 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_BATCH_CONCURRENCY = 1;
+  public static final long DEFAULT_RESPONSE_CACHE_MAX_BYTES = 0;
   public static final long DEFAULT_HTTP_TIMEOUT_SEC =
       TimeoutOptions.defaultOptions().getTimeoutSeconds();
   public static final long DEFAULT_HTTP_STREAMING_TIMEOUT_SEC = 600; // 10 minutes
@@ -59,6 +61,8 @@ public class JsonRpcConfiguration {
   private long httpStreamingTimeoutSec = DEFAULT_HTTP_STREAMING_TIMEOUT_SEC;
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int maxBatchConcurrency;
+  private long responseCacheMaxBytes;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
 
@@ -71,6 +75,8 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setMaxBatchConcurrency(DEFAULT_MAX_BATCH_CONCURRENCY);
+    config.setResponseCacheMaxBytes(DEFAULT_RESPONSE_CACHE_MAX_BYTES);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
     config.setPrettyJsonEnabled(DEFAULT_PRETTY_JSON_ENABLED);
     return config;
@@ -235,6 +241,8 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("maxBatchConcurrency", maxBatchConcurrency)
+        .add("responseCacheMaxBytes", responseCacheMaxBytes)
         .toString();
   }
 
@@ -256,7 +264,9 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && maxBatchConcurrency == that.maxBatchConcurrency
+        && responseCacheMaxBytes == that.responseCacheMaxBytes;
   }
 
   @Override
@@ -271,7 +281,9 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        maxBatchConcurrency,
+        responseCacheMaxBytes);
   }
 
   public int getMaxActiveConnections() {
@@ -290,6 +302,34 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  /**
+   * The max number of requests of a batch that are executed concurrently, 1 to execute them one
+   * after the other.
+   *
+   * @return the max number of requests of a batch executed concurrently
+   */
+  public int getMaxBatchConcurrency() {
+    return maxBatchConcurrency;
+  }
+
+  public void setMaxBatchConcurrency(final int maxBatchConcurrency) {
+    this.maxBatchConcurrency = maxBatchConcurrency;
+  }
+
+  /**
+   * The max amount of memory in bytes used to cache the encoded responses for finalized blocks,
+   * transactions and receipts, 0 to disable the cache.
+   *
+   * @return the max amount of memory used by the response cache
+   */
+  public long getResponseCacheMaxBytes() {
+    return responseCacheMaxBytes;
+  }
+
+  public void setResponseCacheMaxBytes(final long responseCacheMaxBytes) {
+    this.responseCacheMaxBytes = responseCacheMaxBytes;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
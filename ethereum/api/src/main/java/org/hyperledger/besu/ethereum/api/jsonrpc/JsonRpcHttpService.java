@@ -19,11 +19,16 @@ import static org.apache.tuweni.net.tls.VertxTrustOptions.allowlistClients;
 
 import org.hyperledger.besu.ethereum.api.handlers.HandlerFactory;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.handlers.VirtualThreadRequestExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
+import org.hyperledger.besu.ethereum.api.jsonrpc.context.ContextKey;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.CachingJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.FinalizedResponseCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -75,6 +80,7 @@ import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.HostAndPort;
 import io.vertx.core.net.PfxOptions;
 import io.vertx.core.net.SocketAddress;
@@ -94,6 +100,7 @@ public class JsonRpcHttpService {
   private static final String SPAN_CONTEXT = "span_context";
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
+  private static final String BATCH_METHOD = "batch";
 
   private static final TextMapPropagator traceFormats =
       TextMapPropagator.composite(
@@ -135,6 +142,8 @@ public class JsonRpcHttpService {
   private final HealthService livenessService;
   private final HealthService readinessService;
   private final MetricsSystem metricsSystem;
+  private final Optional<FinalizedResponseCache> responseCache;
+  private final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor;
 
   /**
    * Construct a JsonRpcHttpService handler
@@ -179,6 +188,86 @@ public class JsonRpcHttpService {
       final Optional<AuthenticationService> authenticationService,
       final HealthService livenessService,
       final HealthService readinessService) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        authenticationService,
+        livenessService,
+        readinessService,
+        Optional.empty());
+  }
+
+  /**
+   * Construct a JsonRpcHttpService handler that serves the requests for finalized data from a cache
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param metricsSystem The metrics service that activities should be reported to
+   * @param natService The NAT environment manager.
+   * @param methods The json rpc methods that should be enabled
+   * @param authenticationService The authentication service, if authentication is enabled
+   * @param livenessService A service responsible for reporting whether this node is live
+   * @param readinessService A service responsible for reporting whether this node has fully started
+   * @param responseCache The cache of the encoded results for finalized data, if enabled
+   */
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final Optional<AuthenticationService> authenticationService,
+      final HealthService livenessService,
+      final HealthService readinessService,
+      final Optional<FinalizedResponseCache> responseCache) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        authenticationService,
+        livenessService,
+        readinessService,
+        responseCache,
+        Optional.empty());
+  }
+
+  /**
+   * Construct a JsonRpcHttpService handler that can execute the requests on virtual threads
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param metricsSystem The metrics service that activities should be reported to
+   * @param natService The NAT environment manager.
+   * @param methods The json rpc methods that should be enabled
+   * @param authenticationService The authentication service, if authentication is enabled
+   * @param livenessService A service responsible for reporting whether this node is live
+   * @param readinessService A service responsible for reporting whether this node has fully started
+   * @param responseCache The cache of the encoded results for finalized data, if enabled
+   * @param virtualThreadExecutor The executor of the requests on virtual threads, if enabled,
+   *     otherwise the requests are executed on the Vert.x worker pool
+   */
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final Optional<AuthenticationService> authenticationService,
+      final HealthService livenessService,
+      final HealthService readinessService,
+      final Optional<FinalizedResponseCache> responseCache,
+      final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor) {
     this.dataDir = dataDir;
     requestTimer =
         metricsSystem.createLabelledTimer(
@@ -206,6 +295,24 @@ public class JsonRpcHttpService {
       this.tracerProvider = openTelemetrySystem.getTracerProvider();
     }
     this.metricsSystem = metricsSystem;
+    this.responseCache = responseCache;
+    this.virtualThreadExecutor = virtualThreadExecutor;
+  }
+
+  private void addExecutorHandler(final Route route, final Handler<RoutingContext> executor) {
+    virtualThreadExecutor.ifPresentOrElse(
+        requestExecutor -> route.handler(requestExecutor.blockingHandler(executor, this::methodOf)),
+        () -> route.blockingHandler(executor, false));
+  }
+
+  private String methodOf(final RoutingContext ctx) {
+    final JsonObject request = ctx.get(ContextKey.REQUEST_BODY_AS_JSON_OBJECT.name());
+    if (request != null) {
+      return VirtualThreadRequestExecutor.methodOf(request, rpcMethods::containsKey);
+    }
+    return ctx.data().containsKey(ContextKey.REQUEST_BODY_AS_JSON_ARRAY.name())
+        ? BATCH_METHOD
+        : VirtualThreadRequestExecutor.UNKNOWN_METHOD;
   }
 
   private void validateConfig(final JsonRpcConfiguration config) {
@@ -341,30 +448,28 @@ public class JsonRpcHttpService {
         .handler(
             HandlerFactory.timeout(new TimeoutOptions(config.getHttpTimeoutSec()), rpcMethods));
     if (authenticationService.isPresent()) {
-      mainRoute.blockingHandler(
+      addExecutorHandler(
+          mainRoute,
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
-                      new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                          requestTimer),
+                      new TimedJsonRpcProcessor(createCachingProcessor(), requestTimer),
                       authenticationService.get(),
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
-          false);
+              config,
+              virtualThreadExecutor));
     } else {
-      mainRoute.blockingHandler(
+      addExecutorHandler(
+          mainRoute,
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
-                  new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                      requestTimer),
+                  new TimedJsonRpcProcessor(createCachingProcessor(), requestTimer),
                   rpcMethods),
               tracer,
-              config),
-          false);
+              config,
+              virtualThreadExecutor));
     }
 
     if (authenticationService.isPresent()) {
@@ -383,6 +488,14 @@ public class JsonRpcHttpService {
     return router;
   }
 
+  private JsonRpcProcessor createCachingProcessor() {
+    final JsonRpcProcessor tracedProcessor =
+        new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem);
+    return responseCache
+        .<JsonRpcProcessor>map(cache -> new CachingJsonRpcProcessor(tracedProcessor, cache))
+        .orElse(tracedProcessor);
+  }
+
   private void createSpan(final RoutingContext routingContext) {
     final SocketAddress address = routingContext.request().connection().remoteAddress();
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.opentelemetry.api.trace.Span;
+
+/** Serves the requests for finalized data from a {@link FinalizedResponseCache} when possible. */
+public class CachingJsonRpcProcessor implements JsonRpcProcessor {
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final FinalizedResponseCache responseCache;
+
+  public CachingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final FinalizedResponseCache responseCache) {
+    this.rpcProcessor = rpcProcessor;
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    final Optional<FinalizedResponseCache.Key> maybeKey =
+        responseCache.keyFor(request.getRequest());
+    if (maybeKey.isEmpty()) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+    final Optional<RawValue> maybeCached = responseCache.get(maybeKey.get());
+    if (maybeCached.isPresent()) {
+      return new JsonRpcSuccessResponse(request.getRequest().getId(), maybeCached.get());
+    }
+    final JsonRpcResponse response = rpcProcessor.process(id, method, metricSpan, request);
+    if (response instanceof JsonRpcSuccessResponse successResponse) {
+      responseCache.put(maybeKey.get(), successResponse.getResult());
+    }
+    return response;
+  }
+
+  @Override
+  public void streamProcess(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request,
+      final OutputStream out,
+      final ObjectMapper mapper)
+      throws IOException {
+    rpcProcessor.streamProcess(id, method, metricSpan, request, out, mapper);
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockReceiptsResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.TransactionReceiptResult;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory bounded cache of the already encoded results of the requests for finalized blocks,
+ * transactions and receipts, keyed by method and params.
+ *
+ * <p>The cached result is returned as a {@link RawValue}, so its bytes are copied as they are to
+ * the response, without building and serializing the result object graph again. Only the data of
+ * finalized blocks is cached, that does not change when new blocks are added, so entries are only
+ * invalidated when a reorg goes below them, that is above the finalized block they were cached at.
+ */
+public class FinalizedResponseCache {
+  private static final Logger LOG = LoggerFactory.getLogger(FinalizedResponseCache.class);
+
+  static final Set<String> CACHEABLE_METHODS =
+      Set.of(
+          RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName(),
+          RpcMethod.ETH_GET_BLOCK_BY_HASH.getMethodName(),
+          RpcMethod.ETH_GET_TRANSACTION_RECEIPT.getMethodName(),
+          RpcMethod.ETH_GET_BLOCK_RECEIPTS.getMethodName());
+
+  // the encoded result is held both as string and as UTF-8 bytes
+  private static final int BYTES_PER_CHAR = 2;
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+  private final Blockchain blockchain;
+  private final Cache<Key, Entry> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  /**
+   * The key of a cached result
+   *
+   * @param method the method name
+   * @param params the canonical encoding of the params
+   */
+  record Key(String method, String params) {}
+
+  private record Entry(long blockNumber, SerializedString encodedResult) {
+    int weight(final Key key) {
+      return ENTRY_OVERHEAD
+          + BYTES_PER_CHAR * (key.method().length() + key.params().length())
+          + BYTES_PER_CHAR * encodedResult.charLength();
+    }
+  }
+
+  /**
+   * Create a new cache, that observes the chain to invalidate the entries reorged out
+   *
+   * @param blockchain the blockchain
+   * @param maxBytes the byte budget of the cache
+   * @param metricsSystem the metrics system
+   */
+  public FinalizedResponseCache(
+      final Blockchain blockchain, final long maxBytes, final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Entry>weigher((key, entry) -> entry.weight(key))
+            .build();
+    this.hitCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_hits",
+            "Number of requests served by the finalized response cache");
+    this.missCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "response_cache_misses",
+            "Number of cacheable requests not served by the finalized response cache");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.RPC,
+        "response_cache_bytes",
+        "Estimated bytes used by the finalized response cache",
+        this::estimatedWeight);
+    blockchain.observeBlockAdded(this::onBlockAdded);
+  }
+
+  /**
+   * The key for the request, if its result can be cached. Requests that use a block tag, like
+   * {@code latest} or {@code finalized}, are not cacheable since the block they refer to moves.
+   *
+   * @param request the request
+   * @return the key of the request, or empty if the request is not cacheable
+   */
+  Optional<Key> keyFor(final JsonRpcRequest request) {
+    if (!CACHEABLE_METHODS.contains(request.getMethod())
+        || !request.hasParams()
+        || !(request.getParams()[0] instanceof String blockOrTransaction)
+        || !blockOrTransaction.startsWith("0x")) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          new Key(
+              request.getMethod(),
+              mapper.writeValueAsString(request.getParams()).toLowerCase(Locale.ROOT)));
+    } catch (final JsonProcessingException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the cached result for the key
+   *
+   * @param key the key
+   * @return the encoded result, to be written as it is, or empty if not cached
+   */
+  Optional<RawValue> get(final Key key) {
+    final Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(new RawValue(entry.encodedResult()));
+  }
+
+  /**
+   * Cache the result, if it belongs to a finalized block
+   *
+   * @param key the key
+   * @param result the result of the request
+   */
+  void put(final Key key, final Object result) {
+    final OptionalLong maybeBlockNumber = blockNumberOf(result);
+    if (maybeBlockNumber.isEmpty() || maybeBlockNumber.getAsLong() > finalizedBlockNumber()) {
+      return;
+    }
+    try {
+      final SerializedString encodedResult =
+          new SerializedString(mapper.writeValueAsString(result));
+      // encode to UTF-8 now, so the cached bytes are shared by all the hits
+      encodedResult.asUnquotedUTF8();
+      cache.put(key, new Entry(maybeBlockNumber.getAsLong(), encodedResult));
+    } catch (final JsonProcessingException e) {
+      LOG.debug("Failed to encode result of {}", key.method(), e);
+    }
+  }
+
+  long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  long estimatedWeight() {
+    return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    if (event.getEventType() == EventType.CHAIN_REORG) {
+      blockchain
+          .getBlockHeader(event.getCommonAncestorHash())
+          .map(BlockHeader::getNumber)
+          .ifPresent(this::invalidateAbove);
+    }
+  }
+
+  private void invalidateAbove(final long commonAncestorNumber) {
+    cache.asMap().values().removeIf(entry -> entry.blockNumber() > commonAncestorNumber);
+  }
+
+  private long finalizedBlockNumber() {
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .map(BlockHeader::getNumber)
+        .orElse(-1L);
+  }
+
+  private static OptionalLong blockNumberOf(final Object result) {
+    final String blockNumber =
+        switch (result) {
+          case BlockResult blockResult -> blockResult.getNumber();
+          case TransactionReceiptResult receiptResult -> receiptResult.getBlockNumber();
+          case BlockReceiptsResult receiptsResult ->
+              receiptsResult.getResults().isEmpty()
+                  ? null
+                  : receiptsResult.getResults().getFirst().getBlockNumber();
+          case null, default -> null;
+        };
+    return blockNumber == null ? OptionalLong.empty() : OptionalLong.of(Long.decode(blockNumber));
+  }
+}
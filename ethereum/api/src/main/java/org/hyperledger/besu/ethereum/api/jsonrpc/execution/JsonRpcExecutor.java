@@ -81,6 +81,10 @@ public class JsonRpcExecutor {
     return rpcProcessor.process(req.id(), req.method(), req.span(), req.context());
   }
 
+  public boolean hasMethod(final String methodName) {
+    return rpcMethods.containsKey(methodName);
+  }
+
   public boolean isStreamingMethod(final String methodName) {
     final JsonRpcMethod method = rpcMethods.get(methodName);
     return method != null && method.isStreaming();
@@ -0,0 +1,85 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.PriorityWorkGate.PriorityWork;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+
+/**
+ * Processes the new payload and forkchoice updated requests as priority work of the {@link
+ * EthScheduler}, so that the background tasks, like trie log pruning, log bloom caching and RPC
+ * traces, step aside while they run, since their latency decides whether the validator attests on
+ * time. The other requests are processed as usual.
+ */
+public class PriorityJsonRpcProcessor implements JsonRpcProcessor {
+  private static final String NEW_PAYLOAD_PREFIX = "engine_newPayload";
+  private static final String FORKCHOICE_UPDATED_PREFIX = "engine_forkchoiceUpdated";
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final EthScheduler scheduler;
+
+  public PriorityJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final EthScheduler scheduler) {
+    this.rpcProcessor = rpcProcessor;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    if (!isPriority(method)) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+    try (final PriorityWork ignored = scheduler.startPriorityWork()) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+  }
+
+  @Override
+  public void streamProcess(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request,
+      final OutputStream out,
+      final ObjectMapper mapper)
+      throws IOException {
+    if (!isPriority(method)) {
+      rpcProcessor.streamProcess(id, method, metricSpan, request, out, mapper);
+      return;
+    }
+    try (final PriorityWork ignored = scheduler.startPriorityWork()) {
+      rpcProcessor.streamProcess(id, method, metricSpan, request, out, mapper);
+    }
+  }
+
+  private static boolean isPriority(final JsonRpcMethod method) {
+    final String name = method.getName();
+    return name.startsWith(NEW_PAYLOAD_PREFIX) || name.startsWith(FORKCHOICE_UPDATED_PREFIX);
+  }
+}
@@ -84,17 +84,19 @@ public abstract class AbstractEstimateGas extends AbstractBlockParameterMethod {
     if (gasLimitUpperBound < minTxCost) {
       return errorResponse(requestContext, RpcErrorType.TRANSACTION_UPFRONT_COST_EXCEEDS_BALANCE);
     }
-    final TransactionSimulationFunction simulationFunction =
-        (cp, op) ->
-            transactionSimulator.processOnPending(
-                cp, maybeStateOverrides, validationParams, op, pendingBlockHeader);
-    return simulate(
-        requestContext,
-        callParameter,
-        pendingBlockHeader,
-        simulationFunction,
-        gasLimitUpperBound,
-        minTxCost);
+    // all the simulations of the estimation run on the same world state
+    return transactionSimulator
+        .processOnPendingWithSharedWorldState(
+            pendingBlockHeader,
+            simulation ->
+                simulate(
+                    requestContext,
+                    callParameter,
+                    pendingBlockHeader,
+                    (cp, op) -> simulation.process(cp, maybeStateOverrides, validationParams, op),
+                    gasLimitUpperBound,
+                    minTxCost))
+        .orElseGet(() -> errorResponse(requestContext, RpcErrorType.INTERNAL_ERROR));
   }
 
   @Override
@@ -120,17 +122,19 @@ public abstract class AbstractEstimateGas extends AbstractBlockParameterMethod {
     if (gasLimitUpperBound < minTxCost) {
       return errorResponse(requestContext, RpcErrorType.TRANSACTION_UPFRONT_COST_EXCEEDS_BALANCE);
     }
-    final TransactionSimulationFunction simulationFunction =
-        (cp, op) ->
-            transactionSimulator.process(
-                cp, maybeStateOverrides, validationParams, op, blockHeader);
-    return simulate(
-        requestContext,
-        callParameter,
-        blockHeader,
-        simulationFunction,
-        gasLimitUpperBound,
-        minTxCost);
+    // all the simulations of the estimation run on the same world state
+    return transactionSimulator
+        .processWithSharedWorldState(
+            blockHeader,
+            simulation ->
+                simulate(
+                    requestContext,
+                    callParameter,
+                    blockHeader,
+                    (cp, op) -> simulation.process(cp, maybeStateOverrides, validationParams, op),
+                    gasLimitUpperBound,
+                    minTxCost))
+        .orElseGet(() -> errorResponse(requestContext, RpcErrorType.INTERNAL_ERROR));
   }
 
   private Optional<BlockHeader> blockHeader(final long blockNumber) {
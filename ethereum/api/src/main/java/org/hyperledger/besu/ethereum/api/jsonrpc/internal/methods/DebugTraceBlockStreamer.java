@@ -18,6 +18,7 @@ import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalcu
 
 import org.hyperledger.besu.datatypes.BlobGas;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelBlockReplay;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
@@ -41,6 +42,7 @@ import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -184,6 +186,31 @@ public class DebugTraceBlockStreamer {
 
             final boolean isOpcodeTracer = traceOptions.tracerType() == TracerType.OPCODE_TRACER;
 
+            // the struct logs are streamed while the transaction executes, so the opcode tracer
+            // replays the transactions one after the other
+            final Optional<ParallelBlockReplay> maybeParallelReplay =
+                isOpcodeTracer
+                    ? Optional.empty()
+                    : ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup);
+            if (maybeParallelReplay.isPresent()) {
+              maybeParallelReplay
+                  .get()
+                  .replay(
+                      (updater, transaction, transactionBlockHashLookup) ->
+                          toJson(
+                              mapper,
+                              buildTransactionResult(
+                                  transaction,
+                                  updater,
+                                  transactionProcessor,
+                                  protocolSpec,
+                                  header,
+                                  blobGasPrice,
+                                  transactionBlockHashLookup)),
+                      this::writeTransactionJson);
+              return Optional.of(Boolean.TRUE);
+            }
+
             for (final Transaction transaction : block.getBody().getTransactions()) {
               if (isOpcodeTracer) {
                 streamOpcodeTransaction(
@@ -194,23 +221,17 @@ public class DebugTraceBlockStreamer {
                     blobGasPrice,
                     blockHashLookup);
               } else {
-                try {
-                  final byte[] json =
-                      mapper.writeValueAsBytes(
-                          buildTransactionResult(
-                              transaction,
-                              chainUpdater,
-                              transactionProcessor,
-                              protocolSpec,
-                              header,
-                              blobGasPrice,
-                              blockHashLookup));
-                  if (!firstTx) writeByte(COMMA);
-                  firstTx = false;
-                  writeBytes(json);
-                } catch (IOException e) {
-                  throw new UncheckedIOException(e);
-                }
+                writeTransactionJson(
+                    toJson(
+                        mapper,
+                        buildTransactionResult(
+                            transaction,
+                            chainUpdater.getNextUpdater(),
+                            transactionProcessor,
+                            protocolSpec,
+                            header,
+                            blobGasPrice,
+                            blockHashLookup)));
               }
             }
 
@@ -250,11 +271,32 @@ public class DebugTraceBlockStreamer {
                   .getPreExecutionProcessor()
                   .createBlockHashLookup(blockchainQueries.getBlockchain(), header);
 
+          final Optional<ParallelBlockReplay> maybeParallelReplay =
+              traceOptions.tracerType() == TracerType.OPCODE_TRACER
+                  ? Optional.empty()
+                  : ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup);
+          if (maybeParallelReplay.isPresent()) {
+            maybeParallelReplay
+                .get()
+                .replay(
+                    (updater, transaction, transactionBlockHashLookup) ->
+                        buildTransactionResult(
+                            transaction,
+                            updater,
+                            transactionProcessor,
+                            protocolSpec,
+                            header,
+                            blobGasPrice,
+                            transactionBlockHashLookup),
+                    results::add);
+            return Optional.of(Boolean.TRUE);
+          }
+
           for (final Transaction transaction : block.getBody().getTransactions()) {
             results.add(
                 buildTransactionResult(
                     transaction,
-                    chainUpdater,
+                    chainUpdater.getNextUpdater(),
                     transactionProcessor,
                     protocolSpec,
                     header,
@@ -267,6 +309,24 @@ public class DebugTraceBlockStreamer {
     return results;
   }
 
+  private static byte[] toJson(final ObjectMapper mapper, final Object result) {
+    try {
+      return mapper.writeValueAsBytes(result);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeTransactionJson(final byte[] json) {
+    try {
+      if (!firstTx) writeByte(COMMA);
+      firstTx = false;
+      writeBytes(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   // ── streaming opcode transaction ──────────────────────────────────
 
   private void streamOpcodeTransaction(
@@ -321,7 +381,7 @@ public class DebugTraceBlockStreamer {
 
   private DebugTraceTransactionResult buildTransactionResult(
       final Transaction transaction,
-      final TraceBlock.ChainUpdater chainUpdater,
+      final WorldUpdater updater,
       final MainnetTransactionProcessor transactionProcessor,
       final ProtocolSpec protocolSpec,
       final BlockHeader header,
@@ -335,7 +395,7 @@ public class DebugTraceBlockStreamer {
 
     final TransactionProcessingResult result =
         transactionProcessor.processTransaction(
-            chainUpdater.getNextUpdater(),
+            updater,
             header,
             transaction,
             header.getCoinbase(),
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcRequestException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthCallResultCache.Result;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameterOrBlockHash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
@@ -53,11 +54,29 @@ import com.google.common.annotations.VisibleForTesting;
 public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
   private final TransactionSimulator transactionSimulator;
   private final LabelledMetric<Counter> gasUsedCounter;
+  private final Optional<EthCallResultCache> maybeResultCache;
 
   public EthCall(
       final BlockchainQueries blockchainQueries,
       final TransactionSimulator transactionSimulator,
       final MetricsSystem metricsSystem) {
+    this(blockchainQueries, transactionSimulator, metricsSystem, 0L);
+  }
+
+  /**
+   * Create the method
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param transactionSimulator the transaction simulator
+   * @param metricsSystem the metrics system
+   * @param resultCacheMaxBytes the byte budget of the cache of the call results, 0 to not cache
+   *     them
+   */
+  public EthCall(
+      final BlockchainQueries blockchainQueries,
+      final TransactionSimulator transactionSimulator,
+      final MetricsSystem metricsSystem,
+      final long resultCacheMaxBytes) {
     super(blockchainQueries);
     this.transactionSimulator = transactionSimulator;
     this.gasUsedCounter =
@@ -66,6 +85,10 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
             "eth_call_gas_used_total",
             "Total gas used by eth_call requests",
             "status");
+    this.maybeResultCache =
+        resultCacheMaxBytes > 0
+            ? Optional.of(new EthCallResultCache(resultCacheMaxBytes, metricsSystem))
+            : Optional.empty();
   }
 
   @Override
@@ -101,26 +124,26 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
     Optional<StateOverrideMap> maybeStateOverrides = getAddressStateOverrideMap(request);
     // TODO implement for block overrides
 
-    return transactionSimulator
-        .process(
-            callParams,
-            maybeStateOverrides,
-            buildTransactionValidationParams(header, callParams),
-            OperationTracer.NO_TRACING,
-            (mutableWorldState, transactionSimulatorResult) ->
-                transactionSimulatorResult.map(
-                    result -> {
-                      long gasUsed = result.getGasEstimate();
-                      if (result.isSuccessful()) {
-                        gasUsedCounter.labels("success").inc(gasUsed);
-                        return new JsonRpcSuccessResponse(
-                            request.getRequest().getId(), result.getOutput().toString());
-                      } else {
-                        gasUsedCounter.labels("error").inc(gasUsed);
-                        return errorResponse(request, result);
-                      }
-                    }),
-            header)
+    return maybeResultCache
+        .map(
+            resultCache -> {
+              // the result of a call on a given block never changes
+              final EthCallResultCache.Key key =
+                  new EthCallResultCache.Key(header.getHash(), callParams, maybeStateOverrides);
+              return resultCache
+                  .get(key)
+                  .map(result -> toResponse(request, result))
+                  .or(
+                      () -> {
+                        final Optional<JsonRpcResponse> maybeResponse =
+                            call(request, header, callParams, maybeStateOverrides);
+                        maybeResponse
+                            .filter(EthCall::isCacheable)
+                            .ifPresent(response -> resultCache.put(key, toResult(response)));
+                        return maybeResponse;
+                      });
+            })
+        .orElseGet(() -> call(request, header, callParams, maybeStateOverrides))
         .orElseGet(
             () -> {
               gasUsedCounter.labels("internal_error").inc(0);
@@ -128,6 +151,53 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
             });
   }
 
+  private Optional<JsonRpcResponse> call(
+      final JsonRpcRequestContext request,
+      final BlockHeader header,
+      final CallParameter callParams,
+      final Optional<StateOverrideMap> maybeStateOverrides) {
+    return transactionSimulator.process(
+        callParams,
+        maybeStateOverrides,
+        buildTransactionValidationParams(header, callParams),
+        OperationTracer.NO_TRACING,
+        (mutableWorldState, transactionSimulatorResult) ->
+            transactionSimulatorResult.map(
+                result -> {
+                  long gasUsed = result.getGasEstimate();
+                  if (result.isSuccessful()) {
+                    gasUsedCounter.labels("success").inc(gasUsed);
+                    return new JsonRpcSuccessResponse(
+                        request.getRequest().getId(), result.getOutput().toString());
+                  } else {
+                    gasUsedCounter.labels("error").inc(gasUsed);
+                    return errorResponse(request, result);
+                  }
+                }),
+        header);
+  }
+
+  /**
+   * Only the results that depend just on the block and the call are cached, that are successes,
+   * reverts and validation errors, while internal errors could not happen on a retry.
+   */
+  private static boolean isCacheable(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse
+        || ((JsonRpcErrorResponse) response).getError().getCode() != INTERNAL_ERROR.getCode();
+  }
+
+  private static Result toResult(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse successResponse
+        ? Result.success((String) successResponse.getResult())
+        : Result.failure(((JsonRpcErrorResponse) response).getError());
+  }
+
+  private JsonRpcResponse toResponse(final JsonRpcRequestContext request, final Result result) {
+    return result.isSuccessful()
+        ? new JsonRpcSuccessResponse(request.getRequest().getId(), result.output())
+        : errorResponse(request, result.error());
+  }
+
   @VisibleForTesting
   protected Optional<StateOverrideMap> getAddressStateOverrideMap(
       final JsonRpcRequestContext request) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StateOverride;
+import org.hyperledger.besu.datatypes.StateOverrideMap;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.transaction.CallParameter;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A memory bounded cache of the results of eth_call, keyed by block hash, call parameters and state
+ * overrides. A call on a given block always has the same result, since it is executed on the state
+ * of that block, so the entries never need to be invalidated, they are only evicted when the cache
+ * is full. This serves the identical calls that wallets and front-ends send for each new block.
+ */
+class EthCallResultCache {
+  private static final int ENTRY_OVERHEAD = 256;
+  private static final int STORAGE_OVERRIDE_OVERHEAD = 160;
+  private static final int BYTES_PER_CHAR = 2;
+
+  private final Cache<Key, Result> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  /**
+   * The key of a cached result
+   *
+   * @param blockHash the hash of the block the call is executed on
+   * @param callParams the call parameters
+   * @param maybeStateOverrides the state overrides
+   */
+  record Key(
+      Hash blockHash, CallParameter callParams, Optional<StateOverrideMap> maybeStateOverrides) {
+
+    private int weight() {
+      return callParams.getPayload().map(Bytes::size).orElse(0)
+          + maybeStateOverrides.map(Key::overridesWeight).orElse(0);
+    }
+
+    private static int overridesWeight(final StateOverrideMap stateOverrides) {
+      int weight = 0;
+      for (final StateOverride override : stateOverrides.values()) {
+        weight += ENTRY_OVERHEAD;
+        weight += BYTES_PER_CHAR * override.getCode().map(String::length).orElse(0);
+        weight += STORAGE_OVERRIDE_OVERHEAD * override.getState().map(Map::size).orElse(0);
+        weight += STORAGE_OVERRIDE_OVERHEAD * override.getStateDiff().map(Map::size).orElse(0);
+      }
+      return weight;
+    }
+  }
+
+  /**
+   * The result of a call, either the output of a successful call or the error of a failed one
+   *
+   * @param output the output of the call, null if the call failed
+   * @param error the error of the call, null if the call succeeded
+   */
+  record Result(String output, JsonRpcError error) {
+
+    static Result success(final String output) {
+      return new Result(output, null);
+    }
+
+    static Result failure(final JsonRpcError error) {
+      return new Result(null, error);
+    }
+
+    boolean isSuccessful() {
+      return error == null;
+    }
+
+    private int weight() {
+      return output != null ? BYTES_PER_CHAR * output.length() : ENTRY_OVERHEAD;
+    }
+  }
+
+  /**
+   * Create a new cache
+   *
+   * @param maxBytes the byte budget of the cache
+   * @param metricsSystem the metrics system
+   */
+  EthCallResultCache(final long maxBytes, final MetricsSystem metricsSystem) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Result>weigher((key, result) -> ENTRY_OVERHEAD + key.weight() + result.weight())
+            .build();
+    this.hitCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "eth_call_cache_hits",
+            "Number of eth_call requests served by the eth_call result cache");
+    this.missCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "eth_call_cache_misses",
+            "Number of eth_call requests not served by the eth_call result cache");
+  }
+
+  /**
+   * Get the cached result for the key
+   *
+   * @param key the key
+   * @return the result, or empty if not cached
+   */
+  Optional<Result> get(final Key key) {
+    final Result result = cache.getIfPresent(key);
+    if (result == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(result);
+  }
+
+  /**
+   * Cache the result of the call
+   *
+   * @param key the key
+   * @param result the result of the call
+   */
+  void put(final Key key, final Result result) {
+    cache.put(key, result);
+  }
+}
@@ -159,15 +159,24 @@ public abstract class ExecutionEngineJsonRpcMethod implements JsonRpcMethod {
   public final JsonRpcResponse response(final JsonRpcRequestContext request) {
 
     final CompletableFuture<JsonRpcResponse> cf = new CompletableFuture<>();
+    final long submittedAt = System.nanoTime();
 
     syncVertx.<JsonRpcResponse>executeBlocking(
         z -> {
+          final long startedAt = System.nanoTime();
+          engineCallListener.executionEnginePhaseCompleted(
+              this.getName(), EngineCallListener.Phase.QUEUE, startedAt - submittedAt);
           logger()
               .trace(
                   "execution engine JSON-RPC request {} {}",
                   this.getName(),
                   request.getRequest().getParams());
-          z.tryComplete(syncResponse(request));
+          try {
+            z.tryComplete(syncResponse(request));
+          } finally {
+            engineCallListener.executionEnginePhaseCompleted(
+                this.getName(), EngineCallListener.Phase.EXECUTION, System.nanoTime() - startedAt);
+          }
         },
         true,
         resp ->
@@ -49,6 +49,7 @@ import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -100,6 +101,14 @@ public class TraceBlock extends AbstractBlockParameterMethod {
     }
     LOG.trace("Received RPC rpcName={} block={}", getName(), blockNumber);
 
+    final Optional<ArrayNode> maybeIndexedTraces =
+        getBlockchainQueries()
+            .getTraceIndex()
+            .flatMap(traceIndex -> traceIndex.getBlockTraces(blockNumber));
+    if (maybeIndexedTraces.isPresent()) {
+      return maybeIndexedTraces.get();
+    }
+
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
@@ -108,12 +117,28 @@ public class TraceBlock extends AbstractBlockParameterMethod {
         .orElse(null);
   }
 
+  /**
+   * Trace the block like trace_block does, used to build the trace index
+   *
+   * @param block the block to trace
+   * @return the traces of the block, or empty if the world state needed to trace it is not
+   *     available
+   */
+  public Optional<ArrayNode> tryTraceBlock(final Block block) {
+    return maybeTraceBlock(block, Optional.empty()).map(ArrayNodeWrapper::getArrayNode);
+  }
+
   protected ArrayNodeWrapper traceBlock(
       final Block block, final Optional<FilterParameter> filterParameter) {
 
     if (block == null) {
       return emptyResult();
     }
+    return maybeTraceBlock(block, filterParameter).orElse(emptyResult());
+  }
+
+  private Optional<ArrayNodeWrapper> maybeTraceBlock(
+      final Block block, final Optional<FilterParameter> filterParameter) {
     final BlockHeader header = block.getHeader();
 
     return Tracer.processTracing(
@@ -173,8 +198,7 @@ public class TraceBlock extends AbstractBlockParameterMethod {
               resultArrayNode = buildArrayNodeStep.getResultArrayNode();
               generateRewardsFromBlock(filterParameter, block, resultArrayNode);
               return Optional.of(resultArrayNode);
-            })
-        .orElse(emptyResult());
+            });
   }
 
   protected void generateRewardsFromBlock(
@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceIndex;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -59,6 +60,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes32;
@@ -124,20 +126,59 @@ public class TraceFilter extends TraceBlock {
     final ArrayNodeWrapper resultArrayNode =
         new ArrayNodeWrapper(
             mapper.createArrayNode(), filterParameter.getAfter(), filterParameter.getCount());
-    if (fromBlock > toBlock)
-      return new JsonRpcSuccessResponse(
-          requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
-    else
-      return traceFilterWithPipeline(
-          requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
+    if (fromBlock <= toBlock) {
+      traceFilter(filterParameter, fromBlock, toBlock, resultArrayNode);
+    }
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+  }
+
+  private void traceFilter(
+      final FilterParameter filterParameter,
+      final long fromBlock,
+      final long toBlock,
+      final ArrayNodeWrapper resultArrayNode) {
+    final Optional<TraceIndex> maybeTraceIndex = getBlockchainQueries().getTraceIndex();
+    if (maybeTraceIndex.isEmpty()
+        || maybeTraceIndex.get().getLowestBlock().isEmpty()
+        || maybeTraceIndex.get().getHighestBlock().isEmpty()) {
+      traceFilterWithPipeline(filterParameter, fromBlock, toBlock, resultArrayNode);
+      return;
+    }
+    final TraceIndex traceIndex = maybeTraceIndex.get();
+    final long indexedFrom = Math.max(fromBlock, traceIndex.getLowestBlock().get());
+    final long indexedTo = Math.min(toBlock, traceIndex.getHighestBlock().get());
+    if (indexedFrom > indexedTo) {
+      traceFilterWithPipeline(filterParameter, fromBlock, toBlock, resultArrayNode);
+      return;
+    }
+    // the traces are returned in block order, so the range is split around the indexed blocks
+    if (fromBlock < indexedFrom) {
+      traceFilterWithPipeline(filterParameter, fromBlock, indexedFrom - 1, resultArrayNode);
+    }
+    try (final Stream<JsonNode> indexedTraces =
+        traceIndex.streamTraces(
+            indexedFrom,
+            indexedTo,
+            filterParameter.getFromAddress(),
+            filterParameter.getToAddress())) {
+      indexedTraces
+          .takeWhile(trace -> !resultArrayNode.isFull())
+          .forEachOrdered(resultArrayNode::addPOJO);
+    }
+    if (indexedTo < toBlock && !resultArrayNode.isFull()) {
+      traceFilterWithPipeline(filterParameter, indexedTo + 1, toBlock, resultArrayNode);
+    }
   }
 
-  private JsonRpcResponse traceFilterWithPipeline(
-      final JsonRpcRequestContext requestContext,
+  private void traceFilterWithPipeline(
       final FilterParameter filterParameter,
       final long fromBlock,
       final long toBlock,
       final ArrayNodeWrapper resultArrayNode) {
+    if (resultArrayNode.isFull()) {
+      return;
+    }
 
     long currentBlockNumber = fromBlock;
     Optional<Block> block =
@@ -149,75 +190,70 @@ public class TraceFilter extends TraceBlock {
       block = blockchainQueriesSupplier.get().getBlockchain().getBlockByNumber(currentBlockNumber);
     }
     if (block.isEmpty()) {
-      return new JsonRpcSuccessResponse(
-          requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+      return;
     }
     final BlockHeader header = block.get().getHeader();
 
     List<Block> blockList = getBlockList(currentBlockNumber, toBlock, block);
 
-    ArrayNodeWrapper result =
-        Tracer.processTracing(
-                getBlockchainQueries(),
-                Optional.of(header),
-                traceableState -> {
-                  TraceFilterSource traceFilterSource =
-                      new TraceFilterSource(blockList, resultArrayNode);
-                  final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-                  final MainnetTransactionProcessor transactionProcessor =
-                      protocolSpec.getTransactionProcessor();
-                  final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-                  DebugOperationTracer debugOperationTracer =
-                      new DebugOperationTracer(
-                          OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                              .traceStorage(false)
-                              .traceMemory(false)
-                              .traceStack(true)
-                              .build(),
-                          false);
-                  ExecuteTransactionStep executeTransactionStep =
-                      new ExecuteTransactionStep(
-                          chainUpdater,
-                          transactionProcessor,
-                          getBlockchainQueries().getBlockchain(),
-                          debugOperationTracer,
-                          protocolSpec);
-
-                  Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
-                      traceFlatTransactionStep =
-                          new TraceFlatTransactionStep(
-                              protocolSchedule, null, Optional.of(filterParameter));
+    Tracer.processTracing(
+        getBlockchainQueries(),
+        Optional.of(header),
+        traceableState -> {
+          TraceFilterSource traceFilterSource =
+              new TraceFilterSource(blockList, resultArrayNode);
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+          final MainnetTransactionProcessor transactionProcessor =
+              protocolSpec.getTransactionProcessor();
+          final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
+          DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(
+                  OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+                      .traceStorage(false)
+                      .traceMemory(false)
+                      .traceStack(true)
+                      .build(),
+                  false);
+          ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  chainUpdater,
+                  transactionProcessor,
+                  getBlockchainQueries().getBlockchain(),
+                  debugOperationTracer,
+                  protocolSpec);
 
-                  BuildArrayNodeCompleterStep buildArrayNodeStep =
-                      new BuildArrayNodeCompleterStep(resultArrayNode);
-                  Pipeline<TransactionTrace> traceBlockPipeline =
-                      createPipelineFrom(
-                              "getTransactions",
-                              traceFilterSource,
-                              4,
-                              outputCounter,
-                              false,
-                              "trace_block_transactions")
-                          .thenProcess("executeTransaction", executeTransactionStep)
-                          .thenProcessAsyncOrdered(
-                              "traceFlatTransaction", traceFlatTransactionStep, 4)
-                          .andFinishWith(
-                              "buildArrayNode",
-                              traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
+          Function<TransactionTrace, CompletableFuture<Stream<FlatTrace>>>
+              traceFlatTransactionStep =
+                  new TraceFlatTransactionStep(
+                      protocolSchedule, null, Optional.of(filterParameter));
 
-                  try {
-                    ethScheduler.startPipeline(traceBlockPipeline).get();
-                  } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
-                  } catch (ExecutionException e) {
-                    throw new RuntimeException(e);
-                  }
-                  return Optional.of(resultArrayNode);
-                })
-            .orElse(emptyResult());
+          BuildArrayNodeCompleterStep buildArrayNodeStep =
+              new BuildArrayNodeCompleterStep(resultArrayNode);
+          Pipeline<TransactionTrace> traceBlockPipeline =
+              createPipelineFrom(
+                      "getTransactions",
+                      traceFilterSource,
+                      4,
+                      outputCounter,
+                      false,
+                      "trace_block_transactions")
+                  .thenProcess("executeTransaction", executeTransactionStep)
+                  .thenProcessAsyncOrdered(
+                      "traceFlatTransaction", traceFlatTransactionStep, 4)
+                  .andFinishWith(
+                      "buildArrayNode",
+                      traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
 
-    return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), result.getArrayNode());
+          try {
+            ethScheduler.startPipeline(traceBlockPipeline).get();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+          } catch (ExecutionException e) {
+            throw new RuntimeException(e);
+          }
+          return Optional.of(resultArrayNode);
+        });
   }
 
   @NotNull
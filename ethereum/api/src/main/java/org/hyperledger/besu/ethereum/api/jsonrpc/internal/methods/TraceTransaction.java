@@ -24,10 +24,13 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +62,22 @@ public class TraceTransaction extends AbstractTraceByHash implements JsonRpcMeth
     }
     LOG.trace("Received RPC rpcName={} txHash={}", getName(), transactionHash);
 
+    final Optional<ArrayNode> maybeIndexedTraces =
+        blockchainQueries
+            .getTraceIndex()
+            .flatMap(
+                traceIndex ->
+                    blockchainQueries
+                        .transactionByHash(transactionHash)
+                        .flatMap(TransactionWithMetadata::getBlockNumber)
+                        .flatMap(
+                            blockNumber ->
+                                traceIndex.getTransactionTraces(blockNumber, transactionHash)));
+    if (maybeIndexedTraces.isPresent()) {
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(), maybeIndexedTraces.get());
+    }
+
     return new JsonRpcSuccessResponse(
         requestContext.getRequest().getId(),
         arrayNodeFromTraceStream(resultByTransactionHash(transactionHash)));
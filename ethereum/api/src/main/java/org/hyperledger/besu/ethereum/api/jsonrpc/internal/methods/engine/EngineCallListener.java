@@ -15,7 +15,25 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.engine;
 
 public interface EngineCallListener {
+  /** The phases of an execution engine call, whose latencies are reported separately. */
+  enum Phase {
+    /** Waiting for the execution engine worker, behind the previous calls. */
+    QUEUE,
+    /** Executing the call on the execution engine worker. */
+    EXECUTION
+  }
+
   void executionEngineCalled();
 
+  /**
+   * Called when a phase of an execution engine call completed
+   *
+   * @param method the name of the called method
+   * @param phase the completed phase
+   * @param durationNanos the duration of the phase, in nanoseconds
+   */
+  default void executionEnginePhaseCompleted(
+      final String method, final Phase phase, final long durationNanos) {}
+
   default void stop() {}
 }
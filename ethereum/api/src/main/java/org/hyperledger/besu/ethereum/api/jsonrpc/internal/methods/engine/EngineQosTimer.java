@@ -15,7 +15,13 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.engine;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.QosTimer;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -27,18 +33,39 @@ public class EngineQosTimer implements EngineCallListener {
   static final long QOS_TIMEOUT_MILLIS = 120000L;
   private static final Logger LOG = LoggerFactory.getLogger(EngineQosTimer.class);
 
+  // from a few milliseconds up to a full slot
+  private static final double[] PHASE_LATENCY_BUCKETS = {
+    0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.0, 4.0, 8.0, 12.0
+  };
+
   private final QosTimer qosTimer;
+  private final LabelledMetric<Histogram> phaseLatency;
 
-  public EngineQosTimer(final Vertx vertx) {
+  public EngineQosTimer(final Vertx vertx, final MetricsSystem metricsSystem) {
     qosTimer = new QosTimer(vertx, QOS_TIMEOUT_MILLIS, lastCall -> logTimeoutWarning());
     qosTimer.resetTimer();
+    phaseLatency = createPhaseLatency(metricsSystem);
   }
 
   @VisibleForTesting
   EngineQosTimer(
-      final Vertx vertx, final long qosTimeoutMillis, final Consumer<Long> timeoutHandler) {
+      final Vertx vertx,
+      final long qosTimeoutMillis,
+      final Consumer<Long> timeoutHandler,
+      final MetricsSystem metricsSystem) {
     qosTimer = new QosTimer(vertx, qosTimeoutMillis, timeoutHandler);
     qosTimer.resetTimer();
+    phaseLatency = createPhaseLatency(metricsSystem);
+  }
+
+  private static LabelledMetric<Histogram> createPhaseLatency(final MetricsSystem metricsSystem) {
+    return metricsSystem.createLabelledHistogram(
+        BesuMetricCategory.RPC,
+        "engine_call_phase_latency_seconds",
+        "Latency of the phases of the execution engine calls",
+        PHASE_LATENCY_BUCKETS,
+        "methodName",
+        "phase");
   }
 
   @Override
@@ -46,6 +73,14 @@ public class EngineQosTimer implements EngineCallListener {
     getQosTimer().resetTimer();
   }
 
+  @Override
+  public void executionEnginePhaseCompleted(
+      final String method, final Phase phase, final long durationNanos) {
+    phaseLatency
+        .labels(method, phase.name().toLowerCase(Locale.ROOT))
+        .observe((double) durationNanos / TimeUnit.SECONDS.toNanos(1));
+  }
+
   public void logTimeoutWarning() {
     LOG.warn(
         "Execution engine not called in {} seconds, consensus client may not be connected",
@@ -0,0 +1,200 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessListAccountLookup;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessListOverlay;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Replays the transactions of a block concurrently. This is possible for the blocks that have a
+ * block access list, on a path based world state: each transaction is re-executed on its own world
+ * state, the state of the parent block with the changes of the block access list up to the
+ * transaction applied on top, rather than on the state left by the previous transaction. The
+ * results are passed on in transaction order.
+ */
+public class ParallelBlockReplay {
+  private static final int MAX_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+  private final WorldStateArchive worldStateArchive;
+  private final BlockHeader parentHeader;
+  private final BlockAccessListAccountLookup accountLookup;
+  private final List<Transaction> transactions;
+  private final BlockHashLookup blockHashLookup;
+  private final EthScheduler ethScheduler;
+
+  private ParallelBlockReplay(
+      final WorldStateArchive worldStateArchive,
+      final BlockHeader parentHeader,
+      final BlockAccessList blockAccessList,
+      final List<Transaction> transactions,
+      final BlockHashLookup blockHashLookup,
+      final EthScheduler ethScheduler) {
+    this.worldStateArchive = worldStateArchive;
+    this.parentHeader = parentHeader;
+    this.accountLookup = BlockAccessListAccountLookup.of(blockAccessList);
+    this.transactions = transactions;
+    this.blockHashLookup = blockHashLookup;
+    this.ethScheduler = ethScheduler;
+  }
+
+  /**
+   * Action to replay a transaction, called concurrently for the transactions of the block.
+   *
+   * @param <T> the type of the result of the replay
+   */
+  @FunctionalInterface
+  public interface TransactionAction<T> {
+    /**
+     * Replay the transaction
+     *
+     * @param updater the updater of the state before the transaction
+     * @param transaction the transaction
+     * @param blockHashLookup the block hash lookup, only used by this transaction
+     * @return the result of the replay
+     */
+    T replay(WorldUpdater updater, Transaction transaction, BlockHashLookup blockHashLookup);
+  }
+
+  /**
+   * Create a concurrent replay of the block, if possible.
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param block the block to replay
+   * @param blockHashLookup the block hash lookup of the block
+   * @return the replay, or empty if the transactions of the block can only be replayed one after
+   *     the other
+   */
+  public static Optional<ParallelBlockReplay> create(
+      final BlockchainQueries blockchainQueries,
+      final Block block,
+      final BlockHashLookup blockHashLookup) {
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    final Optional<EthScheduler> maybeEthScheduler = blockchainQueries.getEthScheduler();
+    if (transactions.size() < 2
+        || maybeEthScheduler.isEmpty()
+        || !(blockchainQueries.getWorldStateArchive() instanceof PathBasedWorldStateProvider)
+        || !supportsParallelWorkers(blockHashLookup)) {
+      return Optional.empty();
+    }
+    final Blockchain blockchain = blockchainQueries.getBlockchain();
+    final Optional<BlockHeader> maybeParentHeader =
+        blockchain.getBlockHeader(block.getHeader().getParentHash());
+    final Optional<BlockAccessList> maybeBlockAccessList =
+        blockchain.getBlockAccessList(block.getHash());
+    if (maybeParentHeader.isEmpty() || maybeBlockAccessList.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new ParallelBlockReplay(
+            blockchainQueries.getWorldStateArchive(),
+            maybeParentHeader.get(),
+            maybeBlockAccessList.get(),
+            transactions,
+            blockHashLookup,
+            maybeEthScheduler.get()));
+  }
+
+  /**
+   * Replay the transactions of the block concurrently, and pass the results on in transaction
+   * order, on the calling thread.
+   *
+   * @param action the action to replay a transaction
+   * @param consumer the consumer of the results
+   * @param <T> the type of the result of the replay
+   */
+  public <T> void replay(final TransactionAction<T> action, final Consumer<T> consumer) {
+    forEachOrdered(
+        transactions.size(),
+        index -> ethScheduler.scheduleComputationTask(() -> replayTransaction(index, action)),
+        MAX_CONCURRENCY,
+        consumer);
+  }
+
+  private <T> T replayTransaction(final int index, final TransactionAction<T> action) {
+    // the changes of the block access list are indexed from 1, 0 being the pre-execution changes
+    final WorldStateQueryParams queryParams =
+        WorldStateQueryParams.newBuilder()
+            .withBlockHeader(parentHeader)
+            .withShouldWorldStateUpdateHead(false)
+            .withBalOverlay(new BlockAccessListOverlay(accountLookup, index + 1L))
+            .build();
+    try (final PathBasedWorldState worldState =
+        worldStateArchive
+            .getWorldState(queryParams)
+            .map(PathBasedWorldState.class::cast)
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "World state not available to replay transaction " + index))) {
+      return action.replay(
+          worldState.updater().updater(),
+          transactions.get(index).detachedCopy(),
+          blockHashLookup.forkForParallelWorker());
+    }
+  }
+
+  /**
+   * Start the tasks, keeping at most {@code maxConcurrency} of them in flight, and pass their
+   * results on in order.
+   */
+  static <T> void forEachOrdered(
+      final int count,
+      final IntFunction<CompletableFuture<T>> task,
+      final int maxConcurrency,
+      final Consumer<T> consumer) {
+    final ArrayDeque<CompletableFuture<T>> inFlight = new ArrayDeque<>(maxConcurrency);
+    int next = 0;
+    try {
+      while (next < count || !inFlight.isEmpty()) {
+        while (next < count && inFlight.size() < maxConcurrency) {
+          inFlight.add(task.apply(next++));
+        }
+        consumer.accept(inFlight.poll().join());
+      }
+    } finally {
+      // the tasks not started yet are skipped if the results are not consumed
+      inFlight.forEach(future -> future.cancel(false));
+    }
+  }
+
+  private static boolean supportsParallelWorkers(final BlockHashLookup blockHashLookup) {
+    try {
+      blockHashLookup.forkForParallelWorker();
+      return true;
+    } catch (final UnsupportedOperationException e) {
+      return false;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
@@ -43,6 +44,8 @@ public class Tracer {
       final BlockchainQueries blockchainQueries,
       final Optional<BlockHeader> blockHeader,
       final Function<TraceableState, ? extends Optional<TRACE>> mapper) {
+    // traces are not time sensitive, let a payload being validated go first
+    blockchainQueries.getEthScheduler().ifPresent(EthScheduler::yieldToPriorityWork);
     return blockHeader
         .map(BlockHeader::getParentHash)
         .flatMap(
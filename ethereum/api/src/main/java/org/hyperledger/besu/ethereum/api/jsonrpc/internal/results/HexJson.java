@@ -0,0 +1,176 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.datatypes.BytesHolder;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.HexWriter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Jackson serializers that write hex values straight from the underlying bytes into the
+ * generator, without creating an intermediate hex {@code String} for each value. The output is the
+ * same as {@link Quantity#create} for quantities, and as {@code toString()} for the other values.
+ *
+ * <p>The hex is encoded into a per thread scratch buffer, that the UTF-8 generators, used to write
+ * the responses to the HTTP stream, copy to their output buffer. The other generators, like the
+ * ones writing to a {@code String}, get a string instead.
+ */
+public final class HexJson {
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  // fits a 0x-prefixed value of up to 511 bytes, longer values get their own buffer
+  private static final int SCRATCH_SIZE = 1024;
+  private static final ThreadLocal<byte[]> SCRATCH =
+      ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+  private HexJson() {}
+
+  /**
+   * Write the bytes as a 0x-prefixed hex string, two hex chars per byte
+   *
+   * @param gen the generator
+   * @param value the bytes
+   * @throws IOException if the value cannot be written
+   */
+  public static void writeBytes(final JsonGenerator gen, final Bytes value) throws IOException {
+    final int size = value.size();
+    if (size == 0) {
+      gen.writeString("0x");
+      return;
+    }
+    final byte[] dest = scratch(size);
+    writeHex(gen, dest, HexWriter.encodeTo(value.toArrayUnsafe(), size, dest, 0, false));
+  }
+
+  /**
+   * Write the bytes as a quantity, that is a 0x-prefixed hex string without leading zeros
+   *
+   * @param gen the generator
+   * @param value the big endian bytes of the quantity
+   * @throws IOException if the value cannot be written
+   */
+  public static void writeQuantity(final JsonGenerator gen, final Bytes value)
+      throws IOException {
+    final int size = value.size();
+    final byte[] dest = scratch(size);
+    writeHex(gen, dest, HexWriter.encodeTo(value.toArrayUnsafe(), size, dest, 0, true));
+  }
+
+  /**
+   * Write the value as a quantity, that is a 0x-prefixed hex string without leading zeros
+   *
+   * @param gen the generator
+   * @param value the quantity, negative values are written as unsigned
+   * @throws IOException if the value cannot be written
+   */
+  public static void writeQuantity(final JsonGenerator gen, final long value) throws IOException {
+    final byte[] dest = SCRATCH.get();
+    final int nibbles = value == 0 ? 1 : Long.BYTES * 2 - Long.numberOfLeadingZeros(value) / 4;
+    dest[0] = '0';
+    dest[1] = 'x';
+    for (int i = 0; i < nibbles; i++) {
+      dest[2 + i] = HEX_DIGITS[(int) (value >>> ((nibbles - 1 - i) * 4)) & 0xF];
+    }
+    writeHex(gen, dest, 2 + nibbles);
+  }
+
+  private static byte[] scratch(final int size) {
+    final int hexSize = 2 + 2 * size;
+    return hexSize <= SCRATCH_SIZE ? SCRATCH.get() : new byte[hexSize];
+  }
+
+  private static void writeHex(final JsonGenerator gen, final byte[] hex, final int length)
+      throws IOException {
+    if (gen instanceof UTF8JsonGenerator) {
+      // hex chars never need escaping, so they are copied as they are
+      gen.writeRawUTF8String(hex, 0, length);
+    } else {
+      gen.writeString(new String(hex, 0, length, StandardCharsets.US_ASCII));
+    }
+  }
+
+  /** Writes {@link Bytes} as a hex string, two hex chars per byte. */
+  public static class BytesSerializer extends StdSerializer<Bytes> {
+
+    public BytesSerializer() {
+      super(Bytes.class);
+    }
+
+    @Override
+    public void serialize(
+        final Bytes value, final JsonGenerator gen, final SerializerProvider provider)
+        throws IOException {
+      writeBytes(gen, value);
+    }
+  }
+
+  /** Writes a {@link BytesHolder}, like a hash, an address or a log topic, as a hex string. */
+  public static class BytesHolderSerializer extends StdSerializer<BytesHolder> {
+
+    public BytesHolderSerializer() {
+      super(BytesHolder.class);
+    }
+
+    @Override
+    public void serialize(
+        final BytesHolder value, final JsonGenerator gen, final SerializerProvider provider)
+        throws IOException {
+      writeBytes(gen, value.getBytes());
+    }
+  }
+
+  /** Writes {@link Bytes}, like a {@code Wei} amount, as a quantity. */
+  public static class BytesQuantitySerializer extends StdSerializer<Bytes> {
+
+    public BytesQuantitySerializer() {
+      super(Bytes.class);
+    }
+
+    @Override
+    public void serialize(
+        final Bytes value, final JsonGenerator gen, final SerializerProvider provider)
+        throws IOException {
+      writeQuantity(gen, value);
+    }
+  }
+
+  /** Writes a {@link Number}, integral or {@link BigInteger}, as a quantity. */
+  public static class QuantitySerializer extends StdSerializer<Number> {
+
+    public QuantitySerializer() {
+      super(Number.class);
+    }
+
+    @Override
+    public void serialize(
+        final Number value, final JsonGenerator gen, final SerializerProvider provider)
+        throws IOException {
+      if (value instanceof BigInteger bigInteger) {
+        writeQuantity(gen, Bytes.wrap(bigInteger.toByteArray()));
+      } else {
+        writeQuantity(gen, value.longValue());
+      }
+    }
+  }
+}
@@ -14,16 +14,27 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
 
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.LogTopic;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.apache.tuweni.bytes.Bytes;
 
-/** A single log result. */
+/**
+ * A single log result.
+ *
+ * <p>The values are kept as they are and written by the {@link HexJson} serializers, since a large
+ * {@code eth_getLogs} response would otherwise create many short-lived hex strings. The getters
+ * return the same hex strings that are written to JSON.
+ */
 @JsonPropertyOrder({
   "logIndex",
   "removed",
@@ -38,77 +49,100 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 })
 public class LogResult implements JsonRpcResult {
 
-  private final String logIndex;
-  private final String blockNumber;
-  private final String blockHash;
-  private final String blockTimestamp;
-  private final String transactionHash;
-  private final String transactionIndex;
-  private final String address;
-  private final String data;
-  private final List<String> topics;
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final int logIndex;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final long blockNumber;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Hash blockHash;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final long blockTimestamp;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Hash transactionHash;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final int transactionIndex;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Address address;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesSerializer.class)
+  private final Bytes data;
+
+  @JsonProperty
+  @JsonSerialize(contentUsing = HexJson.BytesHolderSerializer.class)
+  private final List<LogTopic> topics;
+
   private final boolean removed;
 
   public LogResult(final LogWithMetadata logWithMetadata) {
-    this.logIndex = Quantity.create(logWithMetadata.getLogIndex());
-    this.blockNumber = Quantity.create(logWithMetadata.getBlockNumber());
-    this.blockHash = logWithMetadata.getBlockHash().toString();
-    this.blockTimestamp = Quantity.create(logWithMetadata.getBlockTimestamp());
-    this.transactionHash = logWithMetadata.getTransactionHash().toString();
-    this.transactionIndex = Quantity.create(logWithMetadata.getTransactionIndex());
-    this.address = logWithMetadata.getLogger().toString();
-    this.data = logWithMetadata.getData().toString();
-    this.topics = new ArrayList<>(logWithMetadata.getTopics().size());
+    this.logIndex = logWithMetadata.getLogIndex();
+    this.blockNumber = logWithMetadata.getBlockNumber();
+    this.blockHash = logWithMetadata.getBlockHash();
+    this.blockTimestamp = logWithMetadata.getBlockTimestamp();
+    this.transactionHash = logWithMetadata.getTransactionHash();
+    this.transactionIndex = logWithMetadata.getTransactionIndex();
+    this.address = logWithMetadata.getLogger();
+    this.data = logWithMetadata.getData();
+    this.topics = logWithMetadata.getTopics();
     this.removed = logWithMetadata.isRemoved();
-
-    for (final LogTopic topic : logWithMetadata.getTopics()) {
-      topics.add(topic.toString());
-    }
   }
 
-  @JsonGetter(value = "logIndex")
+  @JsonIgnore
   public String getLogIndex() {
-    return logIndex;
+    return Quantity.create(logIndex);
   }
 
-  @JsonGetter(value = "blockNumber")
+  @JsonIgnore
   public String getBlockNumber() {
-    return blockNumber;
+    return Quantity.create(blockNumber);
   }
 
-  @JsonGetter(value = "blockHash")
+  @JsonIgnore
   public String getBlockHash() {
-    return blockHash;
+    return blockHash.toString();
   }
 
-  @JsonGetter(value = "blockTimestamp")
+  @JsonIgnore
   public String getBlockTimestamp() {
-    return blockTimestamp;
+    return Quantity.create(blockTimestamp);
   }
 
-  @JsonGetter(value = "transactionHash")
+  @JsonIgnore
   public String getTransactionHash() {
-    return transactionHash;
+    return transactionHash.toString();
   }
 
-  @JsonGetter(value = "transactionIndex")
+  @JsonIgnore
   public String getTransactionIndex() {
-    return transactionIndex;
+    return Quantity.create(transactionIndex);
   }
 
-  @JsonGetter(value = "address")
+  @JsonIgnore
   public String getAddress() {
-    return address;
+    return address.toString();
   }
 
-  @JsonGetter(value = "data")
+  @JsonIgnore
   public String getData() {
-    return data;
+    return data.toString();
   }
 
-  @JsonGetter(value = "topics")
+  @JsonIgnore
   public List<String> getTopics() {
-    return topics;
+    return topics.stream().map(LogTopic::toString).toList();
   }
 
   @JsonGetter(value = "removed")
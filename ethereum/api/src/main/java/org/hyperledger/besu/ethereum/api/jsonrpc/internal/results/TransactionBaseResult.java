@@ -15,19 +15,33 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
 
 import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.BytesHolder;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Transaction;
 
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * The fields of a transaction, common to all the transaction results.
+ *
+ * <p>The values are kept as they are and written by the {@link HexJson} serializers, since the
+ * transactions of a full block would otherwise create many short-lived hex strings. The getters
+ * return the same hex strings that are written to JSON.
+ */
 @JsonPropertyOrder({
   "accessList",
   "authorizationList",
@@ -59,35 +73,84 @@ public class TransactionBaseResult implements TransactionResult {
   @JsonInclude(JsonInclude.Include.NON_NULL)
   private final List<AccessListEntry> accessList;
 
+  @JsonProperty
   @JsonInclude(JsonInclude.Include.NON_NULL)
-  private final String chainId;
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final BigInteger chainId;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Address from;
 
-  private final String from;
-  private final String gas;
-  private final String gasPrice;
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final long gas;
 
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesQuantitySerializer.class)
+  private final Wei gasPrice;
+
+  @JsonProperty
   @JsonInclude(JsonInclude.Include.NON_NULL)
-  private final String maxPriorityFeePerGas;
+  @JsonSerialize(using = HexJson.BytesQuantitySerializer.class)
+  private final Wei maxPriorityFeePerGas;
 
+  @JsonProperty
   @JsonInclude(JsonInclude.Include.NON_NULL)
-  private final String maxFeePerGas;
+  @JsonSerialize(using = HexJson.BytesQuantitySerializer.class)
+  private final Wei maxFeePerGas;
 
+  @JsonProperty
   @JsonInclude(JsonInclude.Include.NON_NULL)
-  private final String maxFeePerBlobGas;
-
-  private final String hash;
-  private final String input;
-  private final String nonce;
-  private final String to;
-  private final String type;
-  private final String value;
-  private final String yParity;
-  private final String v;
-  private final String r;
-  private final String s;
+  @JsonSerialize(using = HexJson.BytesQuantitySerializer.class)
+  private final Wei maxFeePerBlobGas;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Hash hash;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesSerializer.class)
+  private final Bytes input;
 
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final long nonce;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesHolderSerializer.class)
+  private final Address to;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final int type;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.BytesQuantitySerializer.class)
+  private final Wei value;
+
+  @JsonProperty
   @JsonInclude(JsonInclude.Include.NON_NULL)
-  private final List<String> versionedHashes;
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final BigInteger yParity;
+
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final BigInteger v;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final BigInteger r;
+
+  @JsonProperty
+  @JsonSerialize(using = HexJson.QuantitySerializer.class)
+  private final BigInteger s;
+
+  @JsonProperty("blobVersionedHashes")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonSerialize(contentUsing = HexJson.BytesHolderSerializer.class)
+  private final List<VersionedHash> versionedHashes;
 
   @JsonInclude(JsonInclude.Include.NON_NULL)
   private final List<CodeDelegationResult> authorizationList;
@@ -100,52 +163,43 @@ public class TransactionBaseResult implements TransactionResult {
     final TransactionType transactionType = transaction.getType();
     this.accessList =
         transaction.getAccessList().orElse(transactionType.supportsAccessList() ? List.of() : null);
-    this.chainId = transaction.getChainId().map(Quantity::create).orElse(null);
-    this.from = transaction.getSender().toString();
-    this.gas = Quantity.create(transaction.getGasLimit());
-    this.maxPriorityFeePerGas =
-        transaction.getMaxPriorityFeePerGas().map(Wei::toShortHexString).orElse(null);
-    this.maxFeePerGas = transaction.getMaxFeePerGas().map(Wei::toShortHexString).orElse(null);
-    this.maxFeePerBlobGas =
-        transaction.getMaxFeePerBlobGas().map(Wei::toShortHexString).orElse(null);
+    this.chainId = transaction.getChainId().orElse(null);
+    this.from = transaction.getSender();
+    this.gas = transaction.getGasLimit();
+    this.maxPriorityFeePerGas = transaction.getMaxPriorityFeePerGas().orElse(null);
+    this.maxFeePerGas = transaction.getMaxFeePerGas().orElse(null);
+    this.maxFeePerBlobGas = transaction.getMaxFeePerBlobGas().orElse(null);
     this.gasPrice =
-        Quantity.create(
-            transaction
-                .getGasPrice()
-                .orElseGet(
-                    () ->
-                        maybeBaseFee.isPresent()
-                            ? transaction.getEffectiveGasPrice(maybeBaseFee)
-                            : transaction.getMaxFeePerGas().get()));
-    this.hash = transaction.getHash().toString();
-    this.input = transaction.getPayload().toString();
-    this.nonce = Quantity.create(transaction.getNonce());
-    this.to = transaction.getTo().map(a -> a.getBytes().toHexString()).orElse(null);
+        transaction
+            .getGasPrice()
+            .orElseGet(
+                () ->
+                    maybeBaseFee.isPresent()
+                        ? transaction.getEffectiveGasPrice(maybeBaseFee)
+                        : transaction.getMaxFeePerGas().get());
+    this.hash = transaction.getHash();
+    this.input = transaction.getPayload();
+    this.nonce = transaction.getNonce();
+    this.to = transaction.getTo().orElse(null);
     if (transactionType == TransactionType.FRONTIER) {
-      this.type = Quantity.create(0);
+      this.type = 0;
       this.yParity = null;
-      this.v = Quantity.create(transaction.getV());
+      this.v = transaction.getV();
     } else {
-      this.type = Quantity.create(transactionType.getSerializedType());
-      this.yParity = Quantity.create(transaction.getYParity());
+      this.type = transactionType.getSerializedType();
+      this.yParity = transaction.getYParity();
       this.v =
           (transactionType == TransactionType.ACCESS_LIST
                   || transactionType == TransactionType.EIP1559
                   || transactionType == TransactionType.DELEGATE_CODE
                   || transactionType == TransactionType.BLOB)
-              ? Quantity.create(transaction.getYParity())
+              ? transaction.getYParity()
               : null;
     }
-    this.value = Quantity.create(transaction.getValue());
-    this.r = Quantity.create(transaction.getR());
-    this.s = Quantity.create(transaction.getS());
-    this.versionedHashes =
-        transaction
-            .getVersionedHashes()
-            .map(
-                hashes ->
-                    hashes.stream().map(BytesHolder::getBytes).map(Bytes::toHexString).toList())
-            .orElse(null);
+    this.value = transaction.getValue();
+    this.r = transaction.getR();
+    this.s = transaction.getS();
+    this.versionedHashes = transaction.getVersionedHashes().orElse(null);
     this.authorizationList =
         transaction
             .getCodeDelegationList()
@@ -158,96 +212,96 @@ public class TransactionBaseResult implements TransactionResult {
     return accessList;
   }
 
-  @JsonGetter(value = "chainId")
+  @JsonIgnore
   public String getChainId() {
-    return chainId;
+    return chainId == null ? null : Quantity.create(chainId);
   }
 
-  @JsonGetter(value = "from")
+  @JsonIgnore
   public String getFrom() {
-    return from;
+    return from.toString();
   }
 
-  @JsonGetter(value = "gas")
+  @JsonIgnore
   public String getGas() {
-    return gas;
+    return Quantity.create(gas);
   }
 
-  @JsonGetter(value = "gasPrice")
+  @JsonIgnore
   public String getGasPrice() {
-    return gasPrice;
+    return Quantity.create(gasPrice);
   }
 
-  @JsonGetter(value = "maxPriorityFeePerGas")
+  @JsonIgnore
   public String getMaxPriorityFeePerGas() {
-    return maxPriorityFeePerGas;
+    return maxPriorityFeePerGas == null ? null : maxPriorityFeePerGas.toShortHexString();
   }
 
-  @JsonGetter(value = "maxFeePerGas")
+  @JsonIgnore
   public String getMaxFeePerGas() {
-    return maxFeePerGas;
+    return maxFeePerGas == null ? null : maxFeePerGas.toShortHexString();
   }
 
-  @JsonGetter(value = "maxFeePerBlobGas")
+  @JsonIgnore
   public String getMaxFeePerBlobGas() {
-    return maxFeePerBlobGas;
+    return maxFeePerBlobGas == null ? null : maxFeePerBlobGas.toShortHexString();
   }
 
-  @JsonGetter(value = "hash")
+  @JsonIgnore
   public String getHash() {
-    return hash;
+    return hash.toString();
   }
 
-  @JsonGetter(value = "input")
+  @JsonIgnore
   public String getInput() {
-    return input;
+    return input.toString();
   }
 
-  @JsonGetter(value = "nonce")
+  @JsonIgnore
   public String getNonce() {
-    return nonce;
+    return Quantity.create(nonce);
   }
 
-  @JsonGetter(value = "to")
+  @JsonIgnore
   public String getTo() {
-    return to;
+    return to == null ? null : to.toHexString();
   }
 
-  @JsonGetter(value = "type")
+  @JsonIgnore
   public String getType() {
-    return type;
+    return Quantity.create(type);
   }
 
-  @JsonGetter(value = "value")
+  @JsonIgnore
   public String getValue() {
-    return value;
+    return Quantity.create(value);
   }
 
-  @JsonInclude(JsonInclude.Include.NON_NULL)
-  @JsonGetter(value = "yParity")
+  @JsonIgnore
   public String getYParity() {
-    return yParity;
+    return yParity == null ? null : Quantity.create(yParity);
   }
 
-  @JsonInclude(JsonInclude.Include.NON_NULL)
-  @JsonGetter(value = "v")
+  @JsonIgnore
   public String getV() {
-    return v;
+    return v == null ? null : Quantity.create(v);
   }
 
-  @JsonGetter(value = "r")
+  @JsonIgnore
   public String getR() {
-    return r;
+    return Quantity.create(r);
   }
 
-  @JsonGetter(value = "s")
+  @JsonIgnore
   public String getS() {
-    return s;
+    return Quantity.create(s);
   }
 
-  @JsonGetter(value = "blobVersionedHashes")
+  @JsonIgnore
   public List<String> getVersionedHashes() {
-    return versionedHashes;
+    return versionedHashes == null
+        ? null
+        : versionedHashes.stream().map(BytesHolder::getBytes).map(Bytes::toHexString).toList();
   }
 
   @JsonGetter(value = "authorizationList")
@@ -145,7 +145,11 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
             new EthGetBlockReceipts(blockchainQueries, protocolSchedule),
             new EthGetBlockTransactionCountByNumber(blockchainQueries),
             new EthGetBlockTransactionCountByHash(blockchainQueries),
-            new EthCall(blockchainQueries, transactionSimulator, metricsSystem),
+            new EthCall(
+                blockchainQueries,
+                transactionSimulator,
+                metricsSystem,
+                apiConfiguration.getEthCallCacheMaxBytes()),
             new EthFeeHistory(
                 protocolSchedule, blockchainQueries, miningCoordinator, apiConfiguration),
             new EthGetCode(blockchainQueries),
@@ -115,7 +115,7 @@ public class ExecutionEngineJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
   @Override
   protected Map<String, JsonRpcMethod> create() {
-    final EngineQosTimer engineQosTimer = new EngineQosTimer(consensusEngineServer);
+    final EngineQosTimer engineQosTimer = new EngineQosTimer(consensusEngineServer, metricsSystem);
     if (mergeCoordinator.isPresent()) {
       final ConstructorArguments constructorArguments =
           new ConstructorArguments(
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_REQUEST;
 
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
+import org.hyperledger.besu.ethereum.api.handlers.VirtualThreadRequestExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -31,11 +32,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonGenerator.Feature;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ServerWebSocket;
@@ -52,6 +56,7 @@ public class WebSocketMessageHandler {
       JsonRpcObjectMapperFactory.getResponseMapper();
 
   private static final Logger LOG = LoggerFactory.getLogger(WebSocketMessageHandler.class);
+  private static final String BATCH_METHOD = "batch";
   private static final ObjectWriter JSON_OBJECT_WRITER =
       jsonObjectMapper
           .writer()
@@ -62,16 +67,27 @@ public class WebSocketMessageHandler {
   private final JsonRpcExecutor jsonRpcExecutor;
   final EthScheduler ethScheduler;
   private final long timeoutSec;
+  private final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor;
 
   public WebSocketMessageHandler(
       final Vertx vertx,
       final JsonRpcExecutor jsonRpcExecutor,
       final EthScheduler ethScheduler,
       final long timeoutSec) {
+    this(vertx, jsonRpcExecutor, ethScheduler, timeoutSec, Optional.empty());
+  }
+
+  public WebSocketMessageHandler(
+      final Vertx vertx,
+      final JsonRpcExecutor jsonRpcExecutor,
+      final EthScheduler ethScheduler,
+      final long timeoutSec,
+      final Optional<VirtualThreadRequestExecutor> virtualThreadExecutor) {
     this.vertx = vertx;
     this.jsonRpcExecutor = jsonRpcExecutor;
     this.ethScheduler = ethScheduler;
     this.timeoutSec = timeoutSec;
+    this.virtualThreadExecutor = virtualThreadExecutor;
   }
 
   public void handle(
@@ -82,10 +98,12 @@ public class WebSocketMessageHandler {
       try {
         final JsonObject jsonRpcRequest = buffer.toJsonObject();
 
+        final String method =
+            VirtualThreadRequestExecutor.methodOf(jsonRpcRequest, jsonRpcExecutor::hasMethod);
         if (jsonRpcExecutor.isStreamingMethod(jsonRpcRequest.getString("method"))) {
-          vertx
-              .<Void>executeBlocking(
-                  promise -> {
+          this.<Void>executeBlocking(
+                  method,
+                  () -> {
                     try (JsonResponseStreamer streamer = new JsonResponseStreamer(websocket)) {
                       jsonRpcExecutor.executeStreaming(
                           user,
@@ -101,10 +119,8 @@ public class WebSocketMessageHandler {
                           },
                           streamer,
                           jsonObjectMapper);
-                      promise.complete();
-                    } catch (IOException e) {
-                      promise.fail(e);
                     }
+                    return null;
                   })
               .onFailure(
                   throwable -> {
@@ -119,28 +135,21 @@ public class WebSocketMessageHandler {
           return;
         }
 
-        vertx
-            .<JsonRpcResponse>executeBlocking(
-                promise -> {
-                  try {
-                    final JsonRpcResponse jsonRpcResponse =
-                        jsonRpcExecutor.execute(
-                            user,
-                            null,
-                            null,
-                            new IsAliveHandler(ethScheduler, timeoutSec),
-                            jsonRpcRequest,
-                            req -> {
-                              final WebSocketRpcRequest websocketRequest =
-                                  req.mapTo(WebSocketRpcRequest.class);
-                              websocketRequest.setConnectionId(websocket.textHandlerID());
-                              return websocketRequest;
-                            });
-                    promise.complete(jsonRpcResponse);
-                  } catch (RuntimeException e) {
-                    promise.fail(e);
-                  }
-                })
+        this.<JsonRpcResponse>executeBlocking(
+                method,
+                () ->
+                    jsonRpcExecutor.execute(
+                        user,
+                        null,
+                        null,
+                        new IsAliveHandler(ethScheduler, timeoutSec),
+                        jsonRpcRequest,
+                        req -> {
+                          final WebSocketRpcRequest websocketRequest =
+                              req.mapTo(WebSocketRpcRequest.class);
+                          websocketRequest.setConnectionId(websocket.textHandlerID());
+                          return websocketRequest;
+                        }))
             .onSuccess(
                 jsonRpcResponse -> {
                   replyToClient(websocket, jsonRpcResponse);
@@ -158,9 +167,9 @@ public class WebSocketMessageHandler {
       } catch (DecodeException jsonObjectDecodeException) {
         try {
           final JsonArray batchJsonRpcRequest = buffer.toJsonArray();
-          vertx
-              .<List<JsonRpcResponse>>executeBlocking(
-                  promise -> {
+          this.<List<JsonRpcResponse>>executeBlocking(
+                  BATCH_METHOD,
+                  () -> {
                     List<JsonRpcResponse> responses = new ArrayList<>();
                     for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
                       final JsonObject jsonRequest;
@@ -170,21 +179,33 @@ public class WebSocketMessageHandler {
                         responses.add(new JsonRpcErrorResponse(null, INVALID_REQUEST));
                         continue;
                       }
+                      final Supplier<JsonRpcResponse> execution =
+                          () ->
+                              jsonRpcExecutor.execute(
+                                  user,
+                                  null,
+                                  null,
+                                  new IsAliveHandler(ethScheduler, timeoutSec),
+                                  jsonRequest,
+                                  req -> {
+                                    final WebSocketRpcRequest websocketRequest =
+                                        req.mapTo(WebSocketRpcRequest.class);
+                                    websocketRequest.setConnectionId(websocket.textHandlerID());
+                                    return websocketRequest;
+                                  });
+                      // the batch only holds a permit of the batches, so each request takes one
+                      // of its method
                       responses.add(
-                          jsonRpcExecutor.execute(
-                              user,
-                              null,
-                              null,
-                              new IsAliveHandler(ethScheduler, timeoutSec),
-                              jsonRequest,
-                              req -> {
-                                final WebSocketRpcRequest websocketRequest =
-                                    req.mapTo(WebSocketRpcRequest.class);
-                                websocketRequest.setConnectionId(websocket.textHandlerID());
-                                return websocketRequest;
-                              }));
+                          virtualThreadExecutor.isPresent()
+                              ? virtualThreadExecutor
+                                  .get()
+                                  .callWithPermit(
+                                      VirtualThreadRequestExecutor.methodOf(
+                                          jsonRequest, jsonRpcExecutor::hasMethod),
+                                      execution)
+                              : execution.get());
                     }
-                    promise.complete(responses);
+                    return responses;
                   })
               .onSuccess(
                   jsonRpcBatchResponse -> {
@@ -207,6 +228,12 @@ public class WebSocketMessageHandler {
     }
   }
 
+  private <T> Future<T> executeBlocking(final String method, final Callable<T> blockingCode) {
+    return virtualThreadExecutor
+        .map(executor -> executor.executeBlocking(vertx, method, blockingCode))
+        .orElseGet(() -> vertx.executeBlocking(blockingCode));
+  }
+
   /**
    * Guards against a race between subscription registration and connection close. A subscribe
    * request is processed on a worker thread, so the connection can close (triggering the
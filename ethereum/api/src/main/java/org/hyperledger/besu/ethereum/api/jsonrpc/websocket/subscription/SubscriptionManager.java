@@ -14,9 +14,12 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 
+import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscription;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscriptionIndex;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
@@ -34,8 +37,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.Message;
@@ -59,6 +64,7 @@ public class SubscriptionManager extends AbstractVerticle {
   private final AtomicInteger activeSubscriptionCount = new AtomicInteger(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
+  private final LogsSubscriptionIndex logsSubscriptionIndex = new LogsSubscriptionIndex();
   private final LabelledMetric<Counter> subscribeCounter;
   private final LabelledMetric<Counter> unsubscribeCounter;
   private final int maxActiveSubscriptions;
@@ -100,6 +106,9 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    if (subscription instanceof LogsSubscription logsSubscription) {
+      logsSubscriptionIndex.add(logsSubscription);
+    }
 
     return subscription.getSubscriptionId();
   }
@@ -145,6 +154,9 @@ public class SubscriptionManager extends AbstractVerticle {
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
     if (removed != null) {
+      if (removed instanceof LogsSubscription logsSubscription) {
+        logsSubscriptionIndex.remove(logsSubscription);
+      }
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
       if (maxActiveSubscriptions > 0) {
         activeSubscriptionCount.decrementAndGet();
@@ -176,6 +188,18 @@ public class SubscriptionManager extends AbstractVerticle {
         .collect(Collectors.toList());
   }
 
+  /**
+   * The logs subscriptions that could match the log, found with an index by address and topic
+   * rather than by checking all the logs subscriptions. They still have to be matched against
+   * their filter.
+   *
+   * @param log the log
+   * @return the candidate logs subscriptions
+   */
+  public List<LogsSubscription> logsSubscriptionCandidates(final Log log) {
+    return logsSubscriptionIndex.candidates(log);
+  }
+
   public void sendMessage(final Long subscriptionId, final JsonRpcResult msg) {
     final Subscription subscription = subscriptions.get(subscriptionId);
 
@@ -191,6 +215,27 @@ public class SubscriptionManager extends AbstractVerticle {
     }
   }
 
+  /**
+   * Send the same message to several subscriptions. The message is encoded to JSON once, and the
+   * encoded JSON is copied as it is in the response of each subscription.
+   *
+   * @param subscriptionIds the ids of the subscriptions
+   * @param msg the message
+   */
+  public void sendMessage(final List<Long> subscriptionIds, final JsonRpcResult msg) {
+    if (subscriptionIds.isEmpty()) {
+      return;
+    }
+    final JsonRpcResult encodedMsg;
+    try {
+      encodedMsg = new EncodedResult(new RawValue(jsonObjectMapper.writeValueAsString(msg)));
+    } catch (JsonProcessingException e) {
+      LOG.error("Error streaming websocket JSON-RPC response", e);
+      return;
+    }
+    subscriptionIds.forEach(subscriptionId -> sendMessage(subscriptionId, encodedMsg));
+  }
+
   public <T> void notifySubscribersOnWorkerThread(
       final SubscriptionType subscriptionType,
       final Class<T> clazz,
@@ -207,4 +252,6 @@ public class SubscriptionManager extends AbstractVerticle {
           }
         });
   }
+
+  private record EncodedResult(@JsonValue RawValue json) implements JsonRpcResult {}
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An inverted index of the logs subscriptions, by address and by topic, so that for a log only the
+ * subscriptions that could match it are checked, instead of all of them.
+ *
+ * <p>Each subscription is indexed by a single constraint of its filter: by its addresses if it has
+ * some, otherwise by the topics of its first constrained topic position, otherwise it is a
+ * candidate for any log. Since a log has one address and one topic per position, a subscription is
+ * returned at most once for a log. The candidates still need to be matched against the full filter.
+ */
+public class LogsSubscriptionIndex {
+
+  private record TopicKey(int position, LogTopic topic) {}
+
+  private final Map<Address, Set<LogsSubscription>> byAddress = new ConcurrentHashMap<>();
+  private final Map<TopicKey, Set<LogsSubscription>> byTopic = new ConcurrentHashMap<>();
+  private final Set<LogsSubscription> unconstrained = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Add the subscription to the index
+   *
+   * @param subscription the subscription
+   */
+  public void add(final LogsSubscription subscription) {
+    final FilterParameter filter = subscription.getFilterParameter();
+    if (isConstraint(filter.getAddresses())) {
+      filter.getAddresses().forEach(address -> addTo(byAddress, address, subscription));
+    } else {
+      topicKeys(filter)
+          .ifPresentOrElse(
+              keys -> keys.forEach(key -> addTo(byTopic, key, subscription)),
+              () -> unconstrained.add(subscription));
+    }
+  }
+
+  /**
+   * Remove the subscription from the index
+   *
+   * @param subscription the subscription
+   */
+  public void remove(final LogsSubscription subscription) {
+    final FilterParameter filter = subscription.getFilterParameter();
+    if (isConstraint(filter.getAddresses())) {
+      filter.getAddresses().forEach(address -> removeFrom(byAddress, address, subscription));
+    } else {
+      topicKeys(filter)
+          .ifPresentOrElse(
+              keys -> keys.forEach(key -> removeFrom(byTopic, key, subscription)),
+              () -> unconstrained.remove(subscription));
+    }
+  }
+
+  /**
+   * The subscriptions that could match the log
+   *
+   * @param log the log
+   * @return the candidate subscriptions, without duplicates
+   */
+  public List<LogsSubscription> candidates(final Log log) {
+    final List<LogsSubscription> candidates = new ArrayList<>(unconstrained);
+    addAll(candidates, byAddress.get(log.getLogger()));
+    final List<LogTopic> topics = log.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      addAll(candidates, byTopic.get(new TopicKey(position, topics.get(position))));
+    }
+    return candidates;
+  }
+
+  // the topics of the first constrained position, or empty if no position is constrained
+  private static Optional<List<TopicKey>> topicKeys(final FilterParameter filter) {
+    final List<List<LogTopic>> topics = filter.getTopics();
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> positionTopics = topics.get(position);
+      if (isConstraint(positionTopics)) {
+        final List<TopicKey> keys = new ArrayList<>(positionTopics.size());
+        for (final LogTopic topic : positionTopics) {
+          keys.add(new TopicKey(position, topic));
+        }
+        return Optional.of(keys);
+      }
+    }
+    return Optional.empty();
+  }
+
+  // an empty list, or one with a null wildcard, matches anything and can't be used as a constraint
+  private static <T> boolean isConstraint(final List<T> values) {
+    return values != null && !values.isEmpty() && values.stream().noneMatch(Objects::isNull);
+  }
+
+  private static void addAll(
+      final List<LogsSubscription> candidates, final Collection<LogsSubscription> subscriptions) {
+    if (subscriptions != null) {
+      candidates.addAll(subscriptions);
+    }
+  }
+
+  // compute and computeIfPresent are atomic, so a set is never dropped while being added to
+  private static <K> void addTo(
+      final Map<K, Set<LogsSubscription>> index,
+      final K key,
+      final LogsSubscription subscription) {
+    index.compute(
+        key,
+        (__, subscriptions) -> {
+          final Set<LogsSubscription> keySubscriptions =
+              subscriptions != null ? subscriptions : newSet();
+          keySubscriptions.add(subscription);
+          return keySubscriptions;
+        });
+  }
+
+  private static <K> void removeFrom(
+      final Map<K, Set<LogsSubscription>> index,
+      final K key,
+      final LogsSubscription subscription) {
+    index.computeIfPresent(
+        key,
+        (__, subscriptions) -> {
+          subscriptions.remove(subscription);
+          return subscriptions.isEmpty() ? null : subscriptions;
+        });
+  }
+
+  private static Set<LogsSubscription> newSet() {
+    return ConcurrentHashMap.newKeySet();
+  }
+}
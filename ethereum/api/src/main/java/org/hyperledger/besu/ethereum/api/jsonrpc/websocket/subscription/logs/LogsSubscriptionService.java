@@ -17,10 +17,10 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
-import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
@@ -33,25 +33,24 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
-            logsSubscription -> {
-              final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
-                          .getFromBlock()
-                          .getNumber()
-                          .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
-                      <= blockNumber
-                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
-  }
-
-  private void sendLogToSubscription(
-      final LogWithMetadata logWithMetadata, final LogsSubscription subscription) {
-    subscriptionManager.sendMessage(
-        subscription.getSubscriptionId(), new LogResult(logWithMetadata));
+    final List<Long> subscriptionIds =
+        subscriptionManager.logsSubscriptionCandidates(logWithMetadata).stream()
+            .filter(
+                logsSubscription -> {
+                  final FilterParameter filterParameter = logsSubscription.getFilterParameter();
+                  final long blockNumber = logWithMetadata.getBlockNumber();
+                  return filterParameter
+                              .getFromBlock()
+                              .getNumber()
+                              .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
+                          <= blockNumber
+                      && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE)
+                          >= blockNumber
+                      && filterParameter.getLogsQuery().matches(logWithMetadata);
+                })
+            .map(LogsSubscription::getSubscriptionId)
+            .toList();
+    // the log is encoded once and the same JSON is sent to all the matching subscriptions
+    subscriptionManager.sendMessage(subscriptionIds, new LogResult(logWithMetadata));
   }
 }
@@ -16,15 +16,17 @@ package org.hyperledger.besu.ethereum.api.query;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
 import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.datatypes.LogsBloomFilter;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.LogIndexSegment;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceIndex;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -47,12 +49,15 @@ import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
 import org.hyperledger.besu.util.OrderStatistics;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -73,6 +78,7 @@ import org.slf4j.LoggerFactory;
 
 public class BlockchainQueries {
   private static final Logger LOG = LoggerFactory.getLogger(BlockchainQueries.class);
+  private static final int BLOOMS_PER_CACHE_READ = 1024;
 
   private final ProtocolSchedule protocolSchedule;
   private final WorldStateArchive worldStateArchive;
@@ -82,6 +88,7 @@ public class BlockchainQueries {
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
+  private final Optional<TraceIndex> traceIndex;
 
   public BlockchainQueries(
       final ProtocolSchedule protocolSchedule,
@@ -137,6 +144,26 @@ public class BlockchainQueries {
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig,
       final MiningConfiguration miningConfiguration) {
+    this(
+        protocolSchedule,
+        blockchain,
+        worldStateArchive,
+        cachePath,
+        scheduler,
+        apiConfig,
+        miningConfiguration,
+        Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final ProtocolSchedule protocolSchedule,
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final ApiConfiguration apiConfig,
+      final MiningConfiguration miningConfiguration,
+      final Optional<TraceIndex> traceIndex) {
     this.protocolSchedule = protocolSchedule;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
@@ -145,10 +172,12 @@ public class BlockchainQueries {
     this.transactionLogBloomCacher =
         (cachePath.isPresent() && scheduler.isPresent())
             ? Optional.of(
-                new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
+                new TransactionLogBloomCacher(
+                    blockchain, cachePath.get(), scheduler.get(), apiConfig.isLogIndexEnabled()))
             : Optional.empty();
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
+    this.traceIndex = traceIndex;
     // Warm the fee oracle off the block-import thread when a scheduler is available; the
     // request-time path still self-heals on cold miss.
     ethScheduler.ifPresent(ignored -> blockchain.observeBlockAdded(this::refreshFeeOracleSnapshot));
@@ -211,6 +240,10 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TraceIndex> getTraceIndex() {
+    return traceIndex;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -894,6 +927,14 @@ public class BlockchainQueries {
         final long thisStep = currentStep;
         final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
         BackendQuery.stopIfExpired(isQueryAlive);
+        final Optional<List<LogWithMetadata>> indexedLogs =
+            matchingLogsIndexed(
+                thisSegment, thisStep, Math.min(toBlockNumber, nextStep - 1), query, isQueryAlive);
+        if (indexedLogs.isPresent()) {
+          result.addAll(indexedLogs.get());
+          currentStep = nextStep;
+          continue;
+        }
         result.addAll(
             cachePath
                 .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
@@ -927,6 +968,46 @@ public class BlockchainQueries {
     }
   }
 
+  private Optional<List<LogWithMetadata>> matchingLogsIndexed(
+      final long segment,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    if (cachePath.isEmpty()) {
+      return Optional.empty();
+    }
+    final Optional<BitSet> maybeCandidates;
+    try {
+      maybeCandidates =
+          LogIndexSegment.load(
+                  TransactionLogBloomCacher.calculateLogIndexFileName(segment, cachePath.get()))
+              .flatMap(query::candidateBlocks);
+    } catch (final IOException e) {
+      LOG.error("Error reading log index", e);
+      return Optional.empty();
+    }
+    if (maybeCandidates.isEmpty()) {
+      return Optional.empty();
+    }
+    final BitSet candidates = maybeCandidates.get();
+    final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+    final List<LogWithMetadata> results = new ArrayList<>();
+    for (int offset = candidates.nextSetBit((int) (fromBlockNumber - segmentStart));
+        offset >= 0 && segmentStart + offset <= toBlockNumber;
+        offset = candidates.nextSetBit(offset + 1)) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(segmentStart + offset);
+      if (blockHash.isEmpty()) {
+        // the chain changed under the index, fall back to the non-indexed path
+        return Optional.empty();
+      }
+      results.addAll(matchingLogs(blockHash.get(), query, isQueryAlive));
+    }
+    return Optional.of(results);
+  }
+
   private List<LogWithMetadata> matchingLogsUncached(
       final long fromBlockNumber,
       final long toBlockNumber,
@@ -954,27 +1035,37 @@ public class BlockchainQueries {
       final Supplier<Boolean> isQueryAlive)
       throws Exception {
     final List<LogWithMetadata> results = new ArrayList<>();
-    try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
-      raf.seek(offset * 256);
-      final byte[] bloomBuff = new byte[256];
-      final Bytes bytesValue = Bytes.wrap(bloomBuff);
+    // the blooms are copied in chunks to the heap, instead of mapping the file, since the cacher
+    // truncates it in place on a reorg, and the truncated part of a mapping cannot be read anymore
+    try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      final ByteBuffer buffer =
+          ByteBuffer.allocate(
+              (int) Math.min(BLOOMS_PER_CACHE_READ, endOffset - offset + 1) * BLOOM_BITS_LENGTH);
+      final LongBuffer blooms = buffer.asLongBuffer();
+      long chunkStart = offset;
+      int chunkBlooms = 0;
       for (long pos = offset; pos <= endOffset; pos++) {
         BackendQuery.stopIfExpired(isQueryAlive);
-        try {
-          raf.readFully(bloomBuff);
-        } catch (final EOFException e) {
-          results.addAll(
-              matchingLogsUncached(
-                  segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
-          break;
+        if (pos == chunkStart + chunkBlooms) {
+          chunkStart = pos;
+          chunkBlooms = readBlooms(channel, buffer, pos);
+          if (chunkBlooms == 0) {
+            results.addAll(
+                matchingLogsUncached(
+                    segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
+            break;
+          }
         }
-        final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
-        if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
+        if (query.couldMatch(blooms, (int) (pos - chunkStart))) {
+          final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(segmentStart + pos);
+          if (blockHash.isEmpty()) {
+            // the chain changed under the cache, read the remaining blocks without it
+            results.addAll(
+                matchingLogsUncached(
+                    segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
+            break;
+          }
+          results.addAll(matchingLogs(blockHash.get(), query, isQueryAlive));
         }
       }
     } catch (final IOException e) {
@@ -983,6 +1074,28 @@ public class BlockchainQueries {
     return results;
   }
 
+  /**
+   * Read the complete blooms stored in the cache file from the specified one, filling the buffer if
+   * the file is long enough
+   *
+   * @param channel the channel of the cache file
+   * @param buffer the buffer where to copy the blooms
+   * @param firstBloom the index of the first bloom to read
+   * @return the number of blooms read, that is 0 if the file ends before the specified bloom
+   */
+  private static int readBlooms(
+      final FileChannel channel, final ByteBuffer buffer, final long firstBloom)
+      throws IOException {
+    buffer.clear();
+    final long position = firstBloom * BLOOM_BITS_LENGTH;
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        break;
+      }
+    }
+    return buffer.position() / BLOOM_BITS_LENGTH;
+  }
+
   public List<LogWithMetadata> matchingLogs(
       final Hash blockHash, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
     try {
@@ -22,11 +22,15 @@ import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.datatypes.LogTopic;
 import org.hyperledger.besu.datatypes.LogsBloomFilter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TopicsDeserializer;
+import org.hyperledger.besu.ethereum.api.query.cache.LogIndexSegment;
 
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -42,6 +46,8 @@ public class LogsQuery {
   private final List<List<LogTopic>> topics;
   private final List<LogsBloomFilter> addressBlooms;
   private final List<List<LogsBloomFilter>> topicsBlooms;
+  private final List<BloomMask> addressMasks;
+  private final List<List<BloomMask>> topicsMasks;
 
   @JsonCreator
   public LogsQuery(
@@ -75,6 +81,11 @@ public class LogsQuery {
                                 LogsBloomFilter.builder().insertBytes(logTopic.getBytes()).build())
                         .collect(Collectors.toList()))
             .collect(toUnmodifiableList());
+    this.addressMasks = addressBlooms.stream().map(BloomMask::of).collect(toUnmodifiableList());
+    this.topicsMasks =
+        topicsBlooms.stream()
+            .map(blooms -> blooms.stream().map(BloomMask::of).collect(toUnmodifiableList()))
+            .collect(toUnmodifiableList());
   }
 
   public boolean couldMatch(final LogsBloomFilter bloom) {
@@ -85,6 +96,73 @@ public class LogsQuery {
                     topics -> topics.isEmpty() || topics.stream().anyMatch(bloom::couldContain)));
   }
 
+  /**
+   * Intersect the posting lists of the log index of a segment, to find the blocks that contain at
+   * least one log that could match this query.
+   *
+   * @param logIndex the log index of the segment
+   * @return the offsets, in the segment, of the candidate blocks, or empty if this query has no
+   *     address or topic constraint, and so all the blocks are candidates
+   */
+  public Optional<BitSet> candidateBlocks(final LogIndexSegment logIndex) {
+    BitSet candidates = null;
+    if (!addresses.isEmpty()) {
+      final BitSet addressBlocks = new BitSet();
+      addresses.stream()
+          .filter(Objects::nonNull)
+          .map(logIndex::blocksWithAddress)
+          .forEach(addressBlocks::or);
+      candidates = addressBlocks;
+    }
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> positionTopics = topics.get(position);
+      if (positionTopics.isEmpty() || positionTopics.contains(null)) {
+        continue;
+      }
+      final BitSet topicBlocks = new BitSet();
+      for (final LogTopic topic : positionTopics) {
+        topicBlocks.or(logIndex.blocksWithTopic(position, topic));
+      }
+      if (candidates == null) {
+        candidates = topicBlocks;
+      } else {
+        candidates.and(topicBlocks);
+      }
+    }
+    return Optional.ofNullable(candidates);
+  }
+
+  /**
+   * Same as {@link #couldMatch(LogsBloomFilter)}, but reads the bloom directly from a buffer of
+   * contiguous blooms, comparing only the 64-bit words where the query has bits set.
+   *
+   * @param blooms the buffer of contiguous blooms, as big-endian longs
+   * @param index the index of the bloom in the buffer
+   * @return true if the bloom could contain logs matching this query
+   */
+  public boolean couldMatch(final LongBuffer blooms, final int index) {
+    final int base = index * BloomMask.WORDS_PER_BLOOM;
+    if (!addressMasks.isEmpty() && !anyContainedIn(addressMasks, blooms, base)) {
+      return false;
+    }
+    for (final List<BloomMask> masks : topicsMasks) {
+      if (!masks.isEmpty() && !anyContainedIn(masks, blooms, base)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean anyContainedIn(
+      final List<BloomMask> masks, final LongBuffer blooms, final int base) {
+    for (final BloomMask mask : masks) {
+      if (mask.isContainedIn(blooms, base)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public boolean matches(final Log log) {
     return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
   }
@@ -124,6 +202,38 @@ public class LogsQuery {
     return Objects.hash(addresses, topics);
   }
 
+  /**
+   * The non-zero 64-bit words of the bloom of a single address or topic. Since a value sets only 3
+   * bits, at most 3 words need to be checked against a block bloom.
+   */
+  private record BloomMask(int[] indexes, long[] words) {
+    static final int WORDS_PER_BLOOM = LogsBloomFilter.BYTE_SIZE / Long.BYTES;
+
+    static BloomMask of(final LogsBloomFilter bloom) {
+      final List<Integer> indexes = new ArrayList<>(3);
+      final List<Long> words = new ArrayList<>(3);
+      for (int i = 0; i < WORDS_PER_BLOOM; i++) {
+        final long word = bloom.getBytes().getLong(i * Long.BYTES);
+        if (word != 0) {
+          indexes.add(i);
+          words.add(word);
+        }
+      }
+      return new BloomMask(
+          indexes.stream().mapToInt(Integer::intValue).toArray(),
+          words.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    boolean isContainedIn(final LongBuffer blooms, final int base) {
+      for (int i = 0; i < indexes.length; i++) {
+        if ((blooms.get(base + indexes[i]) & words[i]) != words[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   public static class Builder {
     private final List<Address> queryAddresses = Lists.newArrayList();
     private final List<List<LogTopic>> queryTopics = Lists.newArrayList();
@@ -0,0 +1,298 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Secondary index of the logs of a segment of {@link
+ * TransactionLogBloomCacher#BLOCKS_PER_BLOOM_CACHE} blocks. For every log address, and for every
+ * log topic at its position, it holds the sorted list of the blocks of the segment that contain at
+ * least one log with that value.
+ *
+ * <p>Unlike the bloom filters there are no false positives, so a query only reads the receipts of
+ * the blocks that really contain matching logs.
+ *
+ * <p>File layout:
+ *
+ * <ul>
+ *   <li>magic, version and number of keys, as ints
+ *   <li>the key table, sorted by key, where each entry is the key, the offset of its posting list
+ *       and the length of its posting list
+ *   <li>the posting lists, where each list is the sequence of the block offsets in the segment,
+ *       delta encoded as unsigned varints
+ * </ul>
+ */
+public class LogIndexSegment {
+  static final int MAGIC = 0x4c4f4749; // LOGI
+  static final int VERSION = 1;
+  static final byte ADDRESS_KIND = 0;
+  static final int MAX_TOPICS = 4;
+  static final int KEY_SIZE = 1 + 32;
+  private static final int HEADER_SIZE = 3 * Integer.BYTES;
+  private static final int KEY_ENTRY_SIZE = KEY_SIZE + 2 * Integer.BYTES;
+
+  private final ByteBuffer buffer;
+  private final int keyCount;
+
+  private LogIndexSegment(final ByteBuffer buffer, final int keyCount) {
+    this.buffer = buffer;
+    this.keyCount = keyCount;
+  }
+
+  /**
+   * Memory map an existing log index file
+   *
+   * @param indexFile the log index file
+   * @return the log index, or empty if the file does not exist or is not a valid log index
+   * @throws IOException if there is an error reading the file
+   */
+  public static Optional<LogIndexSegment> load(final Path indexFile) throws IOException {
+    if (!Files.isRegularFile(indexFile)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.capacity() < HEADER_SIZE
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(Integer.BYTES) != VERSION) {
+        return Optional.empty();
+      }
+      return Optional.of(new LogIndexSegment(buffer, buffer.getInt(2 * Integer.BYTES)));
+    }
+  }
+
+  /**
+   * Get the blocks of the segment that contain at least one log emitted by the address
+   *
+   * @param address the log address
+   * @return the offsets, in the segment, of the matching blocks
+   */
+  public BitSet blocksWithAddress(final Address address) {
+    return blocksWithKey(addressKey(address));
+  }
+
+  /**
+   * Get the blocks of the segment that contain at least one log with the topic at the position
+   *
+   * @param position the position of the topic in the log
+   * @param topic the log topic
+   * @return the offsets, in the segment, of the matching blocks
+   */
+  public BitSet blocksWithTopic(final int position, final LogTopic topic) {
+    if (position >= MAX_TOPICS) {
+      return new BitSet();
+    }
+    return blocksWithKey(topicKey(position, topic));
+  }
+
+  private BitSet blocksWithKey(final byte[] key) {
+    final BitSet blocks = new BitSet();
+    final int entry = findKey(key);
+    if (entry >= 0) {
+      final int entryPosition = HEADER_SIZE + entry * KEY_ENTRY_SIZE + KEY_SIZE;
+      int position = buffer.getInt(entryPosition);
+      final int end = position + buffer.getInt(entryPosition + Integer.BYTES);
+      int block = 0;
+      while (position < end) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = buffer.get(position++);
+          delta |= (b & 0x7f) << shift;
+          shift += 7;
+        } while (b < 0);
+        block += delta;
+        blocks.set(block);
+      }
+    }
+    return blocks;
+  }
+
+  private int findKey(final byte[] key) {
+    int low = 0;
+    int high = keyCount - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = compareKeyAt(mid, key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private int compareKeyAt(final int entry, final byte[] key) {
+    final int keyPosition = HEADER_SIZE + entry * KEY_ENTRY_SIZE;
+    for (int i = 0; i < KEY_SIZE; i++) {
+      final int cmp = Byte.compareUnsigned(buffer.get(keyPosition + i), key[i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Build the log index of a complete segment, reading the receipts of all its blocks
+   *
+   * @param blockchain the blockchain
+   * @param segmentStart the number of the first block of the segment
+   * @param indexFile the file to write
+   * @return true if the index has been written, false if some data of the segment is missing
+   * @throws IOException if there is an error writing the file
+   */
+  public static boolean write(
+      final Blockchain blockchain, final long segmentStart, final File indexFile)
+      throws IOException {
+    final Map<Bytes, PostingListBuilder> postings = new HashMap<>();
+    for (int offset = 0; offset < BLOCKS_PER_BLOOM_CACHE; offset++) {
+      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(segmentStart + offset);
+      if (maybeHeader.isEmpty()) {
+        return false;
+      }
+      if (maybeHeader.get().getLogsBloom().getBytes().isZero()) {
+        continue;
+      }
+      final Optional<List<TransactionReceipt>> maybeReceipts =
+          blockchain.getTxReceipts(maybeHeader.get().getHash());
+      if (maybeReceipts.isEmpty()) {
+        return false;
+      }
+      for (final TransactionReceipt receipt : maybeReceipts.get()) {
+        for (final Log log : receipt.getLogsList()) {
+          add(postings, addressKey(log.getLogger()), offset);
+          final List<LogTopic> topics = log.getTopics();
+          for (int position = 0; position < Math.min(topics.size(), MAX_TOPICS); position++) {
+            add(postings, topicKey(position, topics.get(position)), offset);
+          }
+        }
+      }
+    }
+
+    final List<Bytes> keys = new ArrayList<>(postings.keySet());
+    keys.sort((a, b) -> Arrays.compareUnsigned(a.toArrayUnsafe(), b.toArrayUnsafe()));
+
+    final File tmpFile = new File(indexFile.getPath() + ".tmp");
+    try (final DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(keys.size());
+      int postingsOffset = HEADER_SIZE + keys.size() * KEY_ENTRY_SIZE;
+      for (final Bytes key : keys) {
+        final int length = postings.get(key).size();
+        out.write(key.toArrayUnsafe());
+        out.writeInt(postingsOffset);
+        out.writeInt(length);
+        postingsOffset += length;
+      }
+      for (final Bytes key : keys) {
+        postings.get(key).writeTo(out);
+      }
+    }
+    Files.move(
+        tmpFile.toPath(),
+        indexFile.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    return true;
+  }
+
+  private static void add(
+      final Map<Bytes, PostingListBuilder> postings, final byte[] key, final int blockOffset) {
+    postings.computeIfAbsent(Bytes.wrap(key), k -> new PostingListBuilder()).add(blockOffset);
+  }
+
+  static byte[] addressKey(final Address address) {
+    final byte[] key = new byte[KEY_SIZE];
+    key[0] = ADDRESS_KIND;
+    System.arraycopy(address.getBytes().toArrayUnsafe(), 0, key, 1, Address.SIZE);
+    return key;
+  }
+
+  static byte[] topicKey(final int position, final LogTopic topic) {
+    final byte[] key = new byte[KEY_SIZE];
+    key[0] = (byte) (position + 1);
+    System.arraycopy(topic.getBytes().toArrayUnsafe(), 0, key, 1, KEY_SIZE - 1);
+    return key;
+  }
+
+  /** Delta and varint encoder of an ascending sequence of block offsets */
+  private static class PostingListBuilder {
+    private byte[] data = new byte[4];
+    private int size = 0;
+    private int lastBlock = -1;
+
+    void add(final int block) {
+      if (block == lastBlock) {
+        return;
+      }
+      int delta = lastBlock < 0 ? block : block - lastBlock;
+      lastBlock = block;
+      if (size + 5 > data.length) {
+        data = Arrays.copyOf(data, data.length * 2);
+      }
+      while ((delta & ~0x7f) != 0) {
+        data[size++] = (byte) ((delta & 0x7f) | 0x80);
+        delta >>>= 7;
+      }
+      data[size++] = (byte) delta;
+    }
+
+    int size() {
+      return size;
+    }
+
+    void writeTo(final OutputStream out) throws IOException {
+      out.write(data, 0, size);
+    }
+  }
+}
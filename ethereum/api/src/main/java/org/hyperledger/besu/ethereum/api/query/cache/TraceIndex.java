@@ -0,0 +1,318 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Stores the flat traces of a contiguous range of finalized blocks, as returned by trace_block, so
+ * that trace_block, trace_transaction and trace_filter can be served without re-executing them.
+ *
+ * <p>The traces of each block are stored as deflated JSON, keyed by block number. Each address that
+ * is the {@code from} or the {@code to} of a trace action is indexed by address and block number,
+ * so a trace_filter by address only reads the blocks where the address appears.
+ */
+public class TraceIndex {
+  private static final Bytes LOWEST_BLOCK_KEY =
+      Bytes.wrap("lowestBlock".getBytes(StandardCharsets.UTF_8));
+  private static final Bytes HIGHEST_BLOCK_KEY =
+      Bytes.wrap("highestBlock".getBytes(StandardCharsets.UTF_8));
+
+  private static final Bytes VARIABLES_PREFIX = Bytes.of(1);
+  private static final Bytes BLOCK_TRACES_PREFIX = Bytes.of(2);
+  private static final Bytes ADDRESS_PREFIX = Bytes.of(3);
+  private static final byte[] EMPTY_VALUE = new byte[0];
+
+  private static final long NONE = -1L;
+  private static final String REWARD_TYPE = "reward";
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+  private final KeyValueStorage storage;
+  private volatile long lowestBlock;
+  private volatile long highestBlock;
+
+  public TraceIndex(final KeyValueStorage storage) {
+    this.storage = storage;
+    this.lowestBlock = getVariable(LOWEST_BLOCK_KEY).orElse(NONE);
+    this.highestBlock = getVariable(HIGHEST_BLOCK_KEY).orElse(NONE);
+  }
+
+  /**
+   * The lowest indexed block
+   *
+   * @return the number of the lowest indexed block, or empty if the index is empty
+   */
+  public Optional<Long> getLowestBlock() {
+    return lowestBlock == NONE ? Optional.empty() : Optional.of(lowestBlock);
+  }
+
+  /**
+   * The highest indexed block
+   *
+   * @return the number of the highest indexed block, or empty if the index is empty
+   */
+  public Optional<Long> getHighestBlock() {
+    return highestBlock == NONE ? Optional.empty() : Optional.of(highestBlock);
+  }
+
+  /**
+   * Whether the traces of the block are indexed
+   *
+   * @param blockNumber the block number
+   * @return true if the block is in the indexed range
+   */
+  public boolean isIndexed(final long blockNumber) {
+    return lowestBlock != NONE && blockNumber >= lowestBlock && blockNumber <= highestBlock;
+  }
+
+  /**
+   * Get the traces of the block
+   *
+   * @param blockNumber the block number
+   * @return the traces of the block, like trace_block returns them, or empty if not indexed
+   */
+  public Optional<ArrayNode> getBlockTraces(final long blockNumber) {
+    if (!isIndexed(blockNumber)) {
+      return Optional.empty();
+    }
+    return storage.get(blockTracesKey(blockNumber)).map(this::decode);
+  }
+
+  /**
+   * Get the traces of a transaction
+   *
+   * @param blockNumber the number of the block of the transaction
+   * @param transactionHash the transaction hash
+   * @return the traces of the transaction, like trace_transaction returns them, or empty if the
+   *     block is not indexed
+   */
+  public Optional<ArrayNode> getTransactionTraces(
+      final long blockNumber, final Hash transactionHash) {
+    final String hash = transactionHash.toHexString();
+    return getBlockTraces(blockNumber)
+        .map(
+            traces -> {
+              final ArrayNode transactionTraces = mapper.createArrayNode();
+              traces.forEach(
+                  trace -> {
+                    if (hash.equals(trace.path("transactionHash").asText(null))) {
+                      transactionTraces.add(trace);
+                    }
+                  });
+              return transactionTraces;
+            });
+  }
+
+  /**
+   * Stream the traces of the blocks of the range, in block order, that match the addresses. The
+   * semantic is the one of trace_filter, a trace matches if its action {@code from} is one of the
+   * from addresses and its action {@code to} is one of the to addresses, and an empty list of
+   * addresses matches any trace. A reward trace only matches if there are no from addresses, and
+   * its action {@code author} is one of the to addresses.
+   *
+   * @param fromBlock the first block of the range, that must be indexed
+   * @param toBlock the last block of the range, that must be indexed
+   * @param fromAddresses the from addresses
+   * @param toAddresses the to addresses
+   * @return the matching traces
+   */
+  public Stream<JsonNode> streamTraces(
+      final long fromBlock,
+      final long toBlock,
+      final List<Address> fromAddresses,
+      final List<Address> toAddresses) {
+    checkArgument(
+        isIndexed(fromBlock) && isIndexed(toBlock),
+        "Block range %s to %s is not indexed",
+        fromBlock,
+        toBlock);
+    final Set<Address> from = new HashSet<>(fromAddresses);
+    final Set<Address> to = new HashSet<>(toAddresses);
+    final LongStream blockNumbers =
+        from.isEmpty() && to.isEmpty()
+            ? LongStream.rangeClosed(fromBlock, toBlock)
+            : blocksWithAnyOf(from.isEmpty() ? to : from, fromBlock, toBlock);
+    return blockNumbers
+        .mapToObj(this::getBlockTraces)
+        .flatMap(Optional::stream)
+        .flatMap(traces -> StreamSupport.stream(traces.spliterator(), false))
+        .filter(trace -> matches(trace, from, to));
+  }
+
+  /**
+   * Index the traces of a block, that must be adjacent to the indexed range, or the first one if
+   * the index is empty.
+   *
+   * @param blockNumber the block number
+   * @param traces the traces of the block, like trace_block returns them
+   */
+  public synchronized void index(final long blockNumber, final ArrayNode traces) {
+    final boolean empty = lowestBlock == NONE;
+    checkArgument(
+        empty || blockNumber == highestBlock + 1 || blockNumber == lowestBlock - 1,
+        "Block %s is not adjacent to the indexed range %s to %s",
+        blockNumber,
+        lowestBlock,
+        highestBlock);
+    final byte[] encoded = encode(traces);
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(blockTracesKey(blockNumber), encoded);
+    for (final Address address : actionAddresses(decode(encoded))) {
+      transaction.put(addressKey(address, blockNumber), EMPTY_VALUE);
+    }
+    if (empty || blockNumber < lowestBlock) {
+      putVariable(transaction, LOWEST_BLOCK_KEY, blockNumber);
+    }
+    if (empty || blockNumber > highestBlock) {
+      putVariable(transaction, HIGHEST_BLOCK_KEY, blockNumber);
+    }
+    transaction.commit();
+    if (empty || blockNumber < lowestBlock) {
+      lowestBlock = blockNumber;
+    }
+    if (empty || blockNumber > highestBlock) {
+      highestBlock = blockNumber;
+    }
+  }
+
+  /** Remove all the indexed blocks, so that a new range can be indexed from any block. */
+  public synchronized void clear() {
+    lowestBlock = NONE;
+    highestBlock = NONE;
+    storage.clear();
+  }
+
+  private LongStream blocksWithAnyOf(
+      final Collection<Address> addresses, final long fromBlock, final long toBlock) {
+    final TreeSet<Long> blockNumbers = new TreeSet<>();
+    for (final Address address : addresses) {
+      // closing the mapped stream closes the storage iterator too
+      try (final Stream<byte[]> keys =
+          storage
+              .streamFromKey(addressKey(address, fromBlock), addressKey(address, toBlock))
+              .map(entry -> entry.getKey())) {
+        keys.forEach(key -> blockNumbers.add(Bytes.wrap(key, key.length - Long.BYTES).toLong()));
+      }
+    }
+    return blockNumbers.stream().mapToLong(Long::longValue);
+  }
+
+  private static boolean matches(
+      final JsonNode trace, final Set<Address> from, final Set<Address> to) {
+    if (REWARD_TYPE.equals(trace.path("type").asText(null))) {
+      return from.isEmpty() && (to.isEmpty() || actionAddressIn(trace, "author", to));
+    }
+    return (from.isEmpty() || actionAddressIn(trace, "from", from))
+        && (to.isEmpty() || actionAddressIn(trace, "to", to));
+  }
+
+  private static Set<Address> actionAddresses(final ArrayNode traces) {
+    final Set<Address> addresses = new HashSet<>();
+    for (final JsonNode trace : traces) {
+      actionAddress(trace, "from").ifPresent(addresses::add);
+      actionAddress(trace, "to").ifPresent(addresses::add);
+      actionAddress(trace, "author").ifPresent(addresses::add);
+    }
+    return addresses;
+  }
+
+  private static boolean actionAddressIn(
+      final JsonNode trace, final String field, final Set<Address> addresses) {
+    return actionAddress(trace, field).map(addresses::contains).orElse(false);
+  }
+
+  private static Optional<Address> actionAddress(final JsonNode trace, final String field) {
+    return Optional.ofNullable(trace.path("action").path(field).asText(null))
+        .map(Address::fromHexString);
+  }
+
+  private byte[] encode(final ArrayNode traces) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(mapper.writeValueAsBytes(traces));
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private ArrayNode decode(final byte[] encoded) {
+    try (final InputStream in = new InflaterInputStream(new ByteArrayInputStream(encoded))) {
+      return (ArrayNode) mapper.readTree(in);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Optional<Long> getVariable(final Bytes key) {
+    return storage
+        .get(Bytes.concatenate(VARIABLES_PREFIX, key).toArrayUnsafe())
+        .map(value -> Bytes.wrap(value).toLong());
+  }
+
+  private static void putVariable(
+      final KeyValueStorageTransaction transaction, final Bytes key, final long value) {
+    transaction.put(
+        Bytes.concatenate(VARIABLES_PREFIX, key).toArrayUnsafe(),
+        Bytes.ofUnsignedLong(value).toArrayUnsafe());
+  }
+
+  private static byte[] blockTracesKey(final long blockNumber) {
+    return Bytes.concatenate(BLOCK_TRACES_PREFIX, Bytes.ofUnsignedLong(blockNumber))
+        .toArrayUnsafe();
+  }
+
+  private static byte[] addressKey(final Address address, final long blockNumber) {
+    return Bytes.concatenate(ADDRESS_PREFIX, address.getBytes(), Bytes.ofUnsignedLong(blockNumber))
+        .toArrayUnsafe();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TraceIndex} up to date in the background. The index follows the finalized
+ * block, and, when there is nothing new to index, it is extended backwards as long as the world
+ * state needed to trace the older blocks is available, that is back to genesis on an archive node.
+ * If the world state of the block following the index is not available anymore, while the one of
+ * the finalized block is, the index is dropped and restarted from the finalized block.
+ */
+public class TraceIndexingService {
+  private static final Logger LOG = LoggerFactory.getLogger(TraceIndexingService.class);
+
+  private final Blockchain blockchain;
+  private final TraceIndex traceIndex;
+  private final Function<Block, Optional<ArrayNode>> blockTracer;
+  private final ExecutorService executor;
+  private final Counter indexedBlocksCounter;
+  private final AtomicBoolean runPending = new AtomicBoolean(false);
+  private volatile boolean backfillEnabled = true;
+  private volatile boolean stopped = false;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  /**
+   * Create the service
+   *
+   * @param blockchain the blockchain
+   * @param traceIndex the index to keep up to date
+   * @param blockTracer traces a block like trace_block, or returns empty if the world state needed
+   *     to trace it is not available
+   * @param executor the executor the blocks are traced on
+   * @param metricsSystem the metrics system
+   */
+  public TraceIndexingService(
+      final Blockchain blockchain,
+      final TraceIndex traceIndex,
+      final Function<Block, Optional<ArrayNode>> blockTracer,
+      final ExecutorService executor,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.traceIndex = traceIndex;
+    this.blockTracer = blockTracer;
+    this.executor = executor;
+    this.indexedBlocksCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC, "trace_index_blocks_total", "Number of blocks trace indexed");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.RPC,
+        "trace_index_lowest_block",
+        "Lowest block of the trace index",
+        () -> traceIndex.getLowestBlock().orElse(-1L));
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.RPC,
+        "trace_index_highest_block",
+        "Highest block of the trace index",
+        () -> traceIndex.getHighestBlock().orElse(-1L));
+  }
+
+  public void start() {
+    LOG.info(
+        "Starting trace indexing service, indexed blocks {} to {}",
+        traceIndex.getLowestBlock().map(String::valueOf).orElse("-"),
+        traceIndex.getHighestBlock().map(String::valueOf).orElse("-"));
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  if (event.isNewCanonicalHead()) {
+                    scheduleRun();
+                  }
+                }));
+    scheduleRun();
+  }
+
+  public void stop() {
+    LOG.info("Shutting down trace indexing service.");
+    stopped = true;
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+    executor.shutdownNow();
+  }
+
+  private void scheduleRun() {
+    // one run indexes all that is available, so there is no need to queue more than one
+    if (!stopped && runPending.compareAndSet(false, true)) {
+      executor.execute(this::run);
+    }
+  }
+
+  void run() {
+    runPending.set(false);
+    try {
+      while (!stopped && (indexForward() || (backfillEnabled && indexBackward()))) {
+        indexedBlocksCounter.inc();
+      }
+    } catch (final RuntimeException e) {
+      LOG.warn("Trace indexing failed, it will be retried on the next block", e);
+    }
+  }
+
+  private boolean indexForward() {
+    final Optional<Long> maybeFinalized =
+        blockchain.getFinalized().flatMap(blockchain::getBlockHeader).map(BlockHeader::getNumber);
+    if (maybeFinalized.isEmpty()) {
+      return false;
+    }
+    final long finalized = maybeFinalized.get();
+    final long next = traceIndex.getHighestBlock().map(n -> n + 1).orElse(finalized);
+    if (next > finalized) {
+      return false;
+    }
+    if (index(next)) {
+      return true;
+    }
+    if (next < finalized) {
+      // if the finalized block can be traced, the world state of the next block is gone for good,
+      // for example past the retention of Bonsai, and the index could never be extended again
+      final Optional<ArrayNode> maybeFinalizedTraces = trace(finalized);
+      if (maybeFinalizedTraces.isPresent()) {
+        LOG.warn(
+            "Trace index restarted from finalized block {}, the world state of blocks {} to {} is"
+                + " not available anymore",
+            finalized,
+            next,
+            finalized - 1);
+        traceIndex.clear();
+        traceIndex.index(finalized, maybeFinalizedTraces.get());
+        backfillEnabled = true;
+        return true;
+      }
+    }
+    LOG.debug("World state not available to trace finalized block {}", next);
+    return false;
+  }
+
+  private boolean indexBackward() {
+    final Optional<Long> maybeLowest = traceIndex.getLowestBlock();
+    if (maybeLowest.isEmpty() || maybeLowest.get() <= BlockHeader.GENESIS_BLOCK_NUMBER + 1) {
+      return false;
+    }
+    if (!index(maybeLowest.get() - 1)) {
+      LOG.info(
+          "Trace index backfill stopped at block {}, the world state of the older blocks is not"
+              + " available",
+          maybeLowest.get());
+      backfillEnabled = false;
+      return false;
+    }
+    return true;
+  }
+
+  private boolean index(final long blockNumber) {
+    final Optional<ArrayNode> maybeTraces = trace(blockNumber);
+    maybeTraces.ifPresent(traces -> traceIndex.index(blockNumber, traces));
+    return maybeTraces.isPresent();
+  }
+
+  private Optional<ArrayNode> trace(final long blockNumber) {
+    return blockchain.getBlockByNumber(blockNumber).flatMap(blockTracer);
+  }
+}
@@ -34,7 +34,9 @@ import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -58,7 +60,15 @@ public class TransactionLogBloomCacher {
   public static final int BLOOM_BITS_LENGTH = 256;
   private static final int EXPECTED_BLOOM_FILE_SIZE = BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
   public static final String CURRENT = "current";
+
+  /**
+   * How many blocks to wait, after the start of a new segment, before indexing the logs of the
+   * previous one, so that it is not affected by reorgs
+   */
+  static final int LOG_INDEX_DELAY_BLOCKS = 1024;
   private final Map<Long, Boolean> cachedSegments;
+  private final Set<Long> segmentsBeingIndexed = ConcurrentHashMap.newKeySet();
+  private final Map<Long, Long> segmentInvalidations = new ConcurrentHashMap<>();
 
   private final Lock submissionLock = new ReentrantLock();
 
@@ -66,14 +76,24 @@ public class TransactionLogBloomCacher {
   private final Blockchain blockchain;
 
   private final Path cacheDir;
+  private final boolean logIndexEnabled;
 
   private final CachingStatus cachingStatus = new CachingStatus();
 
   public TransactionLogBloomCacher(
       final Blockchain blockchain, final Path cacheDir, final EthScheduler scheduler) {
+    this(blockchain, cacheDir, scheduler, false);
+  }
+
+  public TransactionLogBloomCacher(
+      final Blockchain blockchain,
+      final Path cacheDir,
+      final EthScheduler scheduler,
+      final boolean logIndexEnabled) {
     this.blockchain = blockchain;
     this.cacheDir = cacheDir;
     this.scheduler = scheduler;
+    this.logIndexEnabled = logIndexEnabled;
     this.cachedSegments = new TreeMap<>();
   }
 
@@ -93,6 +113,72 @@ public class TransactionLogBloomCacher {
     return calculateCacheFileName(Long.toString(blockNumber / BLOCKS_PER_BLOOM_CACHE), cacheDir);
   }
 
+  public static Path calculateLogIndexFileName(final long segment, final Path cacheDir) {
+    return cacheDir.resolve("logIndex-" + segment + ".index");
+  }
+
+  void indexSegment(final long segment) {
+    // the block added trigger and the previous segments check can both index a segment
+    if (!segmentsBeingIndexed.add(segment)) {
+      return;
+    }
+    try {
+      final File indexFile = calculateLogIndexFileName(segment, cacheDir).toFile();
+      if (indexFile.isFile()) {
+        return;
+      }
+      scheduler.yieldToPriorityWork();
+      long invalidations;
+      do {
+        invalidations = segmentInvalidations.getOrDefault(segment, 0L);
+        LOG.debug("Indexing transaction logs of segment {}", segment);
+        if (!LogIndexSegment.write(blockchain, segment * BLOCKS_PER_BLOOM_CACHE, indexFile)) {
+          LOG.debug("Segment {} is not complete, skipping log index", segment);
+          return;
+        }
+        // index again if a reorg changed the segment while it was indexed
+      } while (segmentInvalidations.getOrDefault(segment, 0L) != invalidations);
+    } catch (final IOException e) {
+      if (isDiskFull(e)) {
+        LOG.error(e.getMessage());
+        System.exit(DISK_FULL_EXIT_CODE);
+      }
+      LOG.error("Unhandled log indexing exception.", e);
+    } finally {
+      segmentsBeingIndexed.remove(segment);
+    }
+  }
+
+  /**
+   * Delete the log indexes of the segments changed by a reorg, and index again the ones that are
+   * old enough
+   *
+   * @param fromBlock the first block changed by the reorg
+   * @param chainHead the number of the new chain head
+   */
+  private void invalidateLogIndexes(final long fromBlock, final long chainHead) {
+    for (long segment = fromBlock / BLOCKS_PER_BLOOM_CACHE;
+        segment <= chainHead / BLOCKS_PER_BLOOM_CACHE;
+        segment++) {
+      final Path indexFile = calculateLogIndexFileName(segment, cacheDir);
+      if (!Files.isRegularFile(indexFile) && !segmentsBeingIndexed.contains(segment)) {
+        continue;
+      }
+      segmentInvalidations.merge(segment, 1L, Long::sum);
+      try {
+        Files.deleteIfExists(indexFile);
+      } catch (final IOException e) {
+        LOG.error("Unable to delete log index of segment {}", segment, e);
+        continue;
+      }
+      LOG.debug("Deleted log index of segment {} changed by a reorg", segment);
+      final long reindexedSegment = segment;
+      if (chainHead >= (segment + 1) * BLOCKS_PER_BLOOM_CACHE + LOG_INDEX_DELAY_BLOCKS) {
+        scheduler.executeBackgroundTask(() -> indexSegment(reindexedSegment));
+      }
+    }
+  }
+
   public CachingStatus generateLogBloomCache(final long start, final long stop) {
     checkArgument(
         start % BLOCKS_PER_BLOOM_CACHE == 0, "Start block must be at the beginning of a file");
@@ -110,6 +196,8 @@ public class TransactionLogBloomCacher {
           return cachingStatus;
         }
         for (long blockNum = start; blockNum < stop; blockNum += BLOCKS_PER_BLOOM_CACHE) {
+          // step aside while a payload is validated, the segments are not time sensitive
+          scheduler.yieldToPriorityWork();
           LOG.trace("Caching segment at {}", blockNum);
           final File cacheFile = calculateCacheFileName(blockNum, cacheDir);
           blockchain
@@ -157,11 +245,21 @@ public class TransactionLogBloomCacher {
       final BlockHeader blockHeader,
       final Optional<BlockHeader> commonAncestorBlockHeader,
       final Optional<File> reusedCacheFile) {
+    if (logIndexEnabled) {
+      commonAncestorBlockHeader.ifPresent(
+          ancestor -> invalidateLogIndexes(ancestor.getNumber() + 1, blockHeader.getNumber()));
+    }
     try {
       if (cachingStatus.cachingCount.incrementAndGet() != 1) {
         return;
       }
       final long blockNumber = blockHeader.getNumber();
+      if (logIndexEnabled
+          && blockNumber >= BLOCKS_PER_BLOOM_CACHE
+          && blockNumber % BLOCKS_PER_BLOOM_CACHE == LOG_INDEX_DELAY_BLOCKS) {
+        final long previousSegment = blockNumber / BLOCKS_PER_BLOOM_CACHE - 1;
+        scheduler.executeBackgroundTask(() -> indexSegment(previousSegment));
+      }
       LOG.atTrace()
           .setMessage("Caching logs bloom for block {}")
           .addArgument(() -> "0x" + Long.toHexString(blockNumber))
@@ -272,6 +370,7 @@ public class TransactionLogBloomCacher {
           final long fromBlock = segmentNumber * BLOCKS_PER_BLOOM_CACHE;
           final File cacheFile = calculateCacheFileName(fromBlock, cacheDir);
           cachedSegments.remove(segmentNumber);
+          Files.deleteIfExists(calculateLogIndexFileName(segmentNumber, cacheDir));
           if (Files.deleteIfExists(cacheFile.toPath())) {
             LOG.info(
                 "Deleted transaction log bloom cache file: {}/{}", cacheDir, cacheFile.getName());
@@ -298,7 +397,7 @@ public class TransactionLogBloomCacher {
     if (!cachingStatus.isCaching()) {
       scheduler.scheduleFutureTask(
           () ->
-              scheduler.scheduleComputationTask(
+              scheduler.executeBackgroundTask(
                   () -> {
                     long currentSegment = (blockNumber / BLOCKS_PER_BLOOM_CACHE) - 1;
                     while (currentSegment >= 0) {
@@ -312,13 +411,17 @@ public class TransactionLogBloomCacher {
                               || cacheFile.length() != EXPECTED_BLOOM_FILE_SIZE) {
                             generateLogBloomCache(startBlock, startBlock + BLOCKS_PER_BLOOM_CACHE);
                           }
+                          if (logIndexEnabled
+                              && blockNumber
+                                  >= startBlock + BLOCKS_PER_BLOOM_CACHE + LOG_INDEX_DELAY_BLOCKS) {
+                            indexSegment(currentSegment);
+                          }
                           cachedSegments.put(currentSegment, true);
                         }
                       } finally {
                         currentSegment--;
                       }
                     }
-                    return null;
                   }),
           Duration.ofSeconds(1));
     }
@@ -344,7 +447,7 @@ public class TransactionLogBloomCacher {
             requestAccepted = true;
             cachingStatus.startBlock = fromBlock;
             cachingStatus.endBlock = toBlock;
-            scheduler.scheduleComputationTask(
+            scheduler.executeBackgroundTask(
                 () ->
                     generateLogBloomCache(
                         fromBlock - (fromBlock % BLOCKS_PER_BLOOM_CACHE), toBlock));
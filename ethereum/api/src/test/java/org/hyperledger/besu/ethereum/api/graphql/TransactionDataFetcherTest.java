@@ -84,8 +84,8 @@ class TransactionDataFetcherTest extends AbstractDataFetcherTest {
     var transactionData = fetcher.get(environment);
     assertThat(transactionData).isPresent();
     assertThat(transactionData.get().getBlobVersionedHashes()).isEmpty();
-    assertThat(transactionData.get().getBlobGasUsed(environment)).isEmpty();
-    assertThat(transactionData.get().getBlobGasPrice(environment)).isEmpty();
+    assertThat(transactionData.get().getBlobGasUsed(environment).join()).isEmpty();
+    assertThat(transactionData.get().getBlobGasPrice(environment).join()).isEmpty();
     assertThat(transactionData.get().getMaxFeePerBlobGas()).isEmpty();
   }
 
@@ -120,8 +120,8 @@ class TransactionDataFetcherTest extends AbstractDataFetcherTest {
     var transactionData = fetcher.get(environment);
     assertThat(transactionData).isPresent();
     assertThat(transactionData.get().getBlobVersionedHashes()).isEmpty();
-    assertThat(transactionData.get().getBlobGasUsed(environment)).contains(0L);
-    assertThat(transactionData.get().getBlobGasPrice(environment)).contains(Wei.ZERO);
+    assertThat(transactionData.get().getBlobGasUsed(environment).join()).contains(0L);
+    assertThat(transactionData.get().getBlobGasPrice(environment).join()).contains(Wei.ZERO);
     assertThat(transactionData.get().getMaxFeePerBlobGas()).contains(Wei.ZERO);
   }
 
@@ -156,8 +156,8 @@ class TransactionDataFetcherTest extends AbstractDataFetcherTest {
     var transactionData = fetcher.get(environment);
     assertThat(transactionData).isPresent();
     assertThat(transactionData.get().getBlobVersionedHashes()).containsExactly(fakeVersionedHash);
-    assertThat(transactionData.get().getBlobGasUsed(environment)).contains(blobGasUsed);
-    assertThat(transactionData.get().getBlobGasPrice(environment)).contains(blobGasPrice);
+    assertThat(transactionData.get().getBlobGasUsed(environment).join()).contains(blobGasUsed);
+    assertThat(transactionData.get().getBlobGasPrice(environment).join()).contains(blobGasPrice);
     assertThat(transactionData.get().getMaxFeePerBlobGas()).contains(maxFeePerBlobGas);
   }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BlockchainDataLoadersTest {
+
+  @Mock private BlockchainQueries query;
+  @Mock private ProtocolSchedule protocolSchedule;
+  @Mock private DataFetchingEnvironment environment;
+  @Mock private MutableWorldState worldState;
+
+  private DataLoaderRegistry registry;
+
+  @BeforeEach
+  public void setUp() {
+    registry = BlockchainDataLoaders.createRegistry(query, protocolSchedule);
+    when(environment.getDataLoader(anyString()))
+        .thenAnswer(invocation -> registry.getDataLoader(invocation.getArgument(0)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void accountsOfTheSameBlockAreReadFromOneWorldState() {
+    when(query.getAndMapWorldState(anyLong(), any()))
+        .thenAnswer(
+            invocation ->
+                ((Function<MutableWorldState, Optional<?>>) invocation.getArgument(1))
+                    .apply(worldState));
+
+    final CompletableFuture<Optional<AccountAdapter>> first =
+        BlockchainDataLoaders.account(environment, 1L, Address.fromHexString("0x01"));
+    final CompletableFuture<Optional<AccountAdapter>> second =
+        BlockchainDataLoaders.account(environment, 1L, Address.fromHexString("0x02"));
+    final CompletableFuture<Optional<AccountAdapter>> other =
+        BlockchainDataLoaders.account(environment, 2L, Address.fromHexString("0x01"));
+    registry.dispatchAll();
+
+    assertThat(first.join()).isPresent();
+    assertThat(first.join().get().getAddress()).isEqualTo(Address.fromHexString("0x01"));
+    assertThat(second.join().get().getAddress()).isEqualTo(Address.fromHexString("0x02"));
+    assertThat(other.join()).isPresent();
+    verify(query, times(1)).getAndMapWorldState(eq(1L), any());
+    verify(query, times(1)).getAndMapWorldState(eq(2L), any());
+  }
+
+  @Test
+  public void accountsAreEmptyWhenTheWorldStateIsNotAvailable() {
+    when(query.getAndMapWorldState(anyLong(), any())).thenReturn(Optional.empty());
+
+    final CompletableFuture<Optional<AccountAdapter>> account =
+        BlockchainDataLoaders.account(environment, 1L, Address.fromHexString("0x01"));
+    registry.dispatchAll();
+
+    assertThat(account.join()).isEmpty();
+  }
+
+  @Test
+  public void receiptsOfABlockAreLoadedOnce() {
+    final Hash blockHash = Hash.ZERO;
+    when(query.transactionReceiptsByBlockHash(blockHash, protocolSchedule))
+        .thenReturn(Optional.empty());
+
+    BlockchainDataLoaders.receipts(environment, blockHash);
+    BlockchainDataLoaders.receipts(environment, blockHash);
+    registry.dispatchAll();
+    BlockchainDataLoaders.receipts(environment, blockHash);
+    registry.dispatchAll();
+
+    verify(query, times(1)).transactionReceiptsByBlockHash(blockHash, protocolSchedule);
+  }
+}
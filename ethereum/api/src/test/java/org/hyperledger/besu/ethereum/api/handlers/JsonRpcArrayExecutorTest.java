@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonResponseStreamer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.impl.future.SucceededFuture;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonRpcArrayExecutorTest {
+  private static final int BATCH_SIZE = 16;
+
+  private final JsonRpcExecutor jsonRpcExecutor = mock(JsonRpcExecutor.class);
+  private final RoutingContext ctx = mock(RoutingContext.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final JsonRpcConfiguration config = JsonRpcConfiguration.createDefault();
+  private final Buffer written = Buffer.buffer();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    when(ctx.response()).thenReturn(response);
+    when(response.setChunked(anyBoolean())).thenReturn(response);
+    when(response.exceptionHandler(any())).thenReturn(response);
+    when(response.write(any(Buffer.class)))
+        .thenAnswer(
+            invocation -> {
+              synchronized (written) {
+                written.appendBuffer(invocation.getArgument(0));
+              }
+              return new SucceededFuture<>(null, null);
+            });
+    // the first requests take longer, so they would complete last if not waited in order
+    when(jsonRpcExecutor.execute(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonObject request = invocation.getArgument(4);
+              final int id = request.getInteger("id");
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep((BATCH_SIZE - id) * 2L);
+              running.decrementAndGet();
+              return new JsonRpcSuccessResponse(id, "0x" + Integer.toHexString(id));
+            });
+  }
+
+  @Test
+  void requestsAreExecutedOneAfterTheOtherByDefault() throws Exception {
+    executeBatch();
+
+    assertThat(maxRunning.get()).isEqualTo(1);
+    assertThat(responseIds()).containsExactlyElementsOf(requestIds());
+  }
+
+  @Test
+  void concurrentRequestsAreWrittenInTheOrderOfTheBatch() throws Exception {
+    config.setMaxBatchConcurrency(4);
+
+    executeBatch();
+
+    assertThat(maxRunning.get()).isBetween(2, 4);
+    assertThat(responseIds()).containsExactlyElementsOf(requestIds());
+  }
+
+  @Test
+  void concurrentRequestsTakeThePermitsOfTheirMethod() throws Exception {
+    config.setMaxBatchConcurrency(4);
+    when(jsonRpcExecutor.hasMethod("eth_blockNumber")).thenReturn(true);
+
+    executeBatch(Optional.of(new VirtualThreadRequestExecutor(2, new NoOpMetricsSystem())));
+
+    assertThat(maxRunning.get()).isBetween(1, 2);
+    assertThat(responseIds()).containsExactlyElementsOf(requestIds());
+  }
+
+  private void executeBatch() throws Exception {
+    executeBatch(Optional.empty());
+  }
+
+  private void executeBatch(final Optional<VirtualThreadRequestExecutor> requestExecutor)
+      throws Exception {
+    final JsonArray batch = new JsonArray();
+    requestIds()
+        .forEach(
+            id ->
+                batch.add(
+                    new JsonObject()
+                        .put("jsonrpc", "2.0")
+                        .put("id", id)
+                        .put("method", "eth_blockNumber")));
+    final JsonRpcArrayExecutor executor =
+        new JsonRpcArrayExecutor(
+            jsonRpcExecutor, mock(Tracer.class), ctx, config, requestExecutor);
+    try (final JsonResponseStreamer streamer =
+        new JsonResponseStreamer(response, SocketAddress.domainSocketAddress("test"))) {
+      executor.executeRpcRequestBatch(batch, streamer);
+    }
+  }
+
+  private static List<Integer> requestIds() {
+    return IntStream.range(0, BATCH_SIZE).boxed().toList();
+  }
+
+  private List<Integer> responseIds() {
+    final JsonArray responses = new JsonArray(written);
+    return IntStream.range(0, responses.size())
+        .mapToObj(i -> responses.getJsonObject(i).getInteger("id"))
+        .toList();
+  }
+}
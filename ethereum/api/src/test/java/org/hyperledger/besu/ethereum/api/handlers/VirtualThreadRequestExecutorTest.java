@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadRequestExecutorTest {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final VirtualThreadRequestExecutor executor =
+      new VirtualThreadRequestExecutor(1, new NoOpMetricsSystem());
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void resultIsReturned() throws Exception {
+    final Future<String> result = executor.executeBlocking(vertx, "eth_blockNumber", () -> "0x1");
+
+    assertThat(await(result)).isEqualTo("0x1");
+  }
+
+  @Test
+  void failureIsReturned() {
+    final Future<String> result =
+        executor.executeBlocking(
+            vertx,
+            "eth_blockNumber",
+            () -> {
+              throw new IllegalStateException("boom");
+            });
+
+    assertThatThrownBy(() -> await(result))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void requestsOfTheSameMethodWaitForTheConcurrencyLimit() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+
+    final Future<Integer> first =
+        executor.executeBlocking(
+            vertx,
+            "debug_traceBlock",
+            () -> {
+              running.incrementAndGet();
+              started.countDown();
+              release.await();
+              return running.getAndDecrement();
+            });
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    final Future<Integer> second =
+        executor.executeBlocking(vertx, "debug_traceBlock", running::incrementAndGet);
+    // another method is not limited by the running trace
+    final Future<String> other = executor.executeBlocking(vertx, "eth_chainId", () -> "0x1");
+
+    assertThat(await(other)).isEqualTo("0x1");
+    assertThat(second.isComplete()).isFalse();
+
+    release.countDown();
+    assertThat(await(first)).isEqualTo(1);
+    assertThat(await(second)).isEqualTo(1);
+  }
+
+  @Test
+  void methodOfUnknownMethodsIsUnknown() {
+    final Set<String> methods = Set.of("eth_blockNumber");
+
+    assertThat(
+            VirtualThreadRequestExecutor.methodOf(
+                new JsonObject().put("method", "eth_blockNumber"), methods::contains))
+        .isEqualTo("eth_blockNumber");
+    assertThat(
+            VirtualThreadRequestExecutor.methodOf(
+                new JsonObject().put("method", "eth_unknown"), methods::contains))
+        .isEqualTo(VirtualThreadRequestExecutor.UNKNOWN_METHOD);
+    assertThat(
+            VirtualThreadRequestExecutor.methodOf(
+                new JsonObject().put("method", 1), methods::contains))
+        .isEqualTo(VirtualThreadRequestExecutor.UNKNOWN_METHOD);
+  }
+
+  private static <T> T await(final Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResultFactory;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
+
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class CachingJsonRpcProcessorTest {
+  private static final long FINALIZED_BLOCK_NUMBER = 10;
+  private static final JsonRpcRequestId ID = new JsonRpcRequestId(1);
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcProcessor delegate = mock(JsonRpcProcessor.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private final ArgumentCaptor<BlockAddedObserver> observer =
+      ArgumentCaptor.forClass(BlockAddedObserver.class);
+  private FinalizedResponseCache responseCache;
+  private CachingJsonRpcProcessor processor;
+
+  @BeforeEach
+  public void setUp() {
+    final BlockHeader finalized = header(FINALIZED_BLOCK_NUMBER);
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalized.getHash()));
+    when(blockchain.getBlockHeader(finalized.getHash())).thenReturn(Optional.of(finalized));
+    responseCache = new FinalizedResponseCache(blockchain, 1024 * 1024, new NoOpMetricsSystem());
+    verify(blockchain).observeBlockAdded(observer.capture());
+    processor = new CachingJsonRpcProcessor(delegate, responseCache);
+  }
+
+  @Test
+  public void finalizedBlockIsServedFromCache() throws Exception {
+    final BlockResult blockResult = blockResult(FINALIZED_BLOCK_NUMBER);
+    final JsonRpcRequestContext request = getBlockByNumber(FINALIZED_BLOCK_NUMBER);
+    respondWith(blockResult);
+
+    final JsonRpcResponse first = processor.process(ID, method, Span.getInvalid(), request);
+    final JsonRpcResponse second = processor.process(ID, method, Span.getInvalid(), request);
+
+    verify(delegate, times(1)).process(any(), any(), any(), any());
+    assertThat(responseCache.estimatedSize()).isEqualTo(1);
+    assertThat(mapper.writeValueAsString(second)).isEqualTo(mapper.writeValueAsString(first));
+  }
+
+  @Test
+  public void blockAboveFinalizedIsNotCached() {
+    final JsonRpcRequestContext request = getBlockByNumber(FINALIZED_BLOCK_NUMBER + 1);
+    respondWith(blockResult(FINALIZED_BLOCK_NUMBER + 1));
+
+    processor.process(ID, method, Span.getInvalid(), request);
+    processor.process(ID, method, Span.getInvalid(), request);
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+    assertThat(responseCache.estimatedSize()).isZero();
+  }
+
+  @Test
+  public void requestWithBlockTagIsNotCached() {
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(
+            new JsonRpcRequest(
+                "2.0",
+                RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName(),
+                new Object[] {"finalized", false}));
+    respondWith(blockResult(FINALIZED_BLOCK_NUMBER));
+
+    processor.process(ID, method, Span.getInvalid(), request);
+    processor.process(ID, method, Span.getInvalid(), request);
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+    assertThat(responseCache.estimatedSize()).isZero();
+  }
+
+  @Test
+  public void reorgBelowCachedBlockInvalidatesIt() {
+    final JsonRpcRequestContext request = getBlockByNumber(FINALIZED_BLOCK_NUMBER);
+    respondWith(blockResult(FINALIZED_BLOCK_NUMBER));
+    processor.process(ID, method, Span.getInvalid(), request);
+
+    observer.getValue().onBlockAdded(reorg(FINALIZED_BLOCK_NUMBER));
+    assertThat(responseCache.estimatedSize()).isEqualTo(1);
+
+    observer.getValue().onBlockAdded(reorg(FINALIZED_BLOCK_NUMBER - 1));
+    assertThat(responseCache.estimatedSize()).isZero();
+  }
+
+  private void respondWith(final Object result) {
+    when(delegate.process(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                new JsonRpcSuccessResponse(
+                    invocation.<JsonRpcRequestContext>getArgument(3).getRequest().getId(),
+                    result));
+  }
+
+  private BlockAddedEvent reorg(final long commonAncestorNumber) {
+    final BlockHeader commonAncestor = header(commonAncestorNumber);
+    when(blockchain.getBlockHeader(commonAncestor.getHash()))
+        .thenReturn(Optional.of(commonAncestor));
+    final BlockAddedEvent event = mock(BlockAddedEvent.class);
+    when(event.getEventType()).thenReturn(EventType.CHAIN_REORG);
+    when(event.getCommonAncestorHash()).thenReturn(commonAncestor.getHash());
+    return event;
+  }
+
+  private static JsonRpcRequestContext getBlockByNumber(final long blockNumber) {
+    return new JsonRpcRequestContext(
+        new JsonRpcRequest(
+            "2.0",
+            RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName(),
+            new Object[] {"0x" + Long.toHexString(blockNumber), true}));
+  }
+
+  private static BlockResult blockResult(final long blockNumber) {
+    return new BlockResultFactory()
+        .transactionComplete(
+            new BlockDataGenerator()
+                .block(BlockDataGenerator.BlockOptions.create().setBlockNumber(blockNumber)));
+  }
+
+  private static BlockHeader header(final long blockNumber) {
+    return new BlockHeaderTestFixture().number(blockNumber).buildHeader();
+  }
+}
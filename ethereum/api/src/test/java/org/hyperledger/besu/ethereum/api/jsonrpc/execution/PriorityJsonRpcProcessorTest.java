@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.PriorityWorkGate.PriorityWork;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
+
+public class PriorityJsonRpcProcessorTest {
+  private static final JsonRpcRequestId ID = new JsonRpcRequestId(1);
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+  private final EthScheduler scheduler = mock(EthScheduler.class);
+  private final PriorityWork priorityWork = mock(PriorityWork.class);
+  private final JsonRpcProcessor delegate = mock(JsonRpcProcessor.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private final JsonRpcResponse response = new JsonRpcSuccessResponse(ID, "0x1");
+  private PriorityJsonRpcProcessor processor;
+
+  @BeforeEach
+  public void setup() {
+    when(scheduler.startPriorityWork()).thenReturn(priorityWork);
+    processor = new PriorityJsonRpcProcessor(delegate, scheduler);
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = RpcMethod.class,
+      names = {"ENGINE_NEW_PAYLOAD_V1", "ENGINE_NEW_PAYLOAD_V4", "ENGINE_FORKCHOICE_UPDATED_V3"})
+  public void newPayloadAndForkchoiceUpdatedAreProcessedAsPriorityWork(final RpcMethod rpcMethod) {
+    final JsonRpcRequestContext request = request(rpcMethod);
+    when(delegate.process(ID, method, Span.getInvalid(), request)).thenReturn(response);
+
+    assertThat(processor.process(ID, method, Span.getInvalid(), request)).isSameAs(response);
+
+    final InOrder inOrder = inOrder(scheduler, delegate, priorityWork);
+    inOrder.verify(scheduler).startPriorityWork();
+    inOrder.verify(delegate).process(ID, method, Span.getInvalid(), request);
+    inOrder.verify(priorityWork).close();
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = RpcMethod.class,
+      names = {"ENGINE_GET_PAYLOAD_V3", "ENGINE_EXCHANGE_CAPABILITIES", "ETH_BLOCK_NUMBER"})
+  public void otherMethodsAreNotProcessedAsPriorityWork(final RpcMethod rpcMethod) {
+    final JsonRpcRequestContext request = request(rpcMethod);
+    when(delegate.process(ID, method, Span.getInvalid(), request)).thenReturn(response);
+
+    assertThat(processor.process(ID, method, Span.getInvalid(), request)).isSameAs(response);
+
+    verify(scheduler, never()).startPriorityWork();
+  }
+
+  @Test
+  public void streamedNewPayloadIsProcessedAsPriorityWork() throws IOException {
+    final JsonRpcRequestContext request = request(RpcMethod.ENGINE_NEW_PAYLOAD_V3);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    processor.streamProcess(ID, method, Span.getInvalid(), request, out, mapper);
+
+    final InOrder inOrder = inOrder(scheduler, delegate, priorityWork);
+    inOrder.verify(scheduler).startPriorityWork();
+    inOrder.verify(delegate).streamProcess(ID, method, Span.getInvalid(), request, out, mapper);
+    inOrder.verify(priorityWork).close();
+  }
+
+  @Test
+  public void priorityWorkEndsWhenTheProcessingFails() {
+    final JsonRpcRequestContext request = request(RpcMethod.ENGINE_FORKCHOICE_UPDATED_V1);
+    when(delegate.process(ID, method, Span.getInvalid(), request))
+        .thenThrow(new IllegalStateException("failed"));
+
+    assertThatThrownBy(() -> processor.process(ID, method, Span.getInvalid(), request))
+        .isInstanceOf(IllegalStateException.class);
+    verify(priorityWork).close();
+  }
+
+  private JsonRpcRequestContext request(final RpcMethod rpcMethod) {
+    when(method.getName()).thenReturn(rpcMethod.getMethodName());
+    return new JsonRpcRequestContext(
+        new JsonRpcRequest("2.0", rpcMethod.getMethodName(), new Object[0]));
+  }
+}
@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -265,6 +266,104 @@ public class EthCallTest {
     verifyNoMoreInteractions(blockchainQueries);
   }
 
+  @Test
+  public void shouldServeIdenticalCallsOnTheSameBlockFromTheResultCache() {
+    final EthCall cachingMethod = cachingEthCall();
+    final JsonRpcResponse expectedResponse =
+        new JsonRpcSuccessResponse(null, Bytes.of(1).toString());
+    mockTransactionProcessorSuccessResult(expectedResponse);
+    mockLatestBlockHeader(Hash.ZERO, Hash.ZERO);
+
+    final JsonRpcResponse firstResponse =
+        cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+    final JsonRpcResponse secondResponse =
+        cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+
+    verify(transactionSimulator, times(1)).process(any(), any(), any(), any(), any(), any());
+    assertThat(firstResponse).usingRecursiveComparison().isEqualTo(expectedResponse);
+    assertThat(secondResponse).usingRecursiveComparison().isEqualTo(expectedResponse);
+  }
+
+  @Test
+  public void shouldNotServeCallsOnAnotherBlockFromTheResultCache() {
+    final EthCall cachingMethod = cachingEthCall();
+    mockTransactionProcessorSuccessResult(new JsonRpcSuccessResponse(null, Bytes.of(1).toString()));
+    mockLatestBlockHeader(Hash.ZERO, Hash.EMPTY);
+
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+
+    verify(transactionSimulator, times(2)).process(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotCacheInternalErrors() {
+    final EthCall cachingMethod = cachingEthCall();
+    when(transactionSimulator.process(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.empty());
+    mockLatestBlockHeader(Hash.ZERO, Hash.ZERO);
+
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+
+    verify(transactionSimulator, times(2)).process(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotCacheInternalErrorResponses() {
+    final EthCall cachingMethod = cachingEthCall();
+    mockTransactionProcessorSuccessResult(
+        new JsonRpcErrorResponse(null, new JsonRpcError(INTERNAL_ERROR)));
+    mockLatestBlockHeader(Hash.ZERO, Hash.ZERO);
+
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+
+    verify(transactionSimulator, times(2)).process(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldCacheRevertErrors() {
+    final EthCall cachingMethod = cachingEthCall();
+    mockTransactionProcessorSuccessResult(
+        new JsonRpcErrorResponse(null, new JsonRpcError(REVERT_ERROR, "0x1234")));
+    mockLatestBlockHeader(Hash.ZERO, Hash.ZERO);
+
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+    cachingMethod.response(ethCallRequest(callParameter(), "latest"));
+
+    verify(transactionSimulator, times(1)).process(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotServeCallsMovingAPrecompileElsewhereFromTheResultCache() {
+    final EthCall cachingMethod = cachingEthCall();
+    when(transactionSimulator.process(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(new JsonRpcSuccessResponse(null, Bytes.of(1).toString())));
+    mockLatestBlockHeader(Hash.ZERO, Hash.ZERO);
+    final Address precompile = Address.fromHexString("0x01");
+
+    final StateOverrideMap firstOverrides = new StateOverrideMap();
+    firstOverrides.put(
+        precompile,
+        new StateOverride.Builder()
+            .withMovePrecompileToAddress(Address.fromHexString("0x1234"))
+            .build());
+    final StateOverrideMap secondOverrides = new StateOverrideMap();
+    secondOverrides.put(
+        precompile,
+        new StateOverride.Builder()
+            .withMovePrecompileToAddress(Address.fromHexString("0x5678"))
+            .build());
+
+    cachingMethod.response(
+        ethCallRequestWithStateOverrides(callParameter(), "latest", firstOverrides));
+    cachingMethod.response(
+        ethCallRequestWithStateOverrides(callParameter(), "latest", secondOverrides));
+
+    verify(transactionSimulator, times(2)).process(any(), any(), any(), any(), any(), any());
+  }
+
   @Test
   public void shouldReturnBasicExecutionRevertErrorWithoutReason() {
     final JsonRpcRequestContext request = ethCallRequest(callParameter(), "latest");
@@ -633,6 +732,21 @@ public class EthCallTest {
             "2.0", "eth_call", new Object[] {callParameter, blockNumberInHex, overrides}));
   }
 
+  private EthCall cachingEthCall() {
+    when(metricsSystem.createCounter(
+            any(BesuMetricCategory.class), any(String.class), any(String.class)))
+        .thenReturn(mock(Counter.class));
+    return new EthCall(blockchainQueries, transactionSimulator, metricsSystem, 1_048_576L);
+  }
+
+  private void mockLatestBlockHeader(final Hash firstHash, final Hash secondHash) {
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getChainHead()).thenReturn(chainHead);
+    when(blockHeader.getBaseFee()).thenReturn(Optional.of(Wei.ZERO));
+    when(blockHeader.getHash()).thenReturn(firstHash, secondHash);
+    when(chainHead.getBlockHeader()).thenReturn(blockHeader);
+  }
+
   private void mockTransactionProcessorSuccessResult(final JsonRpcResponse jsonRpcResponse) {
     when(transactionSimulator.process(any(), eq(Optional.empty()), any(), any(), any(), any()))
         .thenReturn(Optional.of(jsonRpcResponse));
@@ -36,9 +36,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CreateAccessLi
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.ImmutableCallParameter;
+import org.hyperledger.besu.ethereum.transaction.SharedWorldStateSimulation;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -46,6 +48,7 @@ import org.hyperledger.besu.evm.tracing.AccessListOperationTracer;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -101,6 +104,37 @@ public class EthCreateAccessListTest {
     when(pendingBlockHeader.getNumber()).thenReturn(3L);
     when(transactionSimulator.simulatePendingBlockHeader()).thenReturn(pendingBlockHeader);
     when(worldStateArchive.isWorldStateAvailable(any(), any())).thenReturn(true);
+    // the simulations on the shared world state are delegated to the stubbed process methods
+    when(transactionSimulator.processWithSharedWorldState(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final BlockHeader header = invocation.getArgument(0);
+              final Function<SharedWorldStateSimulation, ?> simulations = invocation.getArgument(1);
+              return Optional.ofNullable(
+                  simulations.apply(
+                      (callParams, maybeStateOverrides, validationParams, operationTracer) ->
+                          transactionSimulator.process(
+                              callParams,
+                              maybeStateOverrides,
+                              validationParams,
+                              operationTracer,
+                              header)));
+            });
+    when(transactionSimulator.processOnPendingWithSharedWorldState(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final ProcessableBlockHeader header = invocation.getArgument(0);
+              final Function<SharedWorldStateSimulation, ?> simulations = invocation.getArgument(1);
+              return Optional.ofNullable(
+                  simulations.apply(
+                      (callParams, maybeStateOverrides, validationParams, operationTracer) ->
+                          transactionSimulator.processOnPending(
+                              callParams,
+                              maybeStateOverrides,
+                              validationParams,
+                              operationTracer,
+                              header)));
+            });
 
     method = new EthCreateAccessList(blockchainQueries, transactionSimulator);
   }
@@ -15,6 +15,15 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.engine.EngineCallListener.Phase;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -32,9 +41,17 @@ public class EngineQosTimerTest {
   private Vertx vertx;
   private CountDownLatch warningLatch;
   private AtomicInteger warningCount;
+  private final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+
+  @SuppressWarnings("unchecked")
+  private final LabelledMetric<Histogram> phaseLatency = mock(LabelledMetric.class);
+
+  private final Histogram histogram = mock(Histogram.class);
 
   @BeforeEach
   public void setUp() {
+    when(metricsSystem.createLabelledHistogram(any(), any(), any(), any(), any(), any()))
+        .thenReturn(phaseLatency);
     vertx = Vertx.vertx();
     warningLatch = new CountDownLatch(1);
     warningCount = new AtomicInteger(0);
@@ -45,7 +62,8 @@ public class EngineQosTimerTest {
             ignored -> {
               warningCount.incrementAndGet();
               warningLatch.countDown();
-            });
+            },
+            metricsSystem);
   }
 
   @AfterEach
@@ -67,4 +85,14 @@ public class EngineQosTimerTest {
     assertThat(warningLatch.await(TEST_QOS_TIMEOUT * 5, TimeUnit.MILLISECONDS)).isTrue();
     assertThat(warningCount.get()).isGreaterThanOrEqualTo(1);
   }
+
+  @Test
+  public void shouldRecordPhaseLatencyInSeconds() {
+    when(phaseLatency.labels("engine_newPayloadV4", "execution")).thenReturn(histogram);
+
+    engineQosTimer.executionEnginePhaseCompleted(
+        "engine_newPayloadV4", Phase.EXECUTION, TimeUnit.MILLISECONDS.toNanos(250));
+
+    verify(histogram).observe(0.25);
+  }
 }
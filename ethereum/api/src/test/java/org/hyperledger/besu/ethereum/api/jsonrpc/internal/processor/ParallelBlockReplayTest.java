@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.provider.BonsaiWorldStateProvider;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelBlockReplayTest {
+
+  private final BlockHashLookup blockHashLookup = mock(BlockHashLookup.class);
+
+  @Test
+  public void resultsArePassedOnInOrder() {
+    final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    final List<Integer> results = new ArrayList<>();
+
+    ParallelBlockReplay.forEachOrdered(
+        3,
+        index -> {
+          final CompletableFuture<Integer> future = new CompletableFuture<>();
+          futures.add(future);
+          if (index == 2) {
+            // the tasks complete out of order
+            futures.get(2).complete(2);
+            futures.get(1).complete(1);
+            futures.get(0).complete(0);
+          }
+          return future;
+        },
+        3,
+        results::add);
+
+    assertThat(results).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void atMostMaxConcurrencyTasksAreInFlight() {
+    final AtomicInteger started = new AtomicInteger();
+    final List<Integer> startedWhenConsumed = new ArrayList<>();
+
+    ParallelBlockReplay.forEachOrdered(
+        10,
+        index -> {
+          started.incrementAndGet();
+          return CompletableFuture.completedFuture(index);
+        },
+        4,
+        result -> startedWhenConsumed.add(started.get()));
+
+    assertThat(startedWhenConsumed).containsExactly(4, 5, 6, 7, 8, 9, 10, 10, 10, 10);
+  }
+
+  @Test
+  public void pendingTasksAreCancelledOnFailure() {
+    final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    assertThatThrownBy(
+            () ->
+                ParallelBlockReplay.forEachOrdered(
+                    5,
+                    index -> {
+                      final CompletableFuture<Integer> future = new CompletableFuture<>();
+                      if (index == 0) {
+                        future.completeExceptionally(new IllegalStateException("boom"));
+                      }
+                      futures.add(future);
+                      return future;
+                    },
+                    3,
+                    result -> {}))
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+
+    assertThat(futures).hasSize(3);
+    assertThat(futures.subList(1, 3)).allMatch(CompletableFuture::isCancelled);
+  }
+
+  @Test
+  public void blocksWithoutBlockAccessListAreReplayedSequentially() {
+    final Block block = blockWithTransactions(2);
+    final BlockchainQueries blockchainQueries = blockchainQueries(block, false);
+
+    assertThat(ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup)).isEmpty();
+  }
+
+  @Test
+  public void blocksWithASingleTransactionAreReplayedSequentially() {
+    final Block block = blockWithTransactions(1);
+    final BlockchainQueries blockchainQueries = blockchainQueries(block, true);
+
+    assertThat(ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup)).isEmpty();
+  }
+
+  @Test
+  public void blocksWithBlockAccessListAreReplayedConcurrently() {
+    final Block block = blockWithTransactions(2);
+    final BlockchainQueries blockchainQueries = blockchainQueries(block, true);
+
+    assertThat(ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup)).isPresent();
+  }
+
+  @Test
+  public void blockHashLookupsThatCannotBeForkedAreReplayedSequentially() {
+    final Block block = blockWithTransactions(2);
+    final BlockchainQueries blockchainQueries = blockchainQueries(block, true);
+    when(blockHashLookup.forkForParallelWorker()).thenThrow(UnsupportedOperationException.class);
+
+    assertThat(ParallelBlockReplay.create(blockchainQueries, block, blockHashLookup)).isEmpty();
+  }
+
+  private static Block blockWithTransactions(final int count) {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockDataGenerator.BlockOptions options = BlockDataGenerator.BlockOptions.create();
+    for (int i = 0; i < count; i++) {
+      options.addTransaction(gen.transaction());
+    }
+    return gen.block(options);
+  }
+
+  private static BlockchainQueries blockchainQueries(
+      final Block block, final boolean withBlockAccessList) {
+    final Blockchain blockchain = mock(Blockchain.class);
+    when(blockchain.getBlockHeader(any(Hash.class)))
+        .thenReturn(Optional.of(new BlockDataGenerator().header()));
+    if (withBlockAccessList) {
+      when(blockchain.getBlockAccessList(block.getHash()))
+          .thenReturn(Optional.of(new BlockAccessList(List.of())));
+    }
+    final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    when(blockchainQueries.getEthScheduler()).thenReturn(Optional.of(mock(EthScheduler.class)));
+    when(blockchainQueries.getWorldStateArchive())
+        .thenReturn(mock(BonsaiWorldStateProvider.class));
+    return blockchainQueries;
+  }
+}
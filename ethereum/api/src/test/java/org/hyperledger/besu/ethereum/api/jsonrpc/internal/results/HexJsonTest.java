@@ -0,0 +1,175 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class HexJsonTest {
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+
+  @FunctionalInterface
+  private interface Writer {
+    void write(JsonGenerator gen) throws IOException;
+  }
+
+  @Test
+  public void writeQuantityLong() throws IOException {
+    for (final long value : new long[] {0L, 1L, 0xfL, 0x10L, 0x1234L, Long.MAX_VALUE}) {
+      assertWrites(gen -> HexJson.writeQuantity(gen, value), Quantity.create(value));
+    }
+  }
+
+  @Test
+  public void writeQuantityWei() throws IOException {
+    for (final Wei value : List.of(Wei.ZERO, Wei.ONE, Wei.of(0x100L), Wei.MAX_WEI)) {
+      assertWrites(gen -> HexJson.writeQuantity(gen, value), Quantity.create(value));
+    }
+  }
+
+  @Test
+  public void writeQuantityBigInteger() throws IOException {
+    final HexJson.QuantitySerializer serializer = new HexJson.QuantitySerializer();
+    for (final BigInteger value :
+        List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO.pow(255), BigInteger.valueOf(27))) {
+      assertWrites(gen -> serializer.serialize(value, gen, null), Quantity.create(value));
+    }
+  }
+
+  @Test
+  public void writeBytes() throws IOException {
+    final Bytes large = Bytes.random(4096);
+    for (final Bytes value :
+        List.of(Bytes.EMPTY, Bytes.of(0), Bytes.fromHexString("0x00ff"), large)) {
+      assertWrites(gen -> HexJson.writeBytes(gen, value), value.toHexString());
+    }
+  }
+
+  @Test
+  public void writeBytesHolder() throws IOException {
+    final HexJson.BytesHolderSerializer serializer = new HexJson.BytesHolderSerializer();
+    final Address address = Address.fromHexString("0x00000000000000000000000000000000000000ab");
+    final Hash hash = Hash.hash(Bytes.of(1));
+    assertWrites(gen -> serializer.serialize(address, gen, null), address.toString());
+    assertWrites(gen -> serializer.serialize(hash, gen, null), hash.toString());
+  }
+
+  @Test
+  public void logResultJsonMatchesGetters() throws IOException {
+    final LogResult logResult =
+        new LogResult(
+            new LogWithMetadata(
+                3,
+                0x1234L,
+                Hash.hash(Bytes.of(1)),
+                0x5678L,
+                Hash.hash(Bytes.of(2)),
+                0,
+                Address.fromHexString("0x00000000000000000000000000000000000000ab"),
+                Bytes.fromHexString("0x0001"),
+                List.of(LogTopic.of(Bytes32.leftPad(Bytes.of(3)))),
+                false));
+
+    final JsonNode json = mapper.readTree(mapper.writeValueAsBytes(logResult));
+
+    assertThat(json.get("logIndex").asText()).isEqualTo(logResult.getLogIndex());
+    assertThat(json.get("blockNumber").asText()).isEqualTo(logResult.getBlockNumber());
+    assertThat(json.get("blockHash").asText()).isEqualTo(logResult.getBlockHash());
+    assertThat(json.get("blockTimestamp").asText()).isEqualTo(logResult.getBlockTimestamp());
+    assertThat(json.get("transactionHash").asText()).isEqualTo(logResult.getTransactionHash());
+    assertThat(json.get("transactionIndex").asText()).isEqualTo(logResult.getTransactionIndex());
+    assertThat(json.get("address").asText()).isEqualTo(logResult.getAddress());
+    assertThat(json.get("data").asText()).isEqualTo(logResult.getData());
+    assertThat(json.get("topics").get(0).asText()).isEqualTo(logResult.getTopics().getFirst());
+    assertThat(json.get("removed").asBoolean()).isFalse();
+    assertThat(mapper.writeValueAsString(logResult))
+        .isEqualTo(new String(mapper.writeValueAsBytes(logResult), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void transactionResultJsonMatchesGetters() throws IOException {
+    final Transaction transaction = new BlockDataGenerator().transaction(TransactionType.EIP1559);
+    final TransactionWithMetadataResult result =
+        new TransactionWithMetadataResult(
+            new TransactionWithMetadata(
+                transaction, 0x10L, Optional.of(Wei.of(7L)), Hash.ZERO, 1, 0x20L));
+
+    final JsonNode json = mapper.readTree(mapper.writeValueAsBytes(result));
+
+    assertThat(json.get("chainId").asText()).isEqualTo(result.getChainId());
+    assertThat(json.get("from").asText()).isEqualTo(result.getFrom());
+    assertThat(json.get("gas").asText()).isEqualTo(result.getGas());
+    assertThat(json.get("gasPrice").asText()).isEqualTo(result.getGasPrice());
+    assertThat(json.get("maxFeePerGas").asText()).isEqualTo(result.getMaxFeePerGas());
+    assertThat(json.get("maxPriorityFeePerGas").asText())
+        .isEqualTo(result.getMaxPriorityFeePerGas());
+    assertThat(json.get("hash").asText()).isEqualTo(result.getHash());
+    assertThat(json.get("input").asText()).isEqualTo(result.getInput());
+    assertThat(json.get("nonce").asText()).isEqualTo(result.getNonce());
+    assertThat(json.get("type").asText()).isEqualTo(result.getType());
+    assertThat(json.get("value").asText()).isEqualTo(result.getValue());
+    assertThat(json.get("yParity").asText()).isEqualTo(result.getYParity());
+    assertThat(json.get("v").asText()).isEqualTo(result.getV());
+    assertThat(json.get("r").asText()).isEqualTo(result.getR());
+    assertThat(json.get("s").asText()).isEqualTo(result.getS());
+    assertThat(json.get("blockNumber").asText()).isEqualTo(result.getBlockNumber());
+    assertThat(json.has("blobVersionedHashes")).isFalse();
+    assertThat(json.has("maxFeePerBlobGas")).isFalse();
+    assertThat(mapper.writeValueAsString(result))
+        .isEqualTo(new String(mapper.writeValueAsBytes(result), StandardCharsets.UTF_8));
+  }
+
+  private static void assertWrites(final Writer writer, final String expected) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (JsonGenerator gen = FACTORY.createGenerator(bytes)) {
+      writer.write(gen);
+    }
+    assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo('"' + expected + '"');
+
+    final StringWriter chars = new StringWriter();
+    try (JsonGenerator gen = FACTORY.createGenerator(chars)) {
+      writer.write(gen);
+    }
+    assertThat(chars.toString()).isEqualTo('"' + expected + '"');
+  }
+}
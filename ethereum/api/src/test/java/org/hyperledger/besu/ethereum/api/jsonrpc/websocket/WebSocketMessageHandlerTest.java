@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.handlers.VirtualThreadRequestExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
@@ -36,6 +37,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.HashMap;
 import java.util.List;
@@ -159,6 +161,50 @@ public class WebSocketMessageHandlerTest {
     verify(jsonRpcMethodMock, Mockito.times(2)).response(eq(expectedRequest));
   }
 
+  @Test
+  public void batchRequestsTakeThePermitsOfTheirMethod() throws InterruptedException {
+    final WebSocketMessageHandler limitedHandler =
+        new WebSocketMessageHandler(
+            vertx,
+            new JsonRpcExecutor(new BaseJsonRpcProcessor(), methods),
+            mock(EthScheduler.class),
+            TimeoutOptions.defaultOptions().getTimeoutSeconds(),
+            Optional.of(new VirtualThreadRequestExecutor(1, new NoOpMetricsSystem())));
+    final CountDownLatch singleRequestStarted = new CountDownLatch(1);
+    final CountDownLatch releaseSingleRequest = new CountDownLatch(1);
+    final CountDownLatch batchRequestStarted = new CountDownLatch(1);
+    when(jsonRpcMethodMock.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              if (request.getRequest().getId().equals(1)) {
+                singleRequestStarted.countDown();
+                releaseSingleRequest.await();
+              } else {
+                batchRequestStarted.countDown();
+              }
+              return new JsonRpcSuccessResponse(request.getRequest().getId(), null);
+            });
+    when(websocketMock.writeFrame(any())).thenReturn(Future.succeededFuture());
+
+    // the single request holds the only permit of its method
+    limitedHandler.handle(
+        websocketMock,
+        new JsonObject().put("id", 1).put("method", "eth_x").toBuffer(),
+        Optional.empty());
+    assertThat(singleRequestStarted.await(VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+        .isTrue();
+    limitedHandler.handle(
+        websocketMock,
+        new JsonArray(List.of(new JsonObject().put("id", 2).put("method", "eth_x"))).toBuffer(),
+        Optional.empty());
+
+    assertThat(batchRequestStarted.await(300, TimeUnit.MILLISECONDS)).isFalse();
+    releaseSingleRequest.countDown();
+    assertThat(batchRequestStarted.await(VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+        .isTrue();
+  }
+
   @Test
   public void handlerBatchRequestContainingErrorsShouldRespondWithBatchErrors()
       throws InterruptedException {
@@ -18,6 +18,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.blockheaders.NewBlockHeadersSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
@@ -29,6 +32,7 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -237,6 +241,29 @@ public class SubscriptionManagerTest {
     assertThat(manager.subscribe(subscribeRequest(CONNECTION_ID))).isNotNull();
   }
 
+  @Test
+  public void logsSubscriptionIsCandidateUntilUnsubscribed() {
+    final Address address = Address.fromHexString("0x01");
+    final FilterParameter filterParameter =
+        new FilterParameter(null, null, null, null, List.of(address), null, null, null, null);
+    final Long subscriptionId =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(SubscriptionType.LOGS, filterParameter, null, CONNECTION_ID));
+
+    final Log log = new Log(address, Bytes.EMPTY, List.of());
+    assertThat(subscriptionManager.logsSubscriptionCandidates(log))
+        .extracting(Subscription::getSubscriptionId)
+        .containsExactly(subscriptionId);
+    assertThat(
+            subscriptionManager.logsSubscriptionCandidates(
+                new Log(Address.ZERO, Bytes.EMPTY, List.of())))
+        .isEmpty();
+
+    subscriptionManager.unsubscribe(new UnsubscribeRequest(subscriptionId, CONNECTION_ID));
+
+    assertThat(subscriptionManager.logsSubscriptionCandidates(log)).isEmpty();
+  }
+
   private SubscriptionManager managerWithMaxActiveSubscriptions(final int maxActiveSubscriptions) {
     final WebSocketConfiguration configuration = WebSocketConfiguration.createDefault();
     configuration.setMaxActiveSubscriptions(maxActiveSubscriptions);
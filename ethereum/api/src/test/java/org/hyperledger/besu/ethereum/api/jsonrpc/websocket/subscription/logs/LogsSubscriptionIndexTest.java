@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogsSubscriptionIndexTest {
+
+  private static final Address ADDRESS_1 = Address.fromHexString("0x01");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x02");
+  private static final LogTopic TOPIC_1 = LogTopic.fromHexString("0x" + "11".repeat(32));
+  private static final LogTopic TOPIC_2 = LogTopic.fromHexString("0x" + "22".repeat(32));
+
+  private final LogsSubscriptionIndex index = new LogsSubscriptionIndex();
+  private final AtomicLong nextSubscriptionId = new AtomicLong();
+
+  @Test
+  public void subscriptionWithAddressesIsCandidateForLogsOfTheseAddresses() {
+    final LogsSubscription subscription =
+        createSubscription(List.of(ADDRESS_1, ADDRESS_2), List.of());
+    index.add(subscription);
+
+    assertThat(index.candidates(log(ADDRESS_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_2, TOPIC_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(Address.ZERO, TOPIC_1))).isEmpty();
+  }
+
+  @Test
+  public void subscriptionWithTopicsIsCandidateForLogsWithTheseTopicsAtTheSamePosition() {
+    final LogsSubscription subscription =
+        createSubscription(List.of(), Arrays.asList(null, List.of(TOPIC_1, TOPIC_2)));
+    index.add(subscription);
+
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_2, TOPIC_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1, TOPIC_2))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1))).isEmpty();
+    assertThat(index.candidates(log(ADDRESS_1))).isEmpty();
+  }
+
+  @Test
+  public void subscriptionWithoutConstraintIsCandidateForAllLogs() {
+    final LogsSubscription subscription =
+        createSubscription(List.of(), List.of(Arrays.asList(TOPIC_1, null)));
+    index.add(subscription);
+
+    assertThat(index.candidates(log(ADDRESS_1))).containsExactly(subscription);
+    assertThat(index.candidates(log(ADDRESS_2, TOPIC_2))).containsExactly(subscription);
+  }
+
+  @Test
+  public void candidatesAreReturnedOnce() {
+    final LogsSubscription byAddress = createSubscription(List.of(ADDRESS_1), List.of());
+    final LogsSubscription byTopic =
+        createSubscription(List.of(), List.of(List.of(TOPIC_1), List.of(TOPIC_1)));
+    final LogsSubscription unconstrained = createSubscription(List.of(), List.of());
+    index.add(byAddress);
+    index.add(byTopic);
+    index.add(unconstrained);
+
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1, TOPIC_1)))
+        .containsExactlyInAnyOrder(byAddress, byTopic, unconstrained);
+  }
+
+  @Test
+  public void removedSubscriptionIsNotCandidate() {
+    final LogsSubscription byAddress = createSubscription(List.of(ADDRESS_1), List.of());
+    final LogsSubscription byTopic = createSubscription(List.of(), List.of(List.of(TOPIC_1)));
+    final LogsSubscription unconstrained = createSubscription(List.of(), List.of());
+    index.add(byAddress);
+    index.add(byTopic);
+    index.add(unconstrained);
+
+    index.remove(byAddress);
+    index.remove(byTopic);
+    index.remove(unconstrained);
+
+    assertThat(index.candidates(log(ADDRESS_1, TOPIC_1))).isEmpty();
+  }
+
+  private LogsSubscription createSubscription(
+      final List<Address> addresses, final List<List<LogTopic>> logTopics) {
+    return new LogsSubscription(
+        nextSubscriptionId.incrementAndGet(),
+        "conn",
+        new FilterParameter(
+            BlockParameter.LATEST,
+            BlockParameter.LATEST,
+            null,
+            null,
+            addresses,
+            logTopics,
+            null,
+            null,
+            null));
+  }
+
+  private static Log log(final Address logger, final LogTopic... topics) {
+    return new Log(logger, Bytes.EMPTY, List.of(topics));
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
@@ -27,6 +28,7 @@ import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.datatypes.LogTopic;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.Quantity;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
@@ -73,6 +75,17 @@ public class LogsSubscriptionServiceTest {
   public void before() {
     logsSubscriptionService = new LogsSubscriptionService(subscriptionManager);
     blockchain.observeLogs(logsSubscriptionService);
+    // the message shared by several subscriptions is sent to each of them
+    lenient()
+        .doAnswer(
+            invocation -> {
+              final List<Long> subscriptionIds = invocation.getArgument(0);
+              final JsonRpcResult msg = invocation.getArgument(1);
+              subscriptionIds.forEach(id -> subscriptionManager.sendMessage(id, msg));
+              return null;
+            })
+        .when(subscriptionManager)
+        .sendMessage(anyList(), any());
   }
 
   @Test
@@ -386,7 +399,7 @@ public class LogsSubscriptionServiceTest {
 
   private void registerSubscriptions(final List<LogsSubscription> subscriptions) {
     lenient()
-        .when(subscriptionManager.subscriptionsOfType(any(), any()))
+        .when(subscriptionManager.logsSubscriptionCandidates(any()))
         .thenReturn(Lists.newArrayList(subscriptions));
   }
 }
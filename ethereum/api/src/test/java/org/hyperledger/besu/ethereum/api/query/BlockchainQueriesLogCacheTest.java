@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.ethereum.api.query;
 
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -216,4 +218,36 @@ public class BlockchainQueriesLogCacheTest {
 
     verifyNoMoreInteractions(blockchain);
   }
+
+  @Test
+  public void cacheFileTruncatedDuringTheScanIsNotReadPastItsEnd() throws IOException {
+    final long segment = 4;
+    final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+    final int cachedBlocks = 3_000;
+    final Path cacheFile = cacheDir.resolve("logBloom-" + segment + ".cache");
+    try (final RandomAccessFile file = new RandomAccessFile(cacheFile.toFile(), "rw")) {
+      for (int i = 0; i < cachedBlocks; i++) {
+        file.write(testLogsBloomFilter.getBytes().toArray());
+      }
+      file.setLength((long) BLOCKS_PER_BLOOM_CACHE * LogsBloomFilter.BYTE_SIZE);
+    }
+    // a reorg truncates the cache file in place while the query is scanning it
+    when(blockchain.getBlockHashByNumber(segmentStart))
+        .thenAnswer(
+            invocation -> {
+              try (final RandomAccessFile file = new RandomAccessFile(cacheFile.toFile(), "rw")) {
+                file.setLength(10L * LogsBloomFilter.BYTE_SIZE);
+              }
+              return Optional.of(testHash);
+            });
+
+    assertThatCode(
+            () ->
+                blockchainQueries.matchingLogs(
+                    segmentStart, segmentStart + cachedBlocks - 1, logsQuery, () -> true))
+        .doesNotThrowAnyException();
+
+    // the blocks past the new end of the file are read without the cache
+    verify(blockchain, atLeastOnce()).getBlockHeader(segmentStart + cachedBlocks - 1);
+  }
 }
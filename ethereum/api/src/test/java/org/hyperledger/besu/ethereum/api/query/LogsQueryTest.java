@@ -20,7 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.List;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -106,4 +109,42 @@ public class LogsQueryTest {
                     List.of(ERC20_TRANSFER_EVENT, SECOND_ADDRESS_TOPIC, FIRST_ADDRESS_TOPIC))))
         .isTrue();
   }
+
+  @Test
+  public void bufferBloomMatchingIsConsistentWithBloomFilterMatching() {
+    final LogsQuery query =
+        new LogsQuery(
+            singletonList(FIRST_ADDRESS),
+            List.of(
+                singletonList(ERC20_TRANSFER_EVENT),
+                List.of(FIRST_ADDRESS_TOPIC, SECOND_ADDRESS_TOPIC)));
+
+    final List<LogsBloomFilter> blooms =
+        List.of(
+            LogsBloomFilter.empty(),
+            bloomOf(new Log(FIRST_ADDRESS, Bytes.EMPTY, List.of(ERC20_TRANSFER_EVENT))),
+            bloomOf(
+                new Log(
+                    FIRST_ADDRESS,
+                    Bytes.EMPTY,
+                    List.of(ERC20_TRANSFER_EVENT, SECOND_ADDRESS_TOPIC))),
+            bloomOf(
+                new Log(
+                    Address.ZERO,
+                    Bytes.EMPTY,
+                    List.of(ERC20_TRANSFER_EVENT, FIRST_ADDRESS_TOPIC))));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(blooms.size() * LogsBloomFilter.BYTE_SIZE);
+    blooms.forEach(bloom -> buffer.put(bloom.getBytes().toArrayUnsafe()));
+    final LongBuffer longBuffer = buffer.flip().asLongBuffer();
+
+    for (int i = 0; i < blooms.size(); i++) {
+      assertThat(query.couldMatch(longBuffer, i)).isEqualTo(query.couldMatch(blooms.get(i)));
+    }
+    assertThat(query.couldMatch(longBuffer, 2)).isTrue();
+  }
+
+  private static LogsBloomFilter bloomOf(final Log log) {
+    return LogsBloomFilter.builder().insertLog(log).build();
+  }
 }
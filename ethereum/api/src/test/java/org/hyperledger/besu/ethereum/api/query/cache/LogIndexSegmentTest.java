@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogIndexSegmentTest {
+  private static final Address ADDRESS_1 = Address.fromHexString("0x1111");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x2222");
+  private static final LogTopic TOPIC_A = LogTopic.create(Bytes32.fromHexStringLenient("0xaa"));
+  private static final LogTopic TOPIC_B = LogTopic.create(Bytes32.fromHexStringLenient("0xbb"));
+
+  @TempDir private Path cacheDir;
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private LogIndexSegment logIndex;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    final BlockHeader emptyHeader = new BlockHeaderTestFixture().buildHeader();
+    when(blockchain.getBlockHeader(anyLong())).thenReturn(Optional.of(emptyHeader));
+
+    // block 5: ADDRESS_1 with TOPIC_A, TOPIC_B
+    mockBlockWithLogs(5, new Log(ADDRESS_1, Bytes.EMPTY, List.of(TOPIC_A, TOPIC_B)));
+    // block 42: ADDRESS_2 with TOPIC_A
+    mockBlockWithLogs(42, new Log(ADDRESS_2, Bytes.EMPTY, List.of(TOPIC_A)));
+    // block 99_999: ADDRESS_1 with TOPIC_B
+    mockBlockWithLogs(99_999, new Log(ADDRESS_1, Bytes.EMPTY, List.of(TOPIC_B)));
+
+    final Path indexFile = TransactionLogBloomCacher.calculateLogIndexFileName(0, cacheDir);
+    assertThat(LogIndexSegment.write(blockchain, 0, indexFile.toFile())).isTrue();
+    logIndex = LogIndexSegment.load(indexFile).orElseThrow();
+  }
+
+  private void mockBlockWithLogs(final long number, final Log log) {
+    final BlockHeader header =
+        new BlockHeaderTestFixture()
+            .number(number)
+            .logsBloom(LogsBloomFilter.builder().insertLog(log).build())
+            .buildHeader();
+    when(blockchain.getBlockHeader(number)).thenReturn(Optional.of(header));
+    final TransactionReceipt receipt =
+        new TransactionReceipt(Hash.EMPTY, 0, List.of(log), Optional.empty());
+    when(blockchain.getTxReceipts(header.getHash())).thenReturn(Optional.of(List.of(receipt)));
+  }
+
+  @Test
+  public void postingListsContainTheBlocksWithTheValue() {
+    assertThat(logIndex.blocksWithAddress(ADDRESS_1)).isEqualTo(bits(5, 99_999));
+    assertThat(logIndex.blocksWithAddress(ADDRESS_2)).isEqualTo(bits(42));
+    assertThat(logIndex.blocksWithTopic(0, TOPIC_A)).isEqualTo(bits(5, 42));
+    assertThat(logIndex.blocksWithTopic(1, TOPIC_B)).isEqualTo(bits(5));
+    assertThat(logIndex.blocksWithTopic(0, TOPIC_B)).isEqualTo(bits(99_999));
+    assertThat(logIndex.blocksWithAddress(Address.ZERO)).isEmpty();
+  }
+
+  @Test
+  public void queryIntersectsAddressAndTopics() {
+    final LogsQuery query = new LogsQuery(List.of(ADDRESS_1, ADDRESS_2), List.of(List.of(TOPIC_A)));
+    assertThat(query.candidateBlocks(logIndex)).contains(bits(5, 42));
+
+    final LogsQuery secondTopicQuery =
+        new LogsQuery(List.of(ADDRESS_1), List.of(List.of(), List.of(TOPIC_B)));
+    assertThat(secondTopicQuery.candidateBlocks(logIndex)).contains(bits(5));
+  }
+
+  @Test
+  public void queryWithoutConstraintsUsesAllBlocks() {
+    final LogsQuery query = new LogsQuery(List.of(), List.of());
+    assertThat(query.candidateBlocks(logIndex)).isEmpty();
+  }
+
+  @Test
+  public void incompleteSegmentIsNotIndexed() throws IOException {
+    when(blockchain.getBlockHeader(50_000L)).thenReturn(Optional.empty());
+    final Path indexFile = TransactionLogBloomCacher.calculateLogIndexFileName(1, cacheDir);
+    assertThat(LogIndexSegment.write(blockchain, 0, indexFile.toFile())).isFalse();
+    assertThat(indexFile).doesNotExist();
+  }
+
+  private static BitSet bits(final int... offsets) {
+    final BitSet bitSet = new BitSet();
+    for (final int offset : offsets) {
+      bitSet.set(offset);
+    }
+    return bitSet;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TraceIndexTest {
+  private static final Address ADDRESS_1 = Address.fromHexString("0x1111");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x2222");
+  private static final Address ADDRESS_3 = Address.fromHexString("0x3333");
+  private static final Hash TX_1 = Hash.hash(Bytes.of(1));
+  private static final Hash TX_2 = Hash.hash(Bytes.of(2));
+
+  private final ObjectMapper mapper = JsonRpcObjectMapperFactory.getResponseMapper();
+  private final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+  private TraceIndex traceIndex;
+
+  @BeforeEach
+  public void setup() {
+    traceIndex = new TraceIndex(storage);
+    // block 10: ADDRESS_1 calls ADDRESS_2, then the reward of ADDRESS_3
+    traceIndex.index(10, traces(trace(TX_1, ADDRESS_1, ADDRESS_2), reward(ADDRESS_3)));
+    // block 11: ADDRESS_2 calls ADDRESS_3 twice, in two transactions
+    traceIndex.index(
+        11, traces(trace(TX_1, ADDRESS_2, ADDRESS_3), trace(TX_2, ADDRESS_2, ADDRESS_3)));
+    // block 9: ADDRESS_1 calls ADDRESS_3
+    traceIndex.index(9, traces(trace(TX_2, ADDRESS_1, ADDRESS_3)));
+  }
+
+  @Test
+  public void indexedRangeIsTracked() {
+    assertThat(traceIndex.getLowestBlock()).contains(9L);
+    assertThat(traceIndex.getHighestBlock()).contains(11L);
+    assertThat(traceIndex.isIndexed(8)).isFalse();
+    assertThat(traceIndex.isIndexed(10)).isTrue();
+    assertThat(traceIndex.isIndexed(12)).isFalse();
+  }
+
+  @Test
+  public void indexedRangeIsReloaded() {
+    final TraceIndex reloaded = new TraceIndex(storage);
+
+    assertThat(reloaded.getLowestBlock()).contains(9L);
+    assertThat(reloaded.getHighestBlock()).contains(11L);
+    assertThat(reloaded.getBlockTraces(10)).isEqualTo(traceIndex.getBlockTraces(10));
+  }
+
+  @Test
+  public void emptyIndexHasNoRange() {
+    final TraceIndex empty = new TraceIndex(new InMemoryKeyValueStorage());
+
+    assertThat(empty.getLowestBlock()).isEmpty();
+    assertThat(empty.getHighestBlock()).isEmpty();
+    assertThat(empty.getBlockTraces(10)).isEmpty();
+  }
+
+  @Test
+  public void clearedIndexCanIndexANewRange() {
+    traceIndex.clear();
+
+    assertThat(traceIndex.getLowestBlock()).isEmpty();
+    assertThat(traceIndex.getHighestBlock()).isEmpty();
+    assertThat(traceIndex.getBlockTraces(10)).isEmpty();
+    assertThat(new TraceIndex(storage).getLowestBlock()).isEmpty();
+
+    traceIndex.index(20, traces(reward(ADDRESS_1)));
+    assertThat(traceIndex.getLowestBlock()).contains(20L);
+    assertThat(traceIndex.getHighestBlock()).contains(20L);
+  }
+
+  @Test
+  public void blockTracesAreReturnedAsIndexed() {
+    assertThat(traceIndex.getBlockTraces(10))
+        .contains(traces(trace(TX_1, ADDRESS_1, ADDRESS_2), reward(ADDRESS_3)));
+    assertThat(traceIndex.getBlockTraces(12)).isEmpty();
+  }
+
+  @Test
+  public void transactionTracesAreFilteredByHash() {
+    assertThat(traceIndex.getTransactionTraces(11, TX_2))
+        .contains(traces(trace(TX_2, ADDRESS_2, ADDRESS_3)));
+    assertThat(traceIndex.getTransactionTraces(10, TX_2)).contains(traces());
+    assertThat(traceIndex.getTransactionTraces(12, TX_2)).isEmpty();
+  }
+
+  @Test
+  public void allTracesAreStreamedInBlockOrder() {
+    assertThat(streamTraces(9, 11, List.of(), List.of()))
+        .containsExactly(
+            trace(TX_2, ADDRESS_1, ADDRESS_3),
+            trace(TX_1, ADDRESS_1, ADDRESS_2),
+            reward(ADDRESS_3),
+            trace(TX_1, ADDRESS_2, ADDRESS_3),
+            trace(TX_2, ADDRESS_2, ADDRESS_3));
+  }
+
+  @Test
+  public void tracesAreFilteredByFromAddress() {
+    assertThat(streamTraces(9, 11, List.of(ADDRESS_1), List.of()))
+        .containsExactly(trace(TX_2, ADDRESS_1, ADDRESS_3), trace(TX_1, ADDRESS_1, ADDRESS_2));
+    assertThat(streamTraces(10, 11, List.of(ADDRESS_1), List.of()))
+        .containsExactly(trace(TX_1, ADDRESS_1, ADDRESS_2));
+  }
+
+  @Test
+  public void tracesAreFilteredByToAddress() {
+    assertThat(streamTraces(10, 11, List.of(), List.of(ADDRESS_3)))
+        .containsExactly(
+            reward(ADDRESS_3),
+            trace(TX_1, ADDRESS_2, ADDRESS_3),
+            trace(TX_2, ADDRESS_2, ADDRESS_3));
+  }
+
+  @Test
+  public void rewardsAreOnlyMatchedByToAddress() {
+    assertThat(streamTraces(10, 10, List.of(), List.of(ADDRESS_3)))
+        .containsExactly(reward(ADDRESS_3));
+    assertThat(streamTraces(10, 10, List.of(ADDRESS_3), List.of())).isEmpty();
+  }
+
+  @Test
+  public void tracesAreFilteredByFromAndToAddresses() {
+    assertThat(streamTraces(9, 11, List.of(ADDRESS_1), List.of(ADDRESS_3)))
+        .containsExactly(trace(TX_2, ADDRESS_1, ADDRESS_3));
+    assertThat(streamTraces(9, 11, List.of(ADDRESS_3), List.of(ADDRESS_1))).isEmpty();
+  }
+
+  @Test
+  public void streamingANotIndexedRangeFails() {
+    assertThatThrownBy(() -> traceIndex.streamTraces(9, 12, List.of(), List.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void indexingANotAdjacentBlockFails() {
+    assertThatThrownBy(() -> traceIndex.index(13, traces()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(traceIndex.getHighestBlock()).contains(11L);
+  }
+
+  private List<JsonNode> streamTraces(
+      final long fromBlock,
+      final long toBlock,
+      final List<Address> fromAddresses,
+      final List<Address> toAddresses) {
+    try (final Stream<JsonNode> traces =
+        traceIndex.streamTraces(fromBlock, toBlock, fromAddresses, toAddresses)) {
+      return traces.toList();
+    }
+  }
+
+  private ArrayNode traces(final JsonNode... traces) {
+    final ArrayNode array = mapper.createArrayNode();
+    for (final JsonNode trace : traces) {
+      array.add(trace);
+    }
+    return array;
+  }
+
+  private JsonNode trace(final Hash transactionHash, final Address from, final Address to) {
+    final ObjectNode trace = mapper.createObjectNode();
+    trace.putObject("action").put("from", from.toHexString()).put("to", to.toHexString());
+    trace.put("transactionHash", transactionHash.toHexString());
+    trace.put("type", "call");
+    return trace;
+  }
+
+  private JsonNode reward(final Address author) {
+    final ObjectNode trace = mapper.createObjectNode();
+    trace.putObject("action").put("author", author.toHexString());
+    trace.put("type", "reward");
+    return trace;
+  }
+}
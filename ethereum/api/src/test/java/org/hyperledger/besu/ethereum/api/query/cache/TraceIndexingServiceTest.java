@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcObjectMapperFactory;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TraceIndexingServiceTest {
+  private static final long FINALIZED_BLOCK = 20;
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final TraceIndex traceIndex = new TraceIndex(new InMemoryKeyValueStorage());
+  private final ArrayNode traces = JsonRpcObjectMapperFactory.getResponseMapper().createArrayNode();
+  private long oldestTraceableBlock;
+  private TraceIndexingService service;
+
+  @BeforeEach
+  public void setup() {
+    final BlockHeader finalizedHeader = mock(BlockHeader.class);
+    when(finalizedHeader.getNumber()).thenReturn(FINALIZED_BLOCK);
+    when(blockchain.getFinalized()).thenReturn(Optional.of(Hash.ZERO));
+    when(blockchain.getBlockHeader(Hash.ZERO)).thenReturn(Optional.of(finalizedHeader));
+    when(blockchain.getBlockByNumber(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              final BlockHeader header = mock(BlockHeader.class);
+              when(header.getNumber()).thenReturn(invocation.<Long>getArgument(0));
+              final Block block = mock(Block.class);
+              when(block.getHeader()).thenReturn(header);
+              return Optional.of(block);
+            });
+
+    // only the world state of the most recent blocks is available
+    final Function<Block, Optional<ArrayNode>> blockTracer =
+        block ->
+            block.getHeader().getNumber() >= oldestTraceableBlock
+                ? Optional.of(traces)
+                : Optional.empty();
+    service =
+        new TraceIndexingService(
+            blockchain,
+            traceIndex,
+            blockTracer,
+            mock(ExecutorService.class),
+            new NoOpMetricsSystem());
+  }
+
+  @Test
+  public void indexFollowsFinalizedBlockThenBackfills() {
+    oldestTraceableBlock = 15;
+
+    service.run();
+
+    assertThat(traceIndex.getLowestBlock()).contains(15L);
+    assertThat(traceIndex.getHighestBlock()).contains(FINALIZED_BLOCK);
+  }
+
+  @Test
+  public void indexRestartsFromFinalizedBlockWhenItsNextBlockCannotBeTracedAnymore() {
+    traceIndex.index(9, traces);
+    traceIndex.index(10, traces);
+    oldestTraceableBlock = 15;
+
+    service.run();
+
+    assertThat(traceIndex.getLowestBlock()).contains(15L);
+    assertThat(traceIndex.getHighestBlock()).contains(FINALIZED_BLOCK);
+    assertThat(traceIndex.isIndexed(10)).isFalse();
+  }
+
+  @Test
+  public void indexIsKeptWhenTheFinalizedBlockCannotBeTracedEither() {
+    traceIndex.index(10, traces);
+    oldestTraceableBlock = FINALIZED_BLOCK + 1;
+
+    service.run();
+
+    assertThat(traceIndex.getLowestBlock()).contains(10L);
+    assertThat(traceIndex.getHighestBlock()).contains(10L);
+  }
+}
@@ -19,6 +19,7 @@ import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomC
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
@@ -40,7 +41,6 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -114,18 +114,19 @@ public class TransactionLogBloomCacherTest {
             new MainnetBlockHeaderFunctions());
     testHash = fakeHeader.getHash();
     when(blockchain.getBlockHeader(anyLong())).thenReturn(Optional.of(fakeHeader));
-    when(scheduler.scheduleFutureTask(any(Supplier.class), any(Duration.class)))
+    when(scheduler.scheduleFutureTask(any(Runnable.class), any(Duration.class)))
         .thenAnswer(
             invocation -> {
-              invocation.getArgument(0, Supplier.class).get();
+              invocation.getArgument(0, Runnable.class).run();
               return null;
             });
-    when(scheduler.scheduleComputationTask(any(Supplier.class)))
-        .thenAnswer(
+    doAnswer(
             invocation -> {
-              invocation.getArgument(0, Supplier.class).get();
+              invocation.getArgument(0, Runnable.class).run();
               return null;
-            });
+            })
+        .when(scheduler)
+        .executeBackgroundTask(any(Runnable.class));
     transactionLogBloomCacher = new TransactionLogBloomCacher(blockchain, cacheDir, scheduler);
   }
 
@@ -239,6 +240,22 @@ public class TransactionLogBloomCacherTest {
     assertThat(cacheDir.toFile().list().length).isEqualTo(1);
   }
 
+  @Test
+  public void shouldDeleteLogIndexWhenChainReorgFired() throws IOException {
+    final TransactionLogBloomCacher indexingCacher =
+        new TransactionLogBloomCacher(blockchain, cacheDir, scheduler, true);
+    final Path changedIndex =
+        Files.createFile(TransactionLogBloomCacher.calculateLogIndexFileName(0, cacheDir));
+    final Path unchangedIndex =
+        Files.createFile(TransactionLogBloomCacher.calculateLogIndexFileName(1, cacheDir));
+
+    indexingCacher.cacheLogsBloomForBlockHeader(
+        createBlock(5), Optional.of(createBlock(1)), Optional.empty());
+
+    assertThat(changedIndex).doesNotExist();
+    assertThat(unchangedIndex).exists();
+  }
+
   private void createLogBloomCache(final File logBloom) throws IOException {
     try (final RandomAccessFile randomAccessFile = new RandomAccessFile(logBloom, "rws")) {
       writeThreeEntries(testLogsBloomFilter, randomAccessFile);
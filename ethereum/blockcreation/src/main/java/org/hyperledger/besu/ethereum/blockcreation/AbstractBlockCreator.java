@@ -25,6 +25,8 @@ import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.ParallelTransactionSelection;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionExecutionCache;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
@@ -93,6 +95,9 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   private final EthScheduler ethScheduler;
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
   private volatile BlockTransactionSelector selector;
+  // shared by the blocks built by this creator, since they could reuse the same executions
+  private final Optional<TransactionExecutionCache> maybeExecutionCache;
+  private final Optional<ParallelTransactionSelection> maybeParallelTransactionSelection;
 
   protected AbstractBlockCreator(
       final MiningConfiguration miningConfiguration,
@@ -102,6 +107,26 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final ProtocolContext protocolContext,
       final ProtocolSchedule protocolSchedule,
       final EthScheduler ethScheduler) {
+    this(
+        miningConfiguration,
+        miningBeneficiaryCalculator,
+        extraDataCalculator,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        ethScheduler,
+        Optional.empty());
+  }
+
+  protected AbstractBlockCreator(
+      final MiningConfiguration miningConfiguration,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final ExtraDataCalculator extraDataCalculator,
+      final TransactionPool transactionPool,
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final EthScheduler ethScheduler,
+      final Optional<ParallelTransactionSelection> maybeParallelTransactionSelection) {
     this.miningConfiguration = miningConfiguration;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
     this.extraDataCalculator = extraDataCalculator;
@@ -110,6 +135,13 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     this.protocolSchedule = protocolSchedule;
     this.ethScheduler = ethScheduler;
     blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+    final int executionCacheSize =
+        miningConfiguration.getUnstable().getBlockCreationExecutionCacheSize();
+    maybeExecutionCache =
+        executionCacheSize > 0
+            ? Optional.of(new TransactionExecutionCache(executionCacheSize))
+            : Optional.empty();
+    this.maybeParallelTransactionSelection = maybeParallelTransactionSelection;
   }
 
   /**
@@ -436,7 +468,17 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             pluginTransactionSelector,
             ethScheduler,
             selectorsStateManager,
-            blockAccessListBuilder);
+            blockAccessListBuilder,
+            maybeExecutionCache,
+            // only the transactions from the pool are executed speculatively
+            transactions.isPresent()
+                ? Optional.empty()
+                : maybeParallelTransactionSelection.map(
+                    parallelTransactionSelection ->
+                        parallelTransactionSelection.createExecutor(
+                            protocolContext.getWorldStateArchive(),
+                            parentHeader,
+                            transactionProcessor)));
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
@@ -26,6 +26,7 @@ import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECT
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_EVALUATION_TOO_LONG;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.AbstractTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobPriceTransactionSelector;
@@ -59,6 +60,7 @@ import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 import org.hyperledger.besu.plugin.services.TransactionSelectionService;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.BlockTransactionSelectionService;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 import org.hyperledger.besu.plugin.services.txselection.SelectorsStateManager;
@@ -126,6 +128,8 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private final long blockTxsSelectionMaxTimeNanos;
   private final long pluginTxsSelectionMaxTimeNanos;
   private final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder;
+  private final Optional<TransactionExecutionCache> maybeExecutionCache;
+  private final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor;
 
   private WorldUpdater blockWorldStateUpdater;
   private WorldUpdater txWorldStateUpdater;
@@ -135,6 +139,9 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   private volatile TransactionSelectionResult validTxSelectionTimeoutResult;
   private volatile TransactionSelectionResult invalidTxSelectionTimeoutResult;
   private volatile FutureTask<Void> currTxSelectionTask;
+  // key of the state resulting from the selected transactions, see TransactionExecutionCache
+  private Hash selectedStateKey;
+  private Hash currTxExecutionKey;
 
   public BlockTransactionSelector(
       final MiningConfiguration miningConfiguration,
@@ -150,7 +157,9 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       final PluginTransactionSelector pluginTransactionSelector,
       final EthScheduler ethScheduler,
       final SelectorsStateManager selectorsStateManager,
-      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder) {
+      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBlockAccessListBuilder,
+      final Optional<TransactionExecutionCache> maybeExecutionCache,
+      final Optional<SpeculativeTransactionExecutor> maybeSpeculativeExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -180,6 +189,17 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     this.pluginTxsSelectionMaxTimeNanos =
         miningConfiguration.getPluginTxsSelectionMaxTime(blockTxsSelectionMaxTime).toNanos();
     this.maybeBlockAccessListBuilder = maybeBlockAccessListBuilder;
+    // cached and speculative executions can only be reused when there is nothing else to collect
+    // while executing a transaction, like the block access list or the traces of a plugin
+    final boolean canReuseExecutions =
+        maybeBlockAccessListBuilder.isEmpty()
+            && pluginTransactionSelector.getOperationTracer()
+                == BlockAwareOperationTracer.NO_TRACING;
+    this.maybeExecutionCache = maybeExecutionCache.filter(unused -> canReuseExecutions);
+    this.maybeSpeculativeExecutor = maybeSpeculativeExecutor.filter(unused -> canReuseExecutions);
+    this.selectedStateKey =
+        TransactionExecutionCache.initialStateKey(
+            processableBlockHeader, miningBeneficiary, blobGasPrice);
   }
 
   private List<AbstractTransactionSelector> createTransactionSelectors(
@@ -263,6 +283,15 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
         new ConcurrentHashMap<PendingTransaction, TransactionSelectionResult>(
             candidateTransactions.size());
 
+    maybeSpeculativeExecutor.ifPresent(
+        speculativeExecutor ->
+            speculativeExecutor.start(
+                candidateTransactions,
+                blockSelectionContext.pendingBlockHeader(),
+                blockSelectionContext.miningBeneficiary(),
+                blockSelectionContext.blobGasPrice(),
+                createBlockHashLookup()));
+
     currTxSelectionTask =
         new FutureTask<>(
             () -> {
@@ -328,6 +357,12 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
       waitForCancellationToBeProcessed("Internal", internalSelectionDone, maxWaitTime);
     }
 
+    maybeSpeculativeExecutor.ifPresent(
+        speculativeExecutor ->
+            speculativeExecutor.stop(
+                transactionSelectionResults.getCumulativeRegularGasUsed(),
+                System.nanoTime() - startTimeNanos));
+
     return selectionResults;
   }
 
@@ -601,9 +636,13 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
         txWorldStateUpdater.commit();
         blockWorldStateUpdater.commit();
         blockWorldStateUpdater.markTransactionBoundary();
+        if (currTxExecutionKey != null) {
+          selectedStateKey = currTxExecutionKey;
+        }
       }
     }
 
+    currTxExecutionKey = null;
     selectionPendingActions.clear();
     blockWorldStateUpdater = worldState.updater();
     txWorldStateUpdater = blockWorldStateUpdater.updater();
@@ -619,6 +658,7 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     selectionPendingActions.clear();
     selectorsStateManager.rollback();
     txWorldStateUpdater = blockWorldStateUpdater.updater();
+    currTxExecutionKey = null;
   }
 
   private TransactionEvaluationContext createTransactionEvaluationContext(
@@ -688,16 +728,51 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
   }
 
   /**
-   * Processes a transaction
+   * Processes a transaction, reusing the result of a previous execution on top of the same state,
+   * if present in the execution cache, or of its speculative execution, if it does not collide
+   * with the transactions already selected.
    *
    * @param transaction The transaction to be processed.
    * @return The result of the transaction processing.
    */
   private TransactionProcessingResult processTransaction(final Transaction transaction) {
-    final BlockHashLookup blockHashLookup =
-        blockSelectionContext
-            .preExecutionProcessor()
-            .createBlockHashLookup(blockchain, blockSelectionContext.pendingBlockHeader());
+    if (maybeExecutionCache.isEmpty()) {
+      return executeOrApplySpeculativeTransaction(transaction);
+    }
+    final TransactionExecutionCache executionCache = maybeExecutionCache.get();
+    currTxExecutionKey =
+        TransactionExecutionCache.executionKey(selectedStateKey, transaction.getHash());
+
+    final var maybeCachedExecution = executionCache.get(currTxExecutionKey);
+    if (maybeCachedExecution.isPresent()) {
+      LOG.atTrace()
+          .setMessage("Reusing the cached execution of {}")
+          .addArgument(transaction::toTraceLog)
+          .log();
+      maybeCachedExecution.get().applyTo(txWorldStateUpdater);
+      return maybeCachedExecution.get().result();
+    }
+
+    final TransactionProcessingResult result = executeOrApplySpeculativeTransaction(transaction);
+    executionCache.put(currTxExecutionKey, result, txWorldStateUpdater);
+    return result;
+  }
+
+  private TransactionProcessingResult executeOrApplySpeculativeTransaction(
+      final Transaction transaction) {
+    return maybeSpeculativeExecutor
+        .flatMap(
+            speculativeExecutor ->
+                speculativeExecutor.applyIfNotColliding(
+                    transaction,
+                    blockSelectionContext.miningBeneficiary(),
+                    worldState,
+                    txWorldStateUpdater))
+        .orElseGet(() -> executeTransaction(transaction));
+  }
+
+  private TransactionProcessingResult executeTransaction(final Transaction transaction) {
+    final BlockHashLookup blockHashLookup = createBlockHashLookup();
     final Optional<AccessLocationTracker> transactionLocationTracker =
         maybeBlockAccessListBuilder.map(
             b ->
@@ -717,6 +792,12 @@ public class BlockTransactionSelector implements BlockTransactionSelectionServic
     return result;
   }
 
+  private BlockHashLookup createBlockHashLookup() {
+    return blockSelectionContext
+        .preExecutionProcessor()
+        .createBlockHashLookup(blockchain, blockSelectionContext.pendingBlockHeader());
+  }
+
   /**
    * Handles a selected transaction by committing the world state updates, creating a transaction
    * receipt, updating the TransactionSelectionResults with the selected transaction, and notifying
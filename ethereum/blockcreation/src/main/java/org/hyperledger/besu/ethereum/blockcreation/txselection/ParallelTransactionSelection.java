@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.BlockProcessingExecutors;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel block building: the first candidate transaction of each sender is executed
+ * speculatively in the block processing CPU pool, on top of the parent state, while the selection
+ * proceeds in fee order. When the selection reaches a transaction, its speculative execution is
+ * used if it does not collide with the changes made by the transactions already in the block,
+ * using the same collision detection of the parallel block import, otherwise the transaction is
+ * executed again sequentially.
+ */
+public class ParallelTransactionSelection {
+  private static final double[] GAS_PER_MILLISECOND_BUCKETS = {
+    1_000, 10_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+  };
+
+  private static final long NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int maxSpeculativeTransactions;
+  private final Executor executor;
+  private final Counter confirmedCounter;
+  private final Counter conflictingCounter;
+  private final Counter failedCounter;
+  private final Counter notReadyCounter;
+  private final Histogram selectedGasPerMillisecond;
+
+  /**
+   * Create the parallel block building support
+   *
+   * @param metricsSystem the metrics system
+   * @param maxSpeculativeTransactions the max number of transactions executed speculatively for
+   *     each block
+   */
+  public ParallelTransactionSelection(
+      final MetricsSystem metricsSystem, final int maxSpeculativeTransactions) {
+    this(metricsSystem, maxSpeculativeTransactions, BlockProcessingExecutors.cpuExecutor());
+  }
+
+  ParallelTransactionSelection(
+      final MetricsSystem metricsSystem,
+      final int maxSpeculativeTransactions,
+      final Executor executor) {
+    this.maxSpeculativeTransactions = maxSpeculativeTransactions;
+    this.executor = executor;
+    final LabelledMetric<Counter> speculativeTransactions =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_creation_speculative_transactions_total",
+            "Number of transactions executed speculatively during block creation, by the outcome"
+                + " of their selection",
+            "result");
+    this.confirmedCounter = speculativeTransactions.labels("confirmed");
+    this.conflictingCounter = speculativeTransactions.labels("conflicting");
+    this.failedCounter = speculativeTransactions.labels("failed");
+    this.notReadyCounter = speculativeTransactions.labels("not_ready");
+    this.selectedGasPerMillisecond =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_creation_selected_gas_per_millisecond",
+            "Gas of the selected transactions per millisecond of transaction selection",
+            GAS_PER_MILLISECOND_BUCKETS);
+  }
+
+  /**
+   * Create the executor of the speculative transactions of a block
+   *
+   * @param worldStateArchive the world state archive
+   * @param parentHeader the header of the parent of the block
+   * @param transactionProcessor the transaction processor
+   * @return the speculative executor for the block
+   */
+  public SpeculativeTransactionExecutor createExecutor(
+      final WorldStateArchive worldStateArchive,
+      final BlockHeader parentHeader,
+      final MainnetTransactionProcessor transactionProcessor) {
+    return new SpeculativeTransactionExecutor(
+        this, worldStateArchive, parentHeader, transactionProcessor);
+  }
+
+  int getMaxSpeculativeTransactions() {
+    return maxSpeculativeTransactions;
+  }
+
+  Executor getExecutor() {
+    return executor;
+  }
+
+  void onConfirmed() {
+    confirmedCounter.inc();
+  }
+
+  void onConflicting() {
+    conflictingCounter.inc();
+  }
+
+  void onFailed() {
+    failedCounter.inc();
+  }
+
+  void onNotReady() {
+    notReadyCounter.inc();
+  }
+
+  void onSelectionCompleted(final long selectedGas, final long selectionTimeNanos) {
+    final double selectionTimeMillis = selectionTimeNanos / (double) NANOS_PER_MILLISECOND;
+    if (selectedGas > 0 && selectionTimeMillis > 0) {
+      selectedGasPerMillisecond.observe(selectedGas / selectionTimeMillis);
+    }
+  }
+}
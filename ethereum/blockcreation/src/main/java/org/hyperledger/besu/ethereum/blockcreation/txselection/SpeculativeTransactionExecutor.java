@@ -0,0 +1,291 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionExecutionCache.CachedExecution;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes speculatively the candidate transactions of a block, each one on its own copy of the
+ * parent state, and lets the selection use these executions when they do not collide with the
+ * transactions already selected. See {@link ParallelTransactionSelection}.
+ */
+public class SpeculativeTransactionExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(SpeculativeTransactionExecutor.class);
+
+  private final ParallelTransactionSelection parallelTransactionSelection;
+  private final WorldStateArchive worldStateArchive;
+  private final BlockHeader parentHeader;
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final TransactionCollisionDetector transactionCollisionDetector =
+      new TransactionCollisionDetector();
+  private final Map<Hash, CompletableFuture<SpeculativeExecution>> executions =
+      new ConcurrentHashMap<>();
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+  SpeculativeTransactionExecutor(
+      final ParallelTransactionSelection parallelTransactionSelection,
+      final WorldStateArchive worldStateArchive,
+      final BlockHeader parentHeader,
+      final MainnetTransactionProcessor transactionProcessor) {
+    this.parallelTransactionSelection = parallelTransactionSelection;
+    this.worldStateArchive = worldStateArchive;
+    this.parentHeader = parentHeader;
+    this.transactionProcessor = transactionProcessor;
+  }
+
+  /**
+   * Start the speculative execution of the first candidate of each sender, since the following
+   * ones depend on it, in the order of the candidates, up to the max number of speculative
+   * transactions.
+   *
+   * @param candidates the candidate transactions, in the order they are going to be evaluated
+   * @param pendingBlockHeader the header of the block under construction
+   * @param miningBeneficiary the address receiving the transaction fees
+   * @param blobGasPrice the blob gas price of the block under construction
+   * @param blockHashLookup the block hash lookup, forked for each worker
+   */
+  void start(
+      final List<PendingTransaction> candidates,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final BlockHashLookup blockHashLookup) {
+    final Set<Address> senders = new HashSet<>();
+    for (final PendingTransaction candidate : candidates) {
+      if (executions.size() >= parallelTransactionSelection.getMaxSpeculativeTransactions()) {
+        break;
+      }
+      final Transaction transaction = candidate.getTransaction();
+      if (senders.add(transaction.getSender())) {
+        executions.put(
+            transaction.getHash(),
+            CompletableFuture.supplyAsync(
+                () ->
+                    stopped.get()
+                        ? null
+                        : execute(
+                            transaction,
+                            pendingBlockHeader,
+                            miningBeneficiary,
+                            blobGasPrice,
+                            blockHashLookup),
+                parallelTransactionSelection.getExecutor()));
+      }
+    }
+    LOG.atTrace()
+        .setMessage("Started {} speculative transaction executions for block {}")
+        .addArgument(executions::size)
+        .addArgument(pendingBlockHeader::getNumber)
+        .log();
+  }
+
+  /**
+   * If the transaction has been executed speculatively, and its execution does not collide with
+   * the changes already made to the block, then its changes are applied to the transaction updater
+   * and its result is returned, otherwise it needs to be executed again.
+   *
+   * @param transaction the transaction to process
+   * @param miningBeneficiary the address receiving the transaction fees
+   * @param blockWorldState the world state of the block under construction
+   * @param txUpdater the updater of the transaction
+   * @return the result of the speculative execution, if it has been applied
+   */
+  Optional<TransactionProcessingResult> applyIfNotColliding(
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final MutableWorldState blockWorldState,
+      final WorldUpdater txUpdater) {
+    final CompletableFuture<SpeculativeExecution> future =
+        executions.remove(transaction.getHash());
+    if (future == null) {
+      return Optional.empty();
+    }
+    if (!future.isDone()) {
+      parallelTransactionSelection.onNotReady();
+      return Optional.empty();
+    }
+    final SpeculativeExecution execution =
+        future.isCompletedExceptionally() ? null : future.resultNow();
+    if (execution == null
+        || !execution.result().isSuccessful()
+        || !(blockWorldState instanceof PathBasedWorldState pathBasedWorldState)) {
+      parallelTransactionSelection.onFailed();
+      return Optional.empty();
+    }
+    if (transactionCollisionDetector.hasCollision(
+        transaction,
+        miningBeneficiary,
+        execution.context(),
+        pathBasedWorldState.getAccumulator())) {
+      parallelTransactionSelection.onConflicting();
+      return Optional.empty();
+    }
+
+    execution.changes().applyTo(txUpdater);
+    // the reward is not part of the captured changes, since other transactions pay the same account
+    final MutableAccount miningBeneficiaryAccount = txUpdater.getOrCreate(miningBeneficiary);
+    final Wei reward = execution.context().miningBeneficiaryReward();
+    if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+      miningBeneficiaryAccount.incrementBalance(reward);
+    }
+    parallelTransactionSelection.onConfirmed();
+    return Optional.of(execution.result());
+  }
+
+  /**
+   * Stop the speculative executions that are not started yet, and forget the ones not used.
+   *
+   * @param selectedGas the gas of the selected transactions
+   * @param selectionTimeNanos the duration of the transaction selection
+   */
+  void stop(final long selectedGas, final long selectionTimeNanos) {
+    stopped.set(true);
+    executions.clear();
+    parallelTransactionSelection.onSelectionCompleted(selectedGas, selectionTimeNanos);
+  }
+
+  private SpeculativeExecution execute(
+      final Transaction transaction,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final BlockHashLookup blockHashLookup) {
+    final MutableWorldState worldState =
+        worldStateArchive
+            .getWorldState(WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElse(null);
+    if (worldState == null) {
+      return null;
+    }
+    try {
+      if (!(worldState instanceof BonsaiWorldState bonsaiWorldState)) {
+        return null;
+      }
+      bonsaiWorldState.disableCacheMerkleTrieLoader();
+      final PathBasedWorldStateUpdateAccumulator<?> roundUpdater =
+          bonsaiWorldState.getAccumulator();
+      final WorldUpdater txUpdater = roundUpdater.updater();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              txUpdater,
+              pendingBlockHeader,
+              transaction.detachedCopy(),
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // if the mining beneficiary is read by the transaction, its balance is needed to
+                  // execute it, so the execution is only valid if no other transaction paid it
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(transaction, Optional.of(roundUpdater))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              blockHashLookup.forkForParallelWorker(),
+              TransactionValidationParams.mining(),
+              blobGasPrice,
+              Optional.empty());
+
+      final ParallelizedTransactionContext context =
+          contextBuilder
+              .transactionAccumulator(roundUpdater)
+              .transactionProcessingResult(result)
+              .build();
+      if (context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // it always collides, no need to keep it
+        return null;
+      }
+
+      final Optional<CachedExecution> maybeChanges =
+          TransactionExecutionCache.captureExecution(result, txUpdater, Set.of(miningBeneficiary));
+      if (maybeChanges.isEmpty()) {
+        return null;
+      }
+
+      // commit to the accumulator, that is used to check for collisions, removing the mining
+      // beneficiary that is only touched to pay the reward, to avoid a false collision
+      txUpdater.commit();
+      roundUpdater.commit();
+      roundUpdater.getAccountsToUpdate().remove(miningBeneficiary);
+
+      return new SpeculativeExecution(context, maybeChanges.get());
+    } catch (final Exception e) {
+      LOG.atTrace()
+          .setMessage("Speculative execution of {} failed")
+          .addArgument(transaction::toTraceLog)
+          .setCause(e)
+          .log();
+      return null;
+    } finally {
+      try {
+        worldState.close();
+      } catch (final Exception e) {
+        LOG.atTrace().setMessage("Error closing the speculative world state").setCause(e).log();
+      }
+    }
+  }
+
+  private record SpeculativeExecution(
+      ParallelizedTransactionContext context, CachedExecution changes) {
+
+    TransactionProcessingResult result() {
+      return changes.result();
+    }
+  }
+}
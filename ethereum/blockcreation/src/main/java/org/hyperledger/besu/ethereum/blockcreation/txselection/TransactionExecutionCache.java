@@ -0,0 +1,199 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Keeps the results of the transactions executed during the selection, together with the state
+ * changes they made, so when the same block is built again, like it happens with the repeated
+ * block creations of a PoS payload, a transaction that is evaluated on top of exactly the same
+ * state is not executed again, but its result is reused and its state changes are applied.
+ *
+ * <p>The state on top of which a transaction is executed is identified by a rolling key, that
+ * starts from the fields of the pending block, including the parent hash and so the parent state,
+ * and that is extended with each selected transaction. This makes the whole previous selection the
+ * read set of a transaction: a cached execution is only reused if the same transactions have been
+ * selected before it, and it is executed again as soon as the selection diverges.
+ */
+public class TransactionExecutionCache {
+  private final Cache<Hash, CachedExecution> executions;
+
+  /**
+   * Create a cache that keeps at most the specified number of transaction executions
+   *
+   * @param maxSize the max number of transaction executions to keep
+   */
+  public TransactionExecutionCache(final int maxSize) {
+    this.executions = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * The key of the state on top of which the first transaction of the pending block is executed
+   *
+   * @param pendingBlockHeader the header of the pending block
+   * @param miningBeneficiary the address receiving the transaction fees
+   * @param blobGasPrice the blob gas price of the pending block
+   * @return the key of the state at the start of the transaction selection
+   */
+  static Hash initialStateKey(
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice) {
+    return Hash.hash(
+        Bytes.concatenate(
+            pendingBlockHeader.getParentHash(),
+            pendingBlockHeader.getCoinbase(),
+            Bytes.ofUnsignedLong(pendingBlockHeader.getNumber()),
+            Bytes.ofUnsignedLong(pendingBlockHeader.getTimestamp()),
+            Bytes.ofUnsignedLong(pendingBlockHeader.getGasLimit()),
+            pendingBlockHeader.getBaseFee().map(Wei::toBytes).orElse(Bytes32.ZERO),
+            pendingBlockHeader.getMixHashOrPrevRandao(),
+            pendingBlockHeader.getParentBeaconBlockRoot().orElse(Bytes32.ZERO),
+            miningBeneficiary,
+            blobGasPrice.toBytes()));
+  }
+
+  /**
+   * The key of the execution of a transaction on top of the specified state, that is also the key
+   * of the resulting state, if the transaction is selected
+   *
+   * @param stateKey the key of the state on top of which the transaction is executed
+   * @param transactionHash the hash of the transaction
+   * @return the key of the execution
+   */
+  static Hash executionKey(final Hash stateKey, final Hash transactionHash) {
+    return Hash.hash(Bytes.concatenate(stateKey, transactionHash));
+  }
+
+  Optional<CachedExecution> get(final Hash executionKey) {
+    return Optional.ofNullable(executions.getIfPresent(executionKey));
+  }
+
+  /**
+   * Record the result of the execution of a transaction with the state changes it made. Nothing is
+   * recorded if the updater does not track the changes per account.
+   *
+   * @param executionKey the key of the execution
+   * @param result the result of the transaction processing
+   * @param txUpdater the updater that only contains the changes made by the transaction
+   */
+  void put(
+      final Hash executionKey,
+      final TransactionProcessingResult result,
+      final WorldUpdater txUpdater) {
+    captureExecution(result, txUpdater, Set.of())
+        .ifPresent(execution -> executions.put(executionKey, execution));
+  }
+
+  /**
+   * Capture the result of the execution of a transaction with the state changes it made, leaving
+   * out the changes of the excluded accounts.
+   *
+   * @param result the result of the transaction processing
+   * @param txUpdater the updater that only contains the changes made by the transaction
+   * @param excludedAccounts the accounts whose changes are not captured
+   * @return the captured execution, or empty if the updater does not track the changes per account
+   *     or an excluded account has been deleted
+   */
+  static Optional<CachedExecution> captureExecution(
+      final TransactionProcessingResult result,
+      final WorldUpdater txUpdater,
+      final Set<Address> excludedAccounts) {
+    final List<Address> deletedAccounts = List.copyOf(txUpdater.getDeletedAccountAddresses());
+    if (deletedAccounts.stream().anyMatch(excludedAccounts::contains)) {
+      return Optional.empty();
+    }
+    final Collection<? extends Account> touchedAccounts = txUpdater.getTouchedAccounts();
+    final List<AccountChanges> accountChanges = new ArrayList<>(touchedAccounts.size());
+    for (final Account account : touchedAccounts) {
+      if (!(account instanceof UpdateTrackingAccount<?> trackingAccount)) {
+        return Optional.empty();
+      }
+      if (!excludedAccounts.contains(account.getAddress())) {
+        accountChanges.add(AccountChanges.of(trackingAccount));
+      }
+    }
+    return Optional.of(new CachedExecution(result, deletedAccounts, accountChanges));
+  }
+
+  record CachedExecution(
+      TransactionProcessingResult result,
+      List<Address> deletedAccounts,
+      List<AccountChanges> accountChanges) {
+
+    /**
+     * Apply the state changes made by the transaction, to an updater on top of the same state
+     * the transaction was executed on.
+     *
+     * @param txUpdater the updater where to apply the changes
+     */
+    void applyTo(final WorldUpdater txUpdater) {
+      deletedAccounts.forEach(txUpdater::deleteAccount);
+      accountChanges.forEach(changes -> changes.applyTo(txUpdater));
+    }
+  }
+
+  record AccountChanges(
+      Address address,
+      long nonce,
+      Wei balance,
+      Optional<Bytes> updatedCode,
+      boolean storageWasCleared,
+      Map<UInt256, UInt256> updatedStorage) {
+
+    static AccountChanges of(final UpdateTrackingAccount<?> account) {
+      return new AccountChanges(
+          account.getAddress(),
+          account.getNonce(),
+          account.getBalance(),
+          account.codeWasUpdated() ? Optional.of(account.getCode()) : Optional.empty(),
+          account.getStorageWasCleared(),
+          Map.copyOf(account.getUpdatedStorage()));
+    }
+
+    void applyTo(final WorldUpdater txUpdater) {
+      final MutableAccount account = txUpdater.getOrCreate(address);
+      if (storageWasCleared) {
+        account.clearStorage();
+      }
+      account.setNonce(nonce);
+      account.setBalance(balance);
+      updatedCode.ifPresent(account::setCode);
+      updatedStorage.forEach(account::setStorageValue);
+    }
+  }
+}
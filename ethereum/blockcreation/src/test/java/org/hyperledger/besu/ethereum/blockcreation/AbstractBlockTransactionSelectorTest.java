@@ -34,6 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +48,7 @@ import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionExecutionCache;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
@@ -287,6 +289,90 @@ public abstract class AbstractBlockTransactionSelectorTest {
     assertThat(results.getCumulativeRegularGasUsed()).isEqualTo(99995L);
   }
 
+  @Test
+  public void cachedExecutionIsReusedWhenTheSameBlockIsBuiltAgain() {
+    final ProcessableBlockHeader blockHeader = createBlock(500_000);
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+    final Optional<TransactionExecutionCache> executionCache =
+        Optional.of(new TransactionExecutionCache(100));
+    transactionPool = createTransactionPool();
+
+    final Transaction transaction = createTransaction(1, Wei.of(7L), 100_000);
+    transactionPool.addRemoteTransactions(List.of(transaction));
+    ensureTransactionIsValid(transaction, 0, 5);
+
+    for (int i = 0; i < 2; i++) {
+      final TransactionSelectionResults results =
+          createBlockSelector(
+                  defaultTestMiningConfiguration,
+                  transactionProcessor,
+                  blockHeader,
+                  miningBeneficiary,
+                  Wei.ZERO,
+                  transactionSelectionService,
+                  protocolSchedule,
+                  Optional.empty(),
+                  executionCache)
+              .buildTransactionListForBlock();
+
+      assertThat(results.getSelectedTransactions()).containsExactly(transaction);
+      assertThat(results.getCumulativeRegularGasUsed()).isEqualTo(99995L);
+    }
+
+    verify(transactionProcessor, times(1))
+        .processTransaction(
+            any(), any(), eq(transaction), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void cachedExecutionIsNotReusedWhenThePreviousSelectionChanges() {
+    final ProcessableBlockHeader blockHeader = createBlock(500_000);
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+    final Optional<TransactionExecutionCache> executionCache =
+        Optional.of(new TransactionExecutionCache(100));
+    transactionPool = createTransactionPool();
+
+    final Transaction transaction = createTransaction(1, Wei.of(7L), 100_000);
+    transactionPool.addRemoteTransactions(List.of(transaction));
+    ensureTransactionIsValid(transaction, 0, 5);
+
+    createBlockSelector(
+            defaultTestMiningConfiguration,
+            transactionProcessor,
+            blockHeader,
+            miningBeneficiary,
+            Wei.ZERO,
+            transactionSelectionService,
+            protocolSchedule,
+            Optional.empty(),
+            executionCache)
+        .buildTransactionListForBlock();
+
+    // a transaction with a higher fee is now selected before the cached one
+    final Transaction higherFeeTransaction = createTransaction(1, Wei.of(10L), 100_000, SENDER2);
+    transactionPool.addRemoteTransactions(List.of(higherFeeTransaction));
+    ensureTransactionIsValid(higherFeeTransaction, 0, 5);
+
+    final TransactionSelectionResults results =
+        createBlockSelector(
+                defaultTestMiningConfiguration,
+                transactionProcessor,
+                blockHeader,
+                miningBeneficiary,
+                Wei.ZERO,
+                transactionSelectionService,
+                protocolSchedule,
+                Optional.empty(),
+                executionCache)
+            .buildTransactionListForBlock();
+
+    assertThat(results.getSelectedTransactions())
+        .containsExactly(higherFeeTransaction, transaction);
+    verify(transactionProcessor, times(2))
+        .processTransaction(
+            any(), any(), eq(transaction), any(), any(), any(), any(), any(), any());
+  }
+
   @Test
   public void validPendingTransactionIsNotIncludedIfSelectionCancelled() {
     final ProcessableBlockHeader blockHeader = createBlock(500_000);
@@ -1705,6 +1791,28 @@ public abstract class AbstractBlockTransactionSelectorTest {
       final TransactionSelectionService transactionSelectionService,
       final ProtocolSchedule schedule,
       final Optional<BlockAccessList.BlockAccessListBuilder> maybeBalBuilder) {
+    return createBlockSelector(
+        miningConfiguration,
+        transactionProcessor,
+        blockHeader,
+        miningBeneficiary,
+        blobGasPrice,
+        transactionSelectionService,
+        schedule,
+        maybeBalBuilder,
+        Optional.empty());
+  }
+
+  protected BlockTransactionSelector createBlockSelector(
+      final MiningConfiguration miningConfiguration,
+      final MainnetTransactionProcessor transactionProcessor,
+      final ProcessableBlockHeader blockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final TransactionSelectionService transactionSelectionService,
+      final ProtocolSchedule schedule,
+      final Optional<BlockAccessList.BlockAccessListBuilder> maybeBalBuilder,
+      final Optional<TransactionExecutionCache> maybeExecutionCache) {
     ProtocolSpec protocolSpec = schedule.getByBlockHeader(blockchain.getChainHeadHeader());
     final var selectorsStateManager = new SelectorsStateManager();
     final BlockTransactionSelector selector =
@@ -1723,7 +1831,9 @@ public abstract class AbstractBlockTransactionSelectorTest {
                 blockHeader, selectorsStateManager),
             ethScheduler,
             selectorsStateManager,
-            maybeBalBuilder);
+            maybeBalBuilder,
+            maybeExecutionCache,
+            Optional.empty());
 
     return selector;
   }
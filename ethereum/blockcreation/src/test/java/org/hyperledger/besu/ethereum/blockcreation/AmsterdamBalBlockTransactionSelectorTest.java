@@ -281,7 +281,9 @@ class AmsterdamBalBlockTransactionSelectorTest {
             blockHeader, selectorsStateManager),
         ethScheduler,
         selectorsStateManager,
-        maybeBalBuilder);
+        maybeBalBuilder,
+        Optional.empty(),
+        Optional.empty());
   }
 
   private Transaction createTransaction(
@@ -0,0 +1,230 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.WorldStateConfig.createStatefulConfigWithTrie;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.accumulator.preload.NoOpBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.cache.NoOpBonsaiWorldStateCacheManager;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.code.PathBasedCodeCache;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.NoOpTrieLogManager;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SpeculativeTransactionExecutorTest {
+  private static final Address SENDER = Address.fromHexString("0xa1");
+  private static final Address RECIPIENT = Address.fromHexString("0xb2");
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0xc3");
+  private static final Wei TRANSFERRED_VALUE = Wei.of(10);
+  private static final Wei MINING_REWARD = Wei.of(1);
+
+  private final MainnetTransactionProcessor transactionProcessor =
+      mock(MainnetTransactionProcessor.class);
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final ParallelTransactionSelection parallelTransactionSelection =
+      spy(new ParallelTransactionSelection(new NoOpMetricsSystem(), 10, Runnable::run));
+  private SpeculativeTransactionExecutor speculativeExecutor;
+
+  @BeforeEach
+  public void setUp() {
+    when(worldStateArchive.getWorldState(any()))
+        .thenAnswer(invocation -> Optional.of(createEmptyWorldState()));
+    speculativeExecutor =
+        parallelTransactionSelection.createExecutor(
+            worldStateArchive, mock(BlockHeader.class), transactionProcessor);
+  }
+
+  @Test
+  public void notCollidingSpeculativeExecutionIsApplied() {
+    final Transaction transaction = transaction(1, SENDER);
+    processTransactionsAsTransfers();
+    start(transaction);
+
+    final BonsaiWorldState blockWorldState = createEmptyWorldState();
+    final WorldUpdater txUpdater = blockWorldState.updater().updater();
+    final Optional<TransactionProcessingResult> maybeResult =
+        speculativeExecutor.applyIfNotColliding(
+            transaction, MINING_BENEFICIARY, blockWorldState, txUpdater);
+
+    assertThat(maybeResult)
+        .hasValueSatisfying(result -> assertThat(result.isSuccessful()).isTrue());
+    assertThat(txUpdater.get(SENDER).getNonce()).isEqualTo(1);
+    assertThat(txUpdater.get(RECIPIENT).getBalance()).isEqualTo(TRANSFERRED_VALUE);
+    assertThat(txUpdater.get(MINING_BENEFICIARY).getBalance()).isEqualTo(MINING_REWARD);
+    verify(parallelTransactionSelection).onConfirmed();
+  }
+
+  @Test
+  public void speculativeExecutionCollidingWithTheBlockIsDiscarded() {
+    final Transaction transaction = transaction(1, SENDER);
+    processTransactionsAsTransfers();
+    start(transaction);
+
+    // a transaction already in the block paid the same recipient
+    final BonsaiWorldState blockWorldState = createEmptyWorldState();
+    final WorldUpdater blockUpdater = blockWorldState.updater();
+    blockUpdater.getOrCreate(RECIPIENT).incrementBalance(Wei.of(5));
+    blockUpdater.commit();
+    final WorldUpdater txUpdater = blockUpdater.updater();
+
+    assertThat(
+            speculativeExecutor.applyIfNotColliding(
+                transaction, MINING_BENEFICIARY, blockWorldState, txUpdater))
+        .isEmpty();
+    assertThat(txUpdater.get(SENDER)).isNull();
+    assertThat(txUpdater.get(RECIPIENT).getBalance()).isEqualTo(Wei.of(5));
+    verify(parallelTransactionSelection).onConflicting();
+    verify(parallelTransactionSelection, never()).onConfirmed();
+  }
+
+  @Test
+  public void failedSpeculativeExecutionFallsBackToSequentialExecution() {
+    final Transaction transaction = transaction(1, SENDER);
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(
+            TransactionProcessingResult.invalid(
+                ValidationResult.invalid(TransactionInvalidReason.NONCE_TOO_LOW)));
+    start(transaction);
+
+    final BonsaiWorldState blockWorldState = createEmptyWorldState();
+    final WorldUpdater txUpdater = blockWorldState.updater().updater();
+
+    assertThat(
+            speculativeExecutor.applyIfNotColliding(
+                transaction, MINING_BENEFICIARY, blockWorldState, txUpdater))
+        .isEmpty();
+    assertThat(txUpdater.getTouchedAccounts()).isEmpty();
+    verify(parallelTransactionSelection).onFailed();
+  }
+
+  @Test
+  public void onlyTheFirstTransactionOfASenderIsExecutedSpeculatively() {
+    final Transaction first = transaction(1, SENDER);
+    final Transaction second = transaction(2, SENDER);
+    processTransactionsAsTransfers();
+    start(first, second);
+
+    verify(transactionProcessor, times(1))
+        .processTransaction(any(), any(), eq(first), any(), any(), any(), any(), any(), any());
+    verify(transactionProcessor, never())
+        .processTransaction(any(), any(), eq(second), any(), any(), any(), any(), any(), any());
+
+    // the following transaction depends on the first one, so it is executed sequentially
+    final BonsaiWorldState blockWorldState = createEmptyWorldState();
+    assertThat(
+            speculativeExecutor.applyIfNotColliding(
+                second, MINING_BENEFICIARY, blockWorldState, blockWorldState.updater().updater()))
+        .isEmpty();
+    verify(parallelTransactionSelection, never()).onConfirmed();
+  }
+
+  private void start(final Transaction... transactions) {
+    final List<PendingTransaction> candidates =
+        Stream.of(transactions)
+            .map(
+                transaction -> {
+                  final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
+                  when(pendingTransaction.getTransaction()).thenReturn(transaction);
+                  return pendingTransaction;
+                })
+            .toList();
+    speculativeExecutor.start(
+        candidates,
+        mock(ProcessableBlockHeader.class),
+        MINING_BENEFICIARY,
+        Wei.ZERO,
+        mock(BlockHashLookup.class));
+  }
+
+  /** Each transaction increments the nonce of its sender and pays the recipient. */
+  private void processTransactionsAsTransfers() {
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(0);
+              final Transaction transaction = invocation.getArgument(2);
+              final OperationTracer tracer = invocation.getArgument(4);
+              updater.getOrCreate(transaction.getSender()).incrementNonce();
+              updater.getOrCreate(RECIPIENT).incrementBalance(TRANSFERRED_VALUE);
+              tracer.traceBeforeRewardTransaction(updater, transaction, MINING_REWARD);
+              return TransactionProcessingResult.successful(
+                  List.of(), 21_000, 0, Bytes.EMPTY, Optional.empty(), ValidationResult.valid());
+            });
+  }
+
+  private static Transaction transaction(final int id, final Address sender) {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getHash()).thenReturn(Hash.hash(Bytes.of(id)));
+    when(transaction.getSender()).thenReturn(sender);
+    when(transaction.getTo()).thenReturn(Optional.of(RECIPIENT));
+    when(transaction.detachedCopy()).thenReturn(transaction);
+    return transaction;
+  }
+
+  private static BonsaiWorldState createEmptyWorldState() {
+    final BonsaiWorldStateKeyValueStorage storage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    return new BonsaiWorldState(
+        storage,
+        new NoOpBonsaiCachedMerkleTrieLoader(),
+        new NoOpBonsaiWorldStateCacheManager(
+            storage, EvmConfiguration.DEFAULT, new PathBasedCodeCache()),
+        new NoOpTrieLogManager(),
+        EvmConfiguration.DEFAULT,
+        createStatefulConfigWithTrie(),
+        new PathBasedCodeCache());
+  }
+}
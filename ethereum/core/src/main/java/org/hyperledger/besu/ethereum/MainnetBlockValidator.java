@@ -31,6 +31,7 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
+import org.hyperledger.besu.services.kvstore.StorageSubsystem;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -135,6 +136,27 @@ public class MainnetBlockValidator implements BlockValidator {
       final Optional<BlockAccessList> blockAccessList,
       final boolean shouldUpdateHead,
       final boolean shouldRecordBadBlock) {
+    try (final StorageSubsystem.Scope ignored =
+        StorageSubsystem.enter(StorageSubsystem.BLOCK_IMPORT)) {
+      return doValidateAndProcessBlock(
+          context,
+          block,
+          headerValidationMode,
+          ommerValidationMode,
+          blockAccessList,
+          shouldUpdateHead,
+          shouldRecordBadBlock);
+    }
+  }
+
+  private BlockProcessingResult doValidateAndProcessBlock(
+      final ProtocolContext context,
+      final Block block,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode,
+      final Optional<BlockAccessList> blockAccessList,
+      final boolean shouldUpdateHead,
+      final boolean shouldRecordBadBlock) {
 
     final int blockSize = block.getSize();
     if (blockSize > maxRlpBlockSize) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.util.cache.BiToIntFunction;
+import org.hyperledger.besu.util.cache.MemoryBoundCache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A memory bounded cache of per-block data, keyed by block hash.
+ *
+ * <p>The byte budget is split into two tiers: a recent tier, that receives the data of the blocks
+ * appended to the chain, and a historical tier, that receives the data loaded from storage on a
+ * cache miss. This way wide range queries over old blocks cannot evict the blocks close to the
+ * chain head, that are the ones most requested by the RPC and the Engine API.
+ *
+ * @param <V> the type of the cached block data
+ */
+public class BlockDataCache<V> {
+  /** Number of blocks behind the chain head that are the most requested */
+  static final int RECENT_BLOCKS = 128;
+
+  /** Min share of the byte budget reserved to the data of the recently appended blocks */
+  static final double RECENT_TIER_MIN_SHARE = 0.75;
+
+  private final String name;
+  private final MemoryBoundCache<Hash, V> recent;
+  private final MemoryBoundCache<Hash, V> historical;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Create a new cache. The recent tier takes at least {@link #RECENT_TIER_MIN_SHARE} of the byte
+   * budget, and all of it if needed to hold the last {@link #RECENT_BLOCKS} blocks.
+   *
+   * @param name the name of the cache, used as label for the metrics
+   * @param maxBytes the byte budget of the cache
+   * @param estimatedEntrySize the expected average size of an entry
+   * @param memoryFootprint the function to compute the size of an entry
+   */
+  BlockDataCache(
+      final String name,
+      final long maxBytes,
+      final long estimatedEntrySize,
+      final BiToIntFunction<Hash, V> memoryFootprint) {
+    this.name = name;
+    final long recentMaxBytes =
+        Math.max(
+            (long) (maxBytes * RECENT_TIER_MIN_SHARE),
+            Math.min(maxBytes, RECENT_BLOCKS * estimatedEntrySize));
+    this.recent = new MemoryBoundCache<>(recentMaxBytes, memoryFootprint);
+    this.historical = new MemoryBoundCache<>(maxBytes - recentMaxBytes, memoryFootprint);
+  }
+
+  /**
+   * Get the cached value for the block, if present
+   *
+   * @param blockHash the block hash
+   * @return the cached value or null if not present
+   */
+  public V getIfPresent(final Hash blockHash) {
+    V value = recent.getIfPresent(blockHash);
+    if (value == null) {
+      value = historical.getIfPresent(blockHash);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Cache the data of a block that has just been appended to the chain
+   *
+   * @param blockHash the block hash
+   * @param value the block data
+   */
+  public void putRecent(final Hash blockHash, final V value) {
+    recent.put(blockHash, value);
+  }
+
+  /**
+   * Cache the data of a block that has been loaded from storage
+   *
+   * @param blockHash the block hash
+   * @param value the block data
+   */
+  public void putHistorical(final Hash blockHash, final V value) {
+    historical.put(blockHash, value);
+  }
+
+  /**
+   * Estimated number of entries in the cache
+   *
+   * @return the estimated number of entries
+   */
+  public long estimatedSize() {
+    return recent.estimatedSize() + historical.estimatedSize();
+  }
+
+  /**
+   * Estimated number of bytes used by the entries in the cache
+   *
+   * @return the estimated weight of the cache content
+   */
+  public long estimatedWeight() {
+    return recent.estimatedWeight() + historical.estimatedWeight();
+  }
+
+  long hitCount() {
+    return hits.sum();
+  }
+
+  long missCount() {
+    return misses.sum();
+  }
+
+  long evictionCount() {
+    return recent.evictionCount() + historical.evictionCount();
+  }
+
+  long evictionWeight() {
+    return recent.evictionWeight() + historical.evictionWeight();
+  }
+
+  void registerMetrics(
+      final LabelledSuppliedMetric hitsMetric,
+      final LabelledSuppliedMetric missesMetric,
+      final LabelledSuppliedMetric evictionsMetric,
+      final LabelledSuppliedMetric evictedBytesMetric,
+      final LabelledSuppliedMetric sizeMetric,
+      final LabelledSuppliedMetric bytesMetric) {
+    hitsMetric.labels(this::hitCount, name);
+    missesMetric.labels(this::missCount, name);
+    evictionsMetric.labels(this::evictionCount, name);
+    evictedBytesMetric.labels(this::evictionWeight, name);
+    sizeMetric.labels(this::estimatedSize, name);
+    bytesMetric.labels(this::estimatedWeight, name);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+
+import java.util.List;
+
+/**
+ * Rough estimates of the heap used by the decoded block data kept in the blockchain caches. The
+ * constants are shallow sizes of the decoded objects, rounded up, and do not need to be exact,
+ * since they are only used to bound the caches in bytes instead of number of entries.
+ */
+class BlockDataMemoryFootprint {
+  private static final int KEY_SIZE = 80;
+  static final int HEADER_SIZE = 1_024;
+  private static final int TRANSACTION_SHALLOW_SIZE = 1_024;
+  private static final int WITHDRAWAL_SIZE = 160;
+  private static final int RECEIPT_SHALLOW_SIZE = 512;
+  private static final int LOG_SHALLOW_SIZE = 128;
+  private static final int LOG_TOPIC_SIZE = 80;
+  private static final int DIFFICULTY_SIZE = 80;
+  private static final int BLOCK_ACCESS_LIST_ITEM_SIZE = 128;
+
+  private BlockDataMemoryFootprint() {}
+
+  static int header(final Hash key, final BlockHeader header) {
+    return KEY_SIZE + HEADER_SIZE;
+  }
+
+  static int body(final Hash key, final BlockBody body) {
+    long size = KEY_SIZE;
+    for (final Transaction transaction : body.getTransactions()) {
+      size += TRANSACTION_SHALLOW_SIZE + transaction.getPayload().size();
+    }
+    size += (long) body.getOmmers().size() * HEADER_SIZE;
+    size += body.getWithdrawals().map(w -> (long) w.size() * WITHDRAWAL_SIZE).orElse(0L);
+    return saturatedInt(size);
+  }
+
+  static int receipts(final Hash key, final List<TransactionReceipt> receipts) {
+    long size = KEY_SIZE;
+    for (final TransactionReceipt receipt : receipts) {
+      size += RECEIPT_SHALLOW_SIZE;
+      for (final var log : receipt.getLogsList()) {
+        size +=
+            LOG_SHALLOW_SIZE
+                + log.getData().size()
+                + (long) log.getTopics().size() * LOG_TOPIC_SIZE;
+      }
+    }
+    return saturatedInt(size);
+  }
+
+  static int totalDifficulty(final Hash key, final Difficulty difficulty) {
+    return KEY_SIZE + DIFFICULTY_SIZE;
+  }
+
+  static int blockAccessList(final Hash key, final BlockAccessList blockAccessList) {
+    return saturatedInt(
+        KEY_SIZE + blockAccessList.eip7928ItemCount() * BLOCK_ACCESS_LIST_ITEM_SIZE);
+  }
+
+  private static int saturatedInt(final long size) {
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+}
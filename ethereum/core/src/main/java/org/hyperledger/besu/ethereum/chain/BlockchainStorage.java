@@ -71,6 +71,22 @@ public interface BlockchainStorage {
 
     void putTransactionLocation(Hash transactionHash, TransactionLocation transactionLocation);
 
+    /**
+     * Puts the locations of all the transactions of a canonical block. Storages can override it to
+     * reference the block by number, which is much smaller than its hash.
+     *
+     * @param blockHash the hash of the block
+     * @param blockNumber the number of the block
+     * @param transactionHashes the hashes of the transactions of the block, in block order
+     */
+    default void putTransactionLocations(
+        final Hash blockHash, final long blockNumber, final List<Hash> transactionHashes) {
+      for (int index = 0; index < transactionHashes.size(); index++) {
+        putTransactionLocation(
+            transactionHashes.get(index), new TransactionLocation(blockHash, index));
+      }
+    }
+
     /**
      * Puts the supplied TransactionReceipts in the database against the supplied block Hash
      *
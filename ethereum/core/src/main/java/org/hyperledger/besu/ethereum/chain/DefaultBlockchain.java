@@ -41,8 +41,10 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
 import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.Subscribers;
+import org.hyperledger.besu.util.cache.BiToIntFunction;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -59,8 +61,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import org.slf4j.Logger;
@@ -69,6 +69,19 @@ import org.slf4j.LoggerFactory;
 public class DefaultBlockchain implements MutableBlockchain {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultBlockchain.class);
 
+  /**
+   * Expected average heap footprint of the decoded data of a block, used to convert the number of
+   * blocks to cache into a byte budget, when no explicit byte budget is configured
+   */
+  static final long ESTIMATED_BLOCK_DATA_FOOTPRINT = 512 * 1024;
+
+  // how the block cache byte budget is split between the caches
+  static final double HEADERS_CACHE_SHARE = 0.05;
+  static final double BODIES_CACHE_SHARE = 0.40;
+  static final double RECEIPTS_CACHE_SHARE = 0.45;
+  static final double TOTAL_DIFFICULTY_CACHE_SHARE = 0.01;
+  static final double BLOCK_ACCESS_LISTS_CACHE_SHARE = 0.09;
+
   private final Comparator<BlockHeader> heaviestChainBlockChoiceRule =
       Comparator.comparing(this::calculateTotalDifficulty);
 
@@ -87,11 +100,11 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   private boolean senderNonceIndexing = false;
 
-  private Optional<Cache<Hash, BlockHeader>> blockHeadersCache;
-  private Optional<Cache<Hash, BlockBody>> blockBodiesCache;
-  private Optional<Cache<Hash, List<TransactionReceipt>>> transactionReceiptsCache;
-  private Optional<Cache<Hash, Difficulty>> totalDifficultyCache;
-  private Optional<Cache<Hash, BlockAccessList>> blockAccessListCache;
+  private Optional<BlockDataCache<BlockHeader>> blockHeadersCache;
+  private Optional<BlockDataCache<BlockBody>> blockBodiesCache;
+  private Optional<BlockDataCache<List<TransactionReceipt>>> transactionReceiptsCache;
+  private Optional<BlockDataCache<Difficulty>> totalDifficultyCache;
+  private Optional<BlockDataCache<BlockAccessList>> blockAccessListCache;
 
   private Counter gasUsedCounter = NoOpMetricsSystem.NO_OP_COUNTER;
   private Counter numberOfTransactionsCounter = NoOpMetricsSystem.NO_OP_COUNTER;
@@ -103,7 +116,7 @@ public class DefaultBlockchain implements MutableBlockchain {
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold) {
-    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, null, 0, 0, false);
+    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, null, 0, 0, 0, false);
   }
 
   private DefaultBlockchain(
@@ -122,6 +135,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         dataDirectory,
         numberOfBlocksToCache,
         numberOfBlockHeadersToCache,
+        0,
         false);
   }
 
@@ -133,6 +147,7 @@ public class DefaultBlockchain implements MutableBlockchain {
       final String dataDirectory,
       final int numberOfBlocksToCache,
       final int numberOfBlockHeadersToCache,
+      final long blockCacheMaxBytes,
       final boolean senderNonceIndexingEnabled) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
@@ -155,37 +170,85 @@ public class DefaultBlockchain implements MutableBlockchain {
     this.blockChoiceRule = heaviestChainBlockChoiceRule;
     this.senderNonceIndexing = senderNonceIndexingEnabled;
 
-    initializeCaches(metricsSystem, numberOfBlockHeadersToCache, numberOfBlocksToCache);
+    initializeCaches(
+        metricsSystem, numberOfBlockHeadersToCache, numberOfBlocksToCache, blockCacheMaxBytes);
     createCounters(metricsSystem);
     createGauges(metricsSystem);
   }
 
   private void initializeCaches(
-      final MetricsSystem metricsSystem, final int headersCacheSize, final int blocksCacheSize) {
-    if (headersCacheSize == 0 && blocksCacheSize == 0) {
+      final MetricsSystem metricsSystem,
+      final int headersCacheSize,
+      final int blocksCacheSize,
+      final long blockCacheMaxBytes) {
+    if (headersCacheSize == 0 && blocksCacheSize == 0 && blockCacheMaxBytes == 0) {
       setAllCachesEmpty();
       return;
     }
 
-    final int headersSize = Math.max(headersCacheSize, blocksCacheSize);
-    blockHeadersCache =
-        Optional.of(CacheBuilder.newBuilder().recordStats().maximumSize(headersSize).build());
-
-    if (blocksCacheSize != 0) {
+    final long headersMinBytes = (long) headersCacheSize * BlockDataMemoryFootprint.HEADER_SIZE;
+
+    if (blocksCacheSize != 0 || blockCacheMaxBytes != 0) {
+      final long maxBytes =
+          blockCacheMaxBytes != 0
+              ? blockCacheMaxBytes
+              : blocksCacheSize * ESTIMATED_BLOCK_DATA_FOOTPRINT;
+      blockHeadersCache =
+          Optional.of(
+              createBlockDataCache(
+                  "blockHeaders",
+                  Math.max(headersMinBytes, (long) (maxBytes * HEADERS_CACHE_SHARE)),
+                  HEADERS_CACHE_SHARE,
+                  BlockDataMemoryFootprint::header));
       blockBodiesCache =
-          Optional.of(CacheBuilder.newBuilder().recordStats().maximumSize(blocksCacheSize).build());
+          Optional.of(
+              createBlockDataCache(
+                  "blockBodies",
+                  (long) (maxBytes * BODIES_CACHE_SHARE),
+                  BODIES_CACHE_SHARE,
+                  BlockDataMemoryFootprint::body));
       transactionReceiptsCache =
-          Optional.of(CacheBuilder.newBuilder().recordStats().maximumSize(blocksCacheSize).build());
+          Optional.of(
+              createBlockDataCache(
+                  "transactionReceipts",
+                  (long) (maxBytes * RECEIPTS_CACHE_SHARE),
+                  RECEIPTS_CACHE_SHARE,
+                  BlockDataMemoryFootprint::receipts));
       totalDifficultyCache =
-          Optional.of(CacheBuilder.newBuilder().recordStats().maximumSize(blocksCacheSize).build());
+          Optional.of(
+              createBlockDataCache(
+                  "totalDifficulty",
+                  (long) (maxBytes * TOTAL_DIFFICULTY_CACHE_SHARE),
+                  TOTAL_DIFFICULTY_CACHE_SHARE,
+                  BlockDataMemoryFootprint::totalDifficulty));
       blockAccessListCache =
-          Optional.of(CacheBuilder.newBuilder().recordStats().maximumSize(blocksCacheSize).build());
-      registerCacheMetrics(metricsSystem);
+          Optional.of(
+              createBlockDataCache(
+                  "blockAccessLists",
+                  (long) (maxBytes * BLOCK_ACCESS_LISTS_CACHE_SHARE),
+                  BLOCK_ACCESS_LISTS_CACHE_SHARE,
+                  BlockDataMemoryFootprint::blockAccessList));
     } else {
       // Only headers cache is created, rest are empty
+      blockHeadersCache =
+          Optional.of(
+              new BlockDataCache<>(
+                  "blockHeaders",
+                  headersMinBytes,
+                  BlockDataMemoryFootprint.HEADER_SIZE,
+                  BlockDataMemoryFootprint::header));
       setBlockCachesEmpty();
-      registerHeadersCacheMetrics(metricsSystem);
     }
+    registerCacheMetrics(metricsSystem);
+  }
+
+  private static <V> BlockDataCache<V> createBlockDataCache(
+      final String name,
+      final long maxBytes,
+      final double budgetShare,
+      final BiToIntFunction<Hash, V> memoryFootprint) {
+    return new BlockDataCache<>(
+        name, maxBytes, (long) (ESTIMATED_BLOCK_DATA_FOOTPRINT * budgetShare), memoryFootprint);
   }
 
   private void setAllCachesEmpty() {
@@ -201,16 +264,42 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private void registerCacheMetrics(final MetricsSystem metricsSystem) {
-    registerHeadersCacheMetrics(metricsSystem);
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "blockBodies", blockBodiesCache.get());
-    metricsSystem.createGuavaCacheCollector(
-        BLOCKCHAIN, "transactionReceipts", transactionReceiptsCache.get());
-    metricsSystem.createGuavaCacheCollector(
-        BLOCKCHAIN, "totalDifficulty", totalDifficultyCache.get());
-  }
-
-  private void registerHeadersCacheMetrics(final MetricsSystem metricsSystem) {
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "blockHeaders", blockHeadersCache.get());
+    final LabelledSuppliedMetric hits =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN, "cache_hits", "Number of lookups served by the block data cache", "cache");
+    final LabelledSuppliedMetric misses =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN,
+            "cache_misses",
+            "Number of lookups not served by the block data cache",
+            "cache");
+    final LabelledSuppliedMetric evictions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN,
+            "cache_evictions",
+            "Number of entries evicted from the block data cache",
+            "cache");
+    final LabelledSuppliedMetric evictedBytes =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN,
+            "cache_evicted_bytes",
+            "Estimated bytes evicted from the block data cache",
+            "cache");
+    final LabelledSuppliedMetric size =
+        metricsSystem.createLabelledSuppliedGauge(
+            BLOCKCHAIN, "cache_size", "Number of entries in the block data cache", "cache");
+    final LabelledSuppliedMetric bytes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BLOCKCHAIN, "cache_bytes", "Estimated bytes used by the block data cache", "cache");
+
+    Stream.of(
+            blockHeadersCache,
+            blockBodiesCache,
+            transactionReceiptsCache,
+            totalDifficultyCache,
+            blockAccessListCache)
+        .flatMap(Optional::stream)
+        .forEach(cache -> cache.registerMetrics(hits, misses, evictions, evictedBytes, size, bytes));
   }
 
   private void createCounters(final MetricsSystem metricsSystem) {
@@ -325,6 +414,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         dataDirectory,
         numberOfBlocksToCache,
         numberOfBlockHeadersToCache,
+        0,
         false);
   }
 
@@ -346,6 +436,30 @@ public class DefaultBlockchain implements MutableBlockchain {
         dataDirectory,
         numberOfBlocksToCache,
         numberOfBlockHeadersToCache,
+        0,
+        senderNonceIndexingEnabled);
+  }
+
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final long reorgLoggingThreshold,
+      final String dataDirectory,
+      final int numberOfBlocksToCache,
+      final int numberOfBlockHeadersToCache,
+      final long blockCacheMaxBytes,
+      final boolean senderNonceIndexingEnabled) {
+    checkNotNull(genesisBlock);
+    return new DefaultBlockchain(
+        Optional.of(genesisBlock),
+        blockchainStorage,
+        metricsSystem,
+        reorgLoggingThreshold,
+        dataDirectory,
+        numberOfBlocksToCache,
+        numberOfBlockHeadersToCache,
+        blockCacheMaxBytes,
         senderNonceIndexingEnabled);
   }
 
@@ -494,7 +608,7 @@ public class DefaultBlockchain implements MutableBlockchain {
   }
 
   private <T> Optional<T> getCached(
-      final Optional<Cache<Hash, T>> cache,
+      final Optional<BlockDataCache<T>> cache,
       final Hash blockHash,
       final Function<Hash, Optional<T>> storageLookup) {
     return cache
@@ -508,7 +622,7 @@ public class DefaultBlockchain implements MutableBlockchain {
                   .apply(blockHash)
                   .map(
                       value -> {
-                        c.put(blockHash, value);
+                        c.putHistorical(blockHash, value);
                         return value;
                       });
             })
@@ -544,16 +658,29 @@ public class DefaultBlockchain implements MutableBlockchain {
   public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
     return blockchainStorage
         .getTransactionLocation(transactionHash)
-        .flatMap(
-            l ->
-                blockchainStorage
-                    .getBlockBody(l.getBlockHash())
-                    .map(b -> b.getTransactions().get(l.getTransactionIndex())));
+        .flatMap(location -> getTransactionAt(location, transactionHash));
   }
 
   @Override
   public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
-    return blockchainStorage.getTransactionLocation(transactionHash);
+    return blockchainStorage
+        .getTransactionLocation(transactionHash)
+        .filter(location -> getTransactionAt(location, transactionHash).isPresent());
+  }
+
+  /**
+   * Compact transaction locations are resolved through the current number to hash mapping, so
+   * they can point to another block once that mapping has been rewritten, for example when the
+   * headers are stored again or the canonical index is truncated. Only the transaction with the
+   * expected hash is returned.
+   */
+  private Optional<Transaction> getTransactionAt(
+      final TransactionLocation location, final Hash transactionHash) {
+    return getBlockBody(location.getBlockHash())
+        .map(BlockBody::getTransactions)
+        .filter(transactions -> location.getTransactionIndex() < transactions.size())
+        .map(transactions -> transactions.get(location.getTransactionIndex()))
+        .filter(transaction -> transaction.getHash().equals(transactionHash));
   }
 
   @Override
@@ -638,16 +765,16 @@ public class DefaultBlockchain implements MutableBlockchain {
       final List<TransactionReceipt> receipts,
       final Optional<BlockAccessList> blockAccessList) {
     cacheBlockHeader(block.getHeader());
-    blockBodiesCache.ifPresent(cache -> cache.put(block.getHash(), block.getBody()));
-    transactionReceiptsCache.ifPresent(cache -> cache.put(block.getHash(), receipts));
+    blockBodiesCache.ifPresent(cache -> cache.putRecent(block.getHash(), block.getBody()));
+    transactionReceiptsCache.ifPresent(cache -> cache.putRecent(block.getHash(), receipts));
     totalDifficultyCache.ifPresent(
-        cache -> cache.put(block.getHash(), block.getHeader().getDifficulty()));
+        cache -> cache.putRecent(block.getHash(), block.getHeader().getDifficulty()));
     blockAccessListCache.ifPresent(
-        cache -> blockAccessList.ifPresent(t -> cache.put(block.getHash(), t)));
+        cache -> blockAccessList.ifPresent(t -> cache.putRecent(block.getHash(), t)));
   }
 
   private void cacheBlockHeader(final BlockHeader blockHeader) {
-    blockHeadersCache.ifPresent(cache -> cache.put(blockHeader.getHash(), blockHeader));
+    blockHeadersCache.ifPresent(cache -> cache.putRecent(blockHeader.getHash(), blockHeader));
   }
 
   private boolean blockShouldBeProcessed(
@@ -710,7 +837,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     updater.putBlockHeader(blockHash, block.getHeader());
     updater.putBlockHash(block.getHeader().getNumber(), blockHash);
     updater.putBlockBody(blockHash, block.getBody());
-    indexTransactionsForBlock(updater, blockHash, block.getBody().getTransactions());
+    indexTransactionsForBlock(updater, block.getHeader(), block.getBody().getTransactions());
     updater.putTransactionReceipts(blockHash, transactionReceipts);
     maybeTotalDifficulty.ifPresent(
         totalDifficulty -> updater.putTotalDifficulty(blockHash, totalDifficulty));
@@ -735,7 +862,7 @@ public class DefaultBlockchain implements MutableBlockchain {
       if (indexTransactions) {
         final List<Hash> listOfTxHashes =
             body.getEncodedTransactions().stream().map(Hash::hash).toList();
-        indexTransactionHashesForBlock(updater, blockHash, listOfTxHashes);
+        updater.putTransactionLocations(blockHash, header.getNumber(), listOfTxHashes);
       }
     }
     updater.setChainHead(chainHeader.getBlockHash());
@@ -841,7 +968,9 @@ public class DefaultBlockchain implements MutableBlockchain {
     updater.setChainHead(newBlockHash);
     if (transactionIndexing) {
       indexTransactionsForBlock(
-          updater, newBlockHash, blockWithReceipts.getBlock().getBody().getTransactions());
+          updater,
+          blockWithReceipts.getHeader(),
+          blockWithReceipts.getBlock().getBody().getTransactions());
     }
     gasUsedCounter.inc(blockWithReceipts.getHeader().getGasUsed());
     numberOfTransactionsCounter.inc(
@@ -880,7 +1009,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     updater.setChainHead(currentNewChainWithReceipts.getHeader().getHash());
 
     // Track transactions and logs to be added and removed
-    final Map<Hash, List<Transaction>> newTransactions = new HashMap<>();
+    final Map<BlockHeader, List<Transaction>> newTransactions = new HashMap<>();
     final List<Transaction> removedTransactions = new ArrayList<>();
     final List<LogWithMetadata> addedLogsWithMetadata = new ArrayList<>();
     final List<LogWithMetadata> removedLogsWithMetadata = new ArrayList<>();
@@ -892,7 +1021,8 @@ public class DefaultBlockchain implements MutableBlockchain {
       updater.putBlockHash(currentNewChainWithReceipts.getNumber(), blockHash);
 
       newTransactions.put(
-          blockHash, currentNewChainWithReceipts.getBlock().getBody().getTransactions());
+          currentNewChainWithReceipts.getHeader(),
+          currentNewChainWithReceipts.getBlock().getBody().getTransactions());
       addAddedLogsWithMetadata(addedLogsWithMetadata, currentNewChainWithReceipts);
       notifyChainReorgBlockAdded(currentNewChainWithReceipts);
       currentNewChainWithReceipts = getParentBlockWithReceipts(currentNewChainWithReceipts);
@@ -916,7 +1046,8 @@ public class DefaultBlockchain implements MutableBlockchain {
       updater.putBlockHash(currentNewChainWithReceipts.getNumber(), newBlockHash);
 
       newTransactions.put(
-          newBlockHash, currentNewChainWithReceipts.getBlock().getBody().getTransactions());
+          currentNewChainWithReceipts.getHeader(),
+          currentNewChainWithReceipts.getBlock().getBody().getTransactions());
       removedTransactions.addAll(
           currentOldChainWithReceipts.getBlock().getBody().getTransactions());
       addAddedLogsWithMetadata(addedLogsWithMetadata, currentNewChainWithReceipts);
@@ -929,8 +1060,8 @@ public class DefaultBlockchain implements MutableBlockchain {
 
     // Update indexed transactions
     newTransactions.forEach(
-        (blockHash, transactionsInBlock) -> {
-          indexTransactionsForBlock(updater, blockHash, transactionsInBlock);
+        (blockHeader, transactionsInBlock) -> {
+          indexTransactionsForBlock(updater, blockHeader, transactionsInBlock);
           // Don't remove transactions that are being re-indexed.
           removedTransactions.removeAll(transactionsInBlock);
         });
@@ -1071,28 +1202,19 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   private void indexTransactionsForBlock(
       final BlockchainStorage.Updater updater,
-      final Hash blockHash,
+      final BlockHeader blockHeader,
       final List<Transaction> transactions) {
-    for (int index = 0; index < transactions.size(); index++) {
-      final Transaction tx = transactions.get(index);
-      final TransactionLocation loc = new TransactionLocation(blockHash, index);
-      updater.putTransactionLocation(tx.getHash(), loc);
-      if (senderNonceIndexing) {
+    updater.putTransactionLocations(
+        blockHeader.getHash(),
+        blockHeader.getNumber(),
+        transactions.stream().map(Transaction::getHash).toList());
+    if (senderNonceIndexing) {
+      for (final Transaction tx : transactions) {
         updater.putTransactionHashBySenderAndNonce(tx.getSender(), tx.getNonce(), tx.getHash());
       }
     }
   }
 
-  // Used during sync where only tx hashes are available (no decoded Transaction objects).
-  // Indexes txHash→location only; sender+nonce index is not populated for this path.
-  private static void indexTransactionHashesForBlock(
-      final BlockchainStorage.Updater updater, final Hash blockHash, final List<Hash> txsHashes) {
-    for (int index = 0; index < txsHashes.size(); index++) {
-      final TransactionLocation loc = new TransactionLocation(blockHash, index);
-      updater.putTransactionLocation(txsHashes.get(index), loc);
-    }
-  }
-
   private void clearIndexedTransactionsForBlock(
       final BlockchainStorage.Updater updater, final List<Transaction> txs) {
     for (final Transaction tx : txs) {
@@ -1225,23 +1347,23 @@ public class DefaultBlockchain implements MutableBlockchain {
     blockReorgObservers.forEach(observer -> observer.onBlockAdded(blockWithReceipts, this));
   }
 
-  public Optional<Cache<Hash, BlockHeader>> getBlockHeadersCache() {
+  public Optional<BlockDataCache<BlockHeader>> getBlockHeadersCache() {
     return blockHeadersCache;
   }
 
-  public Optional<Cache<Hash, BlockBody>> getBlockBodiesCache() {
+  public Optional<BlockDataCache<BlockBody>> getBlockBodiesCache() {
     return blockBodiesCache;
   }
 
-  public Optional<Cache<Hash, List<TransactionReceipt>>> getTransactionReceiptsCache() {
+  public Optional<BlockDataCache<List<TransactionReceipt>>> getTransactionReceiptsCache() {
     return transactionReceiptsCache;
   }
 
-  public Optional<Cache<Hash, BlockAccessList>> getBlockAccessListCache() {
+  public Optional<BlockDataCache<BlockAccessList>> getBlockAccessListCache() {
     return blockAccessListCache;
   }
 
-  public Optional<Cache<Hash, Difficulty>> getTotalDifficultyCache() {
+  public Optional<BlockDataCache<Difficulty>> getTotalDifficultyCache() {
     return totalDifficultyCache;
   }
 
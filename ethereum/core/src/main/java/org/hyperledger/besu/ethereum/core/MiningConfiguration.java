@@ -342,6 +342,8 @@ public abstract class MiningConfiguration {
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
     long DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS = 800L;
     Integer DEFAULT_POS_SLOT_DURATION_SECS = 12;
+    int DEFAULT_BLOCK_CREATION_EXECUTION_CACHE_SIZE = 10_000;
+    int DEFAULT_BLOCK_CREATION_SPECULATIVE_TRANSACTIONS = 0;
 
     MiningConfiguration.Unstable DEFAULT = ImmutableMiningConfiguration.Unstable.builder().build();
 
@@ -369,5 +371,15 @@ public abstract class MiningConfiguration {
     default long getPosBlockFinalizationTimeoutMs() {
       return DEFAULT_POS_BLOCK_FINALIZATION_TIMEOUT_MS;
     }
+
+    @Value.Default
+    default int getBlockCreationExecutionCacheSize() {
+      return DEFAULT_BLOCK_CREATION_EXECUTION_CACHE_SIZE;
+    }
+
+    @Value.Default
+    default int getBlockCreationSpeculativeTransactions() {
+      return DEFAULT_BLOCK_CREATION_SPECULATIVE_TRANSACTIONS;
+    }
   }
 }
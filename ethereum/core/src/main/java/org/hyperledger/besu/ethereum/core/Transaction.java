@@ -137,6 +137,20 @@ public class Transaction
     return readFrom(RLP.input(rlpBytes));
   }
 
+  /**
+   * Recreate a transaction from RLP serialized in the block body format, whose sender is already
+   * known, so it is not recovered again from the signature
+   *
+   * @param rlpBytes the RLP bytes in block body format
+   * @param sender the sender of the transaction
+   * @return the transaction
+   */
+  public static Transaction readFrom(final Bytes rlpBytes, final Address sender) {
+    final Transaction transaction = readFrom(rlpBytes);
+    transaction.sender = sender;
+    return transaction;
+  }
+
   /**
    * Recreate a transaction from RLP serialized in the block body format
    *
@@ -48,6 +48,25 @@ public final class BlobProofBundle {
       final KZGCommitment kzgCommitment,
       final List<KZGProof> kzgProof,
       final VersionedHash versionedHash) {
+    this(blobType, blob, kzgCommitment, kzgProof, versionedHash, Optional.empty());
+  }
+
+  /**
+   * @param blobType the type of the blob
+   * @param blob the blob being proven.
+   * @param kzgCommitment the KZG commitment for the blob.
+   * @param kzgProof the KZG proof for the blob.
+   * @param versionedHash the versioned hash of the blob.
+   * @param blobCells the cells of the blob, if already computed, for example when the bundle is
+   *     read back from where it was stored with its cells, otherwise they are computed.
+   */
+  public BlobProofBundle(
+      final BlobType blobType,
+      final Blob blob,
+      final KZGCommitment kzgCommitment,
+      final List<KZGProof> kzgProof,
+      final VersionedHash versionedHash,
+      final Optional<Bytes> blobCells) {
     checkArgument(kzgCommitment != null, "kzgCommitment must not be empty");
     checkArgument(versionedHash != null, "versionedHash must not be empty");
     checkArgument(blob != null, "blob must not be empty");
@@ -71,7 +90,7 @@ public final class BlobProofBundle {
     this.kzgCommitment = kzgCommitment;
     this.kzgProof = kzgProof;
     this.versionedHash = versionedHash;
-    this.blobCells = computeCells(blob, blobType);
+    this.blobCells = blobCells.orElseGet(() -> computeCells(blob, blobType));
   }
 
   private Bytes computeCells(final Blob blob, final BlobType blobType) {
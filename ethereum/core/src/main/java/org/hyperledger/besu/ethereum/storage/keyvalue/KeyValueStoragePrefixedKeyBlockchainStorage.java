@@ -41,14 +41,18 @@ import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEnc
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.SimpleNoCopyRlpEncoder;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -77,6 +81,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   final BlockHeaderFunctions blockHeaderFunctions;
   final ProtocolSchedule protocolSchedule;
   final boolean receiptCompaction;
+  final boolean transactionIndexCompaction;
 
   /**
    * Creates a new blockchain storage instance.
@@ -87,21 +92,51 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
    * @param protocolSchedule the protocol schedule for fork-aware receipt decoding (nullable for
    *     backward compatibility - if null, uses pre-Amsterdam decoder for all receipts)
    * @param receiptCompaction whether to use receipt compaction
+   * @param transactionIndexCompaction whether transaction locations reference the block by number
+   *     instead of by hash
    */
   public KeyValueStoragePrefixedKeyBlockchainStorage(
       final KeyValueStorage blockchainStorage,
       final VariablesStorage variablesStorage,
       final BlockHeaderFunctions blockHeaderFunctions,
       final ProtocolSchedule protocolSchedule,
-      final boolean receiptCompaction) {
+      final boolean receiptCompaction,
+      final boolean transactionIndexCompaction) {
     this.blockchainStorage = blockchainStorage;
     this.variablesStorage = variablesStorage;
     this.blockHeaderFunctions = blockHeaderFunctions;
     this.protocolSchedule = protocolSchedule;
     this.receiptCompaction = receiptCompaction;
+    this.transactionIndexCompaction = transactionIndexCompaction;
     migrateVariables();
   }
 
+  /**
+   * Creates a new blockchain storage instance, storing transaction locations with the legacy
+   * encoding.
+   *
+   * @param blockchainStorage the key-value storage for blockchain data
+   * @param variablesStorage the storage for blockchain variables
+   * @param blockHeaderFunctions functions for block header operations
+   * @param protocolSchedule the protocol schedule for fork-aware receipt decoding (nullable for
+   *     backward compatibility - if null, uses pre-Amsterdam decoder for all receipts)
+   * @param receiptCompaction whether to use receipt compaction
+   */
+  public KeyValueStoragePrefixedKeyBlockchainStorage(
+      final KeyValueStorage blockchainStorage,
+      final VariablesStorage variablesStorage,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final ProtocolSchedule protocolSchedule,
+      final boolean receiptCompaction) {
+    this(
+        blockchainStorage,
+        variablesStorage,
+        blockHeaderFunctions,
+        protocolSchedule,
+        receiptCompaction,
+        false);
+  }
+
   /**
    * Creates a new blockchain storage instance without protocol schedule. This constructor is
    * provided for backward compatibility with tests that don't need fork-aware receipt decoding.
@@ -177,7 +212,84 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   @Override
   public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
     return get(TRANSACTION_LOCATION_PREFIX, transactionHash.getBytes())
-        .map(bytes -> TransactionLocation.readFrom(RLP.input(bytes)));
+        .flatMap(this::decodeTransactionLocation);
+  }
+
+  /**
+   * Transaction locations are stored either as the RLP list [block hash, index], or, when
+   * transaction index compaction is enabled, as [block number, index], where the number refers to
+   * the canonical chain, that is the only one whose transactions are indexed.
+   */
+  private Optional<TransactionLocation> decodeTransactionLocation(final Bytes bytes) {
+    final RLPInput input = RLP.input(bytes);
+    input.enterList();
+    if (input.nextSize() == Bytes32.SIZE) {
+      final Hash blockHash = Hash.wrap(input.readBytes32());
+      return Optional.of(new TransactionLocation(blockHash, input.readIntScalar()));
+    }
+    final long blockNumber = input.readLongScalar();
+    final int transactionIndex = input.readIntScalar();
+    return getBlockHash(blockNumber)
+        .map(blockHash -> new TransactionLocation(blockHash, transactionIndex));
+  }
+
+  private static Bytes compactTransactionLocation(
+      final long blockNumber, final int transactionIndex) {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeLongScalar(blockNumber);
+          out.writeIntScalar(transactionIndex);
+          out.endList();
+        });
+  }
+
+  /**
+   * Rewrites the transaction locations stored with the legacy encoding using the compact one, that
+   * references the block by number. Locations of blocks no longer in the canonical chain are left
+   * untouched.
+   *
+   * @param batchSize the number of locations to rewrite in each committed transaction
+   * @return the number of rewritten locations
+   */
+  public long compactTransactionLocations(final int batchSize) {
+    final byte prefix = TRANSACTION_LOCATION_PREFIX.get(0);
+    long compacted = 0;
+    int pending = 0;
+    KeyValueStorageTransaction transaction = blockchainStorage.startTransaction();
+    try (final Stream<Pair<byte[], byte[]>> entries =
+        blockchainStorage.streamFromKey(TRANSACTION_LOCATION_PREFIX.toArrayUnsafe())) {
+      final Iterator<Pair<byte[], byte[]>> iterator =
+          entries.takeWhile(entry -> entry.getKey()[0] == prefix).iterator();
+      while (iterator.hasNext()) {
+        final Pair<byte[], byte[]> entry = iterator.next();
+        final RLPInput input = RLP.input(Bytes.wrap(entry.getValue()));
+        input.enterList();
+        if (input.nextSize() != Bytes32.SIZE) {
+          continue;
+        }
+        final Hash blockHash = Hash.wrap(input.readBytes32());
+        final int transactionIndex = input.readIntScalar();
+        final Optional<Long> canonicalNumber =
+            getBlockHeader(blockHash)
+                .map(BlockHeader::getNumber)
+                .filter(number -> getBlockHash(number).filter(blockHash::equals).isPresent());
+        if (canonicalNumber.isEmpty()) {
+          continue;
+        }
+        transaction.put(
+            entry.getKey(),
+            compactTransactionLocation(canonicalNumber.get(), transactionIndex).toArrayUnsafe());
+        compacted++;
+        if (++pending == batchSize) {
+          transaction.commit();
+          transaction = blockchainStorage.startTransaction();
+          pending = 0;
+        }
+      }
+    }
+    transaction.commit();
+    return compacted;
   }
 
   @Override
@@ -193,7 +305,10 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   @Override
   public Updater updater() {
     return new Updater(
-        blockchainStorage.startTransaction(), variablesStorage.updater(), receiptCompaction);
+        blockchainStorage.startTransaction(),
+        variablesStorage.updater(),
+        receiptCompaction,
+        transactionIndexCompaction);
   }
 
   private List<TransactionReceipt> rlpDecodeTransactionReceipts(final Bytes bytes) {
@@ -326,14 +441,17 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     private final KeyValueStorageTransaction blockchainTransaction;
     private final VariablesStorage.Updater variablesUpdater;
     private final boolean receiptCompaction;
+    private final boolean transactionIndexCompaction;
 
     Updater(
         final KeyValueStorageTransaction blockchainTransaction,
         final VariablesStorage.Updater variablesUpdater,
-        final boolean receiptCompaction) {
+        final boolean receiptCompaction,
+        final boolean transactionIndexCompaction) {
       this.blockchainTransaction = blockchainTransaction;
       this.variablesUpdater = variablesUpdater;
       this.receiptCompaction = receiptCompaction;
+      this.transactionIndexCompaction = transactionIndexCompaction;
     }
 
     @Override
@@ -371,6 +489,22 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
           RLP.encode(transactionLocation::writeTo));
     }
 
+    @Override
+    public void putTransactionLocations(
+        final Hash blockHash, final long blockNumber, final List<Hash> transactionHashes) {
+      if (!transactionIndexCompaction) {
+        BlockchainStorage.Updater.super.putTransactionLocations(
+            blockHash, blockNumber, transactionHashes);
+        return;
+      }
+      for (int index = 0; index < transactionHashes.size(); index++) {
+        set(
+            TRANSACTION_LOCATION_PREFIX,
+            transactionHashes.get(index).getBytes(),
+            compactTransactionLocation(blockNumber, index));
+      }
+    }
+
     @Override
     public void putTransactionReceipts(
         final Hash blockHash, final List<TransactionReceipt> transactionReceipts) {
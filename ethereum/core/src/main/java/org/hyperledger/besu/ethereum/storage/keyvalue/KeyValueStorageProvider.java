@@ -76,7 +76,8 @@ public class KeyValueStorageProvider implements StorageProvider {
         variablesStorage,
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
         protocolSchedule,
-        dataStorageConfiguration.getReceiptCompactionEnabled());
+        dataStorageConfiguration.getReceiptCompactionEnabled(),
+        dataStorageConfiguration.getTransactionIndexCompactionEnabled());
   }
 
   @Override
@@ -0,0 +1,49 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.transaction;
+
+import org.hyperledger.besu.datatypes.CallParameter;
+import org.hyperledger.besu.datatypes.StateOverrideMap;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.Optional;
+
+/**
+ * Simulates transactions on a world state that is opened once by the transaction simulator and
+ * shared by all the simulations, instead of opening a copy of the world state for each of them.
+ * Each simulation runs on its own updater that is discarded afterward, so the simulations do not
+ * see the changes of each other, but the accounts and storage read by a simulation are already
+ * loaded for the next ones.
+ */
+@FunctionalInterface
+public interface SharedWorldStateSimulation {
+
+  /**
+   * Simulate a transaction on the shared world state
+   *
+   * @param callParams The call parameters for the transaction.
+   * @param maybeStateOverrides The map of state overrides to apply to the state for this
+   *     transaction.
+   * @param transactionValidationParams The validation parameters for the transaction.
+   * @param operationTracer The tracer for capturing operations during processing.
+   * @return the result of the simulation, or empty if it could not be processed
+   */
+  Optional<TransactionSimulatorResult> process(
+      CallParameter callParams,
+      Optional<StateOverrideMap> maybeStateOverrides,
+      TransactionValidationParams transactionValidationParams,
+      OperationTracer operationTracer);
+}
@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -173,6 +174,92 @@ public class TransactionSimulator {
     }
   }
 
+  /**
+   * Processes several transaction simulations on the same copy of the world state of the block,
+   * which is opened only once, so the accounts and storage read by the first simulation are already
+   * loaded for the following ones. Each simulation runs on its own updater, discarded afterward.
+   *
+   * @param header The block header.
+   * @param simulations The function running the simulations, it must not use the simulation after
+   *     it returns.
+   * @return An Optional containing the result of the function, or empty if the world state of the
+   *     block is not available.
+   */
+  public <U> Optional<U> processWithSharedWorldState(
+      final BlockHeader header, final Function<SharedWorldStateSimulation, U> simulations) {
+    if (header == null) {
+      return Optional.empty();
+    }
+
+    try (final MutableWorldState ws = getWorldState(header)) {
+      if (ws instanceof BonsaiWorldState bonsaiWorldState) {
+        bonsaiWorldState.disableCacheMerkleTrieLoader();
+      }
+      final var miningBeneficiary =
+          protocolSchedule
+              .getByBlockHeader(header)
+              .getMiningBeneficiaryCalculator()
+              .calculateBeneficiary(header);
+
+      return Optional.ofNullable(
+          simulations.apply(
+              sharedWorldStateSimulation(
+                  getEffectiveWorldStateUpdater(ws), header, miningBeneficiary)));
+    } catch (final Exception e) {
+      LOG.atDebug()
+          .setMessage("Transaction simulations failed for block {}: {}")
+          .addArgument(header::toLogString)
+          .addArgument(e::toString)
+          .setCause(e)
+          .log();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Processes several transaction simulations on the pending block, on the same copy of the world
+   * state of its parent, see {@link #processWithSharedWorldState(BlockHeader, Function)}.
+   *
+   * @param pendingBlockHeader The pending block header.
+   * @param simulations The function running the simulations, it must not use the simulation after
+   *     it returns.
+   * @return An Optional containing the result of the function.
+   */
+  public <U> Optional<U> processOnPendingWithSharedWorldState(
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Function<SharedWorldStateSimulation, U> simulations) {
+
+    try (final MutableWorldState disposableWorldState =
+        duplicateWorldStateAtParent(pendingBlockHeader.getParentHash())) {
+      return Optional.ofNullable(
+          simulations.apply(
+              sharedWorldStateSimulation(
+                  getEffectiveWorldStateUpdater(disposableWorldState),
+                  pendingBlockHeader,
+                  pendingBlockHeader.getCoinbase())));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private SharedWorldStateSimulation sharedWorldStateSimulation(
+      final WorldUpdater sharedUpdater,
+      final ProcessableBlockHeader processableHeader,
+      final Address miningBeneficiary) {
+    // the changes of a simulation are committed to its own child updater and never reach the shared
+    // one, while what is read through the child updater is cached in the shared one
+    return (callParams, maybeStateOverrides, transactionValidationParams, operationTracer) ->
+        processWithWorldUpdater(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            processableHeader,
+            sharedUpdater.updater(),
+            miningBeneficiary,
+            Optional.empty());
+  }
+
   public ProcessableBlockHeader simulatePendingBlockHeader() {
     final var chainHeadHeader = blockchain.getChainHeadHeader();
     final var currentProtocolSpec = protocolSchedule.getByBlockHeader(chainHeadHeader);
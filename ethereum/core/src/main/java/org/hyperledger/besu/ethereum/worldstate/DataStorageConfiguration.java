@@ -24,6 +24,7 @@ import org.immutables.value.Value;
 public interface DataStorageConfiguration {
 
   boolean DEFAULT_RECEIPT_COMPACTION_ENABLED = true;
+  boolean DEFAULT_TRANSACTION_INDEX_COMPACTION_ENABLED = false;
   boolean DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED = false;
   boolean DEFAULT_REVERT_REASON_ENABLED = false;
 
@@ -67,6 +68,11 @@ public interface DataStorageConfiguration {
     return DEFAULT_RECEIPT_COMPACTION_ENABLED;
   }
 
+  @Value.Default
+  default boolean getTransactionIndexCompactionEnabled() {
+    return DEFAULT_TRANSACTION_INDEX_COMPACTION_ENABLED;
+  }
+
   @Value.Default
   default boolean getHistoryExpiryPruneEnabled() {
     return DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED;
@@ -0,0 +1,63 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockDataCacheTest {
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void lookupsAreServedFromBothTiers() {
+    final BlockDataCache<BlockHeader> cache =
+        new BlockDataCache<>(
+            "test",
+            1024 * 1024,
+            BlockDataMemoryFootprint.HEADER_SIZE,
+            BlockDataMemoryFootprint::header);
+
+    final BlockHeader recentHeader = gen.header(10);
+    final BlockHeader historicalHeader = gen.header(1);
+    cache.putRecent(recentHeader.getHash(), recentHeader);
+    cache.putHistorical(historicalHeader.getHash(), historicalHeader);
+
+    assertThat(cache.getIfPresent(recentHeader.getHash())).isEqualTo(recentHeader);
+    assertThat(cache.getIfPresent(historicalHeader.getHash())).isEqualTo(historicalHeader);
+    assertThat(cache.getIfPresent(Hash.ZERO)).isNull();
+
+    assertThat(cache.estimatedSize()).isEqualTo(2);
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void emptyCacheHasNoWeight() {
+    final BlockDataCache<BlockHeader> cache =
+        new BlockDataCache<>(
+            "test",
+            1024 * 1024,
+            BlockDataMemoryFootprint.HEADER_SIZE,
+            BlockDataMemoryFootprint::header);
+
+    assertThat(cache.estimatedSize()).isZero();
+    assertThat(cache.estimatedWeight()).isZero();
+  }
+}
@@ -158,6 +158,37 @@ public class DefaultBlockchainTest {
     assertTotalDifficultiesAreConsistent(blockchain, lastBlock);
   }
 
+  @Test
+  public void compactTransactionLocationsIgnoreRewrittenCanonicalMapping() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvStore,
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions(),
+            null,
+            false,
+            true);
+    final List<Block> blocks = gen.blockSequence(3);
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            blocks.get(0), blockchainStorage, new NoOpMetricsSystem(), 0);
+    for (int i = 1; i < blocks.size(); i++) {
+      blockchain.appendBlock(blocks.get(i), gen.receipts(blocks.get(i)));
+    }
+    final Transaction transaction = blocks.get(1).getBody().getTransactions().get(0);
+    assertThat(blockchain.getTransactionByHash(transaction.getHash())).contains(transaction);
+
+    // the number of the block now maps to another block
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    updater.putBlockHash(1, blocks.get(2).getHash());
+    updater.commit();
+
+    assertThat(blockchain.getTransactionByHash(transaction.getHash())).isEmpty();
+    assertThat(blockchain.getTransactionLocation(transaction.getHash())).isEmpty();
+  }
+
   @Test
   public void initializeReadOnly_withGiantDifficultyAndLiveMetrics() {
     final BlockDataGenerator gen = new BlockDataGenerator();
@@ -991,26 +1022,26 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getTransactionReceiptsCache()).isNotEmpty();
     assertThat(blockchain.getTotalDifficultyCache()).isNotEmpty();
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getBlockBodiesCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getTransactionReceiptsCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getTotalDifficultyCache().get().size()).isEqualTo(0);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getTransactionReceiptsCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getTotalDifficultyCache().get().estimatedSize()).isEqualTo(0);
 
     blockchain.appendBlock(newBlock, receipts);
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getBlockHeadersCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getHeader());
 
-    assertThat(blockchain.getBlockBodiesCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getBlockBodiesCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getBody());
 
-    assertThat(blockchain.getTransactionReceiptsCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getTransactionReceiptsCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getTransactionReceiptsCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(receipts);
 
-    assertThat(blockchain.getTotalDifficultyCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getTotalDifficultyCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getTotalDifficultyCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getHeader().getDifficulty());
   }
@@ -1036,15 +1067,55 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getTransactionReceiptsCache()).isEmpty();
     assertThat(blockchain.getTotalDifficultyCache()).isEmpty();
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(0);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(0);
 
     blockchain.appendBlock(newBlock, receipts);
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getBlockHeadersCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getHeader());
   }
 
+  @Test
+  public void testCacheUsedWhenBlockCacheMaxBytesNotZero() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                genesisBlock,
+                createStorage(kvStore, kvStoreVariables),
+                new NoOpMetricsSystem(),
+                0,
+                "/data/test",
+                0,
+                0,
+                64 * 1024 * 1024,
+                false);
+
+    final BlockDataGenerator.BlockOptions options =
+        new BlockDataGenerator.BlockOptions()
+            .setBlockNumber(1L)
+            .setParentHash(genesisBlock.getHash());
+    final Block newBlock = gen.block(options);
+    final List<TransactionReceipt> receipts = gen.receipts(newBlock);
+
+    assertThat(blockchain.getBlockHeadersCache()).isNotEmpty();
+    assertThat(blockchain.getBlockBodiesCache()).isNotEmpty();
+    assertThat(blockchain.getTransactionReceiptsCache()).isNotEmpty();
+    assertThat(blockchain.getTotalDifficultyCache()).isNotEmpty();
+
+    blockchain.appendBlock(newBlock, receipts);
+
+    assertThat(blockchain.getBlockBodiesCache().get().getIfPresent(newBlock.getHash()))
+        .isEqualTo(newBlock.getBody());
+    assertThat(blockchain.getTransactionReceiptsCache().get().getIfPresent(newBlock.getHash()))
+        .isEqualTo(receipts);
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedWeight()).isPositive();
+  }
+
   /*
    * Check that block header, block body, block number, transaction locations, and receipts for this
    * block are all stored.
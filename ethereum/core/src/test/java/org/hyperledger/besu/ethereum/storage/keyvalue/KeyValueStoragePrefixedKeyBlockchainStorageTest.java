@@ -29,15 +29,18 @@ import static org.mockito.Mockito.mock;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage.Updater;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.SyncTransactionReceipt;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.SyncTransactionReceiptDecoder;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
@@ -47,6 +50,7 @@ import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Assertions;
@@ -271,4 +275,65 @@ public class KeyValueStoragePrefixedKeyBlockchainStorageTest {
     Assertions.assertEquals(
         bal, loaded, "BAL round-trip through storage must preserve accountChanges");
   }
+
+  @Test
+  public void compactTransactionLocationsReferenceCanonicalBlockByNumber() {
+    final var blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, null, false, true);
+
+    final BlockDataGenerator generator = new BlockDataGenerator();
+    final Hash blockHash = generator.hash();
+    final Hash transactionHash = generator.hash();
+
+    final Updater updater = blockchainStorage.updater();
+    updater.putBlockHash(42, blockHash);
+    updater.putTransactionLocations(blockHash, 42, List.of(generator.hash(), transactionHash));
+    updater.commit();
+
+    Assertions.assertEquals(
+        Optional.of(new TransactionLocation(blockHash, 1)),
+        blockchainStorage.getTransactionLocation(transactionHash));
+  }
+
+  @Test
+  public void compactTransactionLocationsMigratesLegacyEntries() {
+    final var legacyStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, new MainnetBlockHeaderFunctions(), false);
+
+    final BlockDataGenerator generator = new BlockDataGenerator();
+    final BlockHeader canonicalHeader = generator.header(7);
+    final BlockHeader forkHeader = generator.header(7);
+    final Hash transactionHash = generator.hash();
+    final Hash forkTransactionHash = generator.hash();
+
+    final Updater updater = legacyStorage.updater();
+    updater.putBlockHeader(canonicalHeader.getHash(), canonicalHeader);
+    updater.putBlockHeader(forkHeader.getHash(), forkHeader);
+    updater.putBlockHash(7, canonicalHeader.getHash());
+    updater.putTransactionLocations(
+        canonicalHeader.getHash(), 7, List.of(generator.hash(), transactionHash));
+    updater.putTransactionLocation(
+        forkTransactionHash, new TransactionLocation(forkHeader.getHash(), 0));
+    updater.commit();
+    final int legacySize = transactionLocationSize(transactionHash);
+
+    Assertions.assertEquals(2, legacyStorage.compactTransactionLocations(1));
+
+    Assertions.assertTrue(transactionLocationSize(transactionHash) < legacySize);
+    Assertions.assertEquals(
+        Optional.of(new TransactionLocation(canonicalHeader.getHash(), 1)),
+        legacyStorage.getTransactionLocation(transactionHash));
+    Assertions.assertEquals(
+        Optional.of(new TransactionLocation(forkHeader.getHash(), 0)),
+        legacyStorage.getTransactionLocation(forkTransactionHash));
+  }
+
+  private int transactionLocationSize(final Hash transactionHash) {
+    return kvBlockchain
+        .get(Bytes.concatenate(Bytes.of(7), transactionHash.getBytes()).toArrayUnsafe())
+        .orElseThrow()
+        .length;
+  }
 }
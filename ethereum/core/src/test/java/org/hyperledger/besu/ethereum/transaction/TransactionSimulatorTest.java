@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.transaction;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryWorldState;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
 import static org.hyperledger.besu.evm.tracing.OperationTracer.NO_TRACING;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StateOverride;
+import org.hyperledger.besu.datatypes.StateOverrideMap;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
@@ -64,6 +66,7 @@ import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -224,6 +227,73 @@ public class TransactionSimulatorTest extends TrustedSetupClassLoaderExtension {
     verifyTransactionWasProcessed(expectedTransaction);
   }
 
+  @Test
+  public void sharedWorldStateSimulationsDoNotSeeTheChangesOfEachOther() {
+    final CallParameter callParameter = legacyTransactionCallParameterBuilder().build();
+    final Address sender = callParameter.getSender().orElseThrow();
+    final BlockHeader blockHeader =
+        mockBlockHeader(Hash.ZERO, 1L, Wei.ONE, DEFAULT_BLOCK_GAS_LIMIT);
+    mockBlockchainForBlockHeader(blockHeader);
+    mockProtocolSpecForProcessWithWorldUpdater();
+
+    final MutableWorldState sharedWorldState = createInMemoryWorldState();
+    final WorldUpdater setupUpdater = sharedWorldState.updater();
+    setupUpdater.createAccount(sender).setBalance(Wei.of(100));
+    setupUpdater.commit();
+    when(worldStateArchive.getWorldState(withBlockHeaderAndNoUpdateNodeHead(blockHeader)))
+        .thenReturn(Optional.of(sharedWorldState));
+
+    // every simulation records what it sees, then changes the balance and the storage
+    final List<Wei> seenBalances = new ArrayList<>();
+    final List<UInt256> seenStorageValues = new ArrayList<>();
+    final TransactionProcessingResult result = mock(TransactionProcessingResult.class);
+    when(result.isSuccessful()).thenReturn(true);
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(Wei.class), any()))
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(0);
+              final MutableAccount account = updater.getAccount(sender);
+              seenBalances.add(account.getBalance());
+              seenStorageValues.add(account.getStorageValue(UInt256.ONE));
+              account.setBalance(Wei.ZERO);
+              account.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+              updater.commit();
+              return result;
+            });
+
+    final StateOverrideMap stateOverrides = new StateOverrideMap();
+    stateOverrides.put(
+        sender,
+        new StateOverride.Builder()
+            .withBalance(Wei.of(999))
+            .withStateDiff(Map.of("0x01", "0x03"))
+            .build());
+
+    uncappedTransactionSimulator.processWithSharedWorldState(
+        blockHeader,
+        simulation -> {
+          simulation.process(
+              callParameter,
+              Optional.of(stateOverrides),
+              TransactionValidationParams.transactionSimulator(),
+              NO_TRACING);
+          simulation.process(
+              callParameter,
+              Optional.empty(),
+              TransactionValidationParams.transactionSimulator(),
+              NO_TRACING);
+          return simulation.process(
+              callParameter,
+              Optional.empty(),
+              TransactionValidationParams.transactionSimulator(),
+              NO_TRACING);
+        });
+
+    assertThat(seenBalances).containsExactly(Wei.of(999), Wei.of(100), Wei.of(100));
+    assertThat(seenStorageValues).containsExactly(UInt256.valueOf(3), UInt256.ZERO, UInt256.ZERO);
+  }
+
   @Test
   public void simulateOnPendingBlockWorks() {
     final CallParameter callParameter = eip1559TransactionCallParameterBuilder().build();
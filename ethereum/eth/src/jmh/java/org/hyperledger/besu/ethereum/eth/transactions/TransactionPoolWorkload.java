@@ -0,0 +1,218 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * A stream of events to replay against the transaction pool: transactions received by gossip or
+ * submitted by RPC, and blocks added to the chain, that confirm the best transactions in the pool.
+ *
+ * <p>The stream is either generated, to reproduce specific patterns, or read from a txpool content
+ * saved by a node in the binary format, see {@code --Xtx-pool-save-binary-format}, that records the
+ * transactions received from mainnet gossip with their sender and source.
+ *
+ * @param events the events, in the order they are replayed
+ * @param senderNonces the account nonce of each sender at the start of the replay
+ */
+public record TransactionPoolWorkload(
+    List<TransactionPoolWorkload.Event> events, Map<Address, Long> senderNonces) {
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+  private static final long MAX_FEE_PER_GAS = 5000;
+  private static final long MIN_PRIORITY_FEE_PER_GAS = 100;
+  private static final int NONCES_BY_SENDER = 16;
+  private static final int REPLACEMENTS_BY_SENDER = 8;
+  // each replacement bumps the fees above the default price bump of 10%
+  private static final int REPLACEMENT_BUMP_PERCENT = 15;
+  // one every this number of transactions is submitted by RPC, the others are from gossip
+  private static final int ONE_LOCAL_EVERY = 10;
+
+  /** An event to replay */
+  public sealed interface Event permits AddTransaction, AddBlock {}
+
+  /**
+   * A transaction received by gossip or submitted by RPC
+   *
+   * @param transaction the transaction
+   * @param isLocal true if the transaction is submitted by RPC
+   */
+  public record AddTransaction(Transaction transaction, boolean isLocal) implements Event {}
+
+  /** A new block is added, confirming the best transactions in the pool */
+  public record AddBlock() implements Event {}
+
+  /** The available workloads */
+  public enum Kind {
+    /** Many senders, each sending a single transaction with a random priority fee */
+    SPAM,
+    /** Senders that first send all their even nonces, and only later the missing odd ones */
+    NONCE_GAPS,
+    /** Senders that repeatedly replace their transaction, bumping the fees every time */
+    REPLACEMENT_STORM,
+    /** The transactions of a txpool content saved in the binary format */
+    RECORDED
+  }
+
+  /**
+   * Create a workload
+   *
+   * @param kind the kind of workload
+   * @param recording the file with the txpool content, only used by the recorded workload
+   * @param transactionCount the number of transactions of a generated workload
+   * @param transactionsPerBlock the number of transactions received between two blocks
+   * @return the workload
+   * @throws IOException if the recording cannot be read
+   */
+  public static TransactionPoolWorkload create(
+      final Kind kind,
+      final String recording,
+      final int transactionCount,
+      final int transactionsPerBlock)
+      throws IOException {
+    return switch (kind) {
+      case SPAM -> spam(transactionCount, transactionsPerBlock);
+      case NONCE_GAPS -> nonceGaps(transactionCount, transactionsPerBlock);
+      case REPLACEMENT_STORM -> replacementStorm(transactionCount, transactionsPerBlock);
+      case RECORDED -> recorded(Path.of(recording), transactionsPerBlock);
+    };
+  }
+
+  static TransactionPoolWorkload spam(final int transactionCount, final int transactionsPerBlock) {
+    final Random random = new Random(transactionCount);
+    final List<AddTransaction> adds = new ArrayList<>(transactionCount);
+    for (int i = 0; i < transactionCount; i++) {
+      final KeyPair keys = SIGNATURE_ALGORITHM.generateKeyPair();
+      final long priorityFee = MIN_PRIORITY_FEE_PER_GAS + random.nextInt(1000);
+      adds.add(add(keys, 0, priorityFee, MAX_FEE_PER_GAS, i));
+    }
+    return withBlocks(adds, transactionsPerBlock);
+  }
+
+  static TransactionPoolWorkload nonceGaps(
+      final int transactionCount, final int transactionsPerBlock) {
+    final KeyPair[] senders = senders(transactionCount / NONCES_BY_SENDER);
+    final List<AddTransaction> adds = new ArrayList<>(transactionCount);
+    // first all the even nonces, that create the gaps, then all the odd ones that fill them
+    for (int firstNonce = 0; firstNonce < 2; firstNonce++) {
+      for (int nonce = firstNonce; nonce < NONCES_BY_SENDER; nonce += 2) {
+        for (final KeyPair sender : senders) {
+          adds.add(add(sender, nonce, MIN_PRIORITY_FEE_PER_GAS, MAX_FEE_PER_GAS, adds.size()));
+        }
+      }
+    }
+    return withBlocks(adds, transactionsPerBlock);
+  }
+
+  static TransactionPoolWorkload replacementStorm(
+      final int transactionCount, final int transactionsPerBlock) {
+    final KeyPair[] senders = senders(transactionCount / REPLACEMENTS_BY_SENDER);
+    final List<AddTransaction> adds = new ArrayList<>(transactionCount);
+    long feeMultiplierPercent = 100;
+    for (int replacement = 0; replacement < REPLACEMENTS_BY_SENDER; replacement++) {
+      for (final KeyPair sender : senders) {
+        adds.add(
+            add(
+                sender,
+                0,
+                MIN_PRIORITY_FEE_PER_GAS * feeMultiplierPercent / 100,
+                MAX_FEE_PER_GAS * feeMultiplierPercent / 100,
+                adds.size()));
+      }
+      feeMultiplierPercent = feeMultiplierPercent * (100 + REPLACEMENT_BUMP_PERCENT) / 100;
+    }
+    return withBlocks(adds, transactionsPerBlock);
+  }
+
+  static TransactionPoolWorkload recorded(final Path recording, final int transactionsPerBlock)
+      throws IOException {
+    final List<AddTransaction> adds = new ArrayList<>();
+    final Map<Address, Long> senderNonces = new HashMap<>();
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(recording)))) {
+      TransactionPoolSnapshot.readHeader(in);
+      Optional<TransactionPoolSnapshot.Entry> maybeEntry;
+      while ((maybeEntry = TransactionPoolSnapshot.Entry.readFrom(in)).isPresent()) {
+        final TransactionPoolSnapshot.Entry entry = maybeEntry.get();
+        final Transaction transaction = entry.decode();
+        adds.add(new AddTransaction(transaction, entry.isLocal()));
+        // the lowest saved nonce of a sender is the next one to be confirmed
+        senderNonces.merge(entry.sender(), transaction.getNonce(), Math::min);
+      }
+    }
+    return new TransactionPoolWorkload(
+        withBlocks(adds, transactionsPerBlock).events(), senderNonces);
+  }
+
+  private static KeyPair[] senders(final int count) {
+    final KeyPair[] senders = new KeyPair[Math.max(1, count)];
+    for (int i = 0; i < senders.length; i++) {
+      senders[i] = SIGNATURE_ALGORITHM.generateKeyPair();
+    }
+    return senders;
+  }
+
+  private static AddTransaction add(
+      final KeyPair keys,
+      final long nonce,
+      final long maxPriorityFeePerGas,
+      final long maxFeePerGas,
+      final int index) {
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .type(TransactionType.EIP1559)
+            .gasLimit(21_000)
+            .nonce(nonce)
+            .maxFeePerGas(Optional.of(Wei.of(maxFeePerGas)))
+            .maxPriorityFeePerGas(Optional.of(Wei.of(maxPriorityFeePerGas)))
+            .sender(Util.publicKeyToAddress(keys.getPublicKey()))
+            .createTransaction(keys);
+    // recover the sender once, so it is not measured while replaying
+    transaction.getSender();
+    return new AddTransaction(transaction, index % ONE_LOCAL_EVERY == 0);
+  }
+
+  private static TransactionPoolWorkload withBlocks(
+      final List<AddTransaction> adds, final int transactionsPerBlock) {
+    final List<Event> events = new ArrayList<>(adds.size() + adds.size() / transactionsPerBlock);
+    for (int i = 0; i < adds.size(); i++) {
+      events.add(adds.get(i));
+      if ((i + 1) % transactionsPerBlock == 0) {
+        events.add(new AddBlock());
+      }
+    }
+    return new TransactionPoolWorkload(events, Map.of());
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Util;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the layered transaction pool under contention, with concurrent threads adding
+ * transactions, looking them up by hash like the RPC and the gossip do, selecting them for block
+ * creation and confirming them, which promotes the following transactions of the same senders
+ * across the layers.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ *   ./gradlew :ethereum:eth:jmh -Pincludes=LayeredPendingTransactionsContention
+ * </pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class LayeredPendingTransactionsContentionBenchmark {
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+  private static final Wei BASE_FEE = Wei.of(100);
+  private static final int SELECTED_PER_BLOCK = 200;
+
+  @Param({"256"})
+  public int senderCount;
+
+  @Param({"32"})
+  public int noncesBySender;
+
+  private Transaction[][] txsBySender;
+  private Hash[] hashes;
+  private EthScheduler ethScheduler;
+  private LayeredPendingTransactions pendingTransactions;
+  private final AtomicInteger addCursor = new AtomicInteger();
+  private int[] confirmedNonces;
+  private int confirmCursor;
+  private long blockNumber;
+
+  @Setup(Level.Trial)
+  public void createTransactions() {
+    txsBySender = new Transaction[senderCount][noncesBySender];
+    hashes = new Hash[senderCount * noncesBySender];
+    for (int s = 0; s < senderCount; s++) {
+      final KeyPair keys = SIGNATURE_ALGORITHM.generateKeyPair();
+      final TransactionTestFixture fixture =
+          new TransactionTestFixture()
+              .type(TransactionType.EIP1559)
+              .gasLimit(21_000)
+              .maxFeePerGas(Optional.of(Wei.of(5000)))
+              .sender(Util.publicKeyToAddress(keys.getPublicKey()));
+      for (int n = 0; n < noncesBySender; n++) {
+        final Transaction tx =
+            fixture
+                .nonce(n)
+                .maxPriorityFeePerGas(Optional.of(Wei.of(100 + (s * 31 + n) % 400)))
+                .createTransaction(keys);
+        txsBySender[s][n] = tx;
+        hashes[s * noncesBySender + n] = tx.getHash();
+      }
+    }
+    ethScheduler = new EthScheduler(1, 1, 1, new NoOpMetricsSystem());
+  }
+
+  @Setup(Level.Iteration)
+  public void createPool() {
+    final TransactionPoolConfiguration poolConfig =
+        ImmutableTransactionPoolConfiguration.builder()
+            .maxPrioritizedTransactions(2_000)
+            .maxFutureBySender(noncesBySender)
+            .build();
+    final BlockHeader chainHead = header(0);
+    final TransactionPoolReplacementHandler replacementHandler =
+        new TransactionPoolReplacementHandler(
+            poolConfig.getPriceBump(), poolConfig.getBlobPriceBump());
+    final BiFunction<PendingTransaction, PendingTransaction, Boolean> replacementTester =
+        (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead);
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(
+            poolConfig,
+            ethScheduler,
+            new EndLayer(metrics),
+            metrics,
+            replacementTester,
+            new BlobCache());
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(
+            poolConfig,
+            ethScheduler,
+            sparseTransactions,
+            metrics,
+            replacementTester,
+            new BlobCache());
+    final BaseFeePrioritizedTransactions prioritizedTransactions =
+        new BaseFeePrioritizedTransactions(
+            poolConfig,
+            () -> chainHead,
+            ethScheduler,
+            readyTransactions,
+            metrics,
+            replacementTester,
+            FeeMarket.london(0L),
+            new BlobCache(),
+            MiningConfiguration.newDefault(),
+            new SenderBalanceChecker.NoOpChecker());
+
+    pendingTransactions =
+        new LayeredPendingTransactions(
+            new ProtocolContext.Builder().build(),
+            poolConfig,
+            prioritizedTransactions,
+            ethScheduler);
+    addCursor.set(0);
+    confirmedNonces = new int[senderCount];
+    confirmCursor = 0;
+    blockNumber = 0;
+  }
+
+  @TearDown(Level.Trial)
+  public void stopScheduler() throws InterruptedException {
+    ethScheduler.stop();
+    ethScheduler.awaitStop();
+  }
+
+  /** Adds the transactions in a shuffled nonce order, so some of them land in the sparse layer. */
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(4)
+  public void add(final Blackhole bh) {
+    final int cursor = Math.floorMod(addCursor.getAndIncrement(), hashes.length);
+    final int sender = cursor % senderCount;
+    final int nonce = (cursor / senderCount) ^ (cursor & 1);
+    bh.consume(
+        pendingTransactions.addTransaction(
+            PendingTransaction.newPendingTransaction(
+                txsBySender[sender][Math.min(nonce, noncesBySender - 1)], false, false, (byte) 0),
+            Optional.empty()));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(4)
+  public void getByHash(final Blackhole bh) {
+    bh.consume(
+        pendingTransactions.getTransactionByHash(
+            hashes[ThreadLocalRandom.current().nextInt(hashes.length)]));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public void getPendingTransactions(final Blackhole bh) {
+    bh.consume(pendingTransactions.getPendingTransactions());
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public void select(final Blackhole bh) {
+    pendingTransactions.selectTransactions(
+        candidates -> {
+          final Map<PendingTransaction, TransactionSelectionResult> results =
+              new LinkedHashMap<>();
+          candidates.stream().limit(SELECTED_PER_BLOCK).forEach(ptx -> results.put(ptx, SELECTED));
+          bh.consume(results);
+          return results;
+        });
+  }
+
+  /** Confirms the lowest nonce of the next sender, promoting its following transactions. */
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public void confirm() {
+    final int sender = confirmCursor++ % senderCount;
+    final int nonce = confirmedNonces[sender];
+    if (nonce < noncesBySender) {
+      confirmedNonces[sender] = nonce + 1;
+      pendingTransactions.manageBlockAdded(
+          header(++blockNumber),
+          List.of(txsBySender[sender][nonce]),
+          List.of(),
+          FeeMarket.london(0L));
+    }
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture().number(number).baseFeePerGas(BASE_FEE).buildHeader();
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload.AddTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload.Event;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Replays a stream of transactions received by gossip or submitted by RPC, and of added blocks,
+ * against the layered transaction pool. The stream is generated, to reproduce spam, nonce gaps or
+ * replacement storms, or read from a txpool content saved by a node in the binary format.
+ *
+ * <ul>
+ *   <li>{@code replay} measures the time to replay the whole stream on an empty pool, from which
+ *       the throughput is derived
+ *   <li>{@code addTransaction} samples the latency of each add, so its p99 is reported, with the
+ *       blocks added between two adds, outside the measurement
+ *   <li>{@code selectTransactions} samples the time to select the transactions for a block, from
+ *       the pool left by replaying the whole stream
+ * </ul>
+ *
+ * <p>Run with, adding {@code -PgcProfiler=true} to report the memory allocated per operation:
+ *
+ * <pre>
+ *   ./gradlew :ethereum:eth:jmh -Pincludes=LayeredPendingTransactionsReplay -Pcases=SPAM
+ * </pre>
+ *
+ * or, to replay a saved txpool content:
+ *
+ * <pre>
+ *   java -jar ethereum/eth/build/libs/*-jmh.jar LayeredPendingTransactionsReplay \
+ *     -p caseName=RECORDED -p recording=/path/to/txpool.dump
+ * </pre>
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class LayeredPendingTransactionsReplayBenchmark {
+  private static final TransactionPoolConfiguration POOL_CONFIG =
+      ImmutableTransactionPoolConfiguration.builder().build();
+
+  @Param({"SPAM", "NONCE_GAPS", "REPLACEMENT_STORM"})
+  public String caseName;
+
+  @Param({""})
+  public String recording;
+
+  @Param({"20000"})
+  public int transactionCount;
+
+  @Param({"200"})
+  public int transactionsPerBlock;
+
+  private List<Event> events;
+  private TransactionPoolWorkload workload;
+  private EthScheduler ethScheduler;
+  private TransactionPoolReplayer replayer;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void createWorkload() throws IOException {
+    workload =
+        TransactionPoolWorkload.create(
+            TransactionPoolWorkload.Kind.valueOf(caseName),
+            recording,
+            transactionCount,
+            transactionsPerBlock);
+    events = workload.events();
+    ethScheduler = new EthScheduler(1, 1, 1, new NoOpMetricsSystem());
+  }
+
+  @Setup(Level.Iteration)
+  public void createPool() {
+    replayer = newReplayer();
+    cursor = 0;
+  }
+
+  @TearDown(Level.Trial)
+  public void stopScheduler() throws InterruptedException {
+    ethScheduler.stop();
+    ethScheduler.awaitStop();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public int replay() {
+    events.forEach(replayer::replay);
+    return replayer.size();
+  }
+
+  /** Replays the events up to the next add, that is the only one measured. */
+  @State(Scope.Thread)
+  public static class NextAdd {
+    private AddTransaction addTransaction;
+
+    @Setup(Level.Invocation)
+    public void replayUpToNextAdd(final LayeredPendingTransactionsReplayBenchmark benchmark) {
+      addTransaction = benchmark.replayUpToNextAdd();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  public void addTransaction(final NextAdd nextAdd, final Blackhole bh) {
+    bh.consume(replayer.addTransaction(nextAdd.addTransaction));
+  }
+
+  /** The pool left by replaying all the events. */
+  @State(Scope.Thread)
+  public static class FilledPool {
+    private TransactionPoolReplayer replayer;
+
+    @Setup(Level.Iteration)
+    public void fill(final LayeredPendingTransactionsReplayBenchmark benchmark) {
+      replayer = benchmark.newReplayer();
+      benchmark.events.forEach(replayer::replay);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  public void selectTransactions(final FilledPool filledPool, final Blackhole bh) {
+    bh.consume(filledPool.replayer.selectTransactions());
+  }
+
+  private TransactionPoolReplayer newReplayer() {
+    return new TransactionPoolReplayer(workload, POOL_CONFIG, transactionsPerBlock, ethScheduler);
+  }
+
+  private AddTransaction replayUpToNextAdd() {
+    while (true) {
+      if (cursor == events.size()) {
+        // the stream is over, start again from an empty pool
+        replayer = newReplayer();
+        cursor = 0;
+      }
+      final Event event = events.get(cursor++);
+      if (event instanceof AddTransaction addTransaction) {
+        return addTransaction;
+      }
+      replayer.replay(event);
+    }
+  }
+}
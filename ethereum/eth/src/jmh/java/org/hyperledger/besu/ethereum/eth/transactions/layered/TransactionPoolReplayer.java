@@ -0,0 +1,174 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload.AddBlock;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload.AddTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolWorkload.Event;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.evm.fluent.SimpleAccount;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Replays the events of a {@link TransactionPoolWorkload} against a layered transaction pool,
+ * keeping track of the account nonce of the senders as the blocks confirm their transactions, like
+ * the world state would do.
+ */
+final class TransactionPoolReplayer {
+  private static final Wei BASE_FEE = Wei.of(100);
+  private static final Wei SENDER_BALANCE = Wei.fromEth(1000);
+  private static final FeeMarket FEE_MARKET = FeeMarket.london(0L);
+
+  private final int transactionsPerBlock;
+  private final Map<Address, Long> senderNonces;
+  private final LayeredPendingTransactions pendingTransactions;
+  private final AbstractPrioritizedTransactions prioritizedTransactions;
+  private BlockHeader chainHead = header(0);
+
+  /**
+   * Create a replayer with an empty pool
+   *
+   * @param workload the workload, whose sender nonces are the initial ones
+   * @param poolConfig the pool configuration
+   * @param transactionsPerBlock the max number of transactions confirmed by each block
+   * @param ethScheduler the scheduler used by the pool
+   */
+  TransactionPoolReplayer(
+      final TransactionPoolWorkload workload,
+      final TransactionPoolConfiguration poolConfig,
+      final int transactionsPerBlock,
+      final EthScheduler ethScheduler) {
+    this.transactionsPerBlock = transactionsPerBlock;
+    this.senderNonces = new HashMap<>(workload.senderNonces());
+
+    final TransactionPoolReplacementHandler replacementHandler =
+        new TransactionPoolReplacementHandler(
+            poolConfig.getPriceBump(), poolConfig.getBlobPriceBump());
+    final BiFunction<PendingTransaction, PendingTransaction, Boolean> replacementTester =
+        (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead);
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+    final BlobCache blobCache = new BlobCache();
+
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(
+            poolConfig,
+            ethScheduler,
+            new EndLayer(metrics),
+            metrics,
+            replacementTester,
+            blobCache);
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(
+            poolConfig, ethScheduler, sparseTransactions, metrics, replacementTester, blobCache);
+    prioritizedTransactions =
+        new BaseFeePrioritizedTransactions(
+            poolConfig,
+            () -> chainHead,
+            ethScheduler,
+            readyTransactions,
+            metrics,
+            replacementTester,
+            FEE_MARKET,
+            blobCache,
+            MiningConfiguration.newDefault(),
+            new SenderBalanceChecker.NoOpChecker());
+    pendingTransactions =
+        new LayeredPendingTransactions(
+            new ProtocolContext.Builder().build(),
+            poolConfig,
+            prioritizedTransactions,
+            ethScheduler);
+  }
+
+  void replay(final Event event) {
+    switch (event) {
+      case AddTransaction addTransaction -> addTransaction(addTransaction);
+      case AddBlock unused -> addBlock(selectTransactions());
+    }
+  }
+
+  TransactionAddedResult addTransaction(final AddTransaction addTransaction) {
+    final Transaction transaction = addTransaction.transaction();
+    final Address sender = transaction.getSender();
+    return pendingTransactions.addTransaction(
+        PendingTransaction.newPendingTransaction(
+            transaction, addTransaction.isLocal(), false, PendingTransaction.MAX_SCORE),
+        Optional.of(
+            new SimpleAccount(sender, senderNonces.getOrDefault(sender, 0L), SENDER_BALANCE)));
+  }
+
+  /**
+   * Select the transactions for a new block, like the block creation does
+   *
+   * @return the selected transactions
+   */
+  List<Transaction> selectTransactions() {
+    final Map<PendingTransaction, TransactionSelectionResult> selected = new LinkedHashMap<>();
+    pendingTransactions.selectTransactions(
+        candidates -> {
+          candidates.stream()
+              .limit(transactionsPerBlock)
+              .forEach(pendingTransaction -> selected.put(pendingTransaction, SELECTED));
+          return selected;
+        });
+    return selected.keySet().stream().map(PendingTransaction::getTransaction).toList();
+  }
+
+  /**
+   * Add a new block that confirms the specified transactions
+   *
+   * @param confirmedTransactions the transactions in the block
+   */
+  void addBlock(final List<Transaction> confirmedTransactions) {
+    confirmedTransactions.forEach(
+        transaction ->
+            senderNonces.merge(transaction.getSender(), transaction.getNonce() + 1, Math::max));
+    chainHead = header(chainHead.getNumber() + 1);
+    pendingTransactions.manageBlockAdded(chainHead, confirmedTransactions, List.of(), FEE_MARKET);
+  }
+
+  int size() {
+    return pendingTransactions.size();
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture().number(number).baseFeePerGas(BASE_FEE).buildHeader();
+  }
+}
@@ -50,6 +50,8 @@ public class EthScheduler {
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
   private static final int TX_WORKER_CAPACITY = 1_000;
+  // a third of a slot, so background work can't hold off the following payloads for long
+  private static final Duration MAX_BACKGROUND_TASK_DELAY = Duration.ofSeconds(4);
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
@@ -59,6 +61,8 @@ public class EthScheduler {
   protected final ExecutorService blockCreationExecutor;
 
   private final Collection<CompletableFuture<?>> pendingFutures = new ConcurrentLinkedDeque<>();
+  private final PriorityWorkGate priorityWorkGate =
+      new PriorityWorkGate(MAX_BACKGROUND_TASK_DELAY);
 
   public EthScheduler(
       final int syncWorkerCount,
@@ -144,6 +148,40 @@ public class EthScheduler {
     servicesExecutor.execute(command);
   }
 
+  /**
+   * Execute a background task, that is only started once no priority work is in progress, or once
+   * it waited the max delay of background tasks.
+   *
+   * @param command the background task
+   */
+  public void executeBackgroundTask(final Runnable command) {
+    servicesExecutor.execute(
+        () -> {
+          priorityWorkGate.awaitNoPriorityWork();
+          command.run();
+        });
+  }
+
+  /**
+   * Start a priority work, during which the background tasks wait. The priority work must be
+   * closed when it ends.
+   *
+   * @return the priority work in progress
+   */
+  public PriorityWorkGate.PriorityWork startPriorityWork() {
+    return priorityWorkGate.startPriorityWork();
+  }
+
+  /**
+   * Wait until no priority work is in progress, or at most the max delay of background tasks, to
+   * be called by background work running on the current thread before each expensive step. It
+   * must not be called from the fixed size pools, like the computation one, whose threads the
+   * priority work itself may need, but only from the background tasks.
+   */
+  public void yieldToPriorityWork() {
+    priorityWorkGate.awaitNoPriorityWork();
+  }
+
   public CompletableFuture<Void> scheduleServiceTask(final Runnable task) {
     return CompletableFuture.runAsync(task, servicesExecutor);
   }
@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lets the background work, like trie log pruning, log bloom caching or RPC traces, step aside
+ * while priority work, like the validation of a payload sent by the consensus client, is in
+ * progress, so that they do not compete for the CPU and the storage.
+ *
+ * <p>The background work waits at most a maximum delay, so that it is deprioritised but never
+ * starved by a stream of priority work. The background work already running is not interrupted,
+ * it only waits at the points where it calls {@link #awaitNoPriorityWork()}.
+ */
+public class PriorityWorkGate {
+
+  /** A priority work in progress, that ends when first closed. */
+  @FunctionalInterface
+  public interface PriorityWork extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private final long maxDelayNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition noPriorityWork = lock.newCondition();
+  private int priorityWorkInProgress;
+
+  /**
+   * Create a new gate
+   *
+   * @param maxDelay the max time the background work waits for the priority work to end
+   */
+  public PriorityWorkGate(final Duration maxDelay) {
+    this.maxDelayNanos = maxDelay.toNanos();
+  }
+
+  /**
+   * Start a priority work, that must be closed when it ends
+   *
+   * @return the priority work in progress
+   */
+  public PriorityWork startPriorityWork() {
+    lock.lock();
+    try {
+      priorityWorkInProgress++;
+    } finally {
+      lock.unlock();
+    }
+    final AtomicBoolean ended = new AtomicBoolean();
+    return () -> {
+      if (ended.compareAndSet(false, true)) {
+        endPriorityWork();
+      }
+    };
+  }
+
+  /**
+   * Whether some priority work is in progress
+   *
+   * @return true if some priority work is in progress
+   */
+  public boolean isPriorityWorkInProgress() {
+    lock.lock();
+    try {
+      return priorityWorkInProgress > 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait until no priority work is in progress, or until the max delay elapsed. Returns
+   * immediately if no priority work is in progress.
+   */
+  public void awaitNoPriorityWork() {
+    lock.lock();
+    try {
+      long remainingNanos = maxDelayNanos;
+      while (priorityWorkInProgress > 0 && remainingNanos > 0) {
+        remainingNanos = noPriorityWork.awaitNanos(remainingNanos);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void endPriorityWork() {
+    lock.lock();
+    try {
+      if (--priorityWorkInProgress == 0) {
+        noPriorityWork.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -19,27 +19,77 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
 import org.hyperledger.besu.ethereum.core.kzg.BlobsWithCommitments;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the blobs of the transactions added to a block, so they can be restored if the
+ * transactions are added back to the pool after a reorg, and can still be served by the engine API.
+ *
+ * <p>By default the blobs are kept on heap, while optionally only the most recent ones are kept on
+ * heap, and the others are spilled to a {@link BlobSpillStore} on disk.
+ */
 public class BlobCache {
+  /** The name of the directory, in the cache directory, where the blobs are spilled to disk */
+  public static final String SPILL_DIRECTORY_NAME = "blobs";
+
+  // 9 blobs max (since Prague EIP-7691) per 32 slots per 3 epochs
+  private static final long MAX_CACHED_BLOBS = 9 * 32 * 3L;
+  // when spilling to disk, only the blobs of the most recent blocks are kept on heap
+  private static final long MAX_HOT_CACHED_BLOBS = 9 * 4L;
+  // 3 epochs of 32 slots which take 12 seconds each.
+  private static final Duration EXPIRY = Duration.ofSeconds(3 * 32 * 12L);
+
   private final Cache<VersionedHash, BlobProofBundle> cache;
+  private final Optional<BlobSpillStore> maybeSpillStore;
   private static final Logger LOG = LoggerFactory.getLogger(BlobCache.class);
 
   public BlobCache() {
+    this.cache =
+        Caffeine.newBuilder().maximumSize(MAX_CACHED_BLOBS).expireAfterWrite(EXPIRY).build();
+    this.maybeSpillStore = Optional.empty();
+  }
+
+  /**
+   * Create a cache that keeps only the most recent blobs on heap, and spills the others to disk
+   *
+   * @param spillDirectory the directory where the blobs are spilled
+   * @param spillCapacity the max number of bytes used on disk
+   */
+  public BlobCache(final Path spillDirectory, final long spillCapacity) {
+    this(
+        new BlobSpillStore(
+            spillDirectory,
+            spillCapacity,
+            BlobSpillStore.DEFAULT_SEGMENT_SIZE,
+            EXPIRY,
+            Clock.systemUTC()));
+  }
+
+  BlobCache(final BlobSpillStore spillStore) {
     this.cache =
         Caffeine.newBuilder()
-            .maximumSize(
-                9 * 32 * 3L) // 9 blobs max (since Prague EIP-7691) per 32 slots per 3 epochs
-            .expireAfterWrite(
-                3 * 32 * 12L, TimeUnit.SECONDS) // 3 epochs of 32 slots which take 12 seconds each.
+            .maximumSize(MAX_HOT_CACHED_BLOBS)
+            .expireAfterWrite(EXPIRY)
+            // evict in the thread adding the blobs, so an evicted blob is immediately on disk
+            .executor(Runnable::run)
+            .<VersionedHash, BlobProofBundle>evictionListener(
+                (versionedHash, bundle, cause) -> {
+                  if (cause == RemovalCause.SIZE && bundle != null) {
+                    spillStore.put(bundle);
+                  }
+                })
             .build();
+    this.maybeSpillStore = Optional.of(spillStore);
   }
 
   public void cacheBlobs(final Transaction t) {
@@ -64,13 +114,16 @@ public class BlobCache {
           Transaction.Builder txBuilder = Transaction.builder();
           txBuilder.copiedFrom(transaction);
           List<BlobProofBundle> blobProofBundles =
-              maybeHashes.get().stream().map(cache::getIfPresent).toList();
+              maybeHashes.get().stream().map(this::get).toList();
           final BlobsWithCommitments bwc = new BlobsWithCommitments(blobProofBundles);
           if (blobProofBundles.stream()
               .map(BlobProofBundle::getVersionedHash)
               .toList()
               .containsAll(maybeHashes.get())) {
             txBuilder.blobsWithCommitments(bwc);
+            // the blobs are back in the pool, so there is no need to keep them on disk
+            maybeSpillStore.ifPresent(
+                spillStore -> maybeHashes.get().forEach(spillStore::remove));
             return Optional.of(txBuilder.build());
           } else {
             LOG.debug("did not find all versioned hashes to restore from cache");
@@ -93,10 +146,14 @@ public class BlobCache {
   }
 
   public BlobProofBundle get(final VersionedHash vh) {
-    return cache.getIfPresent(vh);
+    final BlobProofBundle bundle = cache.getIfPresent(vh);
+    if (bundle == null && maybeSpillStore.isPresent()) {
+      return maybeSpillStore.get().get(vh);
+    }
+    return bundle;
   }
 
   public long size() {
-    return cache.estimatedSize();
+    return cache.estimatedSize() + maybeSpillStore.map(BlobSpillStore::size).orElse(0L);
   }
 }
@@ -0,0 +1,333 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.BlobType;
+import org.hyperledger.besu.datatypes.VersionedHash;
+import org.hyperledger.besu.ethereum.core.kzg.Blob;
+import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
+import org.hyperledger.besu.ethereum.core.kzg.KZGCommitment;
+import org.hyperledger.besu.ethereum.core.kzg.KZGProof;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store on disk for the blobs evicted from the heap tier of the {@link BlobCache}.
+ *
+ * <p>The blobs are appended to memory mapped segment files of fixed size, and are indexed on heap
+ * by their versioned hash. A segment file is deleted when all its blobs are expired or removed, and
+ * a segment whose blobs are mostly removed is compacted, moving the remaining ones to the segment
+ * being written. When the capacity is reached, the oldest segment is dropped with all its blobs.
+ *
+ * <p>The blobs read from the store are not copied on heap, their data and cells are views over the
+ * mapped file. This is safe since a segment is never written again once it is full, and the mapping
+ * of a deleted segment file stays valid as long as it is referenced.
+ *
+ * <p>Record layout: blob type, commitment, number of proofs, proofs, blob length, blob, cells
+ * length and cells, where the cells are only present for {@link BlobType#KZG_CELL_PROOFS}.
+ */
+class BlobSpillStore {
+  private static final Logger LOG = LoggerFactory.getLogger(BlobSpillStore.class);
+  static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final String SEGMENT_FILE_PREFIX = "blobs-";
+  private static final String SEGMENT_FILE_SUFFIX = ".seg";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final Duration expiry;
+  private final Clock clock;
+  private final Map<VersionedHash, Location> index = new HashMap<>();
+  // ordered from the oldest, the last one is the segment being written
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private long nextSegmentId = 0;
+
+  /**
+   * Create the store, deleting the segment files left by a previous run, since the cache is not
+   * persisted across restarts.
+   *
+   * @param directory the directory of the segment files
+   * @param capacity the max number of bytes of the segment files
+   * @param segmentSize the size of each segment file
+   * @param expiry how long the blobs are kept, since they are spilled
+   * @param clock the clock used to expire the blobs
+   */
+  BlobSpillStore(
+      final Path directory,
+      final long capacity,
+      final int segmentSize,
+      final Duration expiry,
+      final Clock clock) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.maxSegments = (int) Math.max(1, capacity / segmentSize);
+    this.expiry = expiry;
+    this.clock = clock;
+    try {
+      Files.createDirectories(directory);
+      try (final DirectoryStream<Path> staleSegments =
+          Files.newDirectoryStream(directory, SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+        for (final Path staleSegment : staleSegments) {
+          Files.delete(staleSegment);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Error initializing the blob spill directory", e);
+    }
+  }
+
+  /**
+   * Append the blob to the store, if it is not already there
+   *
+   * @param bundle the blob with its commitment and proofs
+   */
+  synchronized void put(final BlobProofBundle bundle) {
+    final VersionedHash versionedHash = bundle.getVersionedHash();
+    if (index.containsKey(versionedHash)) {
+      return;
+    }
+    final Bytes blob = bundle.getBlob().getData();
+    final Bytes cells = bundle.getBlobCellsBytes().orElse(Bytes.EMPTY);
+    final int length =
+        1
+            + Bytes48.SIZE
+            + Integer.BYTES
+            + bundle.getKzgProof().size() * Bytes48.SIZE
+            + Integer.BYTES
+            + blob.size()
+            + Integer.BYTES
+            + cells.size();
+
+    final Optional<Segment> maybeSegment = segmentWithSpaceFor(length);
+    if (maybeSegment.isEmpty()) {
+      return;
+    }
+    final Segment segment = maybeSegment.get();
+    final ByteBuffer out = segment.buffer.duplicate().position(segment.writeOffset);
+    out.put((byte) bundle.getBlobType().getVersionId());
+    out.put(bundle.getKzgCommitment().getData().toArrayUnsafe());
+    out.putInt(bundle.getKzgProof().size());
+    bundle.getKzgProof().forEach(proof -> out.put(proof.getData().toArrayUnsafe()));
+    out.putInt(blob.size());
+    out.put(blob.toArrayUnsafe());
+    out.putInt(cells.size());
+    out.put(cells.toArrayUnsafe());
+
+    final long expiresAt = clock.millis() + expiry.toMillis();
+    index.put(versionedHash, segment.add(versionedHash, length, expiresAt));
+  }
+
+  /**
+   * Get the blob with the specified versioned hash, reading it directly from the mapped file
+   *
+   * @param versionedHash the versioned hash of the blob
+   * @return the blob with its commitment and proofs, or null if not present or expired
+   */
+  synchronized BlobProofBundle get(final VersionedHash versionedHash) {
+    final Location location = index.get(versionedHash);
+    if (location == null) {
+      return null;
+    }
+    if (location.expiresAt() < clock.millis()) {
+      remove(versionedHash);
+      return null;
+    }
+
+    final ByteBuffer in = location.segment().buffer.slice(location.offset(), location.length());
+    final BlobType blobType = BlobType.of(in.get());
+    final KZGCommitment kzgCommitment = new KZGCommitment(Bytes48.wrap(copy(in, Bytes48.SIZE)));
+    final int proofCount = in.getInt();
+    final List<KZGProof> kzgProofs = new ArrayList<>(proofCount);
+    for (int i = 0; i < proofCount; i++) {
+      kzgProofs.add(new KZGProof(Bytes48.wrap(copy(in, Bytes48.SIZE))));
+    }
+    final Blob blob = new Blob(view(in, in.getInt()));
+    final int cellsLength = in.getInt();
+    final Optional<Bytes> cells =
+        cellsLength > 0 ? Optional.of(view(in, cellsLength)) : Optional.empty();
+    return new BlobProofBundle(blobType, blob, kzgCommitment, kzgProofs, versionedHash, cells);
+  }
+
+  /**
+   * Remove the blob, deleting or compacting its segment if it is no longer used enough
+   *
+   * @param versionedHash the versioned hash of the blob
+   */
+  synchronized void remove(final VersionedHash versionedHash) {
+    final Location location = index.remove(versionedHash);
+    if (location == null) {
+      return;
+    }
+    final Segment segment = location.segment();
+    segment.remove(versionedHash, location.length());
+    if (segment != segments.peekLast()) {
+      if (segment.liveHashes.isEmpty()) {
+        dropSegment(segment);
+      } else if (segment.liveBytes < segmentSize / 4) {
+        compact(segment);
+      }
+    }
+  }
+
+  synchronized long size() {
+    return index.size();
+  }
+
+  synchronized int segmentCount() {
+    return segments.size();
+  }
+
+  private Optional<Segment> segmentWithSpaceFor(final int length) {
+    if (length > segmentSize) {
+      return Optional.empty();
+    }
+    final Segment current = segments.peekLast();
+    if (current != null && current.remaining() >= length) {
+      return Optional.of(current);
+    }
+    dropExpiredSegments();
+    while (segments.size() >= maxSegments) {
+      dropSegment(segments.peekFirst());
+    }
+    try {
+      final Segment segment = newSegment();
+      segments.addLast(segment);
+      return Optional.of(segment);
+    } catch (final IOException e) {
+      LOG.warn("Error creating a new blob spill segment in {}", directory, e);
+      return Optional.empty();
+    }
+  }
+
+  private Segment newSegment() throws IOException {
+    final Path path =
+        directory.resolve(SEGMENT_FILE_PREFIX + nextSegmentId++ + SEGMENT_FILE_SUFFIX);
+    try (final FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    }
+  }
+
+  private void dropExpiredSegments() {
+    final long now = clock.millis();
+    while (!segments.isEmpty() && segments.peekFirst().lastExpiresAt < now) {
+      dropSegment(segments.peekFirst());
+    }
+  }
+
+  private void dropSegment(final Segment segment) {
+    segments.remove(segment);
+    segment.liveHashes.forEach(index::remove);
+    try {
+      Files.deleteIfExists(segment.path);
+    } catch (final IOException e) {
+      LOG.debug("Error deleting the blob spill segment {}", segment.path, e);
+    }
+  }
+
+  /**
+   * Move the remaining blobs of the segment to the segment being written, and drop it. The
+   * compaction is postponed if they do not fit in the segment being written.
+   */
+  private void compact(final Segment segment) {
+    final Segment current = segments.peekLast();
+    if (current == null || current.remaining() < segment.liveBytes) {
+      return;
+    }
+    for (final VersionedHash versionedHash : segment.liveHashes) {
+      final Location location = index.get(versionedHash);
+      current.buffer.put(current.writeOffset, segment.buffer, location.offset(), location.length());
+      index.put(
+          versionedHash, current.add(versionedHash, location.length(), location.expiresAt()));
+    }
+    segment.liveHashes.clear();
+    dropSegment(segment);
+  }
+
+  private static Bytes copy(final ByteBuffer in, final int length) {
+    final byte[] bytes = new byte[length];
+    in.get(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  private static Bytes view(final ByteBuffer in, final int length) {
+    final Bytes bytes = Bytes.wrapByteBuffer(in, in.position(), length);
+    in.position(in.position() + length);
+    return bytes;
+  }
+
+  private record Location(Segment segment, int offset, int length, long expiresAt) {}
+
+  private static final class Segment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final Set<VersionedHash> liveHashes = new HashSet<>();
+    private int writeOffset = 0;
+    private int liveBytes = 0;
+    private long lastExpiresAt = 0;
+
+    private Segment(final Path path, final MappedByteBuffer buffer) {
+      this.path = path;
+      this.buffer = buffer;
+    }
+
+    private int remaining() {
+      return buffer.capacity() - writeOffset;
+    }
+
+    private Location add(
+        final VersionedHash versionedHash, final int length, final long expiresAt) {
+      final Location location = new Location(this, writeOffset, length, expiresAt);
+      writeOffset += length;
+      liveBytes += length;
+      liveHashes.add(versionedHash);
+      lastExpiresAt = Math.max(lastExpiresAt, expiresAt);
+      return location;
+    }
+
+    private void remove(final VersionedHash versionedHash, final int length) {
+      liveHashes.remove(versionedHash);
+      liveBytes -= length;
+    }
+  }
+}
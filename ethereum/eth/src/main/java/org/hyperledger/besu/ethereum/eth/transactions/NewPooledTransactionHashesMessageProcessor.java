@@ -46,6 +46,7 @@ public class NewPooledTransactionHashesMessageProcessor {
   private final TransactionPoolConfiguration transactionPoolConfiguration;
   private final EthContext ethContext;
   private final TransactionPoolMetrics metrics;
+  private final TransactionsIngressPipeline transactionsIngressPipeline;
   private final int maxTransactionsMessageSize;
 
   public NewPooledTransactionHashesMessageProcessor(
@@ -54,12 +55,14 @@ public class NewPooledTransactionHashesMessageProcessor {
       final TransactionPoolConfiguration transactionPoolConfiguration,
       final EthContext ethContext,
       final TransactionPoolMetrics metrics,
+      final TransactionsIngressPipeline transactionsIngressPipeline,
       final int maxTransactionsMessageSize) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
     this.transactionPoolConfiguration = transactionPoolConfiguration;
     this.ethContext = ethContext;
     this.metrics = metrics;
+    this.transactionsIngressPipeline = transactionsIngressPipeline;
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
     this.scheduledTasks = new ConcurrentHashMap<>();
     this.maxTransactionsMessageSize = maxTransactionsMessageSize;
@@ -155,7 +158,10 @@ public class NewPooledTransactionHashesMessageProcessor {
       if (peer != null) {
         if (peer.isDisconnected()) {
           scheduledTasks.remove(peer).cancel(true);
-        } else if (peer.hasAvailableRequestCapacity()) {
+        } else if (peer.hasAvailableRequestCapacity()
+            && !transactionsIngressPipeline.isSaturated()) {
+          // when the ingress is saturated the announced transactions are kept, and requested
+          // at the next run, so the peers are not asked for more than the pool can process
           ethContext.getScheduler().scheduleServiceTask(fetcher::requestTransactions);
         }
       }
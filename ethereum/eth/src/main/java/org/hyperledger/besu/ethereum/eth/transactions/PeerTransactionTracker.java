@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.eth.transactions;
 
 import static java.util.Collections.emptyList;
-import static java.util.Objects.requireNonNullElse;
 import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -29,7 +28,6 @@ import org.hyperledger.besu.plugin.data.AddedBlockContext;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,14 +39,20 @@ import java.util.Map;
 import java.util.SequencedSet;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import org.apache.commons.collections4.map.LRUMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Tracks the transactions exchanged with the peers, to avoid sending to a peer transactions or
+ * announcements it already knows, and to avoid requesting transactions that have already been seen.
+ *
+ * <p>Which hashes each peer knows is tracked by a fixed size {@link RotatingBloomFilter} per peer,
+ * so the memory and the CPU spent do not grow with the number of peers times the number of
+ * exchanged hashes, while the exact set of the most recently seen hashes is shared by all the
+ * peers.
+ */
 public class PeerTransactionTracker
     implements EthPeer.DisconnectCallback,
         EthPeers.ConnectCallback,
@@ -59,13 +63,15 @@ public class PeerTransactionTracker
   private final EthScheduler ethScheduler;
   private final int maxSendQueueSizePerPeer;
   private final boolean forgetEvictedTxsEnabled;
-  private final FixedCapacityLRUMap<Hash, PeersSeenState> peersSeenStateByHash;
+  private final int knownHashesPerPeer;
+  // for each seen transaction, whether it has been confirmed, meaning that every peer knows it
+  private final FixedCapacityLRUMap<Hash, Boolean> seenTransactions;
+  private final Map<EthPeer, PeerKnownHashes> knownHashesByPeer = new HashMap<>();
   private final Map<EthPeer, SequencedSet<Transaction>> transactionsToSend = new HashMap<>();
   private final Map<EthPeer, SequencedSet<Transaction>> announcementsToSend = new HashMap<>();
   private final Map<EthPeer, LRUMap<Hash, TransactionAnnouncement>> announcementsToRequestByHash =
       new HashMap<>();
   private final Set<Hash> inProgressAnnouncements = new HashSet<>();
-  private final BiMap<EthPeer, Integer> peerToSlotIndexMap;
 
   public PeerTransactionTracker(
       final TransactionPoolConfiguration txPoolConfig,
@@ -75,16 +81,16 @@ public class PeerTransactionTracker
     this.ethScheduler = scheduler;
     this.maxSendQueueSizePerPeer = txPoolConfig.getUnstable().getMaxSendQueueSizePerPeer();
     this.forgetEvictedTxsEnabled = txPoolConfig.getUnstable().getPeerTrackerForgetEvictedTxs();
-    this.peersSeenStateByHash =
+    this.knownHashesPerPeer = txPoolConfig.getUnstable().getPeerTrackerKnownHashesPerPeer();
+    this.seenTransactions =
         new FixedCapacityLRUMap<>(txPoolConfig.getUnstable().getMaxTrackedSeenTxs());
-    this.peerToSlotIndexMap = HashBiMap.create(ethPeers.getMaxPeers());
     ethScheduler.scheduleFutureTaskWithFixedDelay(
         this::logStats, Duration.ofMinutes(1), Duration.ofMinutes(1));
   }
 
   public synchronized void reset() {
-    peerToSlotIndexMap.clear();
-    peersSeenStateByHash.clear();
+    knownHashesByPeer.clear();
+    seenTransactions.clear();
     transactionsToSend.clear();
     announcementsToSend.clear();
     announcementsToRequestByHash.clear();
@@ -93,7 +99,8 @@ public class PeerTransactionTracker
 
   private synchronized void logStats() {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Peers seen state by hash {}", peersSeenStateByHash.size());
+      LOG.trace("Seen transactions {}", seenTransactions.size());
+      LOG.trace("Peers with known hashes {}", knownHashesByPeer.size());
       transactionsToSend.forEach(
           (ethPeer, txs) -> LOG.trace("Txs to send: peer={} size={}", ethPeer, txs.size()));
       announcementsToSend.forEach(
@@ -108,18 +115,13 @@ public class PeerTransactionTracker
 
   public synchronized void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Hash> seenHashes) {
-    if (!peer.isDisconnected()) {
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    if (!peer.isDisconnected() && peerKnownHashes != null) {
       seenHashes.forEach(
-          hash ->
-              peersSeenStateByHash.compute(
-                  hash,
-                  (unused, peersSeenState) -> {
-                    final PeersSeenState computed =
-                        requireNonNullElse(
-                            peersSeenState, new PeersSeenState(ethPeers.getMaxPeers()));
-                    computed.transactionSeen(peerToSlotIndexMap.get(peer));
-                    return computed;
-                  }));
+          hash -> {
+            peerKnownHashes.transactions().add(hash);
+            seenTransactions.putIfAbsent(hash, Boolean.FALSE);
+          });
     }
     // remove the seen txs from any request queue
     removeAnnouncementsToRequest(seenHashes);
@@ -127,40 +129,18 @@ public class PeerTransactionTracker
 
   public synchronized void markAnnouncementsAsSeenByTransaction(
       final EthPeer peer, final Collection<Transaction> announcements) {
-    if (!peer.isDisconnected()) {
-      announcements.stream()
-          .map(Transaction::getHash)
-          .forEach(
-              hash ->
-                  peersSeenStateByHash.compute(
-                      hash,
-                      (unused, peersSeenState) -> {
-                        final PeersSeenState computed =
-                            requireNonNullElse(
-                                peersSeenState, new PeersSeenState(ethPeers.getMaxPeers()));
-                        computed.announcementSeen(peerToSlotIndexMap.get(peer));
-                        return computed;
-                      }));
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    if (!peer.isDisconnected() && peerKnownHashes != null) {
+      announcements.forEach(tx -> peerKnownHashes.announcements().add(tx.getHash()));
     }
     // do not clean transactionAnnouncementsToRequest to allow for retries with other peers
   }
 
   public synchronized void markAnnouncementsAsSeen(
       final EthPeer peer, final Collection<TransactionAnnouncement> announcements) {
-    if (!peer.isDisconnected()) {
-      announcements.stream()
-          .map(TransactionAnnouncement::hash)
-          .forEach(
-              hash ->
-                  peersSeenStateByHash.compute(
-                      hash,
-                      (unused, peersSeenState) -> {
-                        final PeersSeenState computed =
-                            requireNonNullElse(
-                                peersSeenState, new PeersSeenState(ethPeers.getMaxPeers()));
-                        computed.announcementSeen(peerToSlotIndexMap.get(peer));
-                        return computed;
-                      }));
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    if (!peer.isDisconnected() && peerKnownHashes != null) {
+      announcements.forEach(ann -> peerKnownHashes.announcements().add(ann.hash()));
     }
     // do not clean transactionAnnouncementsToRequest to allow for retries with other peers
   }
@@ -289,9 +269,7 @@ public class PeerTransactionTracker
   }
 
   public synchronized boolean alreadySeenTransaction(final Hash txHash) {
-    final PeersSeenState peersSeenState = peersSeenStateByHash.get(txHash);
-
-    return (peersSeenState != null && peersSeenState.anyHasSeenTransaction());
+    return seenTransactions.get(txHash) != null;
   }
 
   public boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
@@ -299,25 +277,27 @@ public class PeerTransactionTracker
   }
 
   public synchronized boolean hasPeerSeenTransaction(final EthPeer peer, final Hash txHash) {
-    final PeersSeenState peersSeenState = peersSeenStateByHash.get(txHash);
-    return peersSeenState != null
-        && peersSeenState.hasSeenTransaction(peerToSlotIndexMap.get(peer));
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    return peerKnownHashes != null
+        && (isConfirmed(txHash) || peerKnownHashes.transactions().mightContain(txHash));
   }
 
   public synchronized boolean hasPeerSeenAnnouncement(final EthPeer peer, final Hash txHash) {
-    final PeersSeenState peersSeenState = peersSeenStateByHash.get(txHash);
-    return peersSeenState != null
-        && peersSeenState.hasSeenAnnouncement(peerToSlotIndexMap.get(peer));
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    return peerKnownHashes != null && peerKnownHashes.announcements().mightContain(txHash);
   }
 
   public synchronized boolean hasPeerSeenTransactionOrAnnouncement(
       final EthPeer peer, final Hash txHash) {
-    final PeersSeenState peersSeenState = peersSeenStateByHash.get(txHash);
-    final Integer peerIdx = peerToSlotIndexMap.get(peer);
+    final PeerKnownHashes peerKnownHashes = knownHashesByPeer.get(peer);
+    return peerKnownHashes != null
+        && (isConfirmed(txHash)
+            || peerKnownHashes.announcements().mightContain(txHash)
+            || peerKnownHashes.transactions().mightContain(txHash));
+  }
 
-    return peersSeenState != null
-        && (peersSeenState.hasSeenAnnouncement(peerIdx)
-            || peersSeenState.hasSeenTransaction(peerIdx));
+  private boolean isConfirmed(final Hash txHash) {
+    return Boolean.TRUE.equals(seenTransactions.get(txHash, false));
   }
 
   private <T> SequencedSet<T> createBoundedSet(final int initialCapacity, final int maxSize) {
@@ -342,7 +322,7 @@ public class PeerTransactionTracker
     // here we reconcile all the trackers with the active peers, since due to the asynchronous
     // processing of incoming messages it could seldom happen that a tracker is recreated just
     // after a peer was disconnected, resulting in a memory leak.
-    final Set<EthPeer> trackedPeers = new HashSet<>(peerToSlotIndexMap.keySet());
+    final Set<EthPeer> trackedPeers = new HashSet<>(knownHashesByPeer.keySet());
     trackedPeers.addAll(transactionsToSend.keySet());
     trackedPeers.addAll(announcementsToSend.keySet());
     trackedPeers.addAll(announcementsToRequestByHash.keySet());
@@ -369,38 +349,24 @@ public class PeerTransactionTracker
           transactionsToSend.remove(disconnectedPeer);
           announcementsToSend.remove(disconnectedPeer);
           announcementsToRequestByHash.remove(disconnectedPeer);
-          final Integer removedPeerIndex = peerToSlotIndexMap.remove(disconnectedPeer);
+          knownHashesByPeer.remove(disconnectedPeer);
           LOG.atTrace()
               .setMessage(
-                  "onPeerDisconnected: removed transaction trackers for disconnected peer {} with index {} peersToSlotIndexMap {}")
+                  "onPeerDisconnected: removed transaction trackers for disconnected peer {}")
               .addArgument(disconnectedPeer::getLoggableId)
-              .addArgument(removedPeerIndex)
-              .addArgument(this::logPeerToSlotIndexMap)
               .log();
         });
   }
 
   @Override
   public synchronized void onPeerConnected(final EthPeer newPeer) {
-    final int firstFreeIndex =
-        IntStream.range(0, peerToSlotIndexMap.size())
-            .filter(idx -> !peerToSlotIndexMap.containsValue(idx))
-            .findFirst()
-            .orElse(peerToSlotIndexMap.size());
-    peerToSlotIndexMap.put(newPeer, firstFreeIndex);
-
-    // clear seen status for new peer index, just in case it was reused
-    long start = System.nanoTime();
-    peersSeenStateByHash.values().stream()
-        .forEach(peersSeenState -> peersSeenState.clear(firstFreeIndex));
+    // a new peer starts knowing nothing, even if it was connected before
+    knownHashesByPeer.put(newPeer, new PeerKnownHashes(knownHashesPerPeer));
 
     LOG.atTrace()
-        .setMessage(
-            "onPeerConnected: new peer {} got index {}, its peersSeenState cleared in {} peersToSlotIndexMap {}")
+        .setMessage("onPeerConnected: new peer {}, {} tracked peers")
         .addArgument(newPeer::getLoggableId)
-        .addArgument(firstFreeIndex)
-        .addArgument(() -> Duration.ofNanos(System.nanoTime() - start))
-        .addArgument(this::logPeerToSlotIndexMap)
+        .addArgument(knownHashesByPeer::size)
         .log();
   }
 
@@ -408,12 +374,6 @@ public class PeerTransactionTracker
     return peers.stream().map(EthPeer::getLoggableId).collect(Collectors.joining(","));
   }
 
-  private String logPeerToSlotIndexMap() {
-    return peerToSlotIndexMap.entrySet().stream()
-        .map(e -> e.getKey().getLoggableId() + "->" + e.getValue())
-        .collect(Collectors.joining(","));
-  }
-
   @Override
   public synchronized void onTransactionDropped(
       final Transaction transaction, final RemovalReason reason) {
@@ -426,7 +386,8 @@ public class PeerTransactionTracker
     }
 
     if (reason.stopTracking() && forgetEvictedTxsEnabled) {
-      peersSeenStateByHash.remove(transaction.getHash());
+      // the per peer filters cannot forget a single hash, they forget it when they rotate
+      seenTransactions.remove(transaction.getHash());
     }
   }
 
@@ -440,17 +401,7 @@ public class PeerTransactionTracker
             final List<Hash> confirmedTxHashes = toHashList(confirmedTxs);
 
             synchronized (this) {
-              confirmedTxHashes.forEach(
-                  hash ->
-                      peersSeenStateByHash.compute(
-                          hash,
-                          (unused, peersSeenState) -> {
-                            final PeersSeenState computed =
-                                requireNonNullElse(
-                                    peersSeenState, new PeersSeenState(ethPeers.getMaxPeers()));
-                            computed.transactionSeenAll();
-                            return computed;
-                          }));
+              confirmedTxHashes.forEach(hash -> seenTransactions.put(hash, Boolean.TRUE));
               removeFromSendQueues(transactionsToSend, confirmedTxs);
               removeFromSendQueues(announcementsToSend, confirmedTxs);
               removeAnnouncementsToRequest(confirmedTxHashes);
@@ -483,42 +434,10 @@ public class PeerTransactionTracker
     }
   }
 
-  private record PeersSeenState(BitSet transactions, BitSet announcements) {
-    PeersSeenState(final int maxSlots) {
-      this(new BitSet(maxSlots), new BitSet(maxSlots));
-    }
-
-    public void transactionSeenAll() {
-      transactions.set(0, transactions.size());
-    }
-
-    public void transactionSeen(final Integer peerIdx) {
-      if (peerIdx != null) {
-        transactions.set(peerIdx);
-      }
-    }
-
-    public void announcementSeen(final Integer peerIdx) {
-      if (peerIdx != null) {
-        announcements.set(peerIdx);
-      }
-    }
-
-    public boolean anyHasSeenTransaction() {
-      return !transactions.isEmpty();
-    }
-
-    public boolean hasSeenTransaction(final Integer peerIdx) {
-      return peerIdx != null && transactions.get(peerIdx);
-    }
-
-    public boolean hasSeenAnnouncement(final Integer peerIdx) {
-      return peerIdx != null && announcements.get(peerIdx);
-    }
-
-    public void clear(final Integer peerIdx) {
-      transactions.clear(peerIdx);
-      announcements.clear(peerIdx);
+  private record PeerKnownHashes(
+      RotatingBloomFilter transactions, RotatingBloomFilter announcements) {
+    PeerKnownHashes(final int capacity) {
+      this(new RotatingBloomFilter(capacity), new RotatingBloomFilter(capacity));
     }
   }
 
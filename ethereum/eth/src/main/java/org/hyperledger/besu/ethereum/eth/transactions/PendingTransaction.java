@@ -32,16 +32,20 @@ import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MemorySize.OPTIONAL_TO_SIZE;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MemorySize.PAYLOAD_SHALLOW_SIZE;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MemorySize.PENDING_TRANSACTION_SHALLOW_SIZE;
+import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MemorySize.POOLED_TRANSACTION_SIZE;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MemorySize.calculateListShallowSize;
 
 import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PooledTransactionPayloads.PooledTransaction;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -53,7 +57,9 @@ public abstract class PendingTransaction
   public static final Byte MAX_SCORE = Byte.MAX_VALUE;
   private static final int NOT_INITIALIZED = -1;
   private static final AtomicLong TRANSACTIONS_ADDED = new AtomicLong();
+  // only one of the following is set, depending on whether the transaction is stored off-heap
   private final Transaction transaction;
+  private final PooledTransaction pooledTransaction;
   private final long addedAt;
   private final long sequence; // Allows prioritization based on order transactions are added
   private volatile byte score;
@@ -61,13 +67,23 @@ public abstract class PendingTransaction
   private int memorySize = NOT_INITIALIZED;
 
   private PendingTransaction(
-      final Transaction transaction, final byte score, final long addedAt, final long sequence) {
+      final Transaction transaction,
+      final PooledTransaction pooledTransaction,
+      final byte score,
+      final long addedAt,
+      final long sequence) {
     this.transaction = transaction;
+    this.pooledTransaction = pooledTransaction;
     this.addedAt = addedAt;
     this.sequence = sequence;
     this.score = score;
   }
 
+  private PendingTransaction(
+      final Transaction transaction, final byte score, final long addedAt, final long sequence) {
+    this(transaction, null, score, addedAt, sequence);
+  }
+
   private PendingTransaction(final Transaction transaction, final byte score, final long addedAt) {
     this(transaction, score, addedAt, TRANSACTIONS_ADDED.getAndIncrement());
   }
@@ -99,13 +115,43 @@ public abstract class PendingTransaction
     return new Remote(transaction, score, addedAt);
   }
 
+  /**
+   * Return the transaction, decoding it if it is stored off-heap, so prefer the specific getters,
+   * like {@link #getType()} or {@link #getMaxGasPrice()}, when only some fields are needed.
+   *
+   * @return the transaction
+   */
   @Override
   public Transaction getTransaction() {
-    return transaction;
+    return transaction != null ? transaction : pooledTransaction.decode();
   }
 
   public Wei getGasPrice() {
-    return transaction.getGasPrice().orElse(Wei.ZERO);
+    return (transaction != null ? transaction.getGasPrice() : pooledTransaction.getGasPrice())
+        .orElse(Wei.ZERO);
+  }
+
+  public Wei getMaxGasPrice() {
+    return transaction != null ? transaction.getMaxGasPrice() : pooledTransaction.getMaxGasPrice();
+  }
+
+  public Wei getEffectivePriorityFeePerGas(final Optional<Wei> maybeBaseFee) {
+    return transaction != null
+        ? transaction.getEffectivePriorityFeePerGas(maybeBaseFee)
+        : pooledTransaction.getEffectivePriorityFeePerGas(maybeBaseFee);
+  }
+
+  public Optional<Wei> getMaxFeePerBlobGas() {
+    // blob transactions are never stored off-heap
+    return transaction != null ? transaction.getMaxFeePerBlobGas() : Optional.empty();
+  }
+
+  public Wei getEffectiveGasPrice(final Optional<Wei> maybeBaseFee) {
+    return getEffectivePriorityFeePerGas(maybeBaseFee).addExact(maybeBaseFee.orElse(Wei.ZERO));
+  }
+
+  public TransactionType getType() {
+    return transaction != null ? transaction.getType() : pooledTransaction.getType();
   }
 
   public long getSequence() {
@@ -113,17 +159,63 @@ public abstract class PendingTransaction
   }
 
   public long getNonce() {
-    return transaction.getNonce();
+    return transaction != null ? transaction.getNonce() : pooledTransaction.getNonce();
   }
 
   public Address getSender() {
-    return transaction.getSender();
+    return transaction != null ? transaction.getSender() : pooledTransaction.getSender();
   }
 
   public Hash getHash() {
-    return transaction.getHash();
+    return transaction != null ? transaction.getHash() : pooledTransaction.getHash();
+  }
+
+  public long getGasLimit() {
+    return transaction != null ? transaction.getGasLimit() : pooledTransaction.getGasLimit();
   }
 
+  public Wei getValue() {
+    return transaction != null ? transaction.getValue() : pooledTransaction.getValue();
+  }
+
+  /**
+   * The size of the encoded transaction, as announced to the peers
+   *
+   * @return the size in bytes
+   */
+  public int getSize() {
+    return transaction != null ? transaction.getSizeForAnnouncement() : pooledTransaction.getSize();
+  }
+
+  /**
+   * Return a copy of this pending transaction that keeps the transaction off-heap, in the specified
+   * storage, or this same pending transaction if the transaction cannot be stored there.
+   *
+   * @param payloads the off-heap storage
+   * @return the copy of this pending transaction, or this same pending transaction
+   */
+  public PendingTransaction toPooled(final PooledTransactionPayloads payloads) {
+    if (transaction == null) {
+      return this;
+    }
+    return payloads.store(transaction).map(pooled -> copy(null, pooled)).orElse(this);
+  }
+
+  /**
+   * Return a copy of this pending transaction that does not reference any underlying byte buffer
+   * of the transaction, that is kept as is when it is stored off-heap.
+   *
+   * @return the detached copy
+   */
+  public PendingTransaction detachedCopy() {
+    return transaction != null
+        ? copy(transaction.detachedCopy(), null)
+        : copy(null, pooledTransaction);
+  }
+
+  abstract PendingTransaction copy(
+      final Transaction transaction, final PooledTransaction pooledTransaction);
+
   @Override
   public long getAddedAt() {
     return addedAt;
@@ -151,9 +243,10 @@ public abstract class PendingTransaction
     }
   }
 
-  public abstract PendingTransaction detachedCopy();
-
   private int computeMemorySize() {
+    if (transaction == null) {
+      return POOLED_TRANSACTION_SIZE + PENDING_TRANSACTION_SHALLOW_SIZE;
+    }
     return switch (transaction.getType()) {
           case FRONTIER -> computeFrontierMemorySize();
           case ACCESS_LIST -> computeAccessListMemorySize();
@@ -291,11 +384,11 @@ public abstract class PendingTransaction
   @Override
   public String toString() {
     return "Hash="
-        + transaction.getHash()
+        + getHash()
         + ", nonce="
-        + transaction.getNonce()
+        + getNonce()
         + ", sender="
-        + transaction.getSender()
+        + getSender()
         + ", addedAt="
         + addedAt
         + ", sequence="
@@ -322,7 +415,7 @@ public abstract class PendingTransaction
         + ", score="
         + score
         + ", "
-        + transaction.toTraceLog()
+        + getTransaction().toTraceLog()
         + "}";
   }
 
@@ -340,9 +433,18 @@ public abstract class PendingTransaction
       super(transaction, score, System.currentTimeMillis(), sequence);
     }
 
+    private Local(
+        final long sequence,
+        final byte score,
+        final Transaction transaction,
+        final PooledTransaction pooledTransaction) {
+      super(transaction, pooledTransaction, score, System.currentTimeMillis(), sequence);
+    }
+
     @Override
-    public PendingTransaction detachedCopy() {
-      return new Local(getSequence(), getScore(), getTransaction().detachedCopy());
+    PendingTransaction copy(
+        final Transaction transaction, final PooledTransaction pooledTransaction) {
+      return new Local(getSequence(), getScore(), transaction, pooledTransaction);
     }
 
     @Override
@@ -368,9 +470,18 @@ public abstract class PendingTransaction
         super(sequence, score, transaction);
       }
 
+      private Priority(
+          final long sequence,
+          final byte score,
+          final Transaction transaction,
+          final PooledTransaction pooledTransaction) {
+        super(sequence, score, transaction, pooledTransaction);
+      }
+
       @Override
-      public PendingTransaction detachedCopy() {
-        return new Priority(getSequence(), getScore(), getTransaction().detachedCopy());
+      PendingTransaction copy(
+          final Transaction transaction, final PooledTransaction pooledTransaction) {
+        return new Priority(getSequence(), getScore(), transaction, pooledTransaction);
       }
 
       @Override
@@ -394,9 +505,18 @@ public abstract class PendingTransaction
       super(transaction, score, System.currentTimeMillis(), sequence);
     }
 
+    private Remote(
+        final long sequence,
+        final byte score,
+        final Transaction transaction,
+        final PooledTransaction pooledTransaction) {
+      super(transaction, pooledTransaction, score, System.currentTimeMillis(), sequence);
+    }
+
     @Override
-    public PendingTransaction detachedCopy() {
-      return new Remote(getSequence(), getScore(), getTransaction().detachedCopy());
+    PendingTransaction copy(
+        final Transaction transaction, final PooledTransaction pooledTransaction) {
+      return new Remote(getSequence(), getScore(), transaction, pooledTransaction);
     }
 
     @Override
@@ -422,9 +542,18 @@ public abstract class PendingTransaction
         super(sequence, score, transaction);
       }
 
+      private Priority(
+          final long sequence,
+          final byte score,
+          final Transaction transaction,
+          final PooledTransaction pooledTransaction) {
+        super(sequence, score, transaction, pooledTransaction);
+      }
+
       @Override
-      public PendingTransaction detachedCopy() {
-        return new Priority(getSequence(), getScore(), getTransaction().detachedCopy());
+      PendingTransaction copy(
+          final Transaction transaction, final PooledTransaction pooledTransaction) {
+        return new Priority(getSequence(), getScore(), transaction, pooledTransaction);
       }
 
       @Override
@@ -457,6 +586,8 @@ public abstract class PendingTransaction
     int BLOB_PROOF_BUNDLE_SIZE_V0 = 131536;
     int BLOB_PROOF_BUNDLE_SIZE_V1 = 393576;
     int PENDING_TRANSACTION_SHALLOW_SIZE = 40;
+    // estimated size of a transaction stored off-heap, including the on-heap fields it keeps
+    int POOLED_TRANSACTION_SIZE = 512;
 
     /**
      * This calculation is for an immutable List
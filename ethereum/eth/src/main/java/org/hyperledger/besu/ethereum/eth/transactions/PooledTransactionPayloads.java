@@ -0,0 +1,269 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256s;
+
+/**
+ * Off-heap storage for the encoded transactions of the pool, so a large pool does not fill the heap
+ * with the object graph of every decoded transaction.
+ *
+ * <p>The payloads are appended to pages of direct memory, and a page is reused once all the
+ * payloads it contains have been released. A payload is released when the pending transactions
+ * referring to it are garbage collected, since a pending transaction can be referenced outside the
+ * pool, for example during the block creation, after it has been removed from the pool.
+ *
+ * <p>A pending transaction whose payload is stored here only keeps on-heap the fields used to sort
+ * and filter it in the layers and to check the balance of its sender, and the full transaction is
+ * decoded on demand, for example when it is selected for a block or read via RPC.
+ */
+public class PooledTransactionPayloads {
+  static final int PAGE_SIZE = 1 << 20;
+  private static final Cleaner CLEANER = Cleaner.create();
+  private static final int NO_PAGE = -1;
+
+  private final ByteBuffer[] pages;
+  private final int[] payloadsByPage;
+  private final Deque<Integer> freePages = new ArrayDeque<>();
+  private int allocatedPages = 0;
+  private int currentPage = NO_PAGE;
+  private int currentPageOffset = PAGE_SIZE;
+  private long usedBytes = 0;
+
+  /**
+   * Create the storage for the pooled transaction payloads
+   *
+   * @param capacity the max number of bytes of direct memory to use
+   */
+  public PooledTransactionPayloads(final long capacity) {
+    final int maxPages = (int) Math.max(1, (capacity + PAGE_SIZE - 1) / PAGE_SIZE);
+    this.pages = new ByteBuffer[maxPages];
+    this.payloadsByPage = new int[maxPages];
+  }
+
+  /**
+   * Store the encoded transaction, if it is not a blob transaction, whose blobs are handled by the
+   * {@link BlobCache}, and if there is enough space.
+   *
+   * @param transaction the transaction to store
+   * @return the pooled transaction, or empty if the transaction could not be stored
+   */
+  Optional<PooledTransaction> store(final Transaction transaction) {
+    if (transaction.getType().supportsBlob()) {
+      return Optional.empty();
+    }
+    final Bytes encoded = transaction.encoded();
+    final long slot = allocate(encoded);
+    if (slot < 0) {
+      return Optional.empty();
+    }
+    final PooledTransaction pooledTransaction =
+        new PooledTransaction(this, slot, encoded.size(), transaction);
+    CLEANER.register(pooledTransaction, new Release(this, slot, encoded.size()));
+    return Optional.of(pooledTransaction);
+  }
+
+  /**
+   * The number of bytes used by the payloads currently stored
+   *
+   * @return the number of used bytes
+   */
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  private synchronized long allocate(final Bytes payload) {
+    final int length = payload.size();
+    if (length > PAGE_SIZE) {
+      return -1;
+    }
+    if (currentPageOffset + length > PAGE_SIZE) {
+      final int nextPage = nextPage();
+      if (nextPage == NO_PAGE) {
+        return -1;
+      }
+      currentPage = nextPage;
+      currentPageOffset = 0;
+    }
+    pages[currentPage].put(currentPageOffset, payload.toArrayUnsafe());
+    final long slot = ((long) currentPage << 32) | currentPageOffset;
+    currentPageOffset += length;
+    ++payloadsByPage[currentPage];
+    usedBytes += length;
+    return slot;
+  }
+
+  private int nextPage() {
+    if (currentPage != NO_PAGE && payloadsByPage[currentPage] == 0) {
+      // all the payloads of the current page have already been released
+      return currentPage;
+    }
+    if (!freePages.isEmpty()) {
+      return freePages.poll();
+    }
+    if (allocatedPages < pages.length) {
+      pages[allocatedPages] = ByteBuffer.allocateDirect(PAGE_SIZE);
+      return allocatedPages++;
+    }
+    return NO_PAGE;
+  }
+
+  private synchronized void release(final long slot, final int length) {
+    final int page = (int) (slot >>> 32);
+    usedBytes -= length;
+    if (--payloadsByPage[page] == 0 && page != currentPage) {
+      freePages.add(page);
+    }
+  }
+
+  private Bytes read(final long slot, final int length) {
+    final byte[] payload = new byte[length];
+    pages[(int) (slot >>> 32)].get((int) slot, payload);
+    return Bytes.wrap(payload);
+  }
+
+  private record Release(PooledTransactionPayloads payloads, long slot, int length)
+      implements Runnable {
+    @Override
+    public void run() {
+      payloads.release(slot, length);
+    }
+  }
+
+  /**
+   * A transaction whose encoded form is stored off-heap, with the fields needed to sort and filter
+   * it in the pool kept on-heap.
+   */
+  static final class PooledTransaction {
+    private final PooledTransactionPayloads payloads;
+    private final long slot;
+    private final int length;
+    private final Hash hash;
+    private final Address sender;
+    private final long nonce;
+    private final long gasLimit;
+    private final Wei value;
+    private final int size;
+    private final TransactionType type;
+    private final Optional<Wei> gasPrice;
+    private final Optional<Wei> maxPriorityFeePerGas;
+    private final Optional<Wei> maxFeePerGas;
+    // the last decoded transaction, while it is still referenced elsewhere
+    private volatile WeakReference<Transaction> decoded;
+
+    private PooledTransaction(
+        final PooledTransactionPayloads payloads,
+        final long slot,
+        final int length,
+        final Transaction transaction) {
+      this.payloads = payloads;
+      this.slot = slot;
+      this.length = length;
+      this.hash = transaction.getHash();
+      this.sender = transaction.getSender();
+      this.nonce = transaction.getNonce();
+      this.gasLimit = transaction.getGasLimit();
+      this.value = transaction.getValue();
+      this.size = transaction.getSizeForAnnouncement();
+      this.type = transaction.getType();
+      this.gasPrice = transaction.getGasPrice();
+      this.maxPriorityFeePerGas = transaction.getMaxPriorityFeePerGas();
+      this.maxFeePerGas = transaction.getMaxFeePerGas();
+      this.decoded = new WeakReference<>(transaction);
+    }
+
+    Transaction decode() {
+      Transaction transaction = decoded.get();
+      if (transaction == null) {
+        // the sender is set to avoid recovering it again from the signature
+        transaction = Transaction.readFrom(payloads.read(slot, length), sender);
+        decoded = new WeakReference<>(transaction);
+      }
+      return transaction;
+    }
+
+    @VisibleForTesting
+    boolean isDecoded() {
+      return decoded.get() != null;
+    }
+
+    Hash getHash() {
+      return hash;
+    }
+
+    Address getSender() {
+      return sender;
+    }
+
+    long getNonce() {
+      return nonce;
+    }
+
+    long getGasLimit() {
+      return gasLimit;
+    }
+
+    Wei getValue() {
+      return value;
+    }
+
+    int getSize() {
+      return size;
+    }
+
+    TransactionType getType() {
+      return type;
+    }
+
+    Optional<Wei> getGasPrice() {
+      return gasPrice;
+    }
+
+    Wei getMaxGasPrice() {
+      return maxFeePerGas.orElseGet(gasPrice::orElseThrow);
+    }
+
+    /** Same as {@link Transaction#getEffectivePriorityFeePerGas(Optional)} */
+    Wei getEffectivePriorityFeePerGas(final Optional<Wei> maybeBaseFee) {
+      return maybeBaseFee
+          .map(
+              baseFee -> {
+                final Wei maxGasPrice = getMaxGasPrice();
+                if (baseFee.greaterOrEqualThan(maxGasPrice)) {
+                  return Wei.ZERO;
+                }
+                return type.supports1559FeeMarket()
+                    ? UInt256s.min(maxPriorityFeePerGas.get(), maxGasPrice.subtract(baseFee))
+                    : maxGasPrice.subtract(baseFee);
+              })
+          .orElseGet(() -> gasPrice.orElse(Wei.ZERO));
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Arrays;
+
+/**
+ * A compact, approximate set of hashes, used to remember which transactions a peer already knows,
+ * with a fixed memory footprint that does not depend on the number of tracked hashes.
+ *
+ * <p>It is made of two generations of bloom filter: hashes are added to the current one and, when
+ * it reaches its capacity, the previous generation is dropped and the current one takes its place.
+ * So the most recent hashes, between one and two times the capacity, are always remembered, while
+ * older ones are forgotten in bulk.
+ *
+ * <p>Since the hashes are already uniformly distributed, the bit positions are taken directly from
+ * their bytes, without hashing them again. False positives are possible, with a probability below
+ * 1% per generation, while false negatives are not.
+ */
+final class RotatingBloomFilter {
+  private static final int BITS_PER_HASH = 10;
+  // each probe uses 4 bytes of the hash, and 7 probes is the optimal number for 10 bits per hash
+  private static final int PROBES = 7;
+
+  private final int capacity;
+  private final int numBits;
+  private long[] current;
+  private long[] previous;
+  private int currentCount = 0;
+
+  /**
+   * Create a filter that remembers at least the specified number of most recent hashes
+   *
+   * @param capacity the number of hashes of each generation
+   */
+  RotatingBloomFilter(final int capacity) {
+    this.capacity = Math.max(1, capacity);
+    final int words = Math.ceilDiv(Math.multiplyExact(this.capacity, BITS_PER_HASH), Long.SIZE);
+    this.numBits = words * Long.SIZE;
+    this.current = new long[words];
+    this.previous = new long[words];
+  }
+
+  /**
+   * Add the hash to the filter, rotating the generations if the current one is full
+   *
+   * @param hash the hash to add
+   */
+  void add(final Hash hash) {
+    if (contains(current, hash)) {
+      return;
+    }
+    if (currentCount >= capacity) {
+      final long[] dropped = previous;
+      Arrays.fill(dropped, 0L);
+      previous = current;
+      current = dropped;
+      currentCount = 0;
+    }
+    for (int i = 0; i < PROBES; i++) {
+      final int bit = bitIndex(hash, i);
+      current[bit >>> 6] |= 1L << bit;
+    }
+    ++currentCount;
+  }
+
+  /**
+   * Check if the hash has been added recently
+   *
+   * @param hash the hash to check
+   * @return false if the hash is not known, true if it is probably known
+   */
+  boolean mightContain(final Hash hash) {
+    return contains(current, hash) || contains(previous, hash);
+  }
+
+  private boolean contains(final long[] generation, final Hash hash) {
+    for (int i = 0; i < PROBES; i++) {
+      final int bit = bitIndex(hash, i);
+      if ((generation[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int bitIndex(final Hash hash, final int probe) {
+    return Integer.remainderUnsigned(hash.getBytes().getInt(probe * Integer.BYTES), numBits);
+  }
+}
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool.TransactionBatchAddedListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +32,8 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -50,7 +53,11 @@ public class TransactionBroadcaster
   private final TransactionsMessageSender transactionsMessageSender;
   private final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender;
   private final EthContext ethContext;
+  private final Duration batchWindow;
   private final Random random;
+  // peers with a send already scheduled, that is going to send also the txs queued meanwhile
+  private final Set<EthPeer> pendingTransactionsFlushes = ConcurrentHashMap.newKeySet();
+  private final Set<EthPeer> pendingAnnouncementsFlushes = ConcurrentHashMap.newKeySet();
 
   public TransactionBroadcaster(
       final EthContext ethContext,
@@ -62,6 +69,31 @@ public class TransactionBroadcaster
         transactionTracker,
         transactionsMessageSender,
         newPooledTransactionHashesMessageSender,
+        Duration.ZERO);
+  }
+
+  /**
+   * Create a broadcaster that collects the txs to send to each peer during the batch window, and
+   * then sends them together, instead of sending them as soon as possible.
+   *
+   * @param ethContext the eth context
+   * @param transactionTracker the tracker of the txs exchanged with the peers
+   * @param transactionsMessageSender the sender of full txs
+   * @param newPooledTransactionHashesMessageSender the sender of tx announcements
+   * @param batchWindow the time to wait before sending the queued txs to a peer
+   */
+  public TransactionBroadcaster(
+      final EthContext ethContext,
+      final PeerTransactionTracker transactionTracker,
+      final TransactionsMessageSender transactionsMessageSender,
+      final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender,
+      final Duration batchWindow) {
+    this(
+        ethContext,
+        transactionTracker,
+        transactionsMessageSender,
+        newPooledTransactionHashesMessageSender,
+        batchWindow,
         null);
   }
 
@@ -71,11 +103,13 @@ public class TransactionBroadcaster
       final PeerTransactionTracker transactionTracker,
       final TransactionsMessageSender transactionsMessageSender,
       final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender,
+      final Duration batchWindow,
       final Long seed) {
     this.transactionTracker = transactionTracker;
     this.transactionsMessageSender = transactionsMessageSender;
     this.newPooledTransactionHashesMessageSender = newPooledTransactionHashesMessageSender;
     this.ethContext = ethContext;
+    this.batchWindow = batchWindow;
     this.random = seed != null ? new Random(seed) : new Random();
   }
 
@@ -154,10 +188,10 @@ public class TransactionBroadcaster
       fullTransactionPeers.forEach(
           peer -> {
             transactionTracker.addToPeerSendQueue(peer, transactions);
-            ethContext
-                .getScheduler()
-                .scheduleSyncWorkerTask(
-                    () -> transactionsMessageSender.sendTransactionsToPeer(peer));
+            scheduleFlush(
+                peer,
+                pendingTransactionsFlushes,
+                () -> transactionsMessageSender.sendTransactionsToPeer(peer));
           });
     }
   }
@@ -169,16 +203,37 @@ public class TransactionBroadcaster
           .forEach(
               peer -> {
                 transactionTracker.addToPeerAnnouncementsSendQueue(peer, transactions);
-                ethContext
-                    .getScheduler()
-                    .scheduleSyncWorkerTask(
-                        () ->
-                            newPooledTransactionHashesMessageSender
-                                .sendTransactionAnnouncementsToPeer(peer));
+                scheduleFlush(
+                    peer,
+                    pendingAnnouncementsFlushes,
+                    () ->
+                        newPooledTransactionHashesMessageSender.sendTransactionAnnouncementsToPeer(
+                            peer));
               });
     }
   }
 
+  private void scheduleFlush(
+      final EthPeer peer, final Set<EthPeer> pendingFlushes, final Runnable send) {
+    // if a send is already scheduled for the peer, it will also send the txs just queued,
+    // so there is no need to schedule another one
+    if (pendingFlushes.add(peer)) {
+      final Runnable flush =
+          () -> {
+            pendingFlushes.remove(peer);
+            send.run();
+          };
+      if (batchWindow.isZero()) {
+        ethContext.getScheduler().scheduleSyncWorkerTask(flush);
+      } else {
+        ethContext
+            .getScheduler()
+            .scheduleFutureTask(
+                () -> ethContext.getScheduler().scheduleSyncWorkerTask(flush), batchWindow);
+      }
+    }
+  }
+
   @Override
   public void onTransactionDropped(final Transaction transaction, final RemovalReason reason) {
     transactionTracker.onTransactionDropped(transaction, reason);
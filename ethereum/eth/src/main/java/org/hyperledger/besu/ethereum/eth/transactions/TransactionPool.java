@@ -54,16 +54,26 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorld
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.fluent.SimpleAccount;
 import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
+import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -79,6 +89,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -118,6 +129,7 @@ public class TransactionPool implements BlockAddedObserver {
   private final PendingTransactionsListenersProxy pendingTransactionsListenersProxy =
       new PendingTransactionsListenersProxy();
   private volatile OptionalLong subscribeConnectId = OptionalLong.empty();
+  private volatile Optional<ScheduledFuture<?>> periodicSaveTask = Optional.empty();
   private final SaveRestoreManager saveRestoreManager = new SaveRestoreManager();
   private final Set<Address> localSenders = ConcurrentHashMap.newKeySet();
   private final EthScheduler.OrderedProcessor<BlockAddedEvent> blockAddedEventOrderedProcessor;
@@ -161,7 +173,10 @@ public class TransactionPool implements BlockAddedObserver {
       final Transaction transaction) {
 
     final boolean hasPriority = isPriorityTransaction(transaction, true);
-    final var result = addTransaction(transaction, true, hasPriority, MAX_SCORE);
+    final ValidationResult<TransactionInvalidReason> result;
+    try (final ChainHeadAccounts chainHeadAccounts = new ChainHeadAccounts()) {
+      result = addTransaction(transaction, true, hasPriority, MAX_SCORE, chainHeadAccounts);
+    }
     if (result.isValid()) {
       localSenders.add(transaction.getSender());
       transactionBroadcaster.onTransactionsAdded(List.of(transaction));
@@ -191,36 +206,42 @@ public class TransactionPool implements BlockAddedObserver {
                   }
                 });
 
-    final var validationResults =
-        sortedBySenderAndNonce(txStream)
-            .collect(
-                Collectors.toMap(
-                    Transaction::getHash,
-                    transaction -> {
-                      final boolean hasPriority = isPriorityTransaction(transaction, false);
-                      ValidationResult<TransactionInvalidReason> result;
-                      try {
-                        result = addTransaction(transaction, false, hasPriority, MAX_SCORE);
-                        if (result.isValid()) {
-                          addedTransactions.add(transaction);
-                          return result;
+    // read the sender accounts of the whole batch from the same chain head world state
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> validationResults;
+    try (final ChainHeadAccounts chainHeadAccounts = new ChainHeadAccounts()) {
+      validationResults =
+          sortedBySenderAndNonce(txStream)
+              .collect(
+                  Collectors.toMap(
+                      Transaction::getHash,
+                      transaction -> {
+                        final boolean hasPriority = isPriorityTransaction(transaction, false);
+                        ValidationResult<TransactionInvalidReason> result;
+                        try {
+                          result =
+                              addTransaction(
+                                  transaction, false, hasPriority, MAX_SCORE, chainHeadAccounts);
+                          if (result.isValid()) {
+                            addedTransactions.add(transaction);
+                            return result;
+                          }
+                        } catch (final RuntimeException e) {
+                          LOG.warn(
+                              "Unexpected error validating transaction {}, treating as invalid",
+                              transaction.getHash(),
+                              e);
+                          result =
+                              ValidationResult.invalid(
+                                  INTERNAL_ERROR,
+                                  "unexpected error during validation: " + e.getMessage());
+                          metrics.incrementRejected(
+                              false, hasPriority, result.getInvalidReason(), "txpool");
                         }
-                      } catch (final RuntimeException e) {
-                        LOG.warn(
-                            "Unexpected error validating transaction {}, treating as invalid",
-                            transaction.getHash(),
-                            e);
-                        result =
-                            ValidationResult.invalid(
-                                INTERNAL_ERROR,
-                                "unexpected error during validation: " + e.getMessage());
-                        metrics.incrementRejected(
-                            false, hasPriority, result.getInvalidReason(), "txpool");
-                      }
-                      logInvalid(transaction, result, false, hasPriority);
-                      return result;
-                    },
-                    (transaction1, transaction2) -> transaction1));
+                        logInvalid(transaction, result, false, hasPriority);
+                        return result;
+                      },
+                      (transaction1, transaction2) -> transaction1));
+    }
 
     if (isEnabled()) {
       TransactionPoolStructuredLogUtils.logStats(pendingTransactions);
@@ -244,7 +265,8 @@ public class TransactionPool implements BlockAddedObserver {
       final Transaction baseTransaction,
       final boolean isLocal,
       final boolean hasPriority,
-      final byte score) {
+      final byte score,
+      final ChainHeadAccounts chainHeadAccounts) {
 
     if (pendingTransactions.containsTransaction(baseTransaction)) {
       LOG.atTrace()
@@ -263,7 +285,7 @@ public class TransactionPool implements BlockAddedObserver {
             .orElse(baseTransaction);
 
     final ValidationResultAndAccount validationResult =
-        validateTransaction(transaction, isLocal, hasPriority);
+        validateTransaction(transaction, isLocal, hasPriority, chainHeadAccounts);
 
     if (validationResult.result.isValid()) {
       final TransactionAddedResult status =
@@ -361,12 +383,14 @@ public class TransactionPool implements BlockAddedObserver {
 
   private void processBlockAddedEvent(final BlockAddedEvent e) {
     final long started = System.currentTimeMillis();
-    pendingTransactions.manageBlockAdded(
-        e.getHeader(),
-        e.getAddedTransactions(),
-        e.getRemovedTransactions(),
-        protocolSchedule.getByBlockHeader(e.getHeader()).getFeeMarket());
-    reAddTransactions(e.getRemovedTransactions());
+    try (final var ignored = metrics.startBlockAddedProcessingTimer()) {
+      pendingTransactions.manageBlockAdded(
+          e.getHeader(),
+          e.getAddedTransactions(),
+          e.getRemovedTransactions(),
+          protocolSchedule.getByBlockHeader(e.getHeader()).getFeeMarket());
+      reAddTransactions(e.getRemovedTransactions());
+    }
     LOG.atTrace()
         .setMessage("Block added event {} processed in {}ms")
         .addArgument(e)
@@ -421,7 +445,10 @@ public class TransactionPool implements BlockAddedObserver {
   }
 
   private ValidationResultAndAccount validateTransaction(
-      final Transaction transaction, final boolean isLocal, final boolean hasPriority) {
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final ChainHeadAccounts chainHeadAccounts) {
 
     final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader().orElse(null);
     if (chainHeadBlockHeader == null) {
@@ -488,15 +515,9 @@ public class TransactionPool implements BlockAddedObserver {
           TransactionInvalidReason.PLUGIN_TX_POOL_VALIDATOR, maybePluginInvalid.get());
     }
 
-    try (final var worldState =
-        protocolContext
-            .getWorldStateArchive()
-            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(chainHeadBlockHeader))
-            .orElseThrow()) {
-      if (worldState instanceof BonsaiWorldState bonsaiWorldState) {
-        bonsaiWorldState.disableCacheMerkleTrieLoader();
-      }
-      final Account senderAccount = worldState.get(transaction.getSender());
+    try {
+      final Account senderAccount =
+          chainHeadAccounts.get(chainHeadBlockHeader, transaction.getSender());
       return new ValidationResultAndAccount(
           senderAccount,
           getTransactionValidator()
@@ -637,6 +658,51 @@ public class TransactionPool implements BlockAddedObserver {
     void onTransactionsAdded(Collection<Transaction> transactions);
   }
 
+  /**
+   * Reads the sender accounts needed to validate a batch of transactions, opening the world state
+   * of the chain head only once for the whole batch, and again only if the chain head changes in
+   * the meantime, and reading each sender account only once, since the transactions of the same
+   * sender are validated one after the other. Not thread safe, it is meant to be used by the
+   * thread that validates the batch.
+   */
+  private class ChainHeadAccounts implements AutoCloseable {
+    private final Map<Address, Optional<Account>> accountsBySender = new HashMap<>();
+    private BlockHeader worldStateHeader;
+    private MutableWorldState worldState;
+
+    Account get(final BlockHeader chainHeadBlockHeader, final Address sender) {
+      if (worldState == null
+          || !worldStateHeader.getHash().equals(chainHeadBlockHeader.getHash())) {
+        close();
+        worldState =
+            protocolContext
+                .getWorldStateArchive()
+                .getWorldState(withBlockHeaderAndNoUpdateNodeHead(chainHeadBlockHeader))
+                .orElseThrow();
+        if (worldState instanceof BonsaiWorldState bonsaiWorldState) {
+          bonsaiWorldState.disableCacheMerkleTrieLoader();
+        }
+        worldStateHeader = chainHeadBlockHeader;
+      }
+      return accountsBySender
+          .computeIfAbsent(sender, address -> Optional.ofNullable(worldState.get(address)))
+          .orElse(null);
+    }
+
+    @Override
+    public void close() {
+      accountsBySender.clear();
+      if (worldState != null) {
+        try {
+          worldState.close();
+        } catch (final Exception e) {
+          LOG.debug("Error closing the chain head world state", e);
+        }
+        worldState = null;
+      }
+    }
+  }
+
   private static class ValidationResultAndAccount {
     final ValidationResult<TransactionInvalidReason> result;
     final Optional<Account> maybeAccount;
@@ -680,6 +746,7 @@ public class TransactionPool implements BlockAddedObserver {
                 if (t != null) {
                   LOG.error("Error while restoring transaction pool from disk", t);
                 }
+                schedulePeriodicSave();
               });
     }
     return CompletableFuture.completedFuture(null);
@@ -704,6 +771,8 @@ public class TransactionPool implements BlockAddedObserver {
     if (isEnabled()) {
       isPoolEnabled.set(false);
       subscribeConnectId.ifPresent(ethContext.getEthPeers()::unsubscribeConnect);
+      periodicSaveTask.ifPresent(task -> task.cancel(false));
+      periodicSaveTask = Optional.empty();
       pendingTransactionsListenersProxy.unsubscribe();
       mapOfBlobsInTransactionPool.clear();
       final CompletableFuture<Void> saveOperation =
@@ -722,6 +791,34 @@ public class TransactionPool implements BlockAddedObserver {
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Save the pool content periodically, in addition to when the pool is disabled, so that it can
+   * be restored after the node is restarted, even if it is not stopped gracefully.
+   */
+  private void schedulePeriodicSave() {
+    final Duration interval = configuration.getUnstable().getSaveRestoreInterval();
+    if (configuration.getEnableSaveRestore() && interval.isPositive() && isEnabled()) {
+      periodicSaveTask =
+          Optional.of(
+              ethContext
+                  .getScheduler()
+                  .scheduleFutureTaskWithFixedDelay(this::periodicSave, interval, interval));
+    }
+  }
+
+  private void periodicSave() {
+    if (isEnabled()) {
+      saveRestoreManager
+          .saveToDisk(pendingTransactions)
+          .whenComplete(
+              (_, t) -> {
+                if (t != null) {
+                  LOG.warn("Error while periodically saving transaction pool to disk", t);
+                }
+              });
+    }
+  }
+
   private void mapBlobsOnTransactionAdded(final Transaction transaction) {
     final var maybeBlobsWithCommitments = transaction.getBlobsWithCommitments();
     if (maybeBlobsWithCommitments.isEmpty()) {
@@ -802,12 +899,15 @@ public class TransactionPool implements BlockAddedObserver {
   }
 
   class SaveRestoreManager {
+    private static final int SNAPSHOT_BATCH_SIZE = 1024;
     private final Semaphore diskAccessLock = new Semaphore(1, true);
     private final AtomicReference<CompletableFuture<Void>> writeInProgress =
         new AtomicReference<>(null);
     private final AtomicReference<CompletableFuture<Void>> readInProgress =
         new AtomicReference<>(null);
     private final AtomicBoolean isCancelled = new AtomicBoolean(false);
+    // true until the content of the save file has been completely restored
+    private final AtomicBoolean unrestoredContentOnDisk = new AtomicBoolean(true);
 
     synchronized CompletableFuture<Void> saveToDisk(
         final PendingTransactions pendingTransactionsToSave) {
@@ -900,9 +1000,14 @@ public class TransactionPool implements BlockAddedObserver {
 
     private void executeSaveToDisk(final PendingTransactions pendingTransactionsToSave) {
       final File saveFile = configuration.getSaveFile();
-      final boolean appending = saveFile.exists();
-      try (final BufferedWriter bw =
-          new BufferedWriter(new FileWriter(saveFile, StandardCharsets.US_ASCII, appending))) {
+      // append only to content that has not been restored yet, otherwise it is an older save
+      final boolean appending = saveFile.exists() && unrestoredContentOnDisk.get();
+      Path target = null;
+      try {
+        final boolean binary =
+            appending
+                ? TransactionPoolSnapshot.isSnapshot(saveFile)
+                : configuration.getUnstable().getSaveRestoreBinaryFormat();
         final var allTxs = pendingTransactionsToSave.getPendingTransactions();
         LOG.info(
             "{} {} transactions to file {}",
@@ -910,30 +1015,25 @@ public class TransactionPool implements BlockAddedObserver {
             allTxs.size(),
             saveFile);
 
+        // a new save is written aside and then moved, so a crash never leaves a partial file
+        target =
+            appending
+                ? saveFile.toPath()
+                : Files.createTempFile(
+                    saveFile.getAbsoluteFile().getParentFile().toPath(),
+                    saveFile.getName(),
+                    ".tmp");
         final long processedTxCount =
-            allTxs.parallelStream()
-                .takeWhile(unused -> !isCancelled.get())
-                .map(
-                    ptx -> {
-                      final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-                      ptx.getTransaction().writeTo(rlp, EncodingContext.POOLED_TRANSACTION);
-                      return ptx.getScore()
-                          + (ptx.isReceivedFromLocalSource() ? "l" : "r")
-                          + rlp.encoded().toBase64String();
-                    })
-                .mapToInt(
-                    line -> {
-                      synchronized (bw) {
-                        try {
-                          bw.write(line);
-                          bw.newLine();
-                        } catch (IOException e) {
-                          throw new RuntimeException(e);
-                        }
-                      }
-                      return 1;
-                    })
-                .sum();
+            binary
+                ? writeSnapshot(target, appending, allTxs)
+                : writeLines(target, appending, allTxs);
+        if (!appending) {
+          Files.move(
+              target,
+              saveFile.toPath(),
+              StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        }
 
         if (isCancelled.get()) {
           LOG.info(
@@ -950,7 +1050,71 @@ public class TransactionPool implements BlockAddedObserver {
         }
       } catch (IOException e) {
         LOG.error("Error while saving txpool content to disk", e);
+        if (!appending && target != null) {
+          target.toFile().delete();
+        }
+      }
+    }
+
+    private long writeLines(
+        final Path target,
+        final boolean appending,
+        final Collection<PendingTransaction> pendingTransactionsToSave)
+        throws IOException {
+      try (final BufferedWriter bw =
+          new BufferedWriter(
+              new FileWriter(target.toFile(), StandardCharsets.US_ASCII, appending))) {
+        return pendingTransactionsToSave.parallelStream()
+            .takeWhile(unused -> !isCancelled.get())
+            .map(
+                ptx -> {
+                  final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+                  ptx.getTransaction().writeTo(rlp, EncodingContext.POOLED_TRANSACTION);
+                  return ptx.getScore()
+                      + (ptx.isReceivedFromLocalSource() ? "l" : "r")
+                      + rlp.encoded().toBase64String();
+                })
+            .mapToInt(
+                line -> {
+                  synchronized (bw) {
+                    try {
+                      bw.write(line);
+                      bw.newLine();
+                    } catch (IOException e) {
+                      throw new RuntimeException(e);
+                    }
+                  }
+                  return 1;
+                })
+            .sum();
+      }
+    }
+
+    private long writeSnapshot(
+        final Path target,
+        final boolean appending,
+        final Collection<PendingTransaction> pendingTransactionsToSave)
+        throws IOException {
+      // encoded in parallel, and written by sender and nonce, that is the order to restore them
+      final List<TransactionPoolSnapshot.Entry> entries =
+          pendingTransactionsToSave.parallelStream()
+              .takeWhile(unused -> !isCancelled.get())
+              .sorted(
+                  Comparator.comparing((PendingTransaction ptx) -> ptx.getSender().getBytes())
+                      .thenComparing(PendingTransaction::getNonce))
+              .map(TransactionPoolSnapshot.Entry::of)
+              .toList();
+      try (final DataOutputStream out =
+          new DataOutputStream(
+              new BufferedOutputStream(new FileOutputStream(target.toFile(), appending)))) {
+        if (!appending) {
+          TransactionPoolSnapshot.writeHeader(out);
+        }
+        for (final TransactionPoolSnapshot.Entry entry : entries) {
+          entry.writeTo(out);
+        }
       }
+      return entries.size();
     }
 
     private void executeLoadFromDisk() {
@@ -958,57 +1122,143 @@ public class TransactionPool implements BlockAddedObserver {
         final File saveFile = configuration.getSaveFile();
         if (saveFile.exists()) {
           LOG.info("Loading transaction pool content from file {}", saveFile);
-          try (final BufferedReader br =
-              new BufferedReader(new FileReader(saveFile, StandardCharsets.US_ASCII))) {
-            final Map<String, Long> stats =
-                br.lines()
-                    .takeWhile(unused -> !isCancelled.get())
-                    .map(
-                        line -> {
-                          final var scoreStr = parseScore(line);
-                          final byte score =
-                              scoreStr.isEmpty() ? MAX_SCORE : Byte.parseByte(scoreStr);
-                          final boolean isLocal = line.charAt(scoreStr.length()) == 'l';
-                          final Transaction tx =
-                              Transaction.readFrom(
-                                  RLP.input(
-                                      Bytes.fromBase64String(
-                                          line.substring(scoreStr.length() + 1))),
-                                  EncodingContext.POOLED_TRANSACTION);
-                          final boolean hasPriority = isPriorityTransaction(tx, isLocal);
-                          final ValidationResult<TransactionInvalidReason> result =
-                              addTransaction(tx, isLocal, hasPriority, score);
-                          return result.isValid() ? "OK" : result.getInvalidReason().name();
-                        })
-                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-            br.close();
-
-            final var added = stats.getOrDefault("OK", 0L);
-            final var processedLines = stats.values().stream().mapToLong(Long::longValue).sum();
-
-            LOG.debug("Restored transactions stats {}", stats);
-
-            if (isCancelled.get()) {
-              LOG.info(
-                  "Added {} transactions of {} loaded from file {}, before operation was cancelled",
-                  added,
-                  processedLines,
-                  saveFile);
-              removeProcessedLines(saveFile, processedLines);
+          try {
+            if (TransactionPoolSnapshot.isSnapshot(saveFile)) {
+              loadSnapshot(saveFile);
             } else {
-              LOG.info(
-                  "Added {} transactions of {} loaded from file {}, deleting file",
-                  added,
-                  processedLines,
-                  saveFile);
-              saveFile.delete();
+              loadLines(saveFile);
             }
           } catch (IOException e) {
             LOG.error("Error while loading txpool content from disk", e);
+            // the content that could not be restored is overwritten by the next save
+            unrestoredContentOnDisk.set(false);
           }
+        } else {
+          unrestoredContentOnDisk.set(false);
+        }
+      }
+    }
+
+    private void loadLines(final File saveFile) throws IOException {
+      try (final BufferedReader br =
+              new BufferedReader(new FileReader(saveFile, StandardCharsets.US_ASCII));
+          final ChainHeadAccounts chainHeadAccounts = new ChainHeadAccounts()) {
+        final Map<String, Long> stats =
+            br.lines()
+                .takeWhile(unused -> !isCancelled.get())
+                .map(
+                    line -> {
+                      final var scoreStr = parseScore(line);
+                      final byte score = scoreStr.isEmpty() ? MAX_SCORE : Byte.parseByte(scoreStr);
+                      final boolean isLocal = line.charAt(scoreStr.length()) == 'l';
+                      final Transaction tx =
+                          Transaction.readFrom(
+                              RLP.input(
+                                  Bytes.fromBase64String(line.substring(scoreStr.length() + 1))),
+                              EncodingContext.POOLED_TRANSACTION);
+                      final boolean hasPriority = isPriorityTransaction(tx, isLocal);
+                      final ValidationResult<TransactionInvalidReason> result =
+                          addTransaction(tx, isLocal, hasPriority, score, chainHeadAccounts);
+                      return result.isValid() ? "OK" : result.getInvalidReason().name();
+                    })
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        br.close();
+
+        final long processedLines = logRestoreStats(saveFile, stats);
+        if (isCancelled.get()) {
+          removeProcessedLines(saveFile, processedLines);
+        }
+      }
+    }
+
+    private void loadSnapshot(final File saveFile) throws IOException {
+      final Map<String, Long> stats = new HashMap<>();
+      try (final DataInputStream in =
+              new DataInputStream(new BufferedInputStream(new FileInputStream(saveFile)));
+          final ChainHeadAccounts chainHeadAccounts = new ChainHeadAccounts()) {
+        TransactionPoolSnapshot.readHeader(in);
+        final List<TransactionPoolSnapshot.Entry> batch = new ArrayList<>(SNAPSHOT_BATCH_SIZE);
+        boolean hasMore = true;
+        while (hasMore && !isCancelled.get()) {
+          batch.clear();
+          hasMore = readSnapshotBatch(saveFile, in, batch);
+          addSnapshotBatch(batch, chainHeadAccounts)
+              .forEach((result, count) -> stats.merge(result, count, Long::sum));
         }
       }
+
+      final long processedRecords = logRestoreStats(saveFile, stats);
+      if (isCancelled.get()) {
+        removeProcessedRecords(saveFile, processedRecords);
+      }
+    }
+
+    private boolean readSnapshotBatch(
+        final File saveFile,
+        final DataInputStream in,
+        final List<TransactionPoolSnapshot.Entry> batch)
+        throws IOException {
+      try {
+        while (batch.size() < SNAPSHOT_BATCH_SIZE) {
+          final Optional<TransactionPoolSnapshot.Entry> maybeEntry =
+              TransactionPoolSnapshot.Entry.readFrom(in);
+          if (maybeEntry.isEmpty()) {
+            return false;
+          }
+          batch.add(maybeEntry.get());
+        }
+        return true;
+      } catch (final EOFException e) {
+        LOG.warn("Ignoring the truncated last record of the transaction pool file {}", saveFile);
+        return false;
+      }
+    }
+
+    /**
+     * The transactions of the batch are decoded in parallel, using the saved senders instead of
+     * recovering them from the signatures, then they are validated and added in the saved order,
+     * that is by sender and nonce, reading the sender accounts from the same chain head.
+     */
+    private Map<String, Long> addSnapshotBatch(
+        final List<TransactionPoolSnapshot.Entry> batch,
+        final ChainHeadAccounts chainHeadAccounts) {
+      final List<Transaction> transactions =
+          batch.parallelStream().map(TransactionPoolSnapshot.Entry::decode).toList();
+      final Map<String, Long> stats = new HashMap<>();
+      for (int i = 0; i < batch.size(); i++) {
+        final TransactionPoolSnapshot.Entry entry = batch.get(i);
+        final Transaction tx = transactions.get(i);
+        final boolean hasPriority = isPriorityTransaction(tx, entry.isLocal());
+        final ValidationResult<TransactionInvalidReason> result =
+            addTransaction(tx, entry.isLocal(), hasPriority, entry.score(), chainHeadAccounts);
+        stats.merge(result.isValid() ? "OK" : result.getInvalidReason().name(), 1L, Long::sum);
+      }
+      return stats;
+    }
+
+    private long logRestoreStats(final File saveFile, final Map<String, Long> stats) {
+      final var added = stats.getOrDefault("OK", 0L);
+      final var processed = stats.values().stream().mapToLong(Long::longValue).sum();
+
+      LOG.debug("Restored transactions stats {}", stats);
+
+      if (isCancelled.get()) {
+        LOG.info(
+            "Added {} transactions of {} loaded from file {}, before operation was cancelled",
+            added,
+            processed,
+            saveFile);
+      } else {
+        LOG.info(
+            "Added {} transactions of {} loaded from file {}, deleting file",
+            added,
+            processed,
+            saveFile);
+        saveFile.delete();
+        unrestoredContentOnDisk.set(false);
+      }
+      return processed;
     }
 
     private String parseScore(final String line) {
@@ -1049,5 +1299,35 @@ public class TransactionPool implements BlockAddedObserver {
       saveFile.delete();
       Files.move(tmp, saveFile.toPath());
     }
+
+    private void removeProcessedRecords(final File saveFile, final long processedRecords)
+        throws IOException {
+
+      LOG.debug("Removing processed records from save file");
+
+      final var tmp =
+          Files.createTempFile(
+              saveFile.getAbsoluteFile().getParentFile().toPath(), saveFile.getName(), ".tmp");
+
+      try (final DataInputStream in =
+              new DataInputStream(new BufferedInputStream(new FileInputStream(saveFile)));
+          final DataOutputStream out =
+              new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        TransactionPoolSnapshot.readHeader(in);
+        TransactionPoolSnapshot.writeHeader(out);
+        long readRecords = 0;
+        Optional<TransactionPoolSnapshot.Entry> maybeEntry;
+        while ((maybeEntry = TransactionPoolSnapshot.Entry.readFrom(in)).isPresent()) {
+          if (++readRecords > processedRecords) {
+            maybeEntry.get().writeTo(out);
+          }
+        }
+      } catch (final EOFException e) {
+        LOG.debug("Dropping the truncated last record of the transaction pool file {}", saveFile);
+      }
+
+      saveFile.delete();
+      Files.move(tmp, saveFile.toPath());
+    }
   }
 }
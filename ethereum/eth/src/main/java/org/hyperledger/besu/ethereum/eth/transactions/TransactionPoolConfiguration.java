@@ -43,7 +43,13 @@ public interface TransactionPoolConfiguration {
     int DEFAULT_MAX_TRACKED_SEEN_TXS = 300_000;
     int DEFAULT_MAX_SEND_QUEUE_SIZE_PER_PEER = 100_000;
     boolean DEFAULT_PEER_TRACKER_FORGET_EVICTED_TXS = false;
+    int DEFAULT_PEER_TRACKER_KNOWN_HASHES_PER_PEER = 32_768;
+    Duration DEFAULT_TX_BROADCAST_BATCH_WINDOW = Duration.ZERO;
     Duration DEFAULT_SAVE_RESTORE_TIMEOUT = Duration.ofMinutes(1);
+    boolean DEFAULT_SAVE_RESTORE_BINARY_FORMAT = false;
+    Duration DEFAULT_SAVE_RESTORE_INTERVAL = Duration.ZERO;
+    long DEFAULT_POOLED_TRANSACTIONS_OFF_HEAP_CAPACITY = 0;
+    long DEFAULT_BLOB_CACHE_SPILL_CAPACITY = 0;
 
     TransactionPoolConfiguration.Unstable DEFAULT =
         ImmutableTransactionPoolConfiguration.Unstable.builder().build();
@@ -73,10 +79,40 @@ public interface TransactionPoolConfiguration {
       return DEFAULT_PEER_TRACKER_FORGET_EVICTED_TXS;
     }
 
+    @Value.Default
+    default int getPeerTrackerKnownHashesPerPeer() {
+      return DEFAULT_PEER_TRACKER_KNOWN_HASHES_PER_PEER;
+    }
+
+    @Value.Default
+    default Duration getTxBroadcastBatchWindow() {
+      return DEFAULT_TX_BROADCAST_BATCH_WINDOW;
+    }
+
     @Value.Default
     default Duration getSaveRestoreTimeout() {
       return DEFAULT_SAVE_RESTORE_TIMEOUT;
     }
+
+    @Value.Default
+    default boolean getSaveRestoreBinaryFormat() {
+      return DEFAULT_SAVE_RESTORE_BINARY_FORMAT;
+    }
+
+    @Value.Default
+    default Duration getSaveRestoreInterval() {
+      return DEFAULT_SAVE_RESTORE_INTERVAL;
+    }
+
+    @Value.Default
+    default long getPooledTransactionsOffHeapCapacity() {
+      return DEFAULT_POOLED_TRANSACTIONS_OFF_HEAP_CAPACITY;
+    }
+
+    @Value.Default
+    default long getBlobCacheSpillCapacity() {
+      return DEFAULT_BLOB_CACHE_SPILL_CAPACITY;
+    }
   }
 
   enum Implementation {
@@ -121,20 +121,34 @@ public class TransactionPoolFactory {
                 ethContext,
                 transactionTracker,
                 transactionsMessageSender,
-                newPooledTransactionHashesMessageSender),
+                newPooledTransactionHashesMessageSender,
+                transactionPoolConfiguration.getUnstable().getTxBroadcastBatchWindow()),
             ethContext,
             metrics,
             transactionPoolConfiguration,
             blobCache);
 
+    final TransactionsMessageProcessor transactionsMessageProcessor =
+        new TransactionsMessageProcessor(
+            transactionTracker,
+            transactionPool,
+            metrics,
+            ethProtocolConfiguration.getMaxTransactionsPerMessage());
+
+    final TransactionsIngressPipeline transactionsIngressPipeline =
+        new TransactionsIngressPipeline(
+            ethContext.getScheduler(),
+            transactionsMessageProcessor,
+            metrics,
+            TransactionsIngressPipeline.DEFAULT_CAPACITY,
+            TransactionsIngressPipeline.DEFAULT_RECOVERY_CONCURRENCY);
+
     final TransactionsMessageHandler transactionsMessageHandler =
         new TransactionsMessageHandler(
             ethContext.getScheduler(),
-            new TransactionsMessageProcessor(
-                transactionTracker,
-                transactionPool,
-                metrics,
-                ethProtocolConfiguration.getMaxTransactionsPerMessage()),
+            transactionsMessageProcessor,
+            transactionsIngressPipeline,
+            metrics,
             transactionPoolConfiguration.getUnstable().getTxMessageKeepAliveSeconds(),
             ethProtocolConfiguration.getMaxMessageSize());
 
@@ -147,6 +161,7 @@ public class TransactionPoolFactory {
                 transactionPoolConfiguration,
                 ethContext,
                 metrics,
+                transactionsIngressPipeline,
                 ethProtocolConfiguration.getMaxTransactionsMessageSize()),
             transactionPoolConfiguration.getUnstable().getTxMessageKeepAliveSeconds());
 
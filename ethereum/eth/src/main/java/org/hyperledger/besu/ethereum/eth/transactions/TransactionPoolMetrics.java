@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +42,7 @@ public class TransactionPoolMetrics {
   public static final String REJECTED_COUNTER_NAME = "rejected_total";
   public static final String PENALIZED_COUNTER_NAME = "penalized_total";
   public static final String EXPIRED_MESSAGES_COUNTER_NAME = "messages_expired_total";
+  public static final String SATURATED_MESSAGES_COUNTER_NAME = "messages_saturated_total";
   private static final int SKIPPED_MESSAGES_LOGGING_THRESHOLD = 1000;
   private final MetricsSystem metricsSystem;
   private final LabelledMetric<Counter> addedCounter;
@@ -54,6 +56,9 @@ public class TransactionPoolMetrics {
   private final LabelledMetric<Counter> expiredMessagesCounter;
   private final Map<String, RunnableCounter> expiredMessagesRunnableCounters = new HashMap<>();
   private final LabelledMetric<Counter> alreadySeenTransactionsCounter;
+  private final LabelledMetric<Counter> saturatedMessagesCounter;
+  private final Map<String, RunnableCounter> saturatedMessagesRunnableCounters = new HashMap<>();
+  private final OperationTimer blockAddedProcessingTimer;
   private final Map<String, ReplaceableDoubleSupplier> spaceUsedSuppliers = new HashMap<>();
   private final Map<String, ReplaceableDoubleSupplier> transactionCountSuppliers = new HashMap<>();
   private final Map<Pair<String, TransactionType>, ReplaceableDoubleSupplier>
@@ -144,6 +149,19 @@ public class TransactionPoolMetrics {
             "remote_transactions_already_seen_total",
             "Total number of received transactions already seen",
             "message");
+
+    saturatedMessagesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            SATURATED_MESSAGES_COUNTER_NAME,
+            "Total number of received transaction pool messages not processed because the ingress pipeline was saturated",
+            "message");
+
+    blockAddedProcessingTimer =
+        metricsSystem.createSimpleTimer(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "block_added_processing_seconds",
+            "Time spent updating the transaction pool after a block is added to the chain");
   }
 
   public MetricsSystem getMetricsSystem() {
@@ -218,6 +236,19 @@ public class TransactionPoolMetrics {
             SKIPPED_MESSAGES_LOGGING_THRESHOLD));
   }
 
+  public void initSaturatedMessagesCounter(final String message) {
+    saturatedMessagesRunnableCounters.put(
+        message,
+        new RunnableCounter(
+            saturatedMessagesCounter.labels(message),
+            () ->
+                LOG.warn(
+                    "{} {} messages have been skipped since the transaction pool ingress is saturated.",
+                    SKIPPED_MESSAGES_LOGGING_THRESHOLD,
+                    message),
+            SKIPPED_MESSAGES_LOGGING_THRESHOLD));
+  }
+
   public void incrementAdded(
       final PendingTransaction pendingTransaction, final AddReason addReason, final String layer) {
     addedCounter
@@ -275,10 +306,18 @@ public class TransactionPoolMetrics {
     expiredMessagesCounter.labels(message).inc();
   }
 
+  public void incrementSaturatedMessages(final String message) {
+    saturatedMessagesRunnableCounters.get(message).inc();
+  }
+
   public void incrementAlreadySeenTransactions(final String message, final long count) {
     alreadySeenTransactionsCounter.labels(message).inc(count);
   }
 
+  public OperationTimer.TimingContext startBlockAddedProcessingTimer() {
+    return blockAddedProcessingTimer.startTimer();
+  }
+
   private String location(final boolean receivedFromLocalSource) {
     return receivedFromLocalSource ? "local" : "remote";
   }
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Binary format of the transaction pool content saved to disk. After a header, there is a record
+ * for each pending transaction, with its score, its source, its sender and its pooled encoding, so
+ * when it is restored the sender does not need to be recovered again from the signature.
+ *
+ * <p>Records are self delimited, so more records can be appended to an existing snapshot.
+ */
+final class TransactionPoolSnapshot {
+  // "TXPS", it can never be the start of the text format, that starts with the score or the source
+  private static final int MAGIC = 0x54585053;
+  private static final byte VERSION = 1;
+  private static final byte LOCAL = 1;
+  private static final byte REMOTE = 0;
+
+  private TransactionPoolSnapshot() {}
+
+  /**
+   * Check if the file is a binary snapshot, or a file in the text format
+   *
+   * @param file the file to check
+   * @return true if the file starts with the header of a binary snapshot
+   * @throws IOException if the file cannot be read
+   */
+  static boolean isSnapshot(final File file) throws IOException {
+    try (final DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+      return in.readInt() == MAGIC;
+    } catch (final EOFException e) {
+      return false;
+    }
+  }
+
+  static void writeHeader(final DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+  }
+
+  static void readHeader(final DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a transaction pool snapshot");
+    }
+    final byte version = in.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported transaction pool snapshot version " + version);
+    }
+  }
+
+  record Entry(byte score, boolean isLocal, Address sender, Bytes encoded) {
+
+    static Entry of(final PendingTransaction pendingTransaction) {
+      final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+      pendingTransaction.getTransaction().writeTo(rlp, EncodingContext.POOLED_TRANSACTION);
+      return new Entry(
+          pendingTransaction.getScore(),
+          pendingTransaction.isReceivedFromLocalSource(),
+          pendingTransaction.getSender(),
+          rlp.encoded());
+    }
+
+    void writeTo(final DataOutputStream out) throws IOException {
+      out.writeByte(score);
+      out.writeByte(isLocal ? LOCAL : REMOTE);
+      out.write(sender.getBytes().toArrayUnsafe());
+      out.writeInt(encoded.size());
+      out.write(encoded.toArrayUnsafe());
+    }
+
+    /**
+     * Read the next record
+     *
+     * @param in the snapshot input, positioned after the header or after a previous record
+     * @return the next record, or empty at the end of the snapshot
+     * @throws IOException if the record cannot be read, for example if it is truncated
+     */
+    static Optional<Entry> readFrom(final DataInputStream in) throws IOException {
+      final int score = in.read();
+      if (score < 0) {
+        return Optional.empty();
+      }
+      final boolean isLocal = in.readByte() == LOCAL;
+      final byte[] sender = new byte[Address.SIZE];
+      in.readFully(sender);
+      final byte[] encoded = new byte[in.readInt()];
+      in.readFully(encoded);
+      return Optional.of(
+          new Entry(
+              (byte) score, isLocal, Address.wrap(Bytes.wrap(sender)), Bytes.wrap(encoded)));
+    }
+
+    Transaction decode() {
+      final Transaction transaction =
+          Transaction.readFrom(RLP.input(encoded), EncodingContext.POOLED_TRANSACTION);
+      // the sender was recovered before saving the transaction
+      return Transaction.builder().copiedFrom(transaction).sender(sender).build();
+    }
+  }
+}
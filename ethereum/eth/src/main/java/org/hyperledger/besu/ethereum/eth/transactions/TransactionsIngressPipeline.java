@@ -0,0 +1,174 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionsMessageProcessor.ReceivedTransactions;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.services.pipeline.Pipe;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validates the transactions received from the peers in a pipeline, so the expensive steps of
+ * different messages can overlap, instead of handling each message from start to end in a single
+ * task:
+ *
+ * <ol>
+ *   <li>the message is decoded and its transactions are deduplicated against the ones already
+ *       seen, using the {@link PeerTransactionTracker}, by the transaction worker that submits the
+ *       fresh transactions to this pipeline
+ *   <li>the senders of the fresh transactions are recovered in parallel for different messages, in
+ *       the computation executor, preserving the order of the messages
+ *   <li>the transactions are added to the pool, one message after the other, reading the sender
+ *       accounts of each message from a single world state of the chain head
+ * </ol>
+ *
+ * <p>The pipeline applies backpressure: submitting to a full pipeline blocks the transaction
+ * worker, and while the number of messages in the pipeline is over its capacity it is reported as
+ * saturated, so new messages are skipped before being decoded and the announced transactions are
+ * not requested to the peers, until the pipeline has capacity again.
+ */
+class TransactionsIngressPipeline {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionsIngressPipeline.class);
+  static final int DEFAULT_CAPACITY = 64;
+  static final int DEFAULT_RECOVERY_CONCURRENCY =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+  private final EthScheduler ethScheduler;
+  private final TransactionsMessageProcessor transactionsMessageProcessor;
+  private final int capacity;
+  private final int recoveryConcurrency;
+  private final LabelledMetric<Counter> processedCounter;
+  private volatile Ingress ingress;
+
+  TransactionsIngressPipeline(
+      final EthScheduler ethScheduler,
+      final TransactionsMessageProcessor transactionsMessageProcessor,
+      final TransactionPoolMetrics metrics,
+      final int capacity,
+      final int recoveryConcurrency) {
+    this.ethScheduler = ethScheduler;
+    this.transactionsMessageProcessor = transactionsMessageProcessor;
+    this.capacity = capacity;
+    this.recoveryConcurrency = recoveryConcurrency;
+    this.processedCounter =
+        metrics
+            .getMetricsSystem()
+            .createLabelledCounter(
+                BesuMetricCategory.TRANSACTION_POOL,
+                "ingress_pipeline_processed_total",
+                "Number of entries processed by each transactions ingress pipeline stage",
+                "step",
+                "action");
+  }
+
+  /**
+   * Submits the fresh transactions of a message to the pipeline, blocking if the pipeline is full.
+   * The pipeline is started at the first submission, and a new one is started if the previous one
+   * has been aborted, in which case the transactions that could not be submitted to it are added
+   * directly by the calling thread.
+   *
+   * @param receivedTransactions the fresh transactions received from a peer
+   */
+  void submit(final ReceivedTransactions receivedTransactions) {
+    if (receivedTransactions.transactions().isEmpty()) {
+      return;
+    }
+    final Ingress current = runningIngress();
+    current.inFlightMessages().incrementAndGet();
+    current.inputPipe().put(receivedTransactions);
+    if (!current.inputPipe().isOpen()) {
+      // the pipeline has been aborted, and the transactions may have been discarded with it
+      current.inFlightMessages().decrementAndGet();
+      transactionsMessageProcessor.addReceivedTransactions(
+          transactionsMessageProcessor.recoverSenders(receivedTransactions));
+    }
+  }
+
+  /**
+   * Whether the pipeline has reached its capacity, in which case new transactions should not be
+   * received or requested from the peers. An aborted pipeline is never saturated, since it is
+   * replaced at the next submission.
+   *
+   * @return true if the pipeline is saturated
+   */
+  boolean isSaturated() {
+    final Ingress current = ingress;
+    return current != null && !current.isStopped() && current.inFlightMessages().get() >= capacity;
+  }
+
+  private synchronized Ingress runningIngress() {
+    final Ingress current = ingress;
+    if (current != null && !current.isStopped()) {
+      return current;
+    }
+    // the messages in flight in an aborted pipeline are lost, so the new one starts from zero
+    final AtomicInteger inFlightMessages = new AtomicInteger();
+    final Pipeline<ReceivedTransactions> pipeline = createPipeline(inFlightMessages);
+    final CompletableFuture<Void> completion =
+        ethScheduler
+            .startPipeline(pipeline)
+            .whenComplete(
+                (unused, error) -> {
+                  if (error != null) {
+                    LOG.warn(
+                        "Transactions ingress pipeline aborted, a new one is started for the next"
+                            + " received transactions",
+                        error);
+                  }
+                });
+    ingress = new Ingress(pipeline.getInputPipe(), inFlightMessages, completion);
+    return ingress;
+  }
+
+  private Pipeline<ReceivedTransactions> createPipeline(final AtomicInteger inFlightMessages) {
+    return PipelineBuilder.<ReceivedTransactions>createPipeline(
+            "receivedTransactions", capacity, processedCounter, false, "transactions_ingress")
+        .thenProcessAsyncOrdered(
+            "recoverSenders",
+            receivedTransactions ->
+                ethScheduler.scheduleComputationTask(
+                    () -> transactionsMessageProcessor.recoverSenders(receivedTransactions)),
+            recoveryConcurrency)
+        .andFinishWith(
+            "addTransactions",
+            receivedTransactions -> {
+              try {
+                transactionsMessageProcessor.addReceivedTransactions(receivedTransactions);
+              } finally {
+                inFlightMessages.decrementAndGet();
+              }
+            });
+  }
+
+  private record Ingress(
+      Pipe<ReceivedTransactions> inputPipe,
+      AtomicInteger inFlightMessages,
+      CompletableFuture<Void> completion) {
+
+    boolean isStopped() {
+      return completion.isDone() || !inputPipe.isOpen();
+    }
+  }
+}
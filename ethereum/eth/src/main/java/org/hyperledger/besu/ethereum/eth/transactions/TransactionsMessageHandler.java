@@ -34,6 +34,8 @@ class TransactionsMessageHandler implements EthMessages.MessageCallback {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionsMessageHandler.class);
 
   private final TransactionsMessageProcessor transactionsMessageProcessor;
+  private final TransactionsIngressPipeline transactionsIngressPipeline;
+  private final TransactionPoolMetrics metrics;
   private final EthScheduler scheduler;
   private final Duration txMsgKeepAlive;
   private final int maxMessageSize;
@@ -42,12 +44,17 @@ class TransactionsMessageHandler implements EthMessages.MessageCallback {
   public TransactionsMessageHandler(
       final EthScheduler scheduler,
       final TransactionsMessageProcessor transactionsMessageProcessor,
+      final TransactionsIngressPipeline transactionsIngressPipeline,
+      final TransactionPoolMetrics metrics,
       final int txMsgKeepAliveSeconds,
       final int maxMessageSize) {
     this.scheduler = scheduler;
     this.transactionsMessageProcessor = transactionsMessageProcessor;
+    this.transactionsIngressPipeline = transactionsIngressPipeline;
+    this.metrics = metrics;
     this.txMsgKeepAlive = Duration.ofSeconds(txMsgKeepAliveSeconds);
     this.maxMessageSize = maxMessageSize;
+    metrics.initSaturatedMessagesCounter(TransactionsMessageProcessor.METRIC_LABEL);
   }
 
   @Override
@@ -64,6 +71,16 @@ class TransactionsMessageHandler implements EthMessages.MessageCallback {
             .disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
         return;
       }
+      if (transactionsIngressPipeline.isSaturated()) {
+        // skip the message before decoding it, so its transactions are not marked as seen and
+        // can be accepted later, from this or other peers
+        LOG.atTrace()
+            .setMessage("Ignoring transactions message, ingress pipeline saturated: peer={}")
+            .addArgument(message::getPeer)
+            .log();
+        metrics.incrementSaturatedMessages(TransactionsMessageProcessor.METRIC_LABEL);
+        return;
+      }
       final Instant startedAt = now();
       scheduler.scheduleTxWorkerTask(
           () -> {
@@ -83,8 +100,9 @@ class TransactionsMessageHandler implements EthMessages.MessageCallback {
                   .disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
               return;
             }
-            transactionsMessageProcessor.processTransactionsMessage(
-                message.getPeer(), transactionsMessage, startedAt, txMsgKeepAlive);
+            transactionsIngressPipeline.submit(
+                transactionsMessageProcessor.receiveTransactionsMessage(
+                    message.getPeer(), transactionsMessage, startedAt, txMsgKeepAlive));
           });
     }
   }
@@ -52,30 +52,58 @@ class TransactionsMessageProcessor {
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
   }
 
+  /**
+   * Processes a transactions message in the calling thread, going through all the steps that the
+   * {@link TransactionsIngressPipeline} runs as separate stages.
+   *
+   * @param peer the peer that sent the message
+   * @param transactionsMessage the message
+   * @param queueAt when the message was received
+   * @param keepAlive for how long the message can wait before being processed
+   */
   void processTransactionsMessage(
       final EthPeer peer,
       final TransactionsMessage transactionsMessage,
       final Instant queueAt,
       final Duration keepAlive) {
+    addReceivedTransactions(
+        recoverSenders(receiveTransactionsMessage(peer, transactionsMessage, queueAt, keepAlive)));
+  }
+
+  /**
+   * Checks the message and returns only the transactions not already seen, marking them as seen
+   * from the peer.
+   *
+   * @param peer the peer that sent the message
+   * @param transactionsMessage the message
+   * @param queueAt when the message was received
+   * @param keepAlive for how long the message can wait before being processed
+   * @return the fresh transactions, that are none if the message is expired or invalid
+   */
+  ReceivedTransactions receiveTransactionsMessage(
+      final EthPeer peer,
+      final TransactionsMessage transactionsMessage,
+      final Instant queueAt,
+      final Duration keepAlive) {
     // Check if message is not expired.
     final var latency = Duration.between(queueAt, now());
     if (latency.compareTo(keepAlive) < 0) {
-      this.processTransactionsMessage(peer, transactionsMessage);
-    } else {
-      LOG.atTrace()
-          .setMessage(
-              "Ignoring expired transactions message: peer={}, latency={}, queuedAt={}, keepAlive={}, hashes={}")
-          .addArgument(peer)
-          .addArgument(latency)
-          .addArgument(queueAt)
-          .addArgument(keepAlive)
-          .addArgument(() -> toHashList(transactionsMessage.transactions()))
-          .log();
-      metrics.incrementExpiredMessages(METRIC_LABEL);
+      return receiveTransactionsMessage(peer, transactionsMessage);
     }
+    LOG.atTrace()
+        .setMessage(
+            "Ignoring expired transactions message: peer={}, latency={}, queuedAt={}, keepAlive={}, hashes={}")
+        .addArgument(peer)
+        .addArgument(latency)
+        .addArgument(queueAt)
+        .addArgument(keepAlive)
+        .addArgument(() -> toHashList(transactionsMessage.transactions()))
+        .log();
+    metrics.incrementExpiredMessages(METRIC_LABEL);
+    return ReceivedTransactions.none(peer);
   }
 
-  private void processTransactionsMessage(
+  private ReceivedTransactions receiveTransactionsMessage(
       final EthPeer peer, final TransactionsMessage transactionsMessage) {
     try {
       final List<Transaction> incomingTransactions = transactionsMessage.transactions();
@@ -87,7 +115,7 @@ class TransactionsMessageProcessor {
             maxTransactionsPerMessage,
             peer);
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
-        return;
+        return ReceivedTransactions.none(peer);
       }
 
       final Collection<Transaction> freshTransactions =
@@ -102,7 +130,7 @@ class TransactionsMessageProcessor {
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
-      transactionPool.addRemoteTransactions(freshTransactions);
+      return new ReceivedTransactions(peer, freshTransactions);
 
     } catch (final RLPException ex) {
       if (peer != null) {
@@ -112,14 +140,71 @@ class TransactionsMessageProcessor {
             ex);
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
       }
+    } catch (final RuntimeException ex) {
+      // an exception reaching here means something failed at the message-processing level
+      // (e.g. tracker). Disconnect as a last resort.
+      LOG.warn("Unexpected error processing transaction message, disconnecting: {}", peer, ex);
+      if (peer != null) {
+        peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
+      }
+    }
+    return ReceivedTransactions.none(peer);
+  }
+
+  /**
+   * Recovers and caches the sender of each transaction, that is the most expensive step of the
+   * validation, so it can run in parallel for different messages. Transactions with an invalid
+   * signature are left as they are, and then discarded when added to the pool.
+   *
+   * @param receivedTransactions the fresh transactions received from a peer
+   * @return the same transactions, with their sender cached
+   */
+  ReceivedTransactions recoverSenders(final ReceivedTransactions receivedTransactions) {
+    for (final Transaction transaction : receivedTransactions.transactions()) {
+      try {
+        transaction.getSender();
+      } catch (final IllegalArgumentException | IllegalStateException ex) {
+        LOG.atTrace()
+            .setMessage("Cannot recover the sender of transaction {}: {}")
+            .addArgument(transaction::getHash)
+            .addArgument(ex::getMessage)
+            .log();
+      }
+    }
+    return receivedTransactions;
+  }
+
+  /**
+   * Adds the fresh transactions received from a peer to the pool.
+   *
+   * @param receivedTransactions the fresh transactions received from a peer
+   */
+  void addReceivedTransactions(final ReceivedTransactions receivedTransactions) {
+    if (receivedTransactions.transactions().isEmpty()) {
+      return;
+    }
+    final EthPeer peer = receivedTransactions.peer();
+    try {
+      transactionPool.addRemoteTransactions(receivedTransactions.transactions());
     } catch (final RuntimeException ex) {
       // Per-transaction validation errors are caught inside addRemoteTransactions; an exception
-      // reaching here means something failed at the message-processing level (e.g. tracker, stream
-      // setup). Disconnect as a last resort.
+      // reaching here means something failed at the batch level. Disconnect as a last resort.
       LOG.warn("Unexpected error processing transaction message, disconnecting: {}", peer, ex);
       if (peer != null) {
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL_MALFORMED_MESSAGE_RECEIVED);
       }
     }
   }
+
+  /**
+   * The transactions of a message that were not already seen.
+   *
+   * @param peer the peer that sent them
+   * @param transactions the fresh transactions
+   */
+  record ReceivedTransactions(EthPeer peer, Collection<Transaction> transactions) {
+    static ReceivedTransactions none(final EthPeer peer) {
+      return new ReceivedTransactions(peer, List.of());
+    }
+  }
 }
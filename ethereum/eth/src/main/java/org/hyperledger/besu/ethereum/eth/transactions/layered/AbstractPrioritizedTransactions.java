@@ -107,7 +107,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
 
   private boolean hasPriority(final PendingTransaction pendingTransaction) {
     // check if there is space for that tx type
-    final var txType = pendingTransaction.getTransaction().getType();
+    final var txType = pendingTransaction.getType();
     if (txCountByType[txType.ordinal()]
         >= poolConfig
             .getMaxPrioritizedTransactionsByType()
@@ -115,16 +115,14 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
       return false;
     }
 
-    // if it does not pass the promotion filter, then has not priority
-    if (!promotionFilter(pendingTransaction)) {
+    // if there is no space, check if it has more value than the last one
+    if (orderByFee.size() >= poolConfig.getMaxPrioritizedTransactions()
+        && compareByFee(pendingTransaction, orderByFee.first()) <= 0) {
       return false;
     }
 
-    // if there is space add it, otherwise check if it has more value than the last one
-    if (orderByFee.size() < poolConfig.getMaxPrioritizedTransactions()) {
-      return true;
-    }
-    return compareByFee(pendingTransaction, orderByFee.first()) > 0;
+    // checked last, since passing the promotion filter reserves the sender balance for it
+    return promotionFilter(pendingTransaction);
   }
 
   @Override
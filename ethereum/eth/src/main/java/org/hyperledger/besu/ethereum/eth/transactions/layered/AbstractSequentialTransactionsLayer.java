@@ -58,7 +58,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
 
       if (senderTxs.remove(invalidNonce) != null) {
         // invalid tx removed in this layer
-        processRemove(senderTxs, invalidatedTx.getTransaction(), reason);
+        processRemove(senderTxs, invalidatedTx, reason);
       }
 
       // push following to next layer
@@ -78,7 +78,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
         .peek(
             txToRemove -> {
               senderTxs.remove(txToRemove.getNonce());
-              processRemove(senderTxs, txToRemove.getTransaction(), FOLLOW_INVALIDATED);
+              processRemove(senderTxs, txToRemove, FOLLOW_INVALIDATED);
             })
         .forEach(followingTx -> nextLayer.add(followingTx, gap, MOVE));
   }
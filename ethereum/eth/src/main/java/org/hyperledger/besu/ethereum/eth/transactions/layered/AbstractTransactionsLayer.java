@@ -57,7 +57,9 @@ import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -82,7 +84,8 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   protected final BiFunction<PendingTransaction, PendingTransaction, Boolean>
       transactionReplacementTester;
   protected final TransactionPoolMetrics metrics;
-  protected final Map<Hash, PendingTransaction> pendingTransactions = new HashMap<>();
+  // concurrent since it is also read without holding the pool lock, see LayeredPendingTransactions
+  protected final Map<Hash, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
   protected final Map<Address, NavigableMap<Long, PendingTransaction>> txsBySender =
       new HashMap<>();
   private final Subscribers<PendingTransactionAddedListener> onAddedListeners =
@@ -293,7 +296,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       } else if (senderTxs.firstKey() == pendingTransaction.getNonce()) {
         // it is a cross layer replacement, namely added to a previous layer
         final PendingTransaction replacedTx = senderTxs.pollFirstEntry().getValue();
-        processRemove(senderTxs, replacedTx.getTransaction(), CROSS_LAYER_REPLACED);
+        processRemove(senderTxs, replacedTx, CROSS_LAYER_REPLACED);
 
         if (senderTxs.isEmpty()) {
           txsBySender.remove(sender);
@@ -317,14 +320,11 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       long expectedNonce = nonce + 1;
       if (senderTxs.firstKey() == expectedNonce) {
         final var candidateTx = senderTxs.firstEntry().getValue();
-        final var txType = candidateTx.getTransaction().getType();
+        final var txType = candidateTx.getType();
 
         if (remainingPromotionsPerType[txType.ordinal()] > 0) {
           senderTxs.pollFirstEntry();
-          processRemove(
-              senderTxs,
-              candidateTx.getTransaction(),
-              LayeredRemovalReason.LayerMoveReason.PROMOTED);
+          processRemove(senderTxs, candidateTx, LayeredRemovalReason.LayerMoveReason.PROMOTED);
           metrics.incrementRemoved(candidateTx, "promoted", name());
 
           if (senderTxs.isEmpty()) {
@@ -449,9 +449,9 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
   protected PendingTransaction processRemove(
       final NavigableMap<Long, PendingTransaction> senderTxs,
-      final Transaction transaction,
+      final PendingTransaction pendingTransaction,
       final LayeredRemovalReason removalReason) {
-    final PendingTransaction removedTx = pendingTransactions.remove(transaction.getHash());
+    final PendingTransaction removedTx = pendingTransactions.remove(pendingTransaction.getHash());
 
     if (removedTx != null) {
       decreaseCounters(removedTx);
@@ -496,12 +496,12 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
     nextLayer.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
     maxConfirmedNonceBySender.forEach(this::confirmed);
-    internalBlockAdded(blockHeader, feeMarket);
+    internalBlockAdded(blockHeader, feeMarket, maxConfirmedNonceBySender.keySet());
     promoteTransactions();
   }
 
   protected abstract void internalBlockAdded(
-      final BlockHeader blockHeader, final FeeMarket feeMarket);
+      final BlockHeader blockHeader, final FeeMarket feeMarket, final Set<Address> blockSenders);
 
   final void promoteTransactions() {
     final int freeSlots = maxTransactionsNumber() - pendingTransactions.size();
@@ -557,10 +557,11 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       while (itConfirmedTxs.hasNext()) {
         final var confirmedTx = itConfirmedTxs.next();
         itConfirmedTxs.remove();
-        if (confirmedTx.getTransaction().getBlobsWithCommitments().isPresent()) {
+        if (confirmedTx.getType().supportsBlob()
+            && confirmedTx.getTransaction().getBlobsWithCommitments().isPresent()) {
           this.blobCache.cacheBlobs(confirmedTx.getTransaction());
         }
-        processRemove(senderTxs, confirmedTx.getTransaction(), CONFIRMED);
+        processRemove(senderTxs, confirmedTx, CONFIRMED);
 
         metrics.incrementRemoved(confirmedTx, "confirmed", name());
         LOG.atTrace()
@@ -592,12 +593,12 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
   protected void increaseCounters(final PendingTransaction pendingTransaction) {
     spaceUsed += pendingTransaction.memorySize();
-    ++txCountByType[pendingTransaction.getTransaction().getType().ordinal()];
+    ++txCountByType[pendingTransaction.getType().ordinal()];
   }
 
   protected void decreaseCounters(final PendingTransaction pendingTransaction) {
     spaceUsed -= pendingTransaction.memorySize();
-    --txCountByType[pendingTransaction.getTransaction().getType().ordinal()];
+    --txCountByType[pendingTransaction.getType().ordinal()];
   }
 
   protected abstract long cacheFreeSpace();
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.AddReason.MOVE;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.LayeredRemovalReason.LayerMoveReason.DEMOTED;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
@@ -28,8 +29,13 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -41,6 +47,7 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
   private static final Logger LOG = LoggerFactory.getLogger(BaseFeePrioritizedTransactions.class);
   private final SenderBalanceChecker senderBalanceChecker;
   private Optional<Wei> nextBlockBaseFee;
+  private List<Wei> lastMinFees = List.of();
 
   public BaseFeePrioritizedTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -73,13 +80,11 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
         .thenComparing(PendingTransaction::hasPriority)
         .thenComparing(
             (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(nextBlockBaseFee))
+                pendingTransaction.getEffectivePriorityFeePerGas(nextBlockBaseFee))
         .thenComparing(
             (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getMaxFeePerBlobGas().orElse(Wei.ZERO))
-        .thenComparing(
-            (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getMaxGasPrice())
+                pendingTransaction.getMaxFeePerBlobGas().orElse(Wei.ZERO))
+        .thenComparing(PendingTransaction::getMaxGasPrice)
         .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
         .thenComparing(PendingTransaction::getSequence)
         .compare(pt1, pt2);
@@ -91,11 +96,21 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
    * prioritized layer, since only these transactions are executable, while all the other can be
    * demoted to the next layer.
    *
+   * <p>The update is incremental: the balance is checked again only for the senders of the block
+   * and for the senders that had not enough balance, since the balance of the other senders did not
+   * decrease. When only the base fee changed, only the transactions whose effective priority fee
+   * changed are sorted again, since the order of the others does not depend on the base fee, and
+   * the fee requirements are checked again only for the senders with transactions that do not meet
+   * them anymore. The whole order by fee is rebuilt only when the configured min gas price or min
+   * priority fee changed.
+   *
    * @param blockHeader the header of the added block
    * @param feeMarket the fee market
+   * @param blockSenders the senders of the transactions of the added block
    */
   @Override
-  protected void internalBlockAdded(final BlockHeader blockHeader, final FeeMarket feeMarket) {
+  protected void internalBlockAdded(
+      final BlockHeader blockHeader, final FeeMarket feeMarket, final Set<Address> blockSenders) {
     final Wei newNextBlockBaseFee = calculateNextBlockBaseFee(feeMarket, blockHeader);
 
     LOG.atTrace()
@@ -104,53 +119,138 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
         .addArgument(newNextBlockBaseFee::toHumanReadableString)
         .log();
 
-    nextBlockBaseFee = Optional.of(newNextBlockBaseFee);
-    orderByFee.clear();
-    senderBalanceChecker.clear();
+    final var minFees = List.of(getAndLogMinTransactionGasPrice(), getAndLogMinPriorityFeePerGas());
+    final boolean minFeesChanged = !minFees.equals(lastMinFees);
+    lastMinFees = minFees;
 
-    final var itTxsBySender = txsBySender.entrySet().iterator();
-    while (itTxsBySender.hasNext()) {
-      final var senderTxs = itTxsBySender.next().getValue();
+    final Set<Address> balanceCheckSenders = new HashSet<>(blockSenders);
+    balanceCheckSenders.addAll(senderBalanceChecker.clear(blockSenders));
 
-      Optional<Long> maybeFirstDemotedNonce = Optional.empty();
+    if (minFeesChanged) {
+      nextBlockBaseFee = Optional.of(newNextBlockBaseFee);
+      orderByFee.clear();
+      final var itTxsBySender = txsBySender.entrySet().iterator();
+      while (itTxsBySender.hasNext()) {
+        final var senderTxsEntry = itTxsBySender.next();
+        final var senderTxs = senderTxsEntry.getValue();
+        updatePrioritization(
+            senderTxs, balanceCheckSenders.contains(senderTxsEntry.getKey()), true);
+        if (senderTxs.isEmpty()) {
+          itTxsBySender.remove();
+        }
+      }
+      return;
+    }
 
-      for (final var e : senderTxs.entrySet()) {
-        final PendingTransaction tx = e.getValue();
-        // it must pass the promotion filter to be prioritized
-        if (promotionFilter(tx)) {
-          orderByFee.add(tx);
-        } else {
-          // otherwise sender txs starting from this nonce need to be demoted to next layer,
-          // and we can go to next sender
-          maybeFirstDemotedNonce = Optional.of(e.getKey());
-          break;
+    final Set<Address> updateSenders = new HashSet<>(balanceCheckSenders);
+    if (!newNextBlockBaseFee.equals(nextBlockBaseFee.get())) {
+      updateSenders.addAll(updateBaseFee(newNextBlockBaseFee));
+    }
+    for (final Address sender : updateSenders) {
+      final var senderTxs = txsBySender.get(sender);
+      if (senderTxs != null) {
+        updatePrioritization(senderTxs, balanceCheckSenders.contains(sender), false);
+        if (senderTxs.isEmpty()) {
+          txsBySender.remove(sender);
         }
       }
+    }
+  }
+
+  /**
+   * Sets the new next block base fee, moving in the order by fee only the transactions whose
+   * effective priority fee changed, that are the ones that cannot pay the full max priority fee
+   * with the old or the new base fee. The others keep their relative order.
+   *
+   * @param newNextBlockBaseFee the new next block base fee
+   * @return the senders with transactions that do not meet the fee requirements anymore
+   */
+  private Set<Address> updateBaseFee(final Wei newNextBlockBaseFee) {
+    final Optional<Wei> newBaseFee = Optional.of(newNextBlockBaseFee);
+    final List<PendingTransaction> reorderTxs = new ArrayList<>();
+    for (final PendingTransaction tx : orderByFee) {
+      if (!tx.getEffectivePriorityFeePerGas(nextBlockBaseFee)
+          .equals(tx.getEffectivePriorityFeePerGas(newBaseFee))) {
+        reorderTxs.add(tx);
+      }
+    }
+    // remove them while the order by fee still uses the old base fee
+    reorderTxs.forEach(orderByFee::remove);
+    nextBlockBaseFee = newBaseFee;
+    orderByFee.addAll(reorderTxs);
 
-      maybeFirstDemotedNonce.ifPresent(
-          nonce -> {
-            // demote all txs after the first demoted to the next layer, because none of them is
-            // executable now, and we can avoid sorting them until they are candidate for execution
-            // again
-            final var demoteTxs = senderTxs.tailMap(nonce, true);
-            while (!demoteTxs.isEmpty()) {
-              final PendingTransaction demoteTx = demoteTxs.pollLastEntry().getValue();
-              LOG.atTrace()
-                  .setMessage(
-                      "Demoting tx {} since it does not respect anymore the requisites to stay in this layer."
-                          + " Next block base fee {}")
-                  .addArgument(demoteTx::toTraceLog)
-                  .addArgument(newNextBlockBaseFee::toHumanReadableString)
-                  .log();
-              processEvict(senderTxs, demoteTx, DEMOTED);
-              addToNextLayer(senderTxs, demoteTx, 0, MOVE);
-            }
-          });
-
-      if (senderTxs.isEmpty()) {
-        itTxsBySender.remove();
+    final Set<Address> feesCheckSenders = new HashSet<>();
+    for (final PendingTransaction tx : orderByFee) {
+      if (!feesFilter(tx)) {
+        feesCheckSenders.add(tx.getSender());
       }
     }
+    return feesCheckSenders;
+  }
+
+  /**
+   * Checks again if the transactions of a sender can stay in this layer, demoting all the ones
+   * following the first that does not.
+   *
+   * @param senderTxs the transactions of the sender
+   * @param checkBalance if the balance of the sender needs to be checked too
+   * @param addToOrderByFee if the transactions that stay need to be added to the order by fee
+   */
+  private void updatePrioritization(
+      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final boolean checkBalance,
+      final boolean addToOrderByFee) {
+    Optional<Long> maybeFirstDemotedNonce = Optional.empty();
+
+    for (final var e : senderTxs.entrySet()) {
+      final PendingTransaction tx = e.getValue();
+      // it must pass the promotion filter to be prioritized
+      if (checkBalance ? promotionFilter(tx) : feesFilter(tx)) {
+        if (addToOrderByFee) {
+          orderByFee.add(tx);
+        }
+      } else {
+        // otherwise sender txs starting from this nonce need to be demoted to next layer,
+        // and we can go to next sender
+        maybeFirstDemotedNonce = Optional.of(e.getKey());
+        break;
+      }
+    }
+
+    maybeFirstDemotedNonce.ifPresent(
+        nonce -> {
+          // demote all txs after the first demoted to the next layer, because none of them is
+          // executable now, and we can avoid sorting them until they are candidate for execution
+          // again
+          final var demoteTxs = senderTxs.tailMap(nonce, true);
+          while (!demoteTxs.isEmpty()) {
+            final PendingTransaction demoteTx = demoteTxs.pollLastEntry().getValue();
+            LOG.atTrace()
+                .setMessage(
+                    "Demoting tx {} since it does not respect anymore the requisites to stay in this layer."
+                        + " Next block base fee {}")
+                .addArgument(demoteTx::toTraceLog)
+                .addArgument(nextBlockBaseFee.get()::toHumanReadableString)
+                .log();
+            processEvict(senderTxs, demoteTx, DEMOTED);
+            addToNextLayer(senderTxs, demoteTx, 0, MOVE);
+          }
+        });
+  }
+
+  @Override
+  protected void internalRemove(
+      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final PendingTransaction removedTx,
+      final LayeredRemovalReason removalReason) {
+    super.internalRemove(senderTxs, removedTx, removalReason);
+    senderBalanceChecker.release(removedTx);
+  }
+
+  @Override
+  protected void internalReplaced(final PendingTransaction replacedTx) {
+    super.internalReplaced(replacedTx);
+    senderBalanceChecker.release(replacedTx);
   }
 
   private Wei calculateNextBlockBaseFee(final FeeMarket feeMarket, final BlockHeader blockHeader) {
@@ -167,9 +267,15 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
 
   @Override
   protected boolean promotionFilter(final PendingTransaction pendingTransaction) {
+    // check is the sender has enough balance
+    return feesFilter(pendingTransaction)
+        && senderBalanceChecker.hasEnoughBalanceFor(pendingTransaction);
+  }
+
+  private boolean feesFilter(final PendingTransaction pendingTransaction) {
     // check if the tx is willing to pay at least the base fee
     if (nextBlockBaseFee
-        .map(pendingTransaction.getTransaction().getMaxGasPrice()::lessThan)
+        .map(pendingTransaction.getMaxGasPrice()::lessThan)
         .orElse(true)) {
       return false;
     }
@@ -178,7 +284,6 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
     if (!pendingTransaction.hasPriority()) {
       // check if effective gas price is higher than the min gas price
       if (pendingTransaction
-          .getTransaction()
           .getEffectiveGasPrice(nextBlockBaseFee)
           .lessThan(getAndLogMinTransactionGasPrice())) {
         return false;
@@ -188,15 +293,11 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
       final var minPriorityFeePerGas = getAndLogMinPriorityFeePerGas();
       if (!minPriorityFeePerGas.equals(Wei.ZERO)) {
         final Wei priorityFeePerGas =
-            pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(nextBlockBaseFee);
-        if (priorityFeePerGas.lessThan(minPriorityFeePerGas)) {
-          return false;
-        }
+            pendingTransaction.getEffectivePriorityFeePerGas(nextBlockBaseFee);
+        return !priorityFeePerGas.lessThan(minPriorityFeePerGas);
       }
     }
-
-    // check is the sender has enough balance
-    return senderBalanceChecker.hasEnoughBalanceFor(pendingTransaction);
+    return true;
   }
 
   @Override
@@ -219,23 +320,17 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
         + ", highest priority tx: [score: "
         + highest.getScore()
         + ", max fee: "
-        + highest.getTransaction().getMaxGasPrice().toHumanReadableString()
+        + highest.getMaxGasPrice().toHumanReadableString()
         + ", curr prio fee: "
-        + highest
-            .getTransaction()
-            .getEffectivePriorityFeePerGas(nextBlockBaseFee)
-            .toHumanReadableString()
+        + highest.getEffectivePriorityFeePerGas(nextBlockBaseFee).toHumanReadableString()
         + ", hash: "
         + highest.getHash()
         + "], lowest priority tx: [score: "
         + lowest.getScore()
         + ", max fee: "
-        + lowest.getTransaction().getMaxGasPrice().toHumanReadableString()
+        + lowest.getMaxGasPrice().toHumanReadableString()
         + ", curr prio fee: "
-        + lowest
-            .getTransaction()
-            .getEffectivePriorityFeePerGas(nextBlockBaseFee)
-            .toHumanReadableString()
+        + lowest.getEffectivePriorityFeePerGas(nextBlockBaseFee).toHumanReadableString()
         + ", hash: "
         + lowest.getHash()
         + "], next block base fee: "
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 
 import static java.util.Comparator.comparing;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
@@ -25,6 +26,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
@@ -67,7 +69,8 @@ public class GasPricePrioritizedTransactions extends AbstractPrioritizedTransact
   }
 
   @Override
-  protected void internalBlockAdded(final BlockHeader blockHeader, final FeeMarket feeMarket) {
+  protected void internalBlockAdded(
+      final BlockHeader blockHeader, final FeeMarket feeMarket, final Set<Address> blockSenders) {
     senderBalanceChecker.clear();
   }
 
@@ -36,6 +36,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionAddedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
+import org.hyperledger.besu.ethereum.eth.transactions.PooledTransactionPayloads;
 import org.hyperledger.besu.ethereum.eth.transactions.SenderPendingTransactionsData;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -55,6 +56,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -62,6 +66,17 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * Pending transactions organized in layers.
+ *
+ * <p>Modifications are serialized with a write lock, since adding, promoting and evicting a
+ * transaction can move transactions of other senders across the layers. Queries that only need a
+ * snapshot of the pool, like lookups by hash and listing, are executed optimistically without any
+ * lock: every modification moves a version counter to an odd value when it starts and to an even
+ * value when it ends, so a query that observed the same even version before and after its execution
+ * did not overlap any modification and its result is consistent, otherwise it is retried under the
+ * read lock.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Marker INVALID_TX_REMOVED = MarkerFactory.getMarker("INVALID_TX_REMOVED");
@@ -69,6 +84,9 @@ public class LayeredPendingTransactions implements PendingTransactions {
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicLong version = new AtomicLong();
+  private final Optional<PooledTransactionPayloads> maybePooledPayloads;
 
   public LayeredPendingTransactions(
       final ProtocolContext protocolContext,
@@ -79,31 +97,49 @@ public class LayeredPendingTransactions implements PendingTransactions {
     this.poolConfig = poolConfig;
     this.prioritizedTransactions = prioritizedTransactions;
     this.ethScheduler = ethScheduler;
+    final long offHeapCapacity = poolConfig.getUnstable().getPooledTransactionsOffHeapCapacity();
+    this.maybePooledPayloads =
+        offHeapCapacity > 0
+            ? Optional.of(new PooledTransactionPayloads(offHeapCapacity))
+            : Optional.empty();
   }
 
   @Override
-  public synchronized void reset() {
-    prioritizedTransactions.reset();
+  public void reset() {
+    write(
+        () -> {
+          prioritizedTransactions.reset();
+          return null;
+        });
   }
 
   @Override
-  public synchronized TransactionAddedResult addTransaction(
+  public TransactionAddedResult addTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
+    return write(() -> internalAddTransaction(pendingTransaction, maybeSenderAccount));
+  }
+
+  private TransactionAddedResult internalAddTransaction(
+      final PendingTransaction newPendingTransaction, final Optional<Account> maybeSenderAccount) {
 
     final long stateSenderNonce = maybeSenderAccount.map(AccountState::getNonce).orElse(0L);
 
-    if (hasAccountNonceDisparity(pendingTransaction, stateSenderNonce)) {
-      reconcileSender(pendingTransaction.getSender(), stateSenderNonce);
+    if (hasAccountNonceDisparity(newPendingTransaction, stateSenderNonce)) {
+      reconcileSender(newPendingTransaction.getSender(), stateSenderNonce);
     }
 
-    final long nonceDistance = pendingTransaction.getNonce() - stateSenderNonce;
+    final long nonceDistance = newPendingTransaction.getNonce() - stateSenderNonce;
 
     final TransactionAddedResult nonceChecksResult =
-        nonceChecks(pendingTransaction, stateSenderNonce, nonceDistance);
+        nonceChecks(newPendingTransaction, stateSenderNonce, nonceDistance);
     if (nonceChecksResult != null) {
       return nonceChecksResult;
     }
 
+    // only the transactions that could be added are moved off-heap
+    final PendingTransaction pendingTransaction =
+        maybePooledPayloads.map(newPendingTransaction::toPooled).orElse(newPendingTransaction);
+
     try {
       return prioritizedTransactions.add(pendingTransaction, (int) nonceDistance, NEW);
     } catch (final Throwable throwable) {
@@ -270,24 +306,22 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return optimisticRead(prioritizedTransactions::getAllLocal);
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return optimisticRead(prioritizedTransactions::getAllPriority);
   }
 
   @Override
   public void selectTransactions(final PendingTransactionsSelector selector) {
-    final List<PendingTransaction> candidateTxsByScore;
-    synchronized (this) {
-      // since selecting transactions for block creation is a potential long operation
-      // we want to avoid to keep the lock for all the process, but we just lock to get
-      // the candidate transactions
-      candidateTxsByScore = prioritizedTransactions.getByScore();
-    }
+    // since selecting transactions for block creation is a potential long operation
+    // we want to avoid to keep the lock for all the process, but we just lock to get
+    // the candidate transactions
+    final List<PendingTransaction> candidateTxsByScore =
+        read(prioritizedTransactions::getByScore);
 
     final var evaluationResults =
         selector.evaluatePendingTransactions(Collections.unmodifiableList(candidateTxsByScore));
@@ -304,27 +338,29 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
       if (result.discard()) {
         ethScheduler.scheduleServiceTask(
-            () -> {
-              synchronized (this) {
-                prioritizedTransactions.remove(evaluatedPendingTx, INVALIDATED);
-                logInvalidTransaction(evaluatedPendingTx, result);
-                LOG.atTrace()
-                    .setMessage("Transaction {} removed by block selection")
-                    .addArgument(evaluatedPendingTx::toTraceLog)
-                    .log();
-              }
-            });
+            () ->
+                write(
+                    () -> {
+                      prioritizedTransactions.remove(evaluatedPendingTx, INVALIDATED);
+                      logInvalidTransaction(evaluatedPendingTx, result);
+                      LOG.atTrace()
+                          .setMessage("Transaction {} removed by block selection")
+                          .addArgument(evaluatedPendingTx::toTraceLog)
+                          .log();
+                      return null;
+                    }));
       } else if (result.penalize()) {
         ethScheduler.scheduleServiceTask(
-            () -> {
-              synchronized (this) {
-                prioritizedTransactions.penalize(evaluatedPendingTx, result);
-                LOG.atTrace()
-                    .setMessage("Transaction {} penalized by block selection")
-                    .addArgument(evaluatedPendingTx::toTraceLog)
-                    .log();
-              }
-            });
+            () ->
+                write(
+                    () -> {
+                      prioritizedTransactions.penalize(evaluatedPendingTx, result);
+                      LOG.atTrace()
+                          .setMessage("Transaction {} penalized by block selection")
+                          .addArgument(evaluatedPendingTx::toTraceLog)
+                          .log();
+                      return null;
+                    }));
       }
     }
   }
@@ -335,47 +371,49 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return optimisticRead(prioritizedTransactions::count);
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return optimisticRead(() -> prioritizedTransactions.contains(transaction));
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions
-        .getByHash(transactionHash)
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return optimisticRead(() -> prioritizedTransactions.getByHash(transactionHash))
         .map(PendingTransaction::getTransaction);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return optimisticRead(prioritizedTransactions::getAll);
   }
 
   @Override
-  public synchronized SenderPendingTransactionsData getPendingTransactionsFor(
-      final Address sender) {
-    return new SenderPendingTransactionsData(
-        sender,
-        prioritizedTransactions.getCurrentNonceFor(sender).orElse(0),
-        prioritizedTransactions.getAllFor(sender));
+  public SenderPendingTransactionsData getPendingTransactionsFor(final Address sender) {
+    return read(
+        () ->
+            new SenderPendingTransactionsData(
+                sender,
+                prioritizedTransactions.getCurrentNonceFor(sender).orElse(0),
+                prioritizedTransactions.getAllFor(sender)));
   }
 
   @Override
-  public synchronized Map<Address, SenderPendingTransactionsData> getPendingTransactionsBySender() {
-    return prioritizedTransactions.getAllBySender().entrySet().stream()
-        .collect(
-            Collectors.toMap(
-                Map.Entry::getKey,
-                e ->
-                    new SenderPendingTransactionsData(
-                        e.getKey(),
-                        prioritizedTransactions.getCurrentNonceFor(e.getKey()).orElse(0),
-                        e.getValue())));
+  public Map<Address, SenderPendingTransactionsData> getPendingTransactionsBySender() {
+    return read(
+        () ->
+            prioritizedTransactions.getAllBySender().entrySet().stream()
+                .collect(
+                    Collectors.toMap(
+                        Map.Entry::getKey,
+                        e ->
+                            new SenderPendingTransactionsData(
+                                e.getKey(),
+                                prioritizedTransactions.getCurrentNonceFor(e.getKey()).orElse(0),
+                                e.getValue()))));
   }
 
   @Override
@@ -399,8 +437,8 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized OptionalLong getNextNonceForSender(final Address sender) {
-    return prioritizedTransactions.getNextNonceFor(sender);
+  public OptionalLong getNextNonceForSender(final Address sender) {
+    return read(() -> prioritizedTransactions.getNextNonceFor(sender));
   }
 
   @Override
@@ -416,21 +454,23 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
     final var maxConfirmedNonceBySender = maxNonceBySender(blockHeader, confirmedTransactions);
 
-    synchronized (this) {
-      try {
-        prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
-      } catch (final Throwable throwable) {
-        LOG.warn(
-            "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
-            throwable,
-            blockHeader.toLogString(),
-            maxConfirmedNonceBySender,
-            reorgTransactions);
-        LOG.warn("Stack trace", throwable);
-      }
-
-      logConfirmed(blockHeader, maxConfirmedNonceBySender, reorgTransactions);
-    }
+    write(
+        () -> {
+          try {
+            prioritizedTransactions.blockAdded(feeMarket, blockHeader, maxConfirmedNonceBySender);
+          } catch (final Throwable throwable) {
+            LOG.warn(
+                "Unexpected error {} when managing added block {}, maxNonceBySender {}, reorgNonceRangeBySender {}",
+                throwable,
+                blockHeader.toLogString(),
+                maxConfirmedNonceBySender,
+                reorgTransactions);
+            LOG.warn("Stack trace", throwable);
+          }
+
+          logConfirmed(blockHeader, maxConfirmedNonceBySender, reorgTransactions);
+          return null;
+        });
   }
 
   private Map<Address, Long> maxNonceBySender(
@@ -503,22 +543,78 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized String toTraceLog() {
+  public String toTraceLog() {
     return "";
   }
 
   @Override
-  public synchronized String logStats() {
-    return prioritizedTransactions.logStats();
+  public String logStats() {
+    return read(prioritizedTransactions::logStats)
+        + maybePooledPayloads
+            .map(payloads -> " | Off-heap payloads: " + payloads.getUsedBytes() + " bytes")
+            .orElse("");
   }
 
   @Override
-  public synchronized Status getStatus() {
-    return prioritizedTransactions.getStatus();
+  public Status getStatus() {
+    return read(prioritizedTransactions::getStatus);
   }
 
   @Override
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return prioritizedTransactions.getBlobCache().restoreBlob(transaction);
   }
+
+  /**
+   * Executes a modification of the pool under the write lock. The lock is reentrant, so listeners
+   * notified during the modification can still query the pool from the same thread.
+   *
+   * @param modification the modification to execute
+   * @return the result of the modification
+   * @param <T> the type of the result
+   */
+  private <T> T write(final Supplier<T> modification) {
+    lock.writeLock().lock();
+    final boolean outermost = lock.getWriteHoldCount() == 1;
+    if (outermost) {
+      version.incrementAndGet();
+    }
+    try {
+      return modification.get();
+    } finally {
+      if (outermost) {
+        version.incrementAndGet();
+      }
+      lock.writeLock().unlock();
+    }
+  }
+
+  private <T> T read(final Supplier<T> query) {
+    lock.readLock().lock();
+    try {
+      return query.get();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Executes a query without locking, retrying it under the read lock if a modification happened
+   * in the meantime. Only queries that read the transactions by hash of the layers, that are
+   * concurrent maps, are safe to execute this way.
+   *
+   * @param query the query to execute
+   * @return the result of the query
+   * @param <T> the type of the result
+   */
+  private <T> T optimisticRead(final Supplier<T> query) {
+    final long startVersion = version.get();
+    if ((startVersion & 1) == 0) {
+      final T result = query.get();
+      if (version.get() == startVersion) {
+        return result;
+      }
+    }
+    return read(query);
+  }
 }
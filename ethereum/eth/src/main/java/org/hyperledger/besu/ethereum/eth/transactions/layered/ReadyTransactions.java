@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -44,7 +45,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
       new TreeSet<>(
           Comparator.comparing(PendingTransaction::getScore)
               .thenComparing(PendingTransaction::hasPriority)
-              .thenComparing((PendingTransaction pt) -> pt.getTransaction().getMaxGasPrice())
+              .thenComparing(PendingTransaction::getMaxGasPrice)
               .thenComparing(PendingTransaction::getSequence));
 
   public ReadyTransactions(
@@ -136,7 +137,8 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
   }
 
   @Override
-  protected void internalBlockAdded(final BlockHeader blockHeader, final FeeMarket feeMarket) {
+  protected void internalBlockAdded(
+      final BlockHeader blockHeader, final FeeMarket feeMarket, final Set<Address> blockSenders) {
     // no-op
   }
 
@@ -181,7 +183,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
     for (final var senderFirstTx : orderByMaxFee.descendingSet()) {
       final var senderTxs = txsBySender.get(senderFirstTx.getSender());
       for (final var candidateTx : senderTxs.values()) {
-        final var txType = candidateTx.getTransaction().getType();
+        final var txType = candidateTx.getType();
         if (promotionFilter.test(candidateTx) && remainingPromotionsPerType[txType.ordinal()] > 0) {
           accumulatedSpace += candidateTx.memorySize();
           if (promotedTxs.size() < freeSlots && accumulatedSpace <= freeSpace) {
@@ -204,7 +206,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
           final var sender = promotedTx.getSender();
           final var senderTxs = txsBySender.get(sender);
           senderTxs.remove(promotedTx.getNonce());
-          processRemove(senderTxs, promotedTx.getTransaction(), PROMOTED);
+          processRemove(senderTxs, promotedTx, PROMOTED);
           if (senderTxs.isEmpty()) {
             txsBySender.remove(sender);
           }
@@ -237,13 +239,13 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
         + ", top by score and max gas price[score: "
         + top.getScore()
         + ", max gas price:"
-        + top.getTransaction().getMaxGasPrice().toHumanReadableString()
+        + top.getMaxGasPrice().toHumanReadableString()
         + ", hash: "
         + top.getHash()
         + "], last by score and max gas price [score: "
         + last.getScore()
         + ", max fee: "
-        + last.getTransaction().getMaxGasPrice().toHumanReadableString()
+        + last.getMaxGasPrice().toHumanReadableString()
         + ", hash: "
         + last.getHash()
         + "]";
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolStructuredLogUtils.logSenderBalance;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -29,9 +30,13 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.worldstate.WorldState;
 
+import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+import com.google.common.primitives.Longs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +49,24 @@ public interface SenderBalanceChecker {
 
   void clear();
 
+  /**
+   * Forgets only the cached balances that an added block could have changed: the ones of the
+   * senders of the block, that spent part of it, and the ones of the senders that had not enough
+   * balance, that could have been funded by the block.
+   *
+   * @param blockSenders the senders of the transactions of the added block
+   * @return the senders, other than the block senders, that had not enough balance
+   */
+  Set<Address> clear(Set<Address> blockSenders);
+
+  /**
+   * Gives back to the sender the balance reserved for a pending transaction that has been removed
+   * or replaced, so that it can be used by the other pending transactions of the sender.
+   *
+   * @param pendingTransaction the removed or replaced pending transaction
+   */
+  void release(PendingTransaction pendingTransaction);
+
   static SenderBalanceChecker create(
       final ProtocolSchedule protocolSchedule,
       final ProtocolContext protocolContext,
@@ -65,6 +88,14 @@ public interface SenderBalanceChecker {
 
     @Override
     public void clear() {}
+
+    @Override
+    public Set<Address> clear(final Set<Address> blockSenders) {
+      return Set.of();
+    }
+
+    @Override
+    public void release(final PendingTransaction pendingTransaction) {}
   }
 
   /**
@@ -81,7 +112,8 @@ public interface SenderBalanceChecker {
    * that: for the first pending transaction of the sender, its account is read from the world
    * state, and put in the cache, the check is done and the upfront cost is subtracted from the
    * cached balance, so following pending transactions will found the updated balance in the cache
-   * and will subtract their upfront cost, and so on.
+   * and will subtract their upfront cost, and so on. The upfront cost reserved for each pending
+   * transaction is kept, so that it is given back when the transaction is removed or replaced.
    */
   class WorldStateChecker implements SenderBalanceChecker {
     private static final Logger LOG = LoggerFactory.getLogger(SenderBalanceChecker.class);
@@ -89,6 +121,7 @@ public interface SenderBalanceChecker {
     private final WorldStateArchive worldStateArchive;
     private final Blockchain blockchain;
     private final Map<Address, Wei> senderBalancesCache = new HashMap<>();
+    private final Map<Address, Map<Hash, Wei>> reservedBySender = new HashMap<>();
 
     public WorldStateChecker(
         final ProtocolSchedule protocolSchedule, final ProtocolContext protocolContext) {
@@ -99,14 +132,17 @@ public interface SenderBalanceChecker {
 
     @Override
     public boolean hasEnoughBalanceFor(final PendingTransaction pendingTransaction) {
-      final var tx = pendingTransaction.getTransaction();
-      final var sender = tx.getSender();
+      final var sender = pendingTransaction.getSender();
+
+      final var senderReserved = reservedBySender.get(sender);
+      if (senderReserved != null && senderReserved.containsKey(pendingTransaction.getHash())) {
+        // its upfront cost is already reserved
+        return true;
+      }
 
       final var senderBalance = senderBalancesCache.computeIfAbsent(sender, this::getSenderBalance);
 
-      final var gasCalculator =
-          protocolSchedule.getByBlockHeader(blockchain.getChainHeadHeader()).getGasCalculator();
-      final var upfrontCost = tx.getUpfrontCost(gasCalculator.blobGasCost(tx.getBlobCount()));
+      final var upfrontCost = getUpfrontCost(pendingTransaction);
 
       if (senderBalance.lessThan(upfrontCost)) {
         LOG.atTrace()
@@ -121,9 +157,50 @@ public interface SenderBalanceChecker {
       }
 
       senderBalancesCache.put(sender, senderBalance.subtract(upfrontCost));
+      reservedBySender
+          .computeIfAbsent(sender, unused -> new HashMap<>())
+          .put(pendingTransaction.getHash(), upfrontCost);
       return true;
     }
 
+    /**
+     * Same as {@link org.hyperledger.besu.ethereum.core.Transaction#getUpfrontCost(long)}, but
+     * computed from the fields of the pending transaction, so a transaction stored off-heap is not
+     * decoded. Blob transactions are never stored off-heap, and their blob gas cost is added.
+     */
+    private Wei getUpfrontCost(final PendingTransaction pendingTransaction) {
+      if (pendingTransaction.getType().supportsBlob()) {
+        final var tx = pendingTransaction.getTransaction();
+        final var gasCalculator =
+            protocolSchedule.getByBlockHeader(blockchain.getChainHeadHeader()).getGasCalculator();
+        return tx.getUpfrontCost(gasCalculator.blobGasCost(tx.getBlobCount()));
+      }
+      final BigInteger upfrontCost =
+          new BigInteger(1, Longs.toByteArray(pendingTransaction.getGasLimit()))
+              .multiply(pendingTransaction.getMaxGasPrice().getAsBigInteger())
+              .add(pendingTransaction.getValue().getAsBigInteger());
+      return upfrontCost.bitLength() > 256 ? Wei.MAX_WEI : Wei.of(upfrontCost);
+    }
+
+    @Override
+    public void release(final PendingTransaction pendingTransaction) {
+      final var sender = pendingTransaction.getSender();
+      final var senderReserved = reservedBySender.get(sender);
+      if (senderReserved == null) {
+        return;
+      }
+      final Wei reserved = senderReserved.remove(pendingTransaction.getHash());
+      if (senderReserved.isEmpty()) {
+        reservedBySender.remove(sender);
+      }
+      if (reserved != null) {
+        // a sender without enough balance stays so until it is checked again on the next block
+        senderBalancesCache.computeIfPresent(
+            sender,
+            (unused, balance) -> balance.equals(Wei.ZERO) ? balance : balance.add(reserved));
+      }
+    }
+
     private Wei getSenderBalance(final Address sender) {
       final BlockHeader chainHead = blockchain.getChainHeadHeader();
       try (final WorldState headState =
@@ -144,6 +221,27 @@ public interface SenderBalanceChecker {
     @Override
     public void clear() {
       senderBalancesCache.clear();
+      reservedBySender.clear();
+    }
+
+    @Override
+    public Set<Address> clear(final Set<Address> blockSenders) {
+      blockSenders.forEach(
+          sender -> {
+            senderBalancesCache.remove(sender);
+            reservedBySender.remove(sender);
+          });
+      final Set<Address> exhaustedSenders = new HashSet<>();
+      final var itBalances = senderBalancesCache.entrySet().iterator();
+      while (itBalances.hasNext()) {
+        final var senderBalance = itBalances.next();
+        if (senderBalance.getValue().equals(Wei.ZERO)) {
+          exhaustedSenders.add(senderBalance.getKey());
+          reservedBySender.remove(senderBalance.getKey());
+          itBalances.remove();
+        }
+      }
+      return exhaustedSenders;
     }
   }
 }
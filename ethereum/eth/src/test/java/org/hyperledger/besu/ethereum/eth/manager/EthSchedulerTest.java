@@ -305,4 +305,38 @@ public class EthSchedulerTest {
       realEthScheduler.stop();
     }
   }
+
+  @Test
+  public void executeBackgroundTask_waitsForThePriorityWorkToEnd() {
+    final EthScheduler realEthScheduler = new EthScheduler(1, 1, 1, new NoOpMetricsSystem());
+    try {
+      final AtomicBoolean executed = new AtomicBoolean(false);
+      final PriorityWorkGate.PriorityWork priorityWork = realEthScheduler.startPriorityWork();
+
+      realEthScheduler.executeBackgroundTask(() -> executed.set(true));
+
+      Awaitility.await()
+          .during(Duration.ofMillis(300))
+          .atMost(Duration.ofSeconds(1))
+          .untilFalse(executed);
+      priorityWork.close();
+      Awaitility.await().atMost(Duration.ofSeconds(1)).untilTrue(executed);
+    } finally {
+      realEthScheduler.stop();
+    }
+  }
+
+  @Test
+  public void executeBackgroundTask_runsRightAwayWithoutPriorityWork() {
+    final EthScheduler realEthScheduler = new EthScheduler(1, 1, 1, new NoOpMetricsSystem());
+    try {
+      final AtomicBoolean executed = new AtomicBoolean(false);
+
+      realEthScheduler.executeBackgroundTask(() -> executed.set(true));
+
+      Awaitility.await().atMost(Duration.ofSeconds(1)).untilTrue(executed);
+    } finally {
+      realEthScheduler.stop();
+    }
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.eth.manager.PriorityWorkGate.PriorityWork;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class PriorityWorkGateTest {
+
+  @Test
+  public void backgroundWorkDoesNotWaitWithoutPriorityWork() {
+    final PriorityWorkGate gate = new PriorityWorkGate(Duration.ofMinutes(1));
+
+    final long start = System.nanoTime();
+    gate.awaitNoPriorityWork();
+
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(10));
+  }
+
+  @Test
+  public void backgroundWorkWaitsForPriorityWorkToEnd() throws Exception {
+    final PriorityWorkGate gate = new PriorityWorkGate(Duration.ofMinutes(1));
+    final PriorityWork first = gate.startPriorityWork();
+    final PriorityWork second = gate.startPriorityWork();
+
+    final CompletableFuture<Void> background =
+        CompletableFuture.runAsync(gate::awaitNoPriorityWork);
+
+    first.close();
+    // closing twice does not end the other priority work
+    first.close();
+    assertThat(gate.isPriorityWorkInProgress()).isTrue();
+    assertThat(background).isNotDone();
+
+    second.close();
+    background.get(10, TimeUnit.SECONDS);
+    assertThat(gate.isPriorityWorkInProgress()).isFalse();
+  }
+
+  @Test
+  public void backgroundWorkWaitsAtMostTheMaxDelay() throws Exception {
+    final PriorityWorkGate gate = new PriorityWorkGate(Duration.ofMillis(50));
+
+    try (final PriorityWork ignored = gate.startPriorityWork()) {
+      CompletableFuture.runAsync(gate::awaitNoPriorityWork).get(10, TimeUnit.SECONDS);
+      assertThat(gate.isPriorityWorkInProgress()).isTrue();
+    }
+  }
+}
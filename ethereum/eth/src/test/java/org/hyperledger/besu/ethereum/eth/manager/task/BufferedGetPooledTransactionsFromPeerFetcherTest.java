@@ -76,7 +76,6 @@ public class BufferedGetPooledTransactionsFromPeerFetcherTest {
   public void setup() {
     when(ethContext.getEthPeers()).thenReturn(ethPeers);
     when(ethContext.getScheduler()).thenReturn(ethScheduler);
-    when(ethPeers.getMaxPeers()).thenReturn(25);
     when(ethPeer.isDisconnected()).thenReturn(false);
     transactionTracker =
         new PeerTransactionTracker(TransactionPoolConfiguration.DEFAULT, ethPeers, ethScheduler);
@@ -0,0 +1,151 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.BlobType;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
+import org.hyperledger.besu.ethereum.util.TrustedSetupClassLoaderExtension;
+import org.hyperledger.besu.testutil.TestClock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlobSpillStoreTest extends TrustedSetupClassLoaderExtension {
+  // fits 7 blobs with a single proof
+  private static final int SEGMENT_SIZE = 1_000_000;
+  private static final int BLOBS_PER_SEGMENT = 7;
+  private static final Duration EXPIRY = Duration.ofMinutes(10);
+
+  private final BlobTestFixture blobTestFixture = new BlobTestFixture();
+  private final TestClock clock = new TestClock();
+  @TempDir private Path directory;
+  private BlobSpillStore spillStore;
+
+  @BeforeEach
+  public void setUp() {
+    spillStore = new BlobSpillStore(directory, 2L * SEGMENT_SIZE, SEGMENT_SIZE, EXPIRY, clock);
+  }
+
+  @Test
+  public void spilledBlobIsReadBackEqualToTheOriginal() {
+    final BlobProofBundle bundle = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+
+    spillStore.put(bundle);
+
+    assertThat(spillStore.get(bundle.getVersionedHash())).isEqualTo(bundle);
+    assertThat(spillStore.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void spilledBlobIsReadBackWithItsCells() {
+    final BlobProofBundle bundle = blobTestFixture.createBlobProofBundle(BlobType.KZG_CELL_PROOFS);
+
+    spillStore.put(bundle);
+
+    final BlobProofBundle readBack = spillStore.get(bundle.getVersionedHash());
+    assertThat(readBack).isEqualTo(bundle);
+    assertThat(readBack.getBlobCellsBytes()).isEqualTo(bundle.getBlobCellsBytes());
+  }
+
+  @Test
+  public void oldestSegmentIsDroppedWhenCapacityIsReached() {
+    final List<BlobProofBundle> bundles = createBundles(2 * BLOBS_PER_SEGMENT + 1);
+
+    bundles.forEach(spillStore::put);
+
+    assertThat(spillStore.segmentCount()).isEqualTo(2);
+    assertThat(spillStore.size()).isEqualTo(BLOBS_PER_SEGMENT + 1);
+    bundles.stream()
+        .limit(BLOBS_PER_SEGMENT)
+        .forEach(bundle -> assertThat(spillStore.get(bundle.getVersionedHash())).isNull());
+    bundles.stream()
+        .skip(BLOBS_PER_SEGMENT)
+        .forEach(bundle -> assertThat(spillStore.get(bundle.getVersionedHash())).isEqualTo(bundle));
+  }
+
+  @Test
+  public void segmentIsDeletedWhenAllItsBlobsAreRemoved() throws IOException {
+    final List<BlobProofBundle> bundles = createBundles(BLOBS_PER_SEGMENT + 1);
+    bundles.forEach(spillStore::put);
+    assertThat(segmentFiles()).hasSize(2);
+
+    bundles.stream()
+        .limit(BLOBS_PER_SEGMENT)
+        .forEach(bundle -> spillStore.remove(bundle.getVersionedHash()));
+
+    assertThat(spillStore.segmentCount()).isEqualTo(1);
+    assertThat(segmentFiles()).hasSize(1);
+    assertThat(spillStore.get(bundles.getLast().getVersionedHash())).isEqualTo(bundles.getLast());
+  }
+
+  @Test
+  public void mostlyRemovedSegmentIsCompacted() {
+    final List<BlobProofBundle> bundles = createBundles(BLOBS_PER_SEGMENT + 1);
+    bundles.forEach(spillStore::put);
+
+    bundles.stream()
+        .limit(BLOBS_PER_SEGMENT - 1)
+        .forEach(bundle -> spillStore.remove(bundle.getVersionedHash()));
+
+    assertThat(spillStore.segmentCount()).isEqualTo(1);
+    assertThat(spillStore.size()).isEqualTo(2);
+    final BlobProofBundle moved = bundles.get(BLOBS_PER_SEGMENT - 1);
+    assertThat(spillStore.get(moved.getVersionedHash())).isEqualTo(moved);
+  }
+
+  @Test
+  public void expiredBlobIsNotReturned() {
+    final BlobProofBundle bundle = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    spillStore.put(bundle);
+
+    clock.stepMillis(EXPIRY.plusSeconds(1).toMillis());
+
+    assertThat(spillStore.get(bundle.getVersionedHash())).isNull();
+    assertThat(spillStore.size()).isZero();
+  }
+
+  @Test
+  public void staleSegmentsAreDeletedOnCreation() throws IOException {
+    createBundles(BLOBS_PER_SEGMENT + 1).forEach(spillStore::put);
+
+    new BlobSpillStore(directory, 2L * SEGMENT_SIZE, SEGMENT_SIZE, EXPIRY, clock);
+
+    assertThat(segmentFiles()).isEmpty();
+  }
+
+  private List<BlobProofBundle> createBundles(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(unused -> blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF))
+        .toList();
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.toList();
+    }
+  }
+}
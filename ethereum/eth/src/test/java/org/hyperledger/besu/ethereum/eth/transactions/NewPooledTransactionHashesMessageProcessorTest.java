@@ -22,6 +22,7 @@ import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -46,6 +47,7 @@ import java.util.concurrent.ScheduledFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -64,6 +66,7 @@ class NewPooledTransactionHashesMessageProcessorTest {
   @Mock private EthPeer peer1;
   @Mock private EthContext ethContext;
   @Mock private EthScheduler ethScheduler;
+  @Mock private TransactionsIngressPipeline transactionsIngressPipeline;
 
   private final BlockDataGenerator generator = new BlockDataGenerator();
 
@@ -87,6 +90,7 @@ class NewPooledTransactionHashesMessageProcessorTest {
             transactionPoolConfiguration,
             ethContext,
             new TransactionPoolMetrics(metricsSystem),
+            transactionsIngressPipeline,
             EthProtocolConfiguration.DEFAULT_MAX_TRANSACTIONS_MESSAGE_SIZE);
     when(ethContext.getScheduler()).thenReturn(ethScheduler);
   }
@@ -179,4 +183,30 @@ class NewPooledTransactionHashesMessageProcessorTest {
         .scheduleFutureTaskWithFixedDelay(
             any(FetcherCreatorTask.class), any(Duration.class), any(Duration.class));
   }
+
+  @Test
+  void shouldNotRequestTransactionsWhileIngressIsSaturated() {
+    final ArgumentCaptor<FetcherCreatorTask> fetcherCreatorTask =
+        ArgumentCaptor.forClass(FetcherCreatorTask.class);
+    when(peer1.hasAvailableRequestCapacity()).thenReturn(true);
+
+    messageHandler.processNewPooledTransactionHashesMessage(
+        peer1,
+        NewPooledTransactionHashesMessage.create(
+            Collections.singletonList(transaction1), EthProtocol.LATEST),
+        now(),
+        ofMinutes(1));
+
+    verify(ethScheduler)
+        .scheduleFutureTaskWithFixedDelay(
+            fetcherCreatorTask.capture(), any(Duration.class), any(Duration.class));
+
+    when(transactionsIngressPipeline.isSaturated()).thenReturn(true);
+    fetcherCreatorTask.getValue().run();
+    verify(ethScheduler, never()).scheduleServiceTask(any(Runnable.class));
+
+    when(transactionsIngressPipeline.isSaturated()).thenReturn(false);
+    fetcherCreatorTask.getValue().run();
+    verify(ethScheduler).scheduleServiceTask(any(Runnable.class));
+  }
 }
@@ -67,7 +67,6 @@ public class NewPooledTransactionHashesMessageSenderTest {
 
   @BeforeEach
   public void setUp() {
-    when(ethPeers.getMaxPeers()).thenReturn(25);
     when(peer1.isDisconnected()).thenReturn(false);
     when(peer2.isDisconnected()).thenReturn(false);
 
@@ -73,7 +73,6 @@ public class PeerTransactionTrackerTest {
 
   @BeforeEach
   void setUp() {
-    when(ethPeers.getMaxPeers()).thenReturn(25);
     when(ethPeer1.isDisconnected()).thenReturn(false);
     when(ethPeer2.isDisconnected()).thenReturn(false);
     tracker.onPeerConnected(ethPeer1);
@@ -218,6 +217,35 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.hasPeerSeenTransaction(ethPeer2, transaction2)).isFalse();
   }
 
+  @Test
+  public void shouldForgetKnownHashesWhenPeerConnectsAgain() {
+    tracker.markTransactionsAsSeen(ethPeer1, List.of(transaction1.getHash()));
+    tracker.markAnnouncementsAsSeenByTransaction(ethPeer1, List.of(transaction2));
+
+    assertThat(tracker.hasPeerSeenTransactionOrAnnouncement(ethPeer1, transaction1.getHash()))
+        .isTrue();
+    assertThat(tracker.hasPeerSeenAnnouncement(ethPeer1, transaction2.getHash())).isTrue();
+
+    tracker.onPeerConnected(ethPeer1);
+
+    assertThat(tracker.hasPeerSeenTransactionOrAnnouncement(ethPeer1, transaction1.getHash()))
+        .isFalse();
+    assertThat(tracker.hasPeerSeenAnnouncement(ethPeer1, transaction2.getHash())).isFalse();
+    // while it is still known that transaction1 has been seen
+    assertThat(tracker.alreadySeenTransaction(transaction1.getHash())).isTrue();
+  }
+
+  @Test
+  public void shouldConsiderConfirmedTransactionsSeenByAllPeers() {
+    final Block block =
+        generator.block(BlockDataGenerator.BlockOptions.create().addTransaction(transaction1));
+    tracker.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(block, List.of(), List.of()));
+
+    assertThat(tracker.hasPeerSeenTransaction(ethPeer1, transaction1)).isTrue();
+    assertThat(tracker.hasPeerSeenTransaction(ethPeer2, transaction1)).isTrue();
+    assertThat(tracker.hasPeerSeenTransaction(ethPeer1, transaction2)).isFalse();
+  }
+
   private RemovalReason createRemovalReason(
       final boolean stopTracking, final boolean stopBroadcasting) {
     return new RemovalReason() {
@@ -0,0 +1,133 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PooledTransactionPayloads.PooledTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.layered.BaseTransactionPoolTest;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+public class PooledTransactionPayloadsTest extends BaseTransactionPoolTest {
+
+  private final PooledTransactionPayloads payloads =
+      new PooledTransactionPayloads(PooledTransactionPayloads.PAGE_SIZE);
+
+  @Test
+  public void storedTransactionIsDecodedEqualToTheOriginal() {
+    final Transaction transaction = createTransaction(0);
+
+    final Optional<PooledTransaction> maybePooled = payloads.store(transaction.detachedCopy());
+
+    assertThat(maybePooled).isPresent();
+    assertThat(maybePooled.get().decode()).isEqualTo(transaction);
+    assertThat(payloads.getUsedBytes()).isEqualTo(transaction.encoded().size());
+  }
+
+  @Test
+  public void pooledPendingTransactionKeepsTheSortingFields() {
+    final Transaction transaction = createTransaction(1);
+    final PendingTransaction pendingTransaction = new PendingTransaction.Remote(transaction);
+    final Optional<Wei> baseFee = Optional.of(Wei.of(100));
+
+    final PendingTransaction pooled = pendingTransaction.toPooled(payloads);
+
+    assertThat(pooled).isNotSameAs(pendingTransaction);
+    assertThat(pooled.getHash()).isEqualTo(transaction.getHash());
+    assertThat(pooled.getSender()).isEqualTo(transaction.getSender());
+    assertThat(pooled.getNonce()).isEqualTo(transaction.getNonce());
+    assertThat(pooled.getType()).isEqualTo(transaction.getType());
+    assertThat(pooled.getGasLimit()).isEqualTo(transaction.getGasLimit());
+    assertThat(pooled.getValue()).isEqualTo(transaction.getValue());
+    assertThat(pooled.getSize()).isEqualTo(transaction.getSizeForAnnouncement());
+    assertThat(pooled.getMaxGasPrice()).isEqualTo(transaction.getMaxGasPrice());
+    assertThat(pooled.getEffectivePriorityFeePerGas(baseFee))
+        .isEqualTo(transaction.getEffectivePriorityFeePerGas(baseFee));
+    assertThat(pooled.getTransaction()).isEqualTo(transaction);
+  }
+
+  @Test
+  public void blobTransactionIsNotStored() {
+    final PendingTransaction pendingTransaction = new PendingTransaction.Remote(blobTransaction0);
+
+    assertThat(payloads.store(blobTransaction0)).isEmpty();
+    assertThat(pendingTransaction.toPooled(payloads)).isSameAs(pendingTransaction);
+    assertThat(payloads.getUsedBytes()).isZero();
+  }
+
+  @Test
+  public void transactionIsNotStoredWhenThereIsNoSpaceLeft() {
+    final int payloadSize = PooledTransactionPayloads.PAGE_SIZE / 2 + 1;
+    final Transaction first = createTransaction(0, payloadSize);
+    final Transaction second = createTransaction(1, payloadSize);
+
+    assertThat(payloads.store(first)).isPresent();
+    assertThat(payloads.store(second)).isEmpty();
+  }
+
+  @Test
+  public void transactionIsDecodedFromTheOffHeapPayloadOnceNoLongerReferenced() {
+    final Transaction transaction = createTransaction(0);
+    final PooledTransaction pooled = payloads.store(transaction.detachedCopy()).orElseThrow();
+
+    // the stored copy is no longer referenced, so only the off-heap payload is left
+    collectGarbageUntil(() -> !pooled.isDecoded());
+
+    final Transaction decoded = pooled.decode();
+    assertThat(decoded).isEqualTo(transaction);
+    assertThat(decoded.getSender()).isEqualTo(transaction.getSender());
+    assertThat(pooled.isDecoded()).isTrue();
+  }
+
+  @Test
+  public void pageIsReusedOnceAllItsPayloadsAreReleased() {
+    final PooledTransactionPayloads twoPages =
+        new PooledTransactionPayloads(2L * PooledTransactionPayloads.PAGE_SIZE);
+    final int payloadSize = PooledTransactionPayloads.PAGE_SIZE / 2 + 1;
+    final Transaction first = createTransaction(0, payloadSize);
+    final Transaction second = createTransaction(1, payloadSize);
+    final Transaction third = createTransaction(2, payloadSize);
+
+    // each transaction fills more than half a page, so they are stored in different pages
+    assertThat(twoPages.store(first.detachedCopy())).isPresent();
+    final Optional<PooledTransaction> pooledSecond = twoPages.store(second);
+    assertThat(pooledSecond).isPresent();
+    assertThat(twoPages.store(third)).isEmpty();
+
+    // releasing the first transaction frees its page
+    collectGarbageUntil(() -> twoPages.getUsedBytes() == second.encoded().size());
+
+    final Optional<PooledTransaction> pooledThird = twoPages.store(third);
+    assertThat(pooledThird).isPresent();
+    assertThat(pooledThird.get().decode()).isEqualTo(third);
+    assertThat(pooledSecond.get().decode()).isEqualTo(second);
+  }
+
+  private static void collectGarbageUntil(final BooleanSupplier condition) {
+    await()
+        .until(
+            () -> {
+              System.gc();
+              return condition.getAsBoolean();
+            });
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class RotatingBloomFilterTest {
+  private static final int CAPACITY = 1000;
+
+  private final RotatingBloomFilter filter = new RotatingBloomFilter(CAPACITY);
+
+  @Test
+  public void addedHashesAreAlwaysContained() {
+    final List<Hash> hashes = hashes(0, CAPACITY);
+
+    hashes.forEach(filter::add);
+
+    assertThat(hashes).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void falsePositivesAreRare() {
+    hashes(0, CAPACITY).forEach(filter::add);
+
+    final long falsePositives =
+        hashes(CAPACITY, 2 * CAPACITY).stream().filter(filter::mightContain).count();
+
+    assertThat(falsePositives).isLessThan(CAPACITY / 50);
+  }
+
+  @Test
+  public void recentHashesAreRememberedAfterRotation() {
+    // fills the first generation, and half of the second
+    final List<Hash> hashes = hashes(0, CAPACITY + CAPACITY / 2);
+
+    hashes.forEach(filter::add);
+
+    assertThat(hashes).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void oldHashesAreForgottenAfterTwoRotations() {
+    final List<Hash> oldHashes = hashes(0, CAPACITY);
+    oldHashes.forEach(filter::add);
+
+    hashes(CAPACITY, 3 * CAPACITY + 1).forEach(filter::add);
+
+    final long stillContained = oldHashes.stream().filter(filter::mightContain).count();
+    assertThat(stillContained).isLessThan(CAPACITY / 50);
+  }
+
+  private static List<Hash> hashes(final int fromInclusive, final int toExclusive) {
+    return IntStream.range(fromInclusive, toExclusive)
+        .mapToObj(i -> Hash.hash(Bytes.ofUnsignedInt(i)))
+        .toList();
+  }
+}
@@ -39,10 +39,12 @@ import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.PeerReputation;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -90,6 +92,7 @@ public class TransactionBroadcasterTest {
             transactionTracker,
             transactionsMessageSender,
             newPooledTransactionHashesMessageSender,
+            Duration.ZERO,
             FIXED_RANDOM_SEED);
   }
 
@@ -239,6 +242,59 @@ public class TransactionBroadcasterTest {
     assertThat(fullTransactionPeers).hasSameElementsAs(List.of(ethPeer2, ethPeer3));
   }
 
+  @Test
+  public void onTransactionsAddedTwiceSendOnlyOnceToPeerIfAlreadyScheduled() {
+    when(ethPeers.peerCount()).thenReturn(1);
+    when(ethPeers.streamAvailablePeers())
+        .thenAnswer(invocation -> Stream.of(ethPeer).map(EthPeerImmutableAttributes::from));
+
+    txBroadcaster.onTransactionsAdded(fullBroadcastTransactions());
+    txBroadcaster.onTransactionsAdded(fullBroadcastTransactions());
+
+    // the first scheduled send is going to send also the txs queued by the second call
+    sendTaskCapture.getAllValues().forEach(Runnable::run);
+    verify(transactionsMessageSender).sendTransactionsToPeer(ethPeer);
+
+    // once the send is done, new txs schedule a new send
+    txBroadcaster.onTransactionsAdded(fullBroadcastTransactions());
+    sendTaskCapture.getValue().run();
+    verify(transactionsMessageSender, times(2)).sendTransactionsToPeer(ethPeer);
+  }
+
+  @Test
+  public void onTransactionsAddedWithBatchWindowSendAfterTheWindow() {
+    final Duration batchWindow = Duration.ofMillis(100);
+    final ArgumentCaptor<Runnable> futureTaskCapture = ArgumentCaptor.forClass(Runnable.class);
+    when(ethScheduler.scheduleFutureTask(futureTaskCapture.capture(), eq(batchWindow)))
+        .thenReturn(new CompletableFuture<>());
+    when(ethPeers.peerCount()).thenReturn(1);
+    when(ethPeers.streamAvailablePeers())
+        .thenAnswer(invocation -> Stream.of(ethPeer).map(EthPeerImmutableAttributes::from));
+    final TransactionBroadcaster batchingBroadcaster =
+        new TransactionBroadcaster(
+            ethContext,
+            transactionTracker,
+            transactionsMessageSender,
+            newPooledTransactionHashesMessageSender,
+            batchWindow,
+            FIXED_RANDOM_SEED);
+
+    batchingBroadcaster.onTransactionsAdded(fullBroadcastTransactions());
+    batchingBroadcaster.onTransactionsAdded(fullBroadcastTransactions());
+
+    // nothing is sent until the window expires, and only one send is scheduled for both calls
+    assertThat(sendTaskCapture.getAllValues()).isEmpty();
+    assertThat(futureTaskCapture.getAllValues()).hasSize(1);
+
+    futureTaskCapture.getValue().run();
+    sendTaskCapture.getValue().run();
+    verify(transactionsMessageSender).sendTransactionsToPeer(ethPeer);
+  }
+
+  private List<Transaction> fullBroadcastTransactions() {
+    return toTransactionList(setupTransactionPool(TransactionType.EIP1559, 1, 0));
+  }
+
   private void verifyNothingSent() {
     verifyNoInteractions(
         transactionTracker, transactionsMessageSender, newPooledTransactionHashesMessageSender);
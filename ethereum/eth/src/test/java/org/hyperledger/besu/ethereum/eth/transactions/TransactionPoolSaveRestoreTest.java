@@ -219,6 +219,45 @@ public class TransactionPoolSaveRestoreTest extends AbstractTransactionPoolTestB
     assertThat(restoredPendingTx.hasPriority()).isNotEqualTo(noLocalPriority);
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void transactionsAreSavedAndRestoredFromBinarySnapshot(final boolean isLocal)
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    this.transactionPool =
+        createTransactionPool(
+            b ->
+                b.enableSaveRestore(true)
+                    .saveFile(saveFilePath.toFile())
+                    .unstable(
+                        ImmutableTransactionPoolConfiguration.Unstable.builder()
+                            .saveRestoreBinaryFormat(true)
+                            .build()));
+
+    givenTransactionIsValid(transaction0);
+    givenTransactionIsValid(transaction1);
+
+    if (isLocal) {
+      addAndAssertTransactionViaApiValid(transaction0, false);
+      addAndAssertTransactionViaApiValid(transaction1, false);
+    } else {
+      addAndAssertRemoteTransactionsValid(transaction0, transaction1);
+    }
+
+    transactionPool.setDisabled().get(10, TimeUnit.SECONDS);
+    assertThat(transactionPool.getPendingTransactions()).isEmpty();
+    assertThat(TransactionPoolSnapshot.isSnapshot(saveFilePath.toFile())).isTrue();
+
+    transactionPool.setEnabled().get(10, TimeUnit.SECONDS);
+
+    assertThat(transactionPool.getPendingTransactions())
+        .map(PendingTransaction::getTransaction)
+        .containsExactlyInAnyOrder(transaction0, transaction1);
+    assertThat(transactionPool.getPendingTransactions())
+        .map(PendingTransaction::isReceivedFromLocalSource)
+        .containsOnly(isLocal);
+    assertThat(saveFilePath).doesNotExist();
+  }
+
   @Test
   public void dumpFileWithoutScoreIsRestored() throws IOException {
 
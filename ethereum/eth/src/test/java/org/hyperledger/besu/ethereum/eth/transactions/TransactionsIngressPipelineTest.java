@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionsMessageProcessor.ReceivedTransactions;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionsIngressPipelineTest {
+  private static final int CAPACITY = 2;
+
+  @Mock private TransactionPool transactionPool;
+  @Mock private PeerTransactionTracker transactionTracker;
+  @Mock private EthPeer peer;
+
+  private final BlockDataGenerator generator = new BlockDataGenerator();
+  private final EthScheduler ethScheduler = new EthScheduler(1, 1, 1, new NoOpMetricsSystem());
+  private TransactionsIngressPipeline ingressPipeline;
+
+  @BeforeEach
+  public void setup() {
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+    ingressPipeline =
+        new TransactionsIngressPipeline(
+            ethScheduler,
+            new TransactionsMessageProcessor(
+                transactionTracker,
+                transactionPool,
+                metrics,
+                EthProtocolConfiguration.DEFAULT_MAX_TRANSACTIONS_PER_MESSAGE),
+            metrics,
+            CAPACITY,
+            2);
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    ethScheduler.stop();
+    ethScheduler.awaitStop();
+  }
+
+  @Test
+  public void submittedTransactionsAreAddedWithTheirSenderRecovered() {
+    final List<Transaction> transactions = List.of(generator.transaction());
+
+    ingressPipeline.submit(new ReceivedTransactions(peer, transactions));
+
+    Awaitility.await()
+        .atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(() -> verify(transactionPool).addRemoteTransactions(transactions));
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> !ingressPipeline.isSaturated());
+  }
+
+  @Test
+  public void emptyReceivedTransactionsAreNotSubmitted() {
+    ingressPipeline.submit(ReceivedTransactions.none(peer));
+
+    assertThat(ingressPipeline.isSaturated()).isFalse();
+    verifyNoInteractions(transactionPool);
+  }
+
+  @Test
+  public void isSaturatedWhileTheCapacityIsInUse() throws InterruptedException {
+    final CountDownLatch addStarted = new CountDownLatch(1);
+    final CountDownLatch releaseAdd = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              addStarted.countDown();
+              releaseAdd.await();
+              return null;
+            })
+        .when(transactionPool)
+        .addRemoteTransactions(any());
+
+    ingressPipeline.submit(new ReceivedTransactions(peer, List.of(generator.transaction())));
+    assertThat(addStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(ingressPipeline.isSaturated()).isFalse();
+
+    ingressPipeline.submit(new ReceivedTransactions(peer, List.of(generator.transaction())));
+    assertThat(ingressPipeline.isSaturated()).isTrue();
+
+    releaseAdd.countDown();
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> !ingressPipeline.isSaturated());
+  }
+
+  @Test
+  public void transactionsAreStillAddedAfterThePipelineIsAborted() {
+    final Transaction failingTransaction = mock(Transaction.class);
+    when(failingTransaction.getSender()).thenThrow(new UnsupportedOperationException("boom"));
+    final List<Transaction> transactions = List.of(generator.transaction());
+
+    // the unexpected exception of the recover stage aborts the pipeline
+    ingressPipeline.submit(new ReceivedTransactions(peer, List.of(failingTransaction)));
+
+    // the transactions submitted while the pipeline is aborting are lost with it, like the ones
+    // already in flight, so they are submitted again until they are added
+    Awaitility.await()
+        .atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(
+            () -> {
+              ingressPipeline.submit(new ReceivedTransactions(peer, transactions));
+              verify(transactionPool, atLeastOnce()).addRemoteTransactions(transactions);
+            });
+    Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> !ingressPipeline.isSaturated());
+  }
+}
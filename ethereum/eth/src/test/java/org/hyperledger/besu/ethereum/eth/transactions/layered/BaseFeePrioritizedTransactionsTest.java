@@ -40,6 +40,7 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.function.BiFunction;
@@ -307,4 +308,27 @@ public class BaseFeePrioritizedTransactionsTest extends AbstractPrioritizedTrans
     assertTransactionNotPrioritized(replacedTx);
     assertTransactionPrioritized(replacementTx);
   }
+
+  @Test
+  public void shouldReorderTransactionsWhenBaseFeeChanges() {
+    final PendingTransaction legacyTx =
+        createRemotePendingTransaction(createTransaction(FRONTIER, 0, Wei.of(150), KEYS1));
+    final PendingTransaction eip1559Tx =
+        createRemotePendingTransaction(
+            createTransaction(
+                EIP1559, 0, Wei.of(1000), Wei.of(80), 0, 0, BlobType.KZG_PROOF, null, KEYS2));
+    assertThat(prioritizeTransaction(legacyTx)).isEqualTo(ADDED);
+    assertThat(prioritizeTransaction(eip1559Tx)).isEqualTo(ADDED);
+
+    transactions.blockAdded(EIP1559_FEE_MARKET, mockBlockHeader(DEFAULT_BASE_FEE), Map.of());
+    // legacy tx effective priority fee 102, EIP-1559 tx 80
+    assertThat(transactions.getByScore()).containsExactly(legacyTx, eip1559Tx);
+
+    transactions.blockAdded(EIP1559_FEE_MARKET, mockBlockHeader(Wei.of(100)), Map.of());
+    // legacy tx effective priority fee 50, EIP-1559 tx still 80
+    assertThat(transactions.getByScore()).containsExactly(eip1559Tx, legacyTx);
+
+    transactions.blockAdded(EIP1559_FEE_MARKET, mockBlockHeader(DEFAULT_BASE_FEE), Map.of());
+    assertThat(transactions.getByScore()).containsExactly(legacyTx, eip1559Tx);
+  }
 }
@@ -550,6 +550,28 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .isEqualTo(1);
   }
 
+  @Test
+  public void droppedListenerCanQueryThePoolDuringTheModification() {
+    final Transaction transaction1 = createTransaction(0, DEFAULT_MIN_GAS_PRICE.multiply(4), KEYS1);
+    final Transaction transaction1b = createTransactionReplacement(transaction1, KEYS1);
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction1), Optional.empty());
+
+    final List<Optional<Transaction>> seenByListener = new ArrayList<>();
+    pendingTransactions.subscribeDroppedTransactions(
+        (droppedTx, reason) -> {
+          seenByListener.add(pendingTransactions.getTransactionByHash(transaction1b.getHash()));
+          seenByListener.add(pendingTransactions.getTransactionByHash(droppedTx.getHash()));
+        });
+
+    assertThat(
+            pendingTransactions
+                .addTransaction(createRemotePendingTransaction(transaction1b), Optional.empty())
+                .isReplacement())
+        .isTrue();
+    assertThat(seenByListener).containsExactly(Optional.of(transaction1b), Optional.empty());
+  }
+
   @Test
   public void replaceTransactionWithSameSenderAndNonce_multipleReplacements() {
     final int replacedTxCount = 5;
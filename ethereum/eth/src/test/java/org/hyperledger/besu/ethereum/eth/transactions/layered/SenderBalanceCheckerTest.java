@@ -17,6 +17,9 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
@@ -28,6 +31,8 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PooledTransactionPayloads;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -36,6 +41,7 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.plugin.services.worldstate.MutableWorldState;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -155,4 +161,78 @@ public class SenderBalanceCheckerTest extends BaseTransactionPoolTest {
     assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(zeroCostTx)))
         .isTrue();
   }
+
+  @Test
+  public void clearForBlockForgetsTheBalanceOfExhaustedSenders() {
+    final var payingTx = createTransaction(TransactionType.FRONTIER, 0, Wei.of(10), 0, null, KEYS1);
+    setSenderBalance(Wei.ONE);
+
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(payingTx)))
+        .isFalse();
+
+    // the block could have funded the sender
+    assertThat(balanceChecker.clear(Set.of())).containsExactly(SENDER1);
+    setSenderBalance(payingTx.getUpfrontCost(0L));
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(payingTx)))
+        .isTrue();
+  }
+
+  @Test
+  public void clearForBlockKeepsTheBalanceOfSendersNotInTheBlock() {
+    final var payingTx0 =
+        createTransaction(TransactionType.FRONTIER, 0, Wei.of(10), 0, null, KEYS1);
+    final var payingTx1 =
+        createTransaction(TransactionType.FRONTIER, 1, Wei.of(10), 0, null, KEYS1);
+    setSenderBalance(payingTx0.getUpfrontCost(0L).add(payingTx1.getUpfrontCost(0L)));
+
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(payingTx0)))
+        .isTrue();
+
+    // the cached balance is still used, since the sender is not in the block
+    assertThat(balanceChecker.clear(Set.of())).isEmpty();
+    setSenderBalance(Wei.ZERO);
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(payingTx1)))
+        .isTrue();
+
+    // once the sender is in a block, its balance is read again
+    assertThat(balanceChecker.clear(Set.of(SENDER1))).isEmpty();
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(payingTx1)))
+        .isFalse();
+  }
+
+  @Test
+  public void upfrontCostOfATransactionStoredOffHeapIsComputedWithoutDecodingIt() {
+    final var payingTx = createTransaction(TransactionType.EIP1559, 1, Wei.of(10), 0, null, KEYS1);
+    final PendingTransaction pooled =
+        spy(
+            createRemotePendingTransaction(payingTx)
+                .toPooled(new PooledTransactionPayloads(1 << 20)));
+    setSenderBalance(payingTx.getUpfrontCost(0L).subtract(Wei.ONE));
+
+    assertThat(balanceChecker.hasEnoughBalanceFor(pooled)).isFalse();
+
+    balanceChecker.clear();
+    setSenderBalance(payingTx.getUpfrontCost(0L));
+    assertThat(balanceChecker.hasEnoughBalanceFor(pooled)).isTrue();
+    verify(pooled, never()).getTransaction();
+  }
+
+  @Test
+  public void releasedTransactionGivesBackItsReservedBalance() {
+    final var payingTx0 =
+        createTransaction(TransactionType.FRONTIER, 0, Wei.of(10), 0, null, KEYS1);
+    final var replacementTx0 =
+        createTransaction(TransactionType.FRONTIER, 0, Wei.of(20), 0, null, KEYS1);
+    // enough balance for one transaction only
+    setSenderBalance(replacementTx0.getUpfrontCost(0L));
+
+    final var pendingTx0 = createRemotePendingTransaction(payingTx0);
+    assertThat(balanceChecker.hasEnoughBalanceFor(pendingTx0)).isTrue();
+    // checking again the same transaction does not reserve its upfront cost twice
+    assertThat(balanceChecker.hasEnoughBalanceFor(pendingTx0)).isTrue();
+
+    balanceChecker.release(pendingTx0);
+    assertThat(balanceChecker.hasEnoughBalanceFor(createRemotePendingTransaction(replacementTx0)))
+        .isTrue();
+  }
 }
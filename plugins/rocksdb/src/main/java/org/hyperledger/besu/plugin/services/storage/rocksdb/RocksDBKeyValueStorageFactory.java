@@ -26,6 +26,7 @@ import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration
 import org.hyperledger.besu.plugin.services.BesuConfiguration;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageFactory;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
@@ -39,6 +40,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.Versio
 import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.OptimisticRocksDBColumnarKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.RocksDBColumnarKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.TransactionDBRocksDBColumnarKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.MeteredSegmentedKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.io.IOException;
@@ -69,6 +71,7 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
   private final RocksDBMetricsFactory rocksDBMetricsFactory;
   private DatabaseMetadata databaseMetadata;
   private RocksDBColumnarKeyValueStorage segmentedStorage;
+  private SegmentedKeyValueStorage instrumentedStorage;
   private RocksDBConfiguration rocksDBConfiguration;
 
   private final Supplier<RocksDBFactoryConfiguration> configuration;
@@ -178,8 +181,13 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
                   rocksDBMetricsFactory);
         }
       }
+      final MetricCategory category = rocksDBMetricsFactory.getRocksDbMetricCategory();
+      instrumentedStorage =
+          metricsSystem.isCategoryEnabled(category)
+              ? MeteredSegmentedKeyValueStorage.wrap(segmentedStorage, metricsSystem, category)
+              : segmentedStorage;
     }
-    return segmentedStorage;
+    return instrumentedStorage;
   }
 
   /**
@@ -393,6 +401,7 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
   public void reset() {
     if (segmentedStorage != null) {
       segmentedStorage = null;
+      instrumentedStorage = null;
     }
   }
 
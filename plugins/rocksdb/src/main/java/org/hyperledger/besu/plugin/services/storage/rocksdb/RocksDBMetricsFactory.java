@@ -59,6 +59,15 @@ public class RocksDBMetricsFactory {
     this.statsDbMetricCategory = statsDbMetricCategory;
   }
 
+  /**
+   * Gets the category of the RocksDB metrics.
+   *
+   * @return the rocks db metric category
+   */
+  public MetricCategory getRocksDbMetricCategory() {
+    return rocksDbMetricCategory;
+  }
+
   /**
    * Create RocksDb metrics.
    *
@@ -0,0 +1,376 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Decorator of a segmented key value storage that records, per segment and per {@link
+ * StorageSubsystem}, the latency of the reads, the size of the values read and written and the
+ * number of write operations.
+ *
+ * <p>The labelled metrics are resolved once per segment and subsystem, so the cost of an
+ * instrumented operation is a thread local lookup, two clock reads and a few atomic increments.
+ * Iterations are timed until the iterator is positioned, since the consumption of a stream is
+ * driven by the caller, while the size of every iterated value is recorded.
+ */
+public class MeteredSegmentedKeyValueStorage implements SegmentedKeyValueStorage {
+  private static final double[] VALUE_SIZE_BUCKETS = {
+    32, 128, 512, 2_048, 8_192, 32_768, 131_072, 524_288, 2_097_152
+  };
+  private static final StorageSubsystem[] SUBSYSTEMS = StorageSubsystem.values();
+
+  private final SegmentedKeyValueStorage storage;
+  private final LabelledMetric<OperationTimer> operationLatency;
+  private final LabelledMetric<Histogram> valueSize;
+  private final LabelledMetric<Counter> writeOperations;
+  private final LabelledMetric<OperationTimer> commitLatency;
+  private final Map<SegmentIdentifier, SegmentMetrics[]> segmentMetrics =
+      new ConcurrentHashMap<>();
+  private final OperationTimer[] commitTimers = new OperationTimer[SUBSYSTEMS.length];
+
+  /**
+   * Instantiates a new metered segmented key value storage.
+   *
+   * @param storage the storage to decorate
+   * @param metricsSystem the metrics system
+   * @param category the category of the metrics
+   */
+  protected MeteredSegmentedKeyValueStorage(
+      final SegmentedKeyValueStorage storage,
+      final MetricsSystem metricsSystem,
+      final MetricCategory category) {
+    this.storage = storage;
+    this.operationLatency =
+        metricsSystem.createSimpleLabelledTimer(
+            category,
+            "segment_operation_latency_seconds",
+            "Latency of the read operations, by segment and subsystem",
+            "segment",
+            "operation",
+            "subsystem");
+    this.valueSize =
+        metricsSystem.createLabelledHistogram(
+            category,
+            "segment_value_size_bytes",
+            "Size of the values read and written, by segment and subsystem",
+            VALUE_SIZE_BUCKETS,
+            "segment",
+            "operation",
+            "subsystem");
+    this.writeOperations =
+        metricsSystem.createLabelledCounter(
+            category,
+            "segment_write_operations_total",
+            "Number of put and remove operations, by segment and subsystem",
+            "segment",
+            "operation",
+            "subsystem");
+    this.commitLatency =
+        metricsSystem.createSimpleLabelledTimer(
+            category,
+            "segment_commit_latency_seconds",
+            "Latency of the transaction commits, by subsystem",
+            "subsystem");
+  }
+
+  /**
+   * Decorates the storage with the I/O metrics, keeping the snapshot support of the storage.
+   *
+   * @param storage the storage to decorate
+   * @param metricsSystem the metrics system
+   * @param category the category of the metrics
+   * @return the metered storage
+   */
+  public static SegmentedKeyValueStorage wrap(
+      final SegmentedKeyValueStorage storage,
+      final MetricsSystem metricsSystem,
+      final MetricCategory category) {
+    if (storage instanceof SnappableKeyValueStorage snappable) {
+      return new Snappable(snappable, metricsSystem, category);
+    }
+    return new MeteredSegmentedKeyValueStorage(storage, metricsSystem, category);
+  }
+
+  @Override
+  public Optional<byte[]> get(final SegmentIdentifier segment, final byte[] key)
+      throws StorageException {
+    final SegmentMetrics metrics = metricsFor(segment);
+    final Optional<byte[]> value;
+    try (final OperationTimer.TimingContext ignored = metrics.getLatency.startTimer()) {
+      value = storage.get(segment, key);
+    }
+    value.ifPresent(v -> metrics.readSize.observe(v.length));
+    return value;
+  }
+
+  @Override
+  public Optional<NearestKeyValue> getNearestBefore(
+      final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
+    return timedNearest(segmentIdentifier, () -> storage.getNearestBefore(segmentIdentifier, key));
+  }
+
+  @Override
+  public Optional<NearestKeyValue> getNearestAfter(
+      final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
+    return timedNearest(segmentIdentifier, () -> storage.getNearestAfter(segmentIdentifier, key));
+  }
+
+  private Optional<NearestKeyValue> timedNearest(
+      final SegmentIdentifier segment, final Supplier<Optional<NearestKeyValue>> operation) {
+    final SegmentMetrics metrics = metricsFor(segment);
+    final Optional<NearestKeyValue> nearest;
+    try (final OperationTimer.TimingContext ignored = metrics.getNearestLatency.startTimer()) {
+      nearest = operation.get();
+    }
+    nearest.flatMap(NearestKeyValue::value).ifPresent(v -> metrics.readSize.observe(v.length));
+    return nearest;
+  }
+
+  @Override
+  public boolean containsKey(final SegmentIdentifier segment, final byte[] key)
+      throws StorageException {
+    try (final OperationTimer.TimingContext ignored =
+        metricsFor(segment).containsLatency.startTimer()) {
+      return storage.containsKey(segment, key);
+    }
+  }
+
+  @Override
+  public SegmentedKeyValueStorageTransaction startTransaction() throws StorageException {
+    return new MeteredTransaction(storage.startTransaction());
+  }
+
+  @Override
+  public SegmentedKeyValueStorageTransaction startLowPriorityTransaction()
+      throws StorageException {
+    return new MeteredTransaction(storage.startLowPriorityTransaction());
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> stream(final SegmentIdentifier segmentIdentifier) {
+    return meteredPairs(segmentIdentifier, () -> storage.stream(segmentIdentifier));
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final SegmentIdentifier segmentIdentifier, final byte[] startKey) {
+    return meteredPairs(
+        segmentIdentifier, () -> storage.streamFromKey(segmentIdentifier, startKey));
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final SegmentIdentifier segmentIdentifier, final byte[] startKey, final byte[] endKey) {
+    return meteredPairs(
+        segmentIdentifier, () -> storage.streamFromKey(segmentIdentifier, startKey, endKey));
+  }
+
+  private Stream<Pair<byte[], byte[]>> meteredPairs(
+      final SegmentIdentifier segment, final Supplier<Stream<Pair<byte[], byte[]>>> operation) {
+    final SegmentMetrics metrics = metricsFor(segment);
+    final Stream<Pair<byte[], byte[]>> stream;
+    try (final OperationTimer.TimingContext ignored = metrics.iterateLatency.startTimer()) {
+      stream = operation.get();
+    }
+    return stream.peek(pair -> metrics.iteratedSize.observe(pair.getValue().length));
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final SegmentIdentifier segmentIdentifier) {
+    try (final OperationTimer.TimingContext ignored =
+        metricsFor(segmentIdentifier).iterateLatency.startTimer()) {
+      return storage.streamKeys(segmentIdentifier);
+    }
+  }
+
+  @Override
+  public boolean tryDelete(final SegmentIdentifier segmentIdentifier, final byte[] key)
+      throws StorageException {
+    metricsFor(segmentIdentifier).removes.inc();
+    return storage.tryDelete(segmentIdentifier, key);
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(
+      final SegmentIdentifier segmentIdentifier, final Predicate<byte[]> returnCondition) {
+    try (final OperationTimer.TimingContext ignored =
+        metricsFor(segmentIdentifier).scanLatency.startTimer()) {
+      return storage.getAllKeysThat(segmentIdentifier, returnCondition);
+    }
+  }
+
+  @Override
+  public Set<byte[]> getAllValuesFromKeysThat(
+      final SegmentIdentifier segmentIdentifier, final Predicate<byte[]> returnCondition) {
+    try (final OperationTimer.TimingContext ignored =
+        metricsFor(segmentIdentifier).scanLatency.startTimer()) {
+      return storage.getAllValuesFromKeysThat(segmentIdentifier, returnCondition);
+    }
+  }
+
+  @Override
+  public void clear(final SegmentIdentifier segmentIdentifier) {
+    storage.clear(segmentIdentifier);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return storage.isClosed();
+  }
+
+  @Override
+  public void close() throws IOException {
+    storage.close();
+  }
+
+  /**
+   * Gets the decorated storage
+   *
+   * @return the decorated storage
+   */
+  protected SegmentedKeyValueStorage getStorage() {
+    return storage;
+  }
+
+  private SegmentMetrics metricsFor(final SegmentIdentifier segment) {
+    final StorageSubsystem subsystem = StorageSubsystem.current();
+    final SegmentMetrics[] bySubsystem =
+        segmentMetrics.computeIfAbsent(segment, s -> new SegmentMetrics[SUBSYSTEMS.length]);
+    SegmentMetrics metrics = bySubsystem[subsystem.ordinal()];
+    if (metrics == null) {
+      // racing threads resolve the same labelled metrics, so last write wins safely
+      metrics = new SegmentMetrics(segment.getName(), subsystem.getLabel());
+      bySubsystem[subsystem.ordinal()] = metrics;
+    }
+    return metrics;
+  }
+
+  private OperationTimer commitTimer() {
+    final StorageSubsystem subsystem = StorageSubsystem.current();
+    OperationTimer timer = commitTimers[subsystem.ordinal()];
+    if (timer == null) {
+      timer = commitLatency.labels(subsystem.getLabel());
+      commitTimers[subsystem.ordinal()] = timer;
+    }
+    return timer;
+  }
+
+  private final class SegmentMetrics {
+    private final OperationTimer getLatency;
+    private final OperationTimer getNearestLatency;
+    private final OperationTimer containsLatency;
+    private final OperationTimer iterateLatency;
+    private final OperationTimer scanLatency;
+    private final Histogram readSize;
+    private final Histogram iteratedSize;
+    private final Histogram writtenSize;
+    private final Counter puts;
+    private final Counter removes;
+
+    private SegmentMetrics(final String segment, final String subsystem) {
+      getLatency = operationLatency.labels(segment, "get", subsystem);
+      getNearestLatency = operationLatency.labels(segment, "get_nearest", subsystem);
+      containsLatency = operationLatency.labels(segment, "contains", subsystem);
+      iterateLatency = operationLatency.labels(segment, "iterate", subsystem);
+      scanLatency = operationLatency.labels(segment, "scan", subsystem);
+      readSize = valueSize.labels(segment, "get", subsystem);
+      iteratedSize = valueSize.labels(segment, "iterate", subsystem);
+      writtenSize = valueSize.labels(segment, "put", subsystem);
+      puts = writeOperations.labels(segment, "put", subsystem);
+      removes = writeOperations.labels(segment, "remove", subsystem);
+    }
+  }
+
+  private final class MeteredTransaction implements SegmentedKeyValueStorageTransaction {
+    private final SegmentedKeyValueStorageTransaction transaction;
+
+    private MeteredTransaction(final SegmentedKeyValueStorageTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    @Override
+    public void put(
+        final SegmentIdentifier segmentIdentifier, final byte[] key, final byte[] value) {
+      final SegmentMetrics metrics = metricsFor(segmentIdentifier);
+      metrics.puts.inc();
+      metrics.writtenSize.observe(value.length);
+      transaction.put(segmentIdentifier, key, value);
+    }
+
+    @Override
+    public void remove(final SegmentIdentifier segmentIdentifier, final byte[] key) {
+      metricsFor(segmentIdentifier).removes.inc();
+      transaction.remove(segmentIdentifier, key);
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      try (final OperationTimer.TimingContext ignored = commitTimer().startTimer()) {
+        transaction.commit();
+      }
+    }
+
+    @Override
+    public void rollback() {
+      transaction.rollback();
+    }
+
+    @Override
+    public void close() {
+      transaction.close();
+    }
+  }
+
+  /** Metered storage that keeps the snapshot support of the decorated storage */
+  private static class Snappable extends MeteredSegmentedKeyValueStorage
+      implements SnappableKeyValueStorage {
+
+    private Snappable(
+        final SnappableKeyValueStorage storage,
+        final MetricsSystem metricsSystem,
+        final MetricCategory category) {
+      super(storage, metricsSystem, category);
+    }
+
+    @Override
+    public SnappedKeyValueStorage takeSnapshot() {
+      return ((SnappableKeyValueStorage) getStorage()).takeSnapshot();
+    }
+  }
+}
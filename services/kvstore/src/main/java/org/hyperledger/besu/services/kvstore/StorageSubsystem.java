@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+/**
+ * The subsystem on behalf of which the current thread is accessing the storage, used to label the
+ * storage I/O metrics.
+ *
+ * <p>By default the subsystem is derived once per thread from the name of the thread, since the
+ * main thread pools have stable names. Code paths that run on shared threads, like block import
+ * triggered by the Engine API, can set it explicitly with {@link #enter(StorageSubsystem)}.
+ */
+public enum StorageSubsystem {
+  /** Block validation and import */
+  BLOCK_IMPORT("block_import"),
+  /** JSON-RPC, GraphQL and Engine API requests */
+  RPC("rpc"),
+  /** Chain and world state synchronization */
+  SYNC("sync"),
+  /** Transaction pool */
+  TXPOOL("txpool"),
+  /** Anything else */
+  OTHER("other");
+
+  private static final ThreadLocal<StorageSubsystem> THREAD_DEFAULT =
+      ThreadLocal.withInitial(() -> fromThreadName(Thread.currentThread().getName()));
+  private static final ThreadLocal<StorageSubsystem> CURRENT = new ThreadLocal<>();
+
+  private final String label;
+
+  StorageSubsystem(final String label) {
+    this.label = label;
+  }
+
+  /**
+   * Gets the label used for this subsystem in the metrics
+   *
+   * @return the metric label
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Gets the subsystem the current thread is working for
+   *
+   * @return the current subsystem
+   */
+  public static StorageSubsystem current() {
+    final StorageSubsystem explicit = CURRENT.get();
+    return explicit != null ? explicit : THREAD_DEFAULT.get();
+  }
+
+  /**
+   * Attributes the storage accesses of the current thread to the subsystem, until the returned
+   * scope is closed
+   *
+   * @param subsystem the subsystem
+   * @return the scope to close to restore the previous subsystem
+   */
+  public static Scope enter(final StorageSubsystem subsystem) {
+    final StorageSubsystem previous = CURRENT.get();
+    CURRENT.set(subsystem);
+    return new Scope(previous);
+  }
+
+  static StorageSubsystem fromThreadName(final String threadName) {
+    if (threadName.startsWith("vert.x-")) {
+      return RPC;
+    }
+    if (threadName.startsWith("EthScheduler-Transactions")) {
+      return TXPOOL;
+    }
+    if (threadName.startsWith("EthScheduler-Workers")
+        || threadName.startsWith("EthScheduler-Services")
+        || threadName.startsWith("EthScheduler-Computation")) {
+      return SYNC;
+    }
+    return OTHER;
+  }
+
+  /** Restores the previous subsystem of the thread when closed */
+  public static final class Scope implements AutoCloseable {
+    private final StorageSubsystem previous;
+
+    private Scope(final StorageSubsystem previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.metrics.BesuMetricCategory.KVSTORE_ROCKSDB;
+
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class MeteredSegmentedKeyValueStorageTest {
+  private static final byte[] KEY = {1};
+  private static final byte[] VALUE = {1, 2, 3};
+
+  private final PrometheusMetricsSystem metricsSystem =
+      new PrometheusMetricsSystem(Set.of(KVSTORE_ROCKSDB), true);
+  private final SegmentedKeyValueStorage storage =
+      MeteredSegmentedKeyValueStorage.wrap(
+          new SegmentedInMemoryKeyValueStorage(List.of(TestSegment.FOO)),
+          metricsSystem,
+          KVSTORE_ROCKSDB);
+
+  @AfterEach
+  public void tearDown() {
+    metricsSystem.shutdown();
+  }
+
+  @Test
+  public void keepsSnapshotSupportOfDecoratedStorage() {
+    assertThat(storage).isInstanceOf(SnappableKeyValueStorage.class);
+  }
+
+  @Test
+  public void countsWritesBySegmentAndSubsystem() {
+    try (final StorageSubsystem.Scope ignored = StorageSubsystem.enter(StorageSubsystem.TXPOOL)) {
+      final SegmentedKeyValueStorageTransaction tx = storage.startTransaction();
+      tx.put(TestSegment.FOO, KEY, VALUE);
+      tx.remove(TestSegment.FOO, KEY);
+      tx.put(TestSegment.FOO, KEY, VALUE);
+      tx.commit();
+    }
+
+    assertThat(storage.get(TestSegment.FOO, KEY)).isPresent();
+    assertThat(metricsSystem.streamObservations(KVSTORE_ROCKSDB))
+        .contains(
+            new Observation(
+                KVSTORE_ROCKSDB,
+                "segment_write_operations_total",
+                2.0,
+                List.of("foo", "put", "txpool")),
+            new Observation(
+                KVSTORE_ROCKSDB,
+                "segment_write_operations_total",
+                1.0,
+                List.of("foo", "remove", "txpool")));
+  }
+
+  @Test
+  public void scopeRestoresPreviousSubsystem() {
+    final StorageSubsystem threadDefault = StorageSubsystem.current();
+    try (final StorageSubsystem.Scope outer = StorageSubsystem.enter(StorageSubsystem.RPC)) {
+      try (final StorageSubsystem.Scope inner =
+          StorageSubsystem.enter(StorageSubsystem.BLOCK_IMPORT)) {
+        assertThat(StorageSubsystem.current()).isEqualTo(StorageSubsystem.BLOCK_IMPORT);
+      }
+      assertThat(StorageSubsystem.current()).isEqualTo(StorageSubsystem.RPC);
+    }
+    assertThat(StorageSubsystem.current()).isEqualTo(threadDefault);
+  }
+
+  @Test
+  public void subsystemIsDerivedFromThreadName() {
+    assertThat(StorageSubsystem.fromThreadName("vert.x-worker-thread-3"))
+        .isEqualTo(StorageSubsystem.RPC);
+    assertThat(StorageSubsystem.fromThreadName("EthScheduler-Transactions-1"))
+        .isEqualTo(StorageSubsystem.TXPOOL);
+    assertThat(StorageSubsystem.fromThreadName("EthScheduler-Services-12"))
+        .isEqualTo(StorageSubsystem.SYNC);
+    assertThat(StorageSubsystem.fromThreadName("main")).isEqualTo(StorageSubsystem.OTHER);
+  }
+
+  private enum TestSegment implements SegmentIdentifier {
+    FOO;
+
+    @Override
+    public String getName() {
+      return "foo";
+    }
+
+    @Override
+    public byte[] getId() {
+      return getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean containsStaticData() {
+      return false;
+    }
+
+    @Override
+    public boolean isEligibleToHighSpecFlag() {
+      return false;
+    }
+  }
+}
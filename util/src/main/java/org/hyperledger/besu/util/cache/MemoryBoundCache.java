@@ -75,6 +75,15 @@ public class MemoryBoundCache<K, V> {
     return cache.estimatedSize();
   }
 
+  /**
+   * Estimates the total weight, in bytes, of the entries currently held in the cache
+   *
+   * @return the estimated weight of the cache content
+   */
+  public long estimatedWeight() {
+    return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+  }
+
   /**
    * Gets the hit rate of the cache.
    *